@@ -67,6 +67,7 @@ import megamek.common.FighterSquadron;
 import megamek.common.Flare;
 import megamek.common.Game;
 import megamek.common.GameLog;
+import megamek.common.GameSnapshot;
 import megamek.common.GameTurn;
 import megamek.common.IBoard;
 import megamek.common.IGame;
@@ -347,13 +348,17 @@ public class Client implements IClientCommandHandler {
     }
 
     private void initGameLog() {
-        // log = new GameLog(
-        // PreferenceManager.getClientPreferences().getGameLogFilename(),
-        // false,
-        // (new
-        // Integer(PreferenceManager.getClientPreferences().getGameLogMaxSize()).longValue()
-        // * 1024 * 1024) );
-        log = new GameLog(PreferenceManager.getClientPreferences().getGameLogFilename());
+        if (log != null) {
+            try {
+                log.close();
+            } catch (IOException e) {
+                System.err.print("Exception closing logfile: "); //$NON-NLS-1$
+                e.printStackTrace();
+            }
+        }
+        log = new GameLog(PreferenceManager.getClientPreferences().getGameLogFilename(),
+                PreferenceManager.getClientPreferences().getGameLogMaxSize() * 1024L * 1024L,
+                true, GameLog.Durability.FLUSH);
         log.append("<html><body>");
     }
 
@@ -1709,4 +1714,14 @@ public class Client implements IClientCommandHandler {
     public IGame getGame() {
         return game;
     }
+
+    /**
+     * Returns a snapshot of the game as it is now, which unlike the game
+     * itself may be handed to and read from any thread. It is only taken when
+     * asked for, and must be asked for on the thread that handles the packets
+     * from the server (the event dispatch thread).
+     */
+    public GameSnapshot getGameSnapshot() {
+        return game.snapshot();
+    }
 }
@@ -112,8 +112,6 @@ public abstract class BotClient extends Client {
     public BotClient(String playerName, String host, int port) {
         super(playerName, host, port);
         
-        boardClusterTracker = new BoardClusterTracker();
-        
         game.addGameListener(new GameListenerAdapter() {
 
             @Override
@@ -223,8 +221,6 @@ public abstract class BotClient extends Client {
 
     BotConfiguration config = new BotConfiguration();
 
-    protected BoardClusterTracker boardClusterTracker;
-
     public abstract void initialize();
 
     protected abstract void processChat(GamePlayerChatEvent ge);
@@ -1184,8 +1180,11 @@ public abstract class BotClient extends Client {
         game.getBoard().collapseBuilding((Vector<Coords>) packet.getObject(0));
     }
 
+    /**
+     * @return the board clusters kept by the game, which are shared with anything else working on it
+     */
     public BoardClusterTracker getClusterTracker() {
-        return boardClusterTracker;
+        return game.getBoardClusterTracker();
     }
 
     private class RankedCoords implements Comparable<RankedCoords> {
@@ -52,7 +52,6 @@ import megamek.common.actions.WeaponAttackAction;
 import megamek.common.containers.PlayerIDandList;
 import megamek.common.event.GamePlayerChatEvent;
 import megamek.common.options.OptionsConstants;
-import megamek.common.pathfinder.BoardClusterTracker;
 
 public class TestBot extends BotClient {
 
@@ -71,7 +70,7 @@ public class TestBot extends BotClient {
 
     @Override
     public void initialize() {
-        boardClusterTracker = new BoardClusterTracker();
+        // nothing to set up, the board clusters are kept by the game
     }
 
     @Override
@@ -111,6 +111,7 @@ public class BehaviorSettings {
     private int herdMentalityIndex = 5; // How close do I want to stick to my teammates?
     private int braveryIndex = 5; // How quickly will I try to escape once damaged?
     private LogLevel verbosity = LogLevel.WARNING; // Verbosity of Princess chat messages.  Separate from the verbosity of the MegaMek log.
+    private int pathEnumerationThreads = 0; // How many units' moves may I work out at once?  0 is one per processor.
 
     private MMLogger logger = null;
 
@@ -145,6 +146,7 @@ public class BehaviorSettings {
         copy.setHyperAggressionIndex(getHyperAggressionIndex());
         copy.setSelfPreservationIndex(getSelfPreservationIndex());
         copy.setVerbosity(getVerbosity());
+        copy.setPathEnumerationThreads(getPathEnumerationThreads());
         for (final String t : getStrategicBuildingTargets()) {
             copy.addStrategicTarget(t);
         }
@@ -168,6 +170,32 @@ public class BehaviorSettings {
         this.verbosity = verbosity;
     }
 
+    /**
+     * @return The number of threads used to work out the possible moves of units, or 0 to use one per processor.
+     */
+    public int getPathEnumerationThreads() {
+        return pathEnumerationThreads;
+    }
+
+    /**
+     * @param pathEnumerationThreads The number of threads used to work out the possible moves of units.  1 works
+     *                               them out one unit at a time; 0 or less uses one thread per processor.
+     */
+    public void setPathEnumerationThreads(final int pathEnumerationThreads) {
+        this.pathEnumerationThreads = Math.max(0, pathEnumerationThreads);
+    }
+
+    /**
+     * @param threads The number ["0"...] of threads used to work out the possible moves of units.
+     */
+    public void setPathEnumerationThreads(final String threads) throws PrincessException {
+        try {
+            setPathEnumerationThreads(Integer.parseInt(threads));
+        } catch (final NumberFormatException ex) {
+            throw new PrincessException(ex);
+        }
+    }
+
     /**
      * @return TRUE if I should immediately proceed to my home board edge.
      */
@@ -692,6 +720,8 @@ public class BehaviorSettings {
                 setBraveryIndex(child.getTextContent());
             } else if ("verbosity".equalsIgnoreCase(child.getNodeName())) {
                 setVerbosity(LogLevel.getLogLevel(child.getTextContent()));
+            } else if ("pathEnumerationThreads".equalsIgnoreCase(child.getNodeName())) {
+                setPathEnumerationThreads(child.getTextContent());
             } else if ("strategicTargets".equalsIgnoreCase(child.getNodeName())) {
                 final NodeList targets = child.getChildNodes();
                 for (int j = 0; j < targets.getLength(); j++) {
@@ -775,6 +805,10 @@ public class BehaviorSettings {
             verbosityNode.setTextContent(getVerbosity().toString());
             behavior.appendChild(verbosityNode);
 
+            final Element pathEnumerationThreadsNode = doc.createElement("pathEnumerationThreads");
+            pathEnumerationThreadsNode.setTextContent("" + getPathEnumerationThreads());
+            behavior.appendChild(pathEnumerationThreadsNode);
+
             final Element targetsNode = doc.createElement("strategicBuildingTargets");
             if (includeTargets) {
                 for (final String t : getStrategicBuildingTargets()) {
@@ -813,6 +847,7 @@ public class BehaviorSettings {
         out.append("\n\tBravery: ").append(getBraveryIndex());
         out.append("\n\tHerd Mentality: ").append(getHerdMentalityIndex());
         out.append("\n\tVerbosity: ").append(getVerbosity());
+        out.append("\n\tPath Enumeration Threads: ").append(getPathEnumerationThreads());
         out.append("\n\tTargets:");
         out.append("\n\t\tCoords: ");
         for (final String t : getStrategicBuildingTargets()) {
@@ -840,6 +875,7 @@ public class BehaviorSettings {
         if (herdMentalityIndex != that.herdMentalityIndex) return false;
         if (hyperAggressionIndex != that.hyperAggressionIndex) return false;
         if (selfPreservationIndex != that.selfPreservationIndex) return false;
+        if (pathEnumerationThreads != that.pathEnumerationThreads) return false;
         if (!description.equals(that.description)) return false;
         if (destinationEdge != that.destinationEdge) return false;
         if (retreatEdge != that.retreatEdge) return false;
@@ -871,6 +907,7 @@ public class BehaviorSettings {
         result = 31 * result + (null != priorityUnitTargets ? priorityUnitTargets.hashCode() : 0);
         result = 31 * result + herdMentalityIndex;
         result = 31 * result + braveryIndex;
+        result = 31 * result + pathEnumerationThreads;
         return result;
     }
 }
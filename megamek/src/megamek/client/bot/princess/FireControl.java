@@ -330,6 +330,23 @@ public class FireControl {
                                                    @Nullable EntityState targetState,
                                                    final int distance,
                                                    final IGame game) {
+        return guessToHitModifierHelperForAnyAttack(shooter, shooterState, target, targetState, distance, game,
+                                                    false);
+    }
+
+    /**
+     * Gets the toHit modifier common to both weapon and physical attacks
+     *
+     * @param valueOnly    Set TRUE to only add up the modifiers, without keeping their descriptions.
+     * @see #guessToHitModifierHelperForAnyAttack(Entity, EntityState, Targetable, EntityState, int, IGame)
+     */
+    private ToHitData guessToHitModifierHelperForAnyAttack(final Entity shooter,
+                                                           @Nullable EntityState shooterState,
+                                                           final Targetable target,
+                                                           @Nullable EntityState targetState,
+                                                           final int distance,
+                                                           final IGame game,
+                                                           final boolean valueOnly) {
 
         if (null == shooterState) {
             shooterState = new EntityState(shooter);
@@ -350,7 +367,7 @@ public class FireControl {
             return new ToHitData(TH_RNG_TOO_FAR);
         }
 
-        final ToHitData toHitData = new ToHitData();
+        final ToHitData toHitData = valueOnly ? ToHitData.valueOnly() : new ToHitData();
 
         // If people are moving or lying down, there are consequences
         toHitData.append(getAttackerMovementModifier(game, shooter.getId(), shooterState.getMovementType()));
@@ -752,6 +769,61 @@ public class FireControl {
                                           @Nullable EntityState targetState,
                                           final Mounted weapon,
                                           final IGame game) {
+        return guessToHitModifierForWeapon(shooter, shooterState, target, targetState, weapon, game, false);
+    }
+
+    /**
+     * Makes an educated guess as to the to hit modifier with a weapon attack,
+     * possibly only adding up the modifiers. A value-only guess describes
+     * itself by making the full guess again if its description is needed,
+     * from the same unit states and only as long as the game is still in the
+     * same round and phase with no unit moved since.
+     * <p>
+     * Only the guess's own modifiers are added up without descriptions. The
+     * modifiers computed by {@link Compute} and {@link LosEffects} (movement,
+     * line of sight, damage and the like) are still described there and only
+     * their values are taken over.
+     *
+     * @param valueOnly Set TRUE to only add up the modifiers, without keeping their descriptions.
+     * @see #guessToHitModifierForWeapon(Entity, EntityState, Targetable, EntityState, Mounted, IGame)
+     */
+    ToHitData guessToHitModifierForWeapon(final Entity shooter,
+                                          @Nullable EntityState shooterState,
+                                          final Targetable target,
+                                          @Nullable EntityState targetState,
+                                          final Mounted weapon,
+                                          final IGame game,
+                                          final boolean valueOnly) {
+        if (valueOnly) {
+            // the description has to come from the same states, not from where the units are by then
+            final EntityState describedShooterState = (null == shooterState) ? new EntityState(shooter)
+                                                                              : shooterState;
+            final EntityState describedTargetState = (null == targetState) ? new EntityState(target) : targetState;
+            final int round = game.getRoundCount();
+            final IGame.Phase phase = game.getPhase();
+            final int positions = game.getEntityPositionVersion();
+            final ToHitData toHit = guessWeaponToHit(shooter, describedShooterState, target, describedTargetState,
+                                                     weapon, game, true);
+            toHit.setDescriber(() -> {
+                if ((round != game.getRoundCount()) || (phase != game.getPhase())
+                    || (positions != game.getEntityPositionVersion())) {
+                    return null;
+                }
+                return guessWeaponToHit(shooter, describedShooterState, target, describedTargetState, weapon, game,
+                                        false);
+            });
+            return toHit;
+        }
+        return guessWeaponToHit(shooter, shooterState, target, targetState, weapon, game, false);
+    }
+
+    private ToHitData guessWeaponToHit(final Entity shooter,
+                                       @Nullable EntityState shooterState,
+                                       final Targetable target,
+                                       @Nullable EntityState targetState,
+                                       final Mounted weapon,
+                                       final IGame game,
+                                       final boolean valueOnly) {
 
         if (null == shooterState) {
             shooterState = new EntityState(shooter);
@@ -843,18 +915,18 @@ public class FireControl {
         }
 
         // Get the mods that apply to all attacks.
-        final ToHitData baseMods = guessToHitModifierHelperForAnyAttack(shooter,
-                                                                        shooterState,
-                                                                        target,
-                                                                        targetState,
-                                                                        distance,
-                                                                        game);
+        final ToHitData baseMods = valueOnly
+                                   ? guessToHitModifierHelperForAnyAttack(shooter, shooterState, target,
+                                                                          targetState, distance, game, true)
+                                   : guessToHitModifierHelperForAnyAttack(shooter, shooterState, target,
+                                                                          targetState, distance, game);
         if (TargetRoll.IMPOSSIBLE == baseMods.getValue() || TargetRoll.AUTOMATIC_FAIL == baseMods.getValue()) {
             return baseMods;
         }
 
         // Base to hit is gunnery skill
-        final ToHitData toHit = new ToHitData(shooter.getCrew().getGunnery(), TH_GUNNERY);
+        final ToHitData toHit = valueOnly ? ToHitData.valueOnly() : new ToHitData();
+        toHit.addModifier(shooter.getCrew().getGunnery(), TH_GUNNERY);
         toHit.append(baseMods);
 
         // There is kindly already a class that will calculate line of sight for me
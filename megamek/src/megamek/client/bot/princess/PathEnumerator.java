@@ -14,13 +14,17 @@
 package megamek.client.bot.princess;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import megamek.client.bot.princess.BotGeometry.ConvexBoardArea;
@@ -66,10 +70,14 @@ public class PathEnumerator {
     private final Map<Integer, ConvexBoardArea> unitMovableAreas = new ConcurrentHashMap<>();
     private final Map<Integer, Set<CoordFacingCombo>> unitPotentialLocations = new ConcurrentHashMap<>();
     private final Map<Integer, CoordFacingCombo> lastKnownLocations = new ConcurrentHashMap<>();
+    private final ReachabilityCache<UnitMoves> reachabilityCache = new ReachabilityCache<>();
 
     private AtomicBoolean mapHasBridges = null;
     private final Object BRIDGE_LOCK = new Object();
 
+    private ForkJoinPool pool = null;
+    private boolean shutDown = false;
+
     public PathEnumerator(Princess owningPrincess, IGame game) {
         owner = owningPrincess;
         this.game = game;
@@ -87,6 +95,7 @@ public class PathEnumerator {
             getUnitPotentialLocations().clear();
             getLastKnownLocations().clear();
             getLongRangePaths().clear();
+            // the reachability cache checks its entries itself, so they can be reused in the next turn
         } finally {
             getOwner().methodEnd(getClass(), METHOD_NAME);
         }
@@ -145,23 +154,29 @@ public class PathEnumerator {
     /**
      * From a list of potential moves, make a potential ending location chart
      */
-    void updateUnitLocations(Entity entity, List<MovePath> paths) {
-        final String METHOD_NAME = "updateUnitLocations(Entity, ArrayList<MovePath>)";
+    void updateUnitLocations(Entity entity, Set<CoordFacingCombo> locations) {
+        final String METHOD_NAME = "updateUnitLocations(Entity, Set<CoordFacingCombo>)";
         getOwner().methodBegin(getClass(), METHOD_NAME);
         try {
             // clear previous locations for this entity
             getUnitPotentialLocations().remove(entity.getId());
-            //
-            Set<CoordFacingCombo> toAdd = new HashSet<>();
-            for (MovePath path : paths) {
-                toAdd.add(CoordFacingCombo.createCoordFacingCombo(path));
-            }
-            getUnitPotentialLocations().put(entity.getId(), toAdd);
+            getUnitPotentialLocations().put(entity.getId(), new HashSet<>(locations));
         } finally {
             getOwner().methodEnd(getClass(), METHOD_NAME);
         }
     }
 
+    /**
+     * @return The locations the paths end in.
+     */
+    private static Set<CoordFacingCombo> getEndLocations(List<MovePath> paths) {
+        Set<CoordFacingCombo> locations = new HashSet<>();
+        for (MovePath path : paths) {
+            locations.add(CoordFacingCombo.createCoordFacingCombo(path));
+        }
+        return locations;
+    }
+
     /**
      * calculates all moves for a given unit, keeping the shortest path to each hex/facing pair
      */
@@ -169,156 +184,236 @@ public class PathEnumerator {
         final String METHOD_NAME = "recalculateMovesFor(IGame, Entity)";
         getOwner().methodBegin(getClass(), METHOD_NAME);
         try {
+            clearMovesFor(mover);
+            storeMoves(mover, getMoves(mover));
+        } finally {
+            getOwner().methodEnd(getClass(), METHOD_NAME);
+        }
+    }
+
+    /**
+     * Calculates all moves for each of the given units. Each unit's paths only depend on the game, so they are
+     * enumerated concurrently on up to {@link BehaviorSettings#getPathEnumerationThreads()} threads. Long-range
+     * paths use the shared cluster tracker and are still calculated one unit at a time once the rest is done.
+     *
+     * @param movers The distinct units to recalculate the moves of.
+     */
+    public void recalculateMovesFor(final Collection<Entity> movers) {
+        final String METHOD_NAME = "recalculateMovesFor(Collection<Entity>)";
+        getOwner().methodBegin(getClass(), METHOD_NAME);
+        try {
+            final int parallelism = getParallelism();
+            final List<ForkJoinTask<UnitMoves>> tasks = ((parallelism <= 1) || (movers.size() <= 1))
+                    ? null : submitMoves(movers, parallelism);
+            if (tasks == null) {
+                for (Entity mover : movers) {
+                    recalculateMovesFor(mover);
+                }
+                return;
+            }
+
+            final Iterator<ForkJoinTask<UnitMoves>> results = tasks.iterator();
+            for (Entity mover : movers) {
+                storeMoves(mover, results.next().join());
+            }
+        } finally {
+            getOwner().methodEnd(getClass(), METHOD_NAME);
+        }
+    }
+
+    /**
+     * Records the unit's current position and forgets its previously calculated paths.
+     */
+    private void clearMovesFor(final Entity mover) {
+        getLastKnownLocations().put(
+                mover.getId(),
+                CoordFacingCombo.createCoordFacingCombo(
+                        mover.getPosition(), mover.getFacing()));
+        getUnitPaths().remove(mover.getId());
+        getLongRangePaths().remove(mover.getId());
+    }
+
+    /**
+     * Adds the unit's computed paths, if it has any, and the area they cover, and works out its long-range paths if
+     * needed.
+     */
+    private void storeMoves(final Entity mover, final UnitMoves moves) {
+        if (moves.needsLongRangePaths) {
+            updateLongRangePaths(mover);
+        }
 
-            // Record it's current position.
-            getLastKnownLocations().put(
-                    mover.getId(),
-                    CoordFacingCombo.createCoordFacingCombo(
-                            mover.getPosition(), mover.getFacing()));
+        // Update our locations and add the computed paths.
+        updateUnitLocations(mover, moves.locations);
+        if (moves.paths != null) {
+            getUnitPaths().put(mover.getId(), moves.paths);
+        }
 
-            // Clear out any already calculated paths.
-            getUnitPaths().remove(mover.getId());
-            getLongRangePaths().remove(mover.getId());
+        // calculate bounding area for move
+        ConvexBoardArea myArea = new ConvexBoardArea(owner);
+        myArea.addCoordFacingCombos(getUnitPotentialLocations().get(
+                mover.getId()).iterator());
+        getUnitMovableAreas().put(mover.getId(), myArea);
+    }
 
-            // Start constructing the new list of paths.
-            List<MovePath> paths = new ArrayList<>();
+    /**
+     * Returns the paths the unit can take. Of other players' units only the locations they can end up in are used,
+     * so only those are kept, and they are reused until something that affects the unit changes.
+     */
+    private UnitMoves getMoves(final Entity mover) {
+        final boolean cacheable = !mover.isAero() && !mover.isAirborne()
+                && (getOwner().getLocalPlayer() != null)
+                && (mover.getOwnerId() != getOwner().getLocalPlayer().getId());
+        if (!cacheable) {
+            return enumerateMoves(mover);
+        }
+        UnitMoves moves = getReachabilityCache().get(mover, getGame());
+        if (moves == null) {
+            final UnitMoves enumerated = enumerateMoves(mover);
+            moves = new UnitMoves(null, enumerated.locations, enumerated.needsLongRangePaths);
+            getReachabilityCache().put(mover, getGame(), moves, enumerated.paths);
+        } else {
+            getOwner().log(getClass(), "getMoves(Entity)", LogLevel.DEBUG,
+                    "Reusing paths for " + mover.getDisplayName());
+        }
+        return moves;
+    }
+
+    /**
+     * Enumerates the paths the unit can take. This only reads the game and the unit itself, and each path carries
+     * its own cached entity state, so different units may be enumerated on different threads.
+     */
+    private UnitMoves enumerateMoves(final Entity mover) {
+        final String METHOD_NAME = "enumerateMoves(Entity)";
+        boolean needsLongRangePaths = false;
+
+        // Start constructing the new list of paths.
+        List<MovePath> paths = new ArrayList<>();
+        
+        // Aero movement on atmospheric ground maps
+        // currently only applies to a) conventional aircraft, b) aerotech units, c) lams in air mode
+        if(mover.isAirborneAeroOnGroundMap() && !((IAero) mover).isSpheroid()) {
+            AeroGroundPathFinder apf = AeroGroundPathFinder.getInstance(getGame());
+            MovePath startPath = new MovePath(getGame(), mover);
+            apf.run(startPath);
+            paths.addAll(apf.getAllComputedPathsUncategorized());
             
-            // Aero movement on atmospheric ground maps
-            // currently only applies to a) conventional aircraft, b) aerotech units, c) lams in air mode
-            if(mover.isAirborneAeroOnGroundMap() && !((IAero) mover).isSpheroid()) {
-                AeroGroundPathFinder apf = AeroGroundPathFinder.getInstance(getGame());
-                MovePath startPath = new MovePath(getGame(), mover);
-                apf.run(startPath);
-                paths.addAll(apf.getAllComputedPathsUncategorized());
-                
-                // Remove illegal paths.
-                Filter<MovePath> filter = new Filter<MovePath>() {
-                    @Override
-                    public boolean shouldStay(MovePath movePath) {
-                        return isLegalAeroMove(movePath);
-                    }
-                };
-                
-                this.owner.log(this.getClass(), METHOD_NAME, LogLevel.DEBUG, "Unfiltered paths: " + paths.size());
-                paths = new ArrayList<>(filter.doFilter(paths));
-                this.owner.log(this.getClass(), METHOD_NAME, LogLevel.DEBUG, "Filtered out illegal paths: " + paths.size());
-                AeroGroundOffBoardFilter offBoardFilter = new AeroGroundOffBoardFilter();
-                paths = new ArrayList<>(offBoardFilter.doFilter(paths));
-                
-                MovePath offBoardPath = offBoardFilter.getShortestPath();
-                if(offBoardPath != null) {
-                    paths.add(offBoardFilter.getShortestPath());
+            // Remove illegal paths.
+            Filter<MovePath> filter = new Filter<MovePath>() {
+                @Override
+                public boolean shouldStay(MovePath movePath) {
+                    return isLegalAeroMove(movePath);
                 }
-                
-                this.owner.log(this.getClass(), METHOD_NAME, LogLevel.DEBUG, "Filtered out offboard paths: " + paths.size());
-                
-                // This is code useful for debugging, but puts out a lot of log entries, which slows things down. 
-                HashMap<Integer, Integer> pathLengths = new HashMap<Integer, Integer>();
-                for(MovePath path : paths) {
-                    if(!pathLengths.containsKey(path.length())) {
-                        pathLengths.put(path.length(), 0);
-                    }
-                    Integer lengthCount = pathLengths.get(path.length());
-                    pathLengths.put(path.length(), lengthCount + 1);
-                    
-                    this.owner.log(this.getClass(), "Path ", LogLevel.DEBUG, path.toString());
-                }
-                
-                for(Integer length : pathLengths.keySet()) {
-                    this.owner.log(this.getClass(), METHOD_NAME, LogLevel.DEBUG, "Paths of length " + length + ": " + pathLengths.get(length));
+            };
+            
+            this.owner.log(this.getClass(), METHOD_NAME, LogLevel.DEBUG, "Unfiltered paths: " + paths.size());
+            paths = new ArrayList<>(filter.doFilter(paths));
+            this.owner.log(this.getClass(), METHOD_NAME, LogLevel.DEBUG, "Filtered out illegal paths: " + paths.size());
+            AeroGroundOffBoardFilter offBoardFilter = new AeroGroundOffBoardFilter();
+            paths = new ArrayList<>(offBoardFilter.doFilter(paths));
+            
+            MovePath offBoardPath = offBoardFilter.getShortestPath();
+            if(offBoardPath != null) {
+                paths.add(offBoardFilter.getShortestPath());
+            }
+            
+            this.owner.log(this.getClass(), METHOD_NAME, LogLevel.DEBUG, "Filtered out offboard paths: " + paths.size());
+            
+            // This is code useful for debugging, but puts out a lot of log entries, which slows things down. 
+            HashMap<Integer, Integer> pathLengths = new HashMap<Integer, Integer>();
+            for(MovePath path : paths) {
+                if(!pathLengths.containsKey(path.length())) {
+                    pathLengths.put(path.length(), 0);
                 }
-            // this handles the case of the mover being an aerospace unit and "advances space flight" rules being on
-            } else if(mover.isAero() && game.useVectorMove()) {
-                NewtonianAerospacePathFinder npf = NewtonianAerospacePathFinder.getInstance(getGame());
-                npf.run(new MovePath(game, mover));
-                paths.addAll(npf.getAllComputedPathsUncategorized());
-            // this handles the case of the mover being an aerospace unit on a space map
-            } else if(mover.isAero() && game.getBoard().inSpace()) {
-                AeroSpacePathFinder apf = AeroSpacePathFinder.getInstance(getGame());
-                apf.run(new MovePath(game, mover));
-                paths.addAll(apf.getAllComputedPathsUncategorized());
-            // this handles the case of the mover being a winged aerospace unit on a low-atmo map
-            } else if(mover.isAero() && game.getBoard().inAtmosphere() && !Compute.useSpheroidAtmosphere(game, mover)) {
-                AeroLowAltitudePathFinder apf = AeroLowAltitudePathFinder.getInstance(getGame());
-                apf.run(new MovePath(game, mover));
-                paths.addAll(apf.getAllComputedPathsUncategorized());
-            // this handles the case of the mover acting like a spheroid aerospace unit in an atmosphere
-            } else if(Compute.useSpheroidAtmosphere(game, mover)) {
-                SpheroidPathFinder spf = SpheroidPathFinder.getInstance(game);
-                spf.run(new MovePath(game, mover));
-                paths.addAll(spf.getAllComputedPathsUncategorized());
-            // this handles the case of the mover being an infantry unit of some kind, that's not airborne.
-            } else if (mover.hasETypeFlag(Entity.ETYPE_INFANTRY) && !mover.isAirborne()) {
-                InfantryPathFinder ipf = InfantryPathFinder.getInstance(getGame());
-                ipf.run(new MovePath(game, mover));
-                paths.addAll(ipf.getAllComputedPathsUncategorized());
+                Integer lengthCount = pathLengths.get(path.length());
+                pathLengths.put(path.length(), lengthCount + 1);
                 
-                // generate long-range paths appropriate to the bot's current state
-                updateLongRangePaths(mover);
-            // this handles situations where a unit is high up in the air, but is not an aircraft
-            // such as an ejected pilot or a unit hot dropping from a dropship, as these cannot move
-            } else if (!mover.isAero() && mover.isAirborne()) {
-                paths.add(new MovePath(game, mover));
-            } else { // Non-Aero movement
-                // TODO: Will this cause Princess to never use MASC?
-                LongestPathFinder lpf = LongestPathFinder
-                        .newInstanceOfLongestPath(mover.getRunMPwithoutMASC(),
+                this.owner.log(this.getClass(), "Path ", LogLevel.DEBUG, path.toString());
+            }
+            
+            for(Integer length : pathLengths.keySet()) {
+                this.owner.log(this.getClass(), METHOD_NAME, LogLevel.DEBUG, "Paths of length " + length + ": " + pathLengths.get(length));
+            }
+        // this handles the case of the mover being an aerospace unit and "advances space flight" rules being on
+        } else if(mover.isAero() && game.useVectorMove()) {
+            NewtonianAerospacePathFinder npf = NewtonianAerospacePathFinder.getInstance(getGame());
+            npf.run(new MovePath(game, mover));
+            paths.addAll(npf.getAllComputedPathsUncategorized());
+        // this handles the case of the mover being an aerospace unit on a space map
+        } else if(mover.isAero() && game.getBoard().inSpace()) {
+            AeroSpacePathFinder apf = AeroSpacePathFinder.getInstance(getGame());
+            apf.run(new MovePath(game, mover));
+            paths.addAll(apf.getAllComputedPathsUncategorized());
+        // this handles the case of the mover being a winged aerospace unit on a low-atmo map
+        } else if(mover.isAero() && game.getBoard().inAtmosphere() && !Compute.useSpheroidAtmosphere(game, mover)) {
+            AeroLowAltitudePathFinder apf = AeroLowAltitudePathFinder.getInstance(getGame());
+            apf.run(new MovePath(game, mover));
+            paths.addAll(apf.getAllComputedPathsUncategorized());
+        // this handles the case of the mover acting like a spheroid aerospace unit in an atmosphere
+        } else if(Compute.useSpheroidAtmosphere(game, mover)) {
+            SpheroidPathFinder spf = SpheroidPathFinder.getInstance(game);
+            spf.run(new MovePath(game, mover));
+            paths.addAll(spf.getAllComputedPathsUncategorized());
+        // this handles the case of the mover being an infantry unit of some kind, that's not airborne.
+        } else if (mover.hasETypeFlag(Entity.ETYPE_INFANTRY) && !mover.isAirborne()) {
+            InfantryPathFinder ipf = InfantryPathFinder.getInstance(getGame());
+            ipf.run(new MovePath(game, mover));
+            paths.addAll(ipf.getAllComputedPathsUncategorized());
+            
+            // generate long-range paths appropriate to the bot's current state
+            needsLongRangePaths = true;
+        // this handles situations where a unit is high up in the air, but is not an aircraft
+        // such as an ejected pilot or a unit hot dropping from a dropship, as these cannot move
+        } else if (!mover.isAero() && mover.isAirborne()) {
+            paths.add(new MovePath(game, mover));
+        } else { // Non-Aero movement
+            // TODO: Will this cause Princess to never use MASC?
+            LongestPathFinder lpf = LongestPathFinder
+                    .newInstanceOfLongestPath(mover.getRunMPwithoutMASC(),
+                            MoveStepType.FORWARDS, getGame());
+            lpf.run(new MovePath(game, mover));
+            paths.addAll(lpf.getLongestComputedPaths());
+
+            //add walking moves
+            lpf = LongestPathFinder.newInstanceOfLongestPath(
+                    mover.getWalkMP(), MoveStepType.BACKWARDS, getGame());
+            lpf.run(new MovePath(getGame(), mover));
+            paths.addAll(lpf.getLongestComputedPaths());
+
+            //add jumping moves
+            if (mover.getJumpMP() > 0) {
+                ShortestPathFinder spf = ShortestPathFinder
+                        .newInstanceOfOneToAll(mover.getJumpMP(),
                                 MoveStepType.FORWARDS, getGame());
-                lpf.run(new MovePath(game, mover));
-                paths.addAll(lpf.getLongestComputedPaths());
-
-                //add walking moves
-                lpf = LongestPathFinder.newInstanceOfLongestPath(
-                        mover.getWalkMP(), MoveStepType.BACKWARDS, getGame());
-                lpf.run(new MovePath(getGame(), mover));
-                paths.addAll(lpf.getLongestComputedPaths());
-
-                //add jumping moves
-                if (mover.getJumpMP() > 0) {
-                    ShortestPathFinder spf = ShortestPathFinder
-                            .newInstanceOfOneToAll(mover.getJumpMP(),
-                                    MoveStepType.FORWARDS, getGame());
-                    spf.run((new MovePath(game, mover))
-                            .addStep(MoveStepType.START_JUMP));
-                    paths.addAll(spf.getAllComputedPathsUncategorized());
-                }
-
-                for(MovePath path : paths) {
-                    this.owner.log(this.getClass(), "Path ", LogLevel.DEBUG, path.toString());
-                }
-                
-                // Try climbing over obstacles and onto bridges
-                adjustPathsForBridges(paths);
-
-                //filter those paths that end in illegal state
-                Filter<MovePath> filter = new Filter<MovePath>() {
-                    @Override
-                    public boolean shouldStay(MovePath movePath) {
-                        boolean isLegal = movePath.isMoveLegal();
-                        return isLegal
-                                && (Compute.stackingViolation(getGame(),
-                                        mover.getId(),
-                                        movePath.getFinalCoords()) == null);
-                    }
-                };
-                paths = new ArrayList<>(filter.doFilter(paths));
-                
-                // generate long-range paths appropriate to the bot's current state
-                updateLongRangePaths(mover);
+                spf.run((new MovePath(game, mover))
+                        .addStep(MoveStepType.START_JUMP));
+                paths.addAll(spf.getAllComputedPathsUncategorized());
             }
 
-            // Update our locations and add the computed paths.
-            updateUnitLocations(mover, paths);
-            getUnitPaths().put(mover.getId(), paths);
-
-            // calculate bounding area for move
-            ConvexBoardArea myArea = new ConvexBoardArea(owner);
-            myArea.addCoordFacingCombos(getUnitPotentialLocations().get(
-                    mover.getId()).iterator());
-            getUnitMovableAreas().put(mover.getId(), myArea);
-        } finally {
-            getOwner().methodEnd(getClass(), METHOD_NAME);
+            for(MovePath path : paths) {
+                this.owner.log(this.getClass(), "Path ", LogLevel.DEBUG, path.toString());
+            }
+            
+            // Try climbing over obstacles and onto bridges
+            adjustPathsForBridges(paths);
+
+            //filter those paths that end in illegal state
+            Filter<MovePath> filter = new Filter<MovePath>() {
+                @Override
+                public boolean shouldStay(MovePath movePath) {
+                    boolean isLegal = movePath.isMoveLegal();
+                    return isLegal
+                            && (Compute.stackingViolation(getGame(),
+                                    mover.getId(),
+                                    movePath.getFinalCoords()) == null);
+                }
+            };
+            paths = new ArrayList<>(filter.doFilter(paths));
+            
+            // generate long-range paths appropriate to the bot's current state
+            needsLongRangePaths = true;
         }
+
+        return new UnitMoves(paths, getEndLocations(paths), needsLongRangePaths);
     }
     
     /**
@@ -502,10 +597,62 @@ public class PathEnumerator {
         return lastKnownLocations;
     }
 
+    ReachabilityCache<UnitMoves> getReachabilityCache() {
+        return reachabilityCache;
+    }
+
     protected IGame getGame() {
         return game;
     }
 
+    /**
+     * @return The number of units whose moves may be enumerated at once.
+     */
+    private int getParallelism() {
+        final BehaviorSettings behavior = getOwner().getBehaviorSettings();
+        if (behavior == null) {
+            return 1;
+        }
+        final int threads = behavior.getPathEnumerationThreads();
+        return (threads > 0) ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Starts enumerating the moves of each of the units on the pool's threads.
+     *
+     * @return The tasks, in the order of the units, or null if the enumerator has been shut down.
+     */
+    private synchronized List<ForkJoinTask<UnitMoves>> submitMoves(final Collection<Entity> movers,
+                                                                   final int parallelism) {
+        if (shutDown) {
+            return null;
+        }
+        if ((pool == null) || (pool.getParallelism() != parallelism)) {
+            if (pool != null) {
+                pool.shutdown();
+            }
+            pool = new ForkJoinPool(parallelism);
+        }
+        final List<ForkJoinTask<UnitMoves>> tasks = new ArrayList<>(movers.size());
+        for (final Entity mover : movers) {
+            clearMovesFor(mover);
+            tasks.add(pool.submit(() -> getMoves(mover)));
+        }
+        return tasks;
+    }
+
+    /**
+     * Stops the threads moves are enumerated on. Tasks already started still finish; moves recalculated after this
+     * are enumerated one unit at a time.
+     */
+    synchronized void shutdown() {
+        shutDown = true;
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
     private boolean worryAboutBridges() {
         if (mapHasBridges != null) {
             return mapHasBridges.get();
@@ -522,4 +669,21 @@ public class PathEnumerator {
 
         return mapHasBridges.get();
     }
+
+    /**
+     * The paths enumerated for a unit and the locations they end in. Cached moves keep only the locations, as the
+     * paths refer to the entity object they were calculated for, which the client replaces whenever the unit is
+     * updated.
+     */
+    static class UnitMoves {
+        private final List<MovePath> paths;
+        private final Set<CoordFacingCombo> locations;
+        private final boolean needsLongRangePaths;
+
+        UnitMoves(List<MovePath> paths, Set<CoordFacingCombo> locations, boolean needsLongRangePaths) {
+            this.paths = paths;
+            this.locations = locations;
+            this.needsLongRangePaths = needsLongRangePaths;
+        }
+    }
 }
@@ -404,13 +404,12 @@ public class Precognition implements Runnable {
                     return;
                 }
                 
-                Integer entityId = getDirtyUnits().pollFirst();
-                Entity entity = getGame().getEntity(entityId);
-                if (entity != null) {
-                    getOwner().log(getClass(), METHOD_NAME, "recalculating paths for " + entity.getDisplayName());
-                    getPathEnumerator().recalculateMovesFor(entity);
-                    getOwner().log(getClass(), METHOD_NAME, "finished recalculating paths for " + entity
-                            .getDisplayName());
+                List<Entity> entities = pollDirtyUnits(false);
+                if (!entities.isEmpty()) {
+                    getOwner().log(getClass(), METHOD_NAME, "recalculating paths for " + entities.size() + " units");
+                    getPathEnumerator().recalculateMovesFor(entities);
+                    getOwner().log(getClass(), METHOD_NAME, "finished recalculating paths for " + entities.size()
+                            + " units");
                 }
             }
         } finally {
@@ -431,13 +430,14 @@ public class Precognition implements Runnable {
                     ecmInfo = ComputeECM.computeAllEntitiesECMInfo(
                             getGame().getEntitiesVector());
                 } else if (!getDirtyUnits().isEmpty()) {
-                    Entity entity = getGame().getEntity(getDirtyUnits().pollFirst());
-                    if ((entity != null) && isEntityOnMap(entity)) {
+                    List<Entity> entities = pollDirtyUnits(true);
+                    if (!entities.isEmpty()) {
                         unPause();
-                        getOwner().log(getClass(), METHOD_NAME, "recalculating paths for " + entity.getDisplayName());
-                        getPathEnumerator().recalculateMovesFor(entity);
-                        getOwner().log(getClass(), METHOD_NAME, "finished recalculating paths for " + entity
-                                .getDisplayName());
+                        getOwner().log(getClass(), METHOD_NAME, "recalculating paths for " + entities.size()
+                                + " units");
+                        getPathEnumerator().recalculateMovesFor(entities);
+                        getOwner().log(getClass(), METHOD_NAME, "finished recalculating paths for "
+                                + entities.size() + " units");
                     }
                 } else if (getWaitWhenDone().get()) {
                     waitForUnpause(); // paused for a reason
@@ -450,6 +450,24 @@ public class Precognition implements Runnable {
         }
     }
 
+    /**
+     * Removes all units from the dirty list, so that their moves can be recalculated together.
+     *
+     * @param onMapOnly Set TRUE to skip units that are not on the map.
+     * @return The dirty units that still exist.
+     */
+    private List<Entity> pollDirtyUnits(boolean onMapOnly) {
+        List<Entity> entities = new ArrayList<>();
+        Integer entityId;
+        while ((entityId = getDirtyUnits().pollFirst()) != null) {
+            Entity entity = getGame().getEntity(entityId);
+            if ((entity != null) && (!onMapOnly || isEntityOnMap(entity))) {
+                entities.add(entity);
+            }
+        }
+        return entities;
+    }
+
     void signalDone() {
         getDone().set(true);
     }
@@ -580,6 +598,7 @@ public class Precognition implements Runnable {
                 getPathEnumerator().getUnitMovableAreas().remove(id);
                 getPathEnumerator().getUnitPaths().remove(id);
                 getPathEnumerator().getUnitPotentialLocations().remove(id);
+                getPathEnumerator().getReachabilityCache().remove(id);
                 return;
             }
             // if a unit has moved or deployed, then it becomes dirty, and any units
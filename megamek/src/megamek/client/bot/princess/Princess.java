@@ -77,7 +77,6 @@ import megamek.common.logging.DefaultMmLogger;
 import megamek.common.logging.MMLogger;
 import megamek.common.net.Packet;
 import megamek.common.options.OptionsConstants;
-import megamek.common.pathfinder.BoardClusterTracker;
 import megamek.common.pathfinder.PathDecorator;
 import megamek.common.util.BoardUtilities;
 import megamek.common.util.StringUtil;
@@ -1490,10 +1489,8 @@ public class Princess extends BotClient {
         }
         
         BehaviorType behavior = forceMoveToContact ? BehaviorType.MoveToContact : unitBehaviorTracker.getBehaviorType(mover, this);
-        // during the movement phase, it is technically necessary to clear this data between each unit
-        // as the state of the board may have changed due to crashes etc. 
-        // generating movable clusters is a relatively cheap operation, so it's not a big deal
-        getClusterTracker().clearMovableAreas();
+        // the state of the board may have changed since the last unit moved due to crashes etc.
+        // the cluster tracker brings the movable clusters up to date with just the hexes that changed
         getClusterTracker().updateMovableAreas(mover);
         
         // basic idea: 
@@ -1753,7 +1750,6 @@ public class Princess extends BotClient {
             fireControlState = new FireControlState();
             pathRankerState = new PathRankerState();
             unitBehaviorTracker = new UnitBehavior();
-            boardClusterTracker = new BoardClusterTracker();
 
             // Pick up any turrets and add their buildings to the strategic 
             // targets list.
@@ -1866,6 +1862,7 @@ public class Princess extends BotClient {
         if (null != precognition) {
             precognition.signalDone();
             precogThread.interrupt();
+            precognition.getPathEnumerator().shutdown();
         }
     }
 
@@ -0,0 +1,231 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+package megamek.client.bot.princess;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import megamek.common.Building;
+import megamek.common.Coords;
+import megamek.common.Entity;
+import megamek.common.EntityMovementMode;
+import megamek.common.IBoard;
+import megamek.common.IGame;
+import megamek.common.IHex;
+import megamek.common.ITerrain;
+import megamek.common.MovePath;
+
+/**
+ * Remembers the moves worked out for a unit, so that they don't have to be enumerated again while nothing that
+ * affects them has changed. An entry is reused as long as the unit's movement state is the same and neither the
+ * terrain nor the other units within its envelope - the hexes its paths pass through and the hexes next to them -
+ * have changed. A hex that blocked the unit is always next to one it could reach, so it is part of the envelope.
+ * <p>
+ * The paths given to {@link #put} only determine the envelope and are not kept. The stored moves shouldn't refer to
+ * the unit's entity object either, as the client replaces it whenever the unit is updated.
+ *
+ * @param <V> The moves stored for each unit.
+ */
+class ReachabilityCache<V> {
+
+    private final Map<Integer, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * @return The moves calculated for the unit if they are still valid, or null.
+     */
+    V get(final Entity mover, final IGame game) {
+        final Entry<V> entry = entries.get(mover.getId());
+        if ((entry == null) || !entry.state.equals(new MoverState(mover))) {
+            return null;
+        }
+        final IBoard board = game.getBoard();
+        if ((board != entry.board) || ((board.getVersion() != entry.boardVersion)
+                && (terrainSignature(board, entry.envelope) != entry.terrainSignature))) {
+            return null;
+        }
+        if (unitSignature(mover, game, entry.envelope) != entry.unitSignature) {
+            return null;
+        }
+        return entry.moves;
+    }
+
+    /**
+     * Stores the moves calculated for the unit.
+     *
+     * @param paths The paths the moves are made of, which determine the unit's envelope. They are not kept.
+     */
+    void put(final Entity mover, final IGame game, final V moves, final Collection<MovePath> paths) {
+        final Set<Coords> envelope = new HashSet<>();
+        for (final MovePath path : paths) {
+            for (final Coords coords : path.getCoordsSet()) {
+                if (envelope.add(coords)) {
+                    envelope.addAll(coords.allAdjacent());
+                }
+            }
+        }
+        if (mover.getPosition() != null) {
+            envelope.add(mover.getPosition());
+            envelope.addAll(mover.getPosition().allAdjacent());
+        }
+        entries.put(mover.getId(), new Entry<>(new MoverState(mover), game.getBoard(), envelope,
+                terrainSignature(game.getBoard(), envelope), unitSignature(mover, game, envelope), moves));
+    }
+
+    void remove(final int entityId) {
+        entries.remove(entityId);
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * Sums up the hexes of the envelope, so that it doesn't depend on the order they are visited in.
+     */
+    private static long terrainSignature(final IBoard board, final Set<Coords> envelope) {
+        long signature = 0;
+        for (final Coords coords : envelope) {
+            final IHex hex = board.getHex(coords);
+            if (hex == null) {
+                continue;
+            }
+            long hash = mix(((long) coords.hashCode() << 32) | (hex.getLevel() & 0xFFFFFFFFL));
+            for (final int type : hex.getTerrainTypes()) {
+                final ITerrain terrain = hex.getTerrain(type);
+                hash = mix(hash + ((long) type << 40) + ((long) terrain.getExits() << 20) + terrain.getLevel());
+            }
+            final Building building = board.getBuildingAt(coords);
+            if (building != null) {
+                hash = mix(hash + building.getCurrentCF(coords));
+            }
+            signature += hash;
+        }
+        return signature;
+    }
+
+    /**
+     * Sums up the other units standing within the envelope.
+     */
+    private static long unitSignature(final Entity mover, final IGame game, final Set<Coords> envelope) {
+        long signature = 0;
+        for (final Entity entity : game.getEntitiesVector()) {
+            final Coords position = entity.getPosition();
+            if ((entity.getId() == mover.getId()) || (position == null) || !envelope.contains(position)) {
+                continue;
+            }
+            long hash = mix(((long) entity.getId() << 32) | (position.hashCode() & 0xFFFFFFFFL));
+            hash = mix(hash + ((long) entity.getElevation() << 1) + (entity.isProne() ? 1 : 0));
+            signature += hash;
+        }
+        return signature;
+    }
+
+    private static class Entry<V> {
+        private final MoverState state;
+        private final IBoard board;
+        private final int boardVersion;
+        private final Set<Coords> envelope;
+        private final long terrainSignature;
+        private final long unitSignature;
+        private final V moves;
+
+        Entry(MoverState state, IBoard board, Set<Coords> envelope, long terrainSignature, long unitSignature,
+              V moves) {
+            this.state = state;
+            this.board = board;
+            this.boardVersion = board.getVersion();
+            this.envelope = envelope;
+            this.terrainSignature = terrainSignature;
+            this.unitSignature = unitSignature;
+            this.moves = moves;
+        }
+    }
+
+    /**
+     * The parts of a unit that decide where it can move.
+     */
+    private static class MoverState {
+        private final Coords position;
+        private final int facing;
+        private final int elevation;
+        private final int altitude;
+        private final int walkMP;
+        private final int runMP;
+        private final int runMPwithoutMASC;
+        private final int jumpMP;
+        private final EntityMovementMode movementMode;
+        private final int conversionMode;
+        private final boolean prone;
+        private final boolean hullDown;
+        private final boolean shutDown;
+        private final boolean immobile;
+        private final boolean stuck;
+
+        MoverState(Entity entity) {
+            position = entity.getPosition();
+            facing = entity.getFacing();
+            elevation = entity.getElevation();
+            altitude = entity.getAltitude();
+            walkMP = entity.getWalkMP();
+            runMP = entity.getRunMP();
+            runMPwithoutMASC = entity.getRunMPwithoutMASC();
+            jumpMP = entity.getJumpMP();
+            movementMode = entity.getMovementMode();
+            conversionMode = entity.getConversionMode();
+            prone = entity.isProne();
+            hullDown = entity.isHullDown();
+            shutDown = entity.isShutDown();
+            immobile = entity.isImmobile();
+            stuck = entity.isStuck();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MoverState)) {
+                return false;
+            }
+            final MoverState other = (MoverState) o;
+            return Objects.equals(position, other.position) && (facing == other.facing)
+                    && (elevation == other.elevation) && (altitude == other.altitude)
+                    && (walkMP == other.walkMP) && (runMP == other.runMP)
+                    && (runMPwithoutMASC == other.runMPwithoutMASC) && (jumpMP == other.jumpMP)
+                    && (movementMode == other.movementMode) && (conversionMode == other.conversionMode)
+                    && (prone == other.prone) && (hullDown == other.hullDown) && (shutDown == other.shutDown)
+                    && (immobile == other.immobile) && (stuck == other.stuck);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(position, facing, elevation, walkMP, runMP, jumpMP);
+        }
+    }
+}
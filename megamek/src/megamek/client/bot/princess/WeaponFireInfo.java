@@ -278,9 +278,10 @@ public class WeaponFireInfo {
     }
 
     ToHitData calcToHit() {
+        // only the value is needed here; the guess describes itself on demand
         return owner.getFireControl(getShooter()).guessToHitModifierForWeapon(getShooter(), getShooterState(), getTarget(),
                                                                   getTargetState(),
-                                                                  getWeapon(), getGame());
+                                                                  getWeapon(), getGame(), true);
     }
 
     private ToHitData calcToHit(final MovePath shooterPath,
@@ -52,9 +52,9 @@ import megamek.common.event.GameTurnChangeEvent;
 import megamek.common.options.GameOptions;
 import megamek.common.options.IOptions;
 import megamek.common.options.OptionsConstants;
-import megamek.common.pathfinder.AbstractPathFinder;
 import megamek.common.pathfinder.LongestPathFinder;
-import megamek.common.pathfinder.ShortestPathFinder;
+import megamek.common.pathfinder.MovementEnvelopeFinder;
+import megamek.common.pathfinder.SearchDeadline;
 import megamek.common.preference.PreferenceManager;
 import megamek.client.ui.swing.util.TurnTimer;
 
@@ -286,6 +286,9 @@ public class MovementDisplay extends StatusBarPhaseDisplay {
     private int gear;
     // is the shift key held?
     private boolean shiftheld;
+    // the last movement envelope shown, and the gear it was worked out for
+    private MovementEnvelopeFinder movementEnvelope;
+    private int movementEnvelopeGear;
     /**
      * A local copy of the current entity's loaded units.
      */
@@ -1654,9 +1657,13 @@ public class MovementDisplay extends StatusBarPhaseDisplay {
             cmd.compile(clientgui.getClient().getGame(), ce(), false);
             gear = GEAR_LAND;
         } else if ((gear == GEAR_LAND) || (gear == GEAR_JUMP)) {
-            cmd.findPathTo(dest, MoveStepType.FORWARDS);
+            if (!moveWithinEnvelope(dest)) {
+                cmd.findPathTo(dest, MoveStepType.FORWARDS);
+            }
         } else if (gear == GEAR_BACKUP) {
-            cmd.findPathTo(dest, MoveStepType.BACKWARDS);
+            if (!moveWithinEnvelope(dest)) {
+                cmd.findPathTo(dest, MoveStepType.BACKWARDS);
+            }
         } else if (gear == GEAR_CHARGE) {
             cmd.findPathTo(dest, MoveStepType.CHARGE);
             // The path planner shouldn't actually add the charge step
@@ -1714,10 +1721,7 @@ public class MovementDisplay extends StatusBarPhaseDisplay {
             }
             final int timeLimit = PreferenceManager.getClientPreferences()
                                                    .getMaxPathfinderTime();
-            lpf.addStopCondition(new AbstractPathFinder.StopConditionTimeout<MovePath>(
-                    timeLimit * 4));
-
-            lpf.run(cmd);
+            lpf.run(cmd, SearchDeadline.in(timeLimit * 4));
             MovePath lPath = lpf.getComputedPath(dest);
             if (lPath != null) {
                 cmd = lPath;
@@ -4450,6 +4454,7 @@ public class MovementDisplay extends StatusBarPhaseDisplay {
         if (!GUIPreferences.getInstance()
                 .getBoolean(GUIPreferences.MOVE_ENVELOPE)) {
             clientgui.bv.clearMovementEnvelope();
+            movementEnvelope = null;
             return;
         }
         
@@ -4466,8 +4471,7 @@ public class MovementDisplay extends StatusBarPhaseDisplay {
         if (en.isDone()) {
             return;
         }
-        
-        Map<Coords, MovePath> mvEnvData = new HashMap<Coords, MovePath>();
+
         MovePath mp = new MovePath(clientgui.getClient().getGame(), en);
 
         int maxMP;
@@ -4493,19 +4497,36 @@ public class MovementDisplay extends StatusBarPhaseDisplay {
             mp.addStep(MoveStepType.START_JUMP);
         }
 
-        ShortestPathFinder pf = ShortestPathFinder.newInstanceOfOneToAll(maxMP,
+        MovementEnvelopeFinder envelope = new MovementEnvelopeFinder(maxMP,
                 stepType, en.getGame());
-        pf.run(mp);
-        mvEnvData = pf.getAllComputedPaths();
-        Map<Coords, Integer> mvEnvMP = new HashMap<Coords, Integer>(
-                (int) ((mvEnvData.size() * 1.25) + 1));
-        for (Coords c : mvEnvData.keySet()) {
-            mvEnvMP.put(c, mvEnvData.get(c).countMp(mvMode == GEAR_JUMP));
-        }
+        envelope.run(mp);
+        movementEnvelope = envelope;
+        movementEnvelopeGear = mvMode;
+        Map<Coords, Integer> mvEnvMP = envelope.getMovementPoints(mvMode == GEAR_JUMP);
         clientgui.bv.setMovementEnvelope(mvEnvMP, en.getWalkMP(), en
                 .getRunMP(), en.getJumpMP(), mvMode);
     }
 
+    /**
+     * Sets the current path to the cheapest path to the given hex found for
+     * the movement envelope, if the envelope was worked out from the current
+     * path with the current gear and the hex is within it.
+     *
+     * @return true if the path was set
+     */
+    private boolean moveWithinEnvelope(Coords dest) {
+        if ((movementEnvelope == null) || (movementEnvelopeGear != gear)
+                || !movementEnvelope.isComputedFrom(cmd)) {
+            return false;
+        }
+        MovePath path = movementEnvelope.getComputedPath(dest);
+        if (path == null) {
+            return false;
+        }
+        cmd.replaceSteps(path.getStepVector());
+        return true;
+    }
+
     public void computeModifierEnvelope() {
         if (ce() == null) {
             return;
@@ -4532,10 +4553,7 @@ public class MovementDisplay extends StatusBarPhaseDisplay {
                 maxMP, stepType, ce().getGame());
         final int timeLimit = PreferenceManager.getClientPreferences()
                                                .getMaxPathfinderTime();
-        AbstractPathFinder.StopConditionTimeout<MovePath> timeoutCondition = new AbstractPathFinder.StopConditionTimeout<>(
-                timeLimit * 10);
-        lpf.addStopCondition(timeoutCondition);
-        lpf.run(mp);
+        lpf.run(mp, SearchDeadline.in(timeLimit * 10));
         clientgui.bv.setMovementModifierEnvelope(lpf.getLongestComputedPaths());
     }
 
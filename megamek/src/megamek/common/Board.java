@@ -155,6 +155,18 @@ public class Board implements Serializable, IBoard {
      */
     private Map<Coords, Collection<String>> annotations = new HashMap<>();
 
+    /**
+     * Canonical Coords for this board's hexes; rebuilt lazily when the board
+     * dimensions change.
+     */
+    private transient CoordsTable coordsTable;
+
+    /**
+     * Incremented whenever hexes or buildings of this board change, so that
+     * derived data can be cached against it.
+     */
+    private transient int version;
+
     /**
      * Creates a new board with zero as its width and height parameters.
      */
@@ -275,6 +287,21 @@ public class Board implements Serializable, IBoard {
         newData(width, height, new IHex[width * height], null);
     }
 
+    @Override
+    public CoordsTable getCoordsTable() {
+        CoordsTable table = coordsTable;
+        if ((table == null) || !table.matches(width, height)) {
+            table = new CoordsTable(width, height);
+            coordsTable = table;
+        }
+        return table;
+    }
+
+    @Override
+    public int getVersion() {
+        return version;
+    }
+
     public Enumeration<Coords> getHexesAtDistance(Coords coords, int distance) {
         // Initialize the one necessary variable.
         Vector<Coords> retVal = new Vector<Coords>();
@@ -290,11 +317,12 @@ public class Board implements Serializable, IBoard {
 
         // Okay, handle the "real" case.
         // This is a bit of a cludge. Is there a better way to do this?
+        final CoordsTable table = getCoordsTable();
         for (int x = 0; x < width; x++) {
             for (int y = 0; y < height; y++) {
-                if (coords.distance(x, y) == distance) {
-                    retVal.add(new Coords(x, y));
-                    // retVal.add(getHex(x, y));
+                Coords c = table.get(x, y);
+                if (coords.distance(c) == distance) {
+                    retVal.add(c);
                 }
             }
         }
@@ -1422,6 +1450,7 @@ public class Board implements Serializable, IBoard {
      *            be updated.
      */
     public void updateBuildings(Vector<Building> bldgs) {
+        version++;
 
         // Walk through the vector of buildings.
         Enumeration<Building> loop = bldgs.elements();
@@ -1542,6 +1571,7 @@ public class Board implements Serializable, IBoard {
     }
 
     protected void processBoardEvent(BoardEvent event) {
+        version++;
         if (boardListeners == null) {
             return;
         }
@@ -43,6 +43,7 @@ import megamek.common.actions.ThrashAttackAction;
 import megamek.common.actions.TripAttackAction;
 import megamek.common.actions.WeaponAttackAction;
 import megamek.common.annotations.Nullable;
+import megamek.common.options.GameOptionHandles;
 import megamek.common.options.OptionsConstants;
 import megamek.common.weapons.InfantryAttack;
 import megamek.common.weapons.Weapon;
@@ -120,6 +121,9 @@ public class Compute {
 
     private static MMRandom random = MMRandom.generate(MMRandom.R_DEFAULT);
 
+    /** Replaces {@link #random} for threads rolling from their own stream. */
+    private static final ThreadLocal<MMRandom> threadRandom = new ThreadLocal<>();
+
     private static final int[][] clusterHitsTable = new int[][]{
             {1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1},
             {2, 1, 1, 1, 1, 1, 1, 2, 2, 2, 2, 2},
@@ -157,10 +161,10 @@ public class Compute {
      * Wrapper to random#d6(n)
      */
     public static int d6(int dice) {
-        Roll roll = random.d6(dice);
+        Roll roll = getRandom().d6(dice);
         if (Server.getServerInstance() != null) {
             if (Server.getServerInstance().getGame().getOptions()
-                      .booleanOption(OptionsConstants.BASE_RNG_LOG)) {
+                      .booleanOption(GameOptionHandles.BASE_RNG_LOG)) {
                 Server.getServerInstance().reportRoll(roll);
             }
         }
@@ -171,10 +175,10 @@ public class Compute {
      * Wrapper to random#d6(n)
      */
     public static int d6(int dice, int keep) {
-        Roll roll = random.d6(dice, keep);
+        Roll roll = getRandom().d6(dice, keep);
         if (Server.getServerInstance() != null) {
             if (Server.getServerInstance().getGame().getOptions()
-                      .booleanOption(OptionsConstants.BASE_RNG_LOG)) {
+                      .booleanOption(GameOptionHandles.BASE_RNG_LOG)) {
                 Server.getServerInstance().reportRoll(roll);
             }
         }
@@ -185,10 +189,10 @@ public class Compute {
      * Wrapper to random#d6()
      */
     public static int d6() {
-        Roll roll = random.d6();
+        Roll roll = getRandom().d6();
         if (Server.getServerInstance() != null) {
             if (Server.getServerInstance().getGame().getOptions()
-                      .booleanOption(OptionsConstants.BASE_RNG_LOG)) {
+                      .booleanOption(GameOptionHandles.BASE_RNG_LOG)) {
                 Server.getServerInstance().reportRoll(roll);
             }
         }
@@ -199,7 +203,7 @@ public class Compute {
      * Wrapper to random#randomInt(n)
      */
     public static int randomInt(int maxValue) {
-        Roll roll = new MMRoll(random, maxValue);
+        Roll roll = new MMRoll(getRandom(), maxValue);
         return roll.getIntValue();
     }
 
@@ -207,7 +211,7 @@ public class Compute {
      * Wrapper to random#randomFloat()
      */
     public static float randomFloat() {
-        return random.randomFloat();
+        return getRandom().randomFloat();
     }
 
     /**
@@ -217,6 +221,35 @@ public class Compute {
         random = MMRandom.generate(type);
     }
 
+    /**
+     * Sets the RNG to the desired type, seeded so that the same seed gives
+     * the same rolls.
+     */
+    public static void setRNG(int type, long seed) {
+        random = MMRandom.generate(type, seed);
+    }
+
+    /**
+     * Makes the dice methods roll from the given generator, such as a stream
+     * of {@link RandomStreams}, when called from the current thread. Passing
+     * null goes back to the shared RNG.
+     */
+    public static void setThreadRNG(@Nullable MMRandom rng) {
+        if (rng == null) {
+            threadRandom.remove();
+        } else {
+            threadRandom.set(rng);
+        }
+    }
+
+    /**
+     * @return the generator the current thread rolls from
+     */
+    private static MMRandom getRandom() {
+        final MMRandom rng = threadRandom.get();
+        return (rng == null) ? random : rng;
+    }
+
     /**
      * Returns the odds that a certain number or above will be rolled on 2d6.
      */
@@ -655,7 +688,7 @@ public class Compute {
 
         // an easy check
         if (!game.getBoard().contains(dest)) {
-            if (game.getOptions().booleanOption(OptionsConstants.BASE_PUSH_OFF_BOARD)) {
+            if (game.getOptions().booleanOption(GameOptionHandles.BASE_PUSH_OFF_BOARD)) {
                 return true;
             }
             return false;
@@ -865,7 +898,7 @@ public class Compute {
                         target, true);
                 ToHitData mods = los.losModifiers(game);
                 // If the target isn't spotted, can't target
-                if (game.getOptions().booleanOption(OptionsConstants.ADVANCED_DOUBLE_BLIND)
+                if (game.getOptions().booleanOption(GameOptionHandles.ADVANCED_DOUBLE_BLIND)
                     && !Compute.inVisualRange(game, los, other, target)
                     && !Compute.inSensorRange(game, los, other, target, null)) {
                     mods.addModifier(TargetRoll.IMPOSSIBLE,
@@ -1013,8 +1046,8 @@ public class Compute {
                 || (wtype.getAmmoType() == AmmoType.T_MEK_MORTAR)
                 || (wtype instanceof ArtilleryCannonWeapon))
                 && weapon.curMode().equals("Indirect");
-        boolean useExtremeRange = game.getOptions().booleanOption(OptionsConstants.ADVCOMBAT_TACOPS_RANGE);
-        boolean useLOSRange = game.getOptions().booleanOption(OptionsConstants.ADVCOMBAT_TACOPS_LOS_RANGE);
+        boolean useExtremeRange = game.getOptions().booleanOption(GameOptionHandles.ADVCOMBAT_TACOPS_RANGE);
+        boolean useLOSRange = game.getOptions().booleanOption(GameOptionHandles.ADVCOMBAT_TACOPS_LOS_RANGE);
         //Naval C3 only provides full C3 range benefits to energy weapons and guided missiles
         boolean nc3EnergyGuided = ((wtype.hasFlag(WeaponType.F_ENERGY))
                 || (wtype.getAtClass() == WeaponType.CLASS_CAPITAL_MISSILE)
@@ -1056,7 +1089,7 @@ public class Compute {
         // TODO: See above, it should be coded elsewhere...
         //
         if (wtype.hasFlag(WeaponType.F_PPC)) {
-            if (game.getOptions().booleanOption(OptionsConstants.ADVCOMBAT_TACOPS_PPC_INHIBITORS)) {
+            if (game.getOptions().booleanOption(GameOptionHandles.ADVCOMBAT_TACOPS_PPC_INHIBITORS)) {
                 if ((weapon.curMode() != null)
                     && weapon.curMode().equals("Field Inhibitor OFF")) {
                     weaponRanges[RangeType.RANGE_MINIMUM] = 0;
@@ -1066,7 +1099,7 @@ public class Compute {
 
         // Hotloaded weapons
         if (weapon.isHotLoaded()
-            && game.getOptions().booleanOption(OptionsConstants.ADVCOMBAT_TACOPS_HOTLOAD)) {
+            && game.getOptions().booleanOption(GameOptionHandles.ADVCOMBAT_TACOPS_HOTLOAD)) {
             weaponRanges[RangeType.RANGE_MINIMUM] = 0;
         }
 
@@ -1259,10 +1292,10 @@ public class Compute {
             c3spotter = ae; // no c3 when using indirect fire
         }
         if (isIndirect
-            && game.getOptions().booleanOption(OptionsConstants.BASE_INDIRECT_FIRE)
-            && !game.getOptions().booleanOption(OptionsConstants.ADVCOMBAT_INDIRECT_ALWAYS_POSSIBLE)
+            && game.getOptions().booleanOption(GameOptionHandles.BASE_INDIRECT_FIRE)
+            && !game.getOptions().booleanOption(GameOptionHandles.ADVCOMBAT_INDIRECT_ALWAYS_POSSIBLE)
             && LosEffects.calculateLos(game, ae.getId(), target).canSee()
-            && (!game.getOptions().booleanOption(OptionsConstants.ADVANCED_DOUBLE_BLIND) || Compute
+            && (!game.getOptions().booleanOption(GameOptionHandles.ADVANCED_DOUBLE_BLIND) || Compute
                 .canSee(game, ae, target))
             && !(wtype instanceof MekMortarWeapon)) {
             return new ToHitData(TargetRoll.IMPOSSIBLE,
@@ -1946,7 +1979,7 @@ public class Compute {
 
             if (attacker.isLocationBad(Mech.LOC_RARM)
                 || attacker.isLocationBad(Mech.LOC_LARM)) {
-                if (game.getOptions().booleanOption(OptionsConstants.ADVCOMBAT_TACOPS_PRONE_FIRE)) {
+                if (game.getOptions().booleanOption(GameOptionHandles.ADVCOMBAT_TACOPS_PRONE_FIRE)) {
                     // Can fire with only one arm
                     if (attacker.isLocationBad(Mech.LOC_RARM)
                         && attacker.isLocationBad(Mech.LOC_LARM)) {
@@ -2209,7 +2242,7 @@ public class Compute {
                 // first front arc target is our primary.
                 // if first target is non-front, and either a later target or
                 // the current one is in front, use that instead.
-                if (!game.getOptions().booleanOption(OptionsConstants.ADVCOMBAT_NO_FORCED_PRIMARY_TARGETS)) {
+                if (!game.getOptions().booleanOption(GameOptionHandles.ADVCOMBAT_NO_FORCED_PRIMARY_TARGETS)) {
                     Targetable pte = game.getTarget(prevAttack.getTargetType(),
                                                     prevAttack.getTargetId());
                     // in double blind play, we might not have the target in our
@@ -2438,7 +2471,7 @@ public class Compute {
             return getTargetMovementModifier(game, entity.getTractor());
         }
 
-        if (game.getOptions().booleanOption(OptionsConstants.ADVGRNDMOV_TACOPS_STANDING_STILL)
+        if (game.getOptions().booleanOption(GameOptionHandles.ADVGRNDMOV_TACOPS_STANDING_STILL)
             && (entity.mpUsed == 0)
             && !entity.isImmobile()
             && !((entity instanceof Infantry) || (entity instanceof VTOL) || (entity instanceof GunEmplacement))) {
@@ -2507,7 +2540,7 @@ public class Compute {
         }
 
         if ((game != null)
-            && game.getOptions().booleanOption(OptionsConstants.ADVANCED_MAXTECH_MOVEMENT_MODS)) {
+            && game.getOptions().booleanOption(GameOptionHandles.ADVANCED_MAXTECH_MOVEMENT_MODS)) {
             if ((distance >= 3) && (distance <= 4)) {
                 toHit.addModifier(1, "target moved 3-4 hexes");
             } else if ((distance >= 5) && (distance <= 6)) {
@@ -2637,7 +2670,7 @@ public class Compute {
             woodsText = "target in ultra heavy " + woodsText;
         }
 
-        if (!game.getOptions().booleanOption(OptionsConstants.ADVCOMBAT_TACOPS_WOODS_COVER)
+        if (!game.getOptions().booleanOption(GameOptionHandles.ADVCOMBAT_TACOPS_WOODS_COVER)
             && !isAboveWoodsAndSmoke
             && !((t.getTargetType() == Targetable.TYPE_HEX_CLEAR)
                  || (t.getTargetType() == Targetable.TYPE_HEX_IGNITE)
@@ -2725,7 +2758,7 @@ public class Compute {
             woodsText = "heavy " + woodsText;
         }
 
-        if (!game.getOptions().booleanOption(OptionsConstants.ADVCOMBAT_TACOPS_WOODS_COVER)) {
+        if (!game.getOptions().booleanOption(GameOptionHandles.ADVCOMBAT_TACOPS_WOODS_COVER)) {
             if ((woodsLevel == 1) && (eistatus != 2)) {
                 toHit.addModifier(1, woodsText);
             } else if (woodsLevel > 1) {
@@ -2830,11 +2863,6 @@ public class Compute {
         return waaHighest;
     }
 
-    // store these as constants since the tables will never change
-    private static float[] expectedHitsByRackSize = { 0.0f, 1.0f, 1.58f, 2.0f,
-            2.63f, 3.17f, 4.0f, 4.49f, 4.98f, 5.47f, 6.31f, 7.23f, 8.14f,
-            8.59f, 9.04f, 9.5f, 10.1f, 10.8f, 11.42f, 12.1f, 12.7f };
-
     /*
      * | No Modifier | +2 (Artemis, Narc) | -2 (HAG, AMS v Art)| -4 (AMS) | |
      * Avg | Avg | Avg | Avg | | Hits Pct | Hits Pct | Hits Pct | Hits Pct | |
@@ -2992,12 +3020,13 @@ public class Compute {
                 fDamage = at.getDamagePerShot();
             }
 
-            float fHits = 0.0f;
-            if ((wt.getRackSize() != 40) && (wt.getRackSize() != 30)) {
-                fHits = expectedHitsByRackSize[wt.getRackSize()];
-            } else {
-                fHits = 2.0f * expectedHitsByRackSize[wt.getRackSize() / 2];
-            }
+            // A single cluster roll for clusterRack hits gets the cluster
+            // modifiers below applied exactly; everything else (streaks,
+            // battle armor squads) scales its hits by the matching factor.
+            int clusterRack = wt.getRackSize();
+            int clusterMod = 0;
+            float hitsFactor = 1.0f;
+            float fHits = (float) DamageDistribution.expectedClusterHits(clusterRack);
             if (((wt.getAmmoType() == AmmoType.T_SRM_STREAK)
                     || (wt.getAmmoType() == AmmoType.T_MRM_STREAK) || (wt
                     .getAmmoType() == AmmoType.T_LRM_STREAK))
@@ -3005,36 +3034,39 @@ public class Compute {
                             .getPosition(), waa.getTarget(g).getPosition(),
                             allECMInfo)) {
                 fHits = wt.getRackSize();
+                clusterRack = 0;
             }
             if ((wt.getAmmoType() == AmmoType.T_AC_ULTRA)
                 || (wt.getAmmoType() == AmmoType.T_AC_ULTRA_THB)
                 || (wt.getAmmoType() == AmmoType.T_AC_ROTARY)) {
                 if ((weapon.curMode().getName().equals("Ultra"))
                     || (weapon.curMode().getName().equals("2-shot"))) {
-                    fHits = expectedHitsByRackSize[2];
+                    clusterRack = 2;
                 }
                 if (weapon.curMode().getName().equals("3-shot")) {
-                    fHits = expectedHitsByRackSize[3];
+                    clusterRack = 3;
                 }
                 if (weapon.curMode().getName().equals("4-shot")) {
-                    fHits = expectedHitsByRackSize[4];
+                    clusterRack = 4;
                 }
                 if (weapon.curMode().getName().equals("5-shot")) {
-                    fHits = expectedHitsByRackSize[5];
+                    clusterRack = 5;
                 }
                 if (weapon.curMode().getName().equals("6-shot")) {
-                    fHits = expectedHitsByRackSize[6];
+                    clusterRack = 6;
                 }
+                fHits = (float) DamageDistribution.expectedClusterHits(clusterRack);
             }
 
             // Most Battle Armor units have a weapon per trooper, plus their
             // weapons do odd things when mounting multiples
             if (attacker instanceof BattleArmor) {
                 // The number of troopers hitting
-                fHits = expectedHitsByRackSize[ba_attacker
-                        .getShootingStrength()];
+                fHits = (float) DamageDistribution.expectedClusterHits(ba_attacker
+                        .getShootingStrength());
+                clusterRack = 0;
                 if (wt.getDamage() == WeaponType.DAMAGE_BY_CLUSTERTABLE) {
-                    fHits *= expectedHitsByRackSize[wt.getRackSize()];
+                    fHits *= DamageDistribution.expectedClusterHits(wt.getRackSize());
                 }
                 if (wt.getDamage() != WeaponType.DAMAGE_BY_CLUSTERTABLE) {
                     if (wt.getDamage() != WeaponType.DAMAGE_VARIABLE) {
@@ -3044,7 +3076,7 @@ public class Compute {
                     }
                 }
                 if (wt.hasFlag(WeaponType.F_MISSILE_HITS)) {
-                    fHits *= expectedHitsByRackSize[wt.getRackSize()];
+                    fHits *= DamageDistribution.expectedClusterHits(wt.getRackSize());
                 }
             }
 
@@ -3070,18 +3102,21 @@ public class Compute {
                         // 1.30f multiplier when implemented
                         if (((weapon.curMode() == null) || !weapon.curMode().equals("Indirect"))
                                 && (at.getMunitionType() == AmmoType.M_ARTEMIS_CAPABLE)) {
-                            fHits *= 1.2f;
+                            clusterMod += 2;
+                            hitsFactor *= 1.2f;
                         }
                         if (((weapon.curMode() == null) || !weapon.curMode().equals("Indirect"))
                                 && (at.getMunitionType() == AmmoType.M_ARTEMIS_V_CAPABLE)) {
-                            fHits *= 1.3f;
+                            clusterMod += 3;
+                            hitsFactor *= 1.3f;
                         }
                     }
                 }
 
                 // Check for ATMs, which have built in Artemis
                 if (wt.getAmmoType() == AmmoType.T_ATM) {
-                    fHits *= 1.2f;
+                    clusterMod += 2;
+                    hitsFactor *= 1.2f;
                 }
 
                 // Check for target with attached Narc or iNarc homing pod from
@@ -3096,7 +3131,8 @@ public class Compute {
                             || (at.getAmmoType() == AmmoType.T_SRM)
                             || (at.getAmmoType() == AmmoType.T_SRM_IMP))
                             && (at.getMunitionType() == AmmoType.M_NARC_CAPABLE)) {
-                        fHits *= 1.2f;
+                        clusterMod += 2;
+                        hitsFactor *= 1.2f;
                     }
                 }
             }
@@ -3108,7 +3144,8 @@ public class Compute {
                     && !lnk_guide.isDestroyed() && !lnk_guide.isMissing()
                     && !lnk_guide.isBreached()
                     && lnk_guide.getType().hasFlag(MiscType.F_APOLLO)) {
-                    fHits *= .9f;
+                    clusterMod -= 1;
+                    hitsFactor *= .9f;
                 }
             }
 
@@ -3121,7 +3158,8 @@ public class Compute {
                         EquipmentType type = vCounters.get(x).getType();
                         if ((type instanceof WeaponType)
                             && type.hasFlag(WeaponType.F_AMS)) {
-                            fHits *= 0.6;
+                            clusterMod -= 4;
+                            hitsFactor *= 0.6f;
                         }
                     }
                 }
@@ -3133,12 +3171,19 @@ public class Compute {
                 int distance = attacker.getPosition().distance(
                         target.getPosition());
                 if (distance <= wt.getShortRange()) {
-                    fHits *= 1.2;
+                    clusterMod += 2;
+                    hitsFactor *= 1.2f;
                 } else if (distance > wt.getMediumRange()) {
-                    fHits *= 0.8;
+                    clusterMod -= 2;
+                    hitsFactor *= 0.8f;
                 }
             }
 
+            if (clusterRack > 0) {
+                fHits = (float) DamageDistribution.expectedClusterHits(clusterRack, clusterMod);
+            } else {
+                fHits *= hitsFactor;
+            }
             fDamage *= fHits;
 
             if ((wt.getAmmoType() == AmmoType.T_AC_ULTRA)
@@ -3520,12 +3565,12 @@ public class Compute {
                                 }
                                 if ((target instanceof Tank)
                                     && !(cgame.getOptions()
-                                              .booleanOption(OptionsConstants.ADVCOMBAT_VEHICLES_SAFE_FROM_INFERNOS))) {
+                                              .booleanOption(GameOptionHandles.ADVCOMBAT_VEHICLES_SAFE_FROM_INFERNOS))) {
                                     ammo_multiple = 1.1;
                                 }
                                 if ((target instanceof Protomech)
                                     && !(cgame.getOptions()
-                                              .booleanOption(OptionsConstants.ADVCOMBAT_PROTOS_SAFE_FROM_INFERNOS))) {
+                                              .booleanOption(GameOptionHandles.ADVCOMBAT_PROTOS_SAFE_FROM_INFERNOS))) {
                                     ammo_multiple = 1.1;
                                 }
                             }
@@ -3659,7 +3704,7 @@ public class Compute {
         weapon = shooter.getEquipment(atk.getWeaponId());
         wtype = (WeaponType) shooter.getEquipment(atk.getWeaponId()).getType();
         
-        boolean rapidAC = (wtype.getAmmoType() == AmmoType.T_AC) && cgame.getOptions().booleanOption(OptionsConstants.ADVCOMBAT_TACOPS_RAPID_AC);
+        boolean rapidAC = (wtype.getAmmoType() == AmmoType.T_AC) && cgame.getOptions().booleanOption(GameOptionHandles.ADVCOMBAT_TACOPS_RAPID_AC);
 
         if (!((wtype.getAmmoType() == AmmoType.T_AC_ULTRA)
               || (wtype.getAmmoType() == AmmoType.T_AC_ULTRA_THB) 
@@ -4109,7 +4154,7 @@ public class Compute {
     public static boolean inVisualRange(IGame game, LosEffects los, Entity ae,
             Targetable target) {
         //Use firing solution if Advanced Sensors is on
-        if (game.getOptions().booleanOption(OptionsConstants.ADVAERORULES_STRATOPS_ADVANCED_SENSORS)
+        if (game.getOptions().booleanOption(GameOptionHandles.ADVAERORULES_STRATOPS_ADVANCED_SENSORS)
                 && target.getTargetType() == Targetable.TYPE_ENTITY
                 && game.getBoard().inSpace()) {
             Entity te = (Entity) target;
@@ -4474,12 +4519,12 @@ public class Compute {
         tn += (distance / rangeIncrement);
 
         // Apply ECM/ECCM effects
-        if (game.getOptions().booleanOption(OptionsConstants.ADVAERORULES_STRATOPS_ECM)) {
+        if (game.getOptions().booleanOption(GameOptionHandles.ADVAERORULES_STRATOPS_ECM)) {
             tn += calcSpaceECM(game, ae, target);
         }
 
         // Apply large craft sensor shadows
-        if (game.getOptions().booleanOption(OptionsConstants.ADVAERORULES_STRATOPS_SENSOR_SHADOW)) {
+        if (game.getOptions().booleanOption(GameOptionHandles.ADVAERORULES_STRATOPS_SENSOR_SHADOW)) {
             tn += calcSensorShadow(game, ae, target);
         }
 
@@ -4584,12 +4629,12 @@ public class Compute {
         tn += (distance / rangeIncrement);
 
         // Apply ECM/ECCM effects
-        if (game.getOptions().booleanOption(OptionsConstants.ADVAERORULES_STRATOPS_ECM)) {
+        if (game.getOptions().booleanOption(GameOptionHandles.ADVAERORULES_STRATOPS_ECM)) {
             tn += calcSpaceECM(game, ae, target);
         }
 
         // Apply large craft sensor shadows
-        if (game.getOptions().booleanOption(OptionsConstants.ADVAERORULES_STRATOPS_SENSOR_SHADOW)) {
+        if (game.getOptions().booleanOption(GameOptionHandles.ADVAERORULES_STRATOPS_SENSOR_SHADOW)) {
             tn += calcSensorShadow(game, ae, target);
         }
 
@@ -4629,14 +4674,14 @@ public class Compute {
         }
 
         //For Space games with this option, return something different
-        if (game.getOptions().booleanOption(OptionsConstants.ADVAERORULES_STRATOPS_ADVANCED_SENSORS)
+        if (game.getOptions().booleanOption(GameOptionHandles.ADVAERORULES_STRATOPS_ADVANCED_SENSORS)
                 && target.getTargetType() == Targetable.TYPE_ENTITY
                 && game.getBoard().inSpace()) {
             Entity te = (Entity) target;
             return hasSensorContact(ae, te.getId());
         }
 
-        if (!game.getOptions().booleanOption(OptionsConstants.ADVANCED_TACOPS_SENSORS)) {
+        if (!game.getOptions().booleanOption(GameOptionHandles.ADVANCED_TACOPS_SENSORS)) {
             return false;
         }
 
@@ -4655,7 +4700,7 @@ public class Compute {
 
         int maxSensorRange = bracket * range;
         int minSensorRange = Math.max((bracket - 1) * range, 0);
-        if (game.getOptions().booleanOption(OptionsConstants.ADVANCED_INCLUSIVE_SENSOR_RANGE)) {
+        if (game.getOptions().booleanOption(GameOptionHandles.ADVANCED_INCLUSIVE_SENSOR_RANGE)) {
             minSensorRange = 0;
         }
 
@@ -4760,7 +4805,7 @@ public class Compute {
         if (null != te) {
             check += sensor.getModsForStealth(te);
             // Metal Content...
-            if (ae.getGame().getOptions().booleanOption(OptionsConstants.ADVANCED_METAL_CONTENT)) {
+            if (ae.getGame().getOptions().booleanOption(GameOptionHandles.ADVANCED_METAL_CONTENT)) {
                 check += sensor.getModForMetalContent(ae, te);
             }
         }
@@ -5044,6 +5089,15 @@ public class Compute {
                 "Could not find number of missiles in hit table");
     }
 
+    /**
+     * @return the cluster hits table; each row starts with the number of
+     *         missiles, followed by the hits for rolls of 2 to 12. Callers
+     *         must not modify it.
+     */
+    static int[][] getClusterHitsTable() {
+        return clusterHitsTable;
+    }
+
     public static int calculateClusterHitTableAmount(int roll, int rackSize) {
         for (int[] element : clusterHitsTable) {
             if (element[0] == rackSize) {
@@ -5591,7 +5645,7 @@ public class Compute {
         // .php?Cat=&Board=ask&Number=632321&page=0&view=collapsed&sb=5&o=0&fpart=
         else if (!attacker.isEnemyOf(defender)
                  && !attacker.getGame().getOptions()
-                             .booleanOption(OptionsConstants.BASE_FRIENDLY_FIRE)) {
+                             .booleanOption(GameOptionHandles.BASE_FRIENDLY_FIRE)) {
             reason = "Can only swarm an enemy.";
         }
         // target is already swarmed
@@ -5635,13 +5689,8 @@ public class Compute {
                                            defender);
 
         // If the attacker has assault claws, give a -1 modifier.
-        // We can stop looking when we find our first match.
-        for (Mounted mount : attacker.getMisc()) {
-            EquipmentType equip = mount.getType();
-            if (equip.hasFlag(MiscType.F_MAGNET_CLAW)) {
-                toReturn.addModifier(-1, "attacker has magnetic claws");
-                break;
-            }
+        if (!attacker.getMiscWithFlag(MiscType.F_MAGNET_CLAW).isEmpty()) {
+            toReturn.addModifier(-1, "attacker has magnetic claws");
         }
         return toReturn;
     }
@@ -6036,6 +6085,32 @@ public class Compute {
         return result;
     }
 
+    /**
+     * Gets a ring of hexes at a specified distance from the centre, using the
+     * board's canonical <code>Coords</code> instances wherever possible rather
+     * than allocating new ones.
+     *
+     * @param board  The board the ring is on
+     * @param centre The centre point of the ring
+     * @param range  The radius of the ring
+     */
+    public static ArrayList<Coords> coordsAtRange(IBoard board, Coords centre, int range) {
+        final CoordsTable table = board.getCoordsTable();
+        ArrayList<Coords> result = new ArrayList<Coords>(Math.max(range * 6, 1));
+        if (range < 1) {
+            result.add(table.intern(centre));
+            return result;
+        }
+        for (int dir = 0; dir < 6; dir++) {
+            Coords corner = table.translated(centre, dir, range);
+            for (int count = 0; count < range; count++) {
+                result.add(corner);
+                corner = table.translated(corner, (dir + 2) % 6);
+            }
+        }
+        return result;
+    }
+
     /**
      * Gets a new target for a flight of swarm missiles that was just shot at an
      * entity and has missiles left
@@ -6612,7 +6687,7 @@ public class Compute {
             return -1;
         }
 
-        if (!game.getOptions().booleanOption(OptionsConstants.ADVAERORULES_RETURN_FLYOVER)) {
+        if (!game.getOptions().booleanOption(GameOptionHandles.ADVAERORULES_RETURN_FLYOVER)) {
             return -1;
         }
 
@@ -6680,7 +6755,7 @@ public class Compute {
 
         // the rules don't say that the unit must be facing loader
         // so lets take the ring
-        for (Coords c : coordsAtRange(pos, 1)) {
+        for (Coords c : coordsAtRange(game.getBoard(), pos, 1)) {
             IHex hex = game.getBoard().getHex(c);
             if (null == hex) {
                 continue;
@@ -6951,16 +7026,13 @@ public class Compute {
      */
     public static int getAdditionalNonGunner(Entity entity) {
         int crew = 0;
-        for (Mounted m : entity.getMisc()) {
-            if (m.getType().hasFlag(MiscType.F_COMMUNICATIONS)) {
-                crew += (int) m.getTonnage();
-            } else if (m.getType().hasFlag(MiscType.F_FIELD_KITCHEN)) {
-                crew += 3;
-            } else if (m.getType().hasFlag(MiscType.F_MOBILE_FIELD_BASE)) {
-                crew += 5;
-            } else if (m.getType().hasFlag(MiscType.F_MASH)) {
-                crew += 5 * (int) m.getSize();
-            }
+        for (Mounted m : entity.getMiscWithFlag(MiscType.F_COMMUNICATIONS)) {
+            crew += (int) m.getTonnage();
+        }
+        crew += 3 * entity.getMiscWithFlag(MiscType.F_FIELD_KITCHEN).size();
+        crew += 5 * entity.getMiscWithFlag(MiscType.F_MOBILE_FIELD_BASE).size();
+        for (Mounted m : entity.getMiscWithFlag(MiscType.F_MASH)) {
+            crew += 5 * (int) m.getSize();
         }
         return crew;
     }
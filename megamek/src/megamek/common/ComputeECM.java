@@ -37,6 +37,12 @@ import megamek.server.SmokeCloud;
  */
 public class ComputeECM {
 
+    /**
+     * The field index of the ECMInfo list last passed in by a caller on each
+     * thread.
+     */
+    private static final ThreadLocal<ECMField> lastECMField = new ThreadLocal<>();
+
     /**
      * This method checks to see if a line from a to b is affected by any ECM
      * field (including Angel) of the enemy of ae
@@ -492,37 +498,37 @@ public class ComputeECM {
             return null;
         }
 
+        final IGame game = ae.getGame();
+        ECMField ecmField = null;
         if (allEcmInfo == null) {
-            allEcmInfo = computeAllEntitiesECMInfo(ae.getGame()
-                    .getEntitiesVector());
-        }
-        
-        // Get intervening Coords
-        ArrayList<Coords> coords = Coords.intervening(a, b);
-        ECMInfo worstECMEffects = null;
-        // Loop through intervening coords, and find the worst effects        
-        for (Coords c : coords) {
-            ECMInfo affectedInfo = null;
-            if (c.equals(ae.getPosition()) && ae.isINarcedWith(INarcPod.ECM)) {
-                affectedInfo = new ECMInfo(0, 1, ae.getOwner(), c);
-            }
-            for (ECMInfo ecmInfo : allEcmInfo) {
-                // Is the ECMInfo in range of this position?
-                int dist = c.distance(ecmInfo.getPos());
-                if (dist <= ecmInfo.getRange()) {
-                    if (affectedInfo == null) {
-                        affectedInfo = new ECMInfo(0, 0, ae.getOwner(), c);
-                    }
-                    affectedInfo.addOpposingECMEffects(ecmInfo);
-                }
+            ecmField = game.getECMField();
+            if (ecmField == null) {
+                allEcmInfo = computeAllEntitiesECMInfo(game.getEntitiesVector());
             }
-            if ((worstECMEffects == null && affectedInfo != null)
-                    || (affectedInfo != null && ecmComparator.compare(
-                            affectedInfo, worstECMEffects) > 0)) {
-                worstECMEffects = affectedInfo;
-            }
-        }       
-        return worstECMEffects;
+        }
+        if (ecmField == null) {
+            ecmField = getECMField(game.getBoard(), allEcmInfo);
+        }
+        return ecmField.getECMEffects(ae, a, b, ecmComparator);
+    }
+
+    /**
+     * Returns the per-hex field index for the given ECMInfo list. The index
+     * for the list most recently used on the current thread is reused, since
+     * callers typically compute the list once and then check many paths.
+     *
+     * @param board      The current board
+     * @param allEcmInfo A collection of ECMInfo for each Entity in the Game.
+     * @return the field index for the list
+     */
+    public static ECMField getECMField(IBoard board, List<ECMInfo> allEcmInfo) {
+        ECMField ecmField = lastECMField.get();
+        if ((ecmField == null) || (ecmField.getAllECMInfo() != allEcmInfo)
+                || !ecmField.isCurrent(board)) {
+            ecmField = new ECMField(allEcmInfo, board);
+            lastECMField.set(ecmField);
+        }
+        return ecmField;
     }
     
 
@@ -218,7 +218,7 @@ public class Coords implements Serializable {
      * @param d the destination coordinate.
      */
     public int direction(Coords d) {
-        return (int) Math.round(radian(d) / HEXSIDE) % 6;
+        return HexGeometry.direction(this, d);
     }
     
     /**
@@ -271,25 +271,7 @@ public class Coords implements Serializable {
      * @param d the destination coordinate.
      */
     public final double radian(Coords d) {
-        final IdealHex src = IdealHex.get(this);
-        final IdealHex dst = IdealHex.get(d);
-
-        // don't divide by 0
-        if (src.cy == dst.cy) {
-            return (src.cx < dst.cx) ? Math.PI / 2 : Math.PI * 1.5;
-        }
-
-        double r = Math.atan((dst.cx - src.cx) / (src.cy - dst.cy));
-        // flip if we're upside down
-        if (src.cy < dst.cy) {
-            r = (r + Math.PI) % (Math.PI * 2);
-        }
-        // account for negative angles
-        if (r < 0) {
-            r += Math.PI * 2;
-        }
-
-        return r;
+        return HexGeometry.radian(this, d);
     }
 
     /**
@@ -298,7 +280,7 @@ public class Coords implements Serializable {
      * @param d the destination coordinate.
      */
     public final int degree(Coords d) {
-        return (int) Math.round((180 / Math.PI) * radian(d));
+        return HexGeometry.degree(this, d);
     }
 
     /**
@@ -416,29 +398,11 @@ public class Coords implements Serializable {
      * @return The list of intervening coordinates.
      */
     public static ArrayList<Coords> intervening(Coords src, Coords dest, boolean split) {
-        IdealHex iSrc = IdealHex.get(src);
-        IdealHex iDest = IdealHex.get(dest);
-
-        int[] directions = new int[3];
-        int centerDirection = src.direction(dest);
-        if (split) {
-            // HACK to make left appear before right in the sequence reliably
-            centerDirection = (int) Math.round(src.radian(dest) + 0.0001
-                    / HEXSIDE) % 6;
+        final int[] offsets = HexGeometry.interveningOffsets(src, dest, split);
+        ArrayList<Coords> hexes = new ArrayList<>(offsets.length / 2);
+        for (int i = 0; i < offsets.length; i += 2) {
+            hexes.add(new Coords(src.getX() + offsets[i], src.getY() + offsets[i + 1]));
         }
-        directions[2] = centerDirection; // center last
-        directions[1] = (centerDirection + 5) % 6;
-        directions[0] = (centerDirection + 1) % 6;
-
-        ArrayList<Coords> hexes = new ArrayList<>();
-        Coords current = src;
-
-        hexes.add(current);
-        while (!dest.equals(current)) {
-            current = Coords.nextHex(current, iSrc, iDest, directions);
-            hexes.add(current);
-        }
-
         return hexes;
     }
 
@@ -0,0 +1,214 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+
+package megamek.common;
+
+/**
+ * A table of canonical <code>Coords</code> instances for a board of a given
+ * size, plus a margin of off-board hexes around it. Each hex covered by the
+ * table has a stable integer index, so that hot code (line of sight, path
+ * finding, spatial lookups) can work on <code>int</code>s and the
+ * precomputed neighbour table instead of allocating new <code>Coords</code>.
+ * <p>
+ * Indexes are only meaningful for the table that produced them. Coords
+ * outside the table (beyond the margin) have index {@link #NO_INDEX}; the
+ * lookup methods fall back to allocating a new instance for those.
+ * <p>
+ * The table is immutable once built and safe to share between threads.
+ */
+public final class CoordsTable {
+
+    /** The index returned for coordinates that are not covered by the table. */
+    public static final int NO_INDEX = -1;
+
+    /** The number of off-board hexes included on each side of the board. */
+    public static final int DEFAULT_MARGIN = 2;
+
+    private final int boardWidth;
+    private final int boardHeight;
+    private final int margin;
+    private final int width;
+    private final int height;
+    private final Coords[] coords;
+    private final int[] neighbours;
+
+    /**
+     * Creates a table for a board of the given size with the default margin.
+     */
+    public CoordsTable(int boardWidth, int boardHeight) {
+        this(boardWidth, boardHeight, DEFAULT_MARGIN);
+    }
+
+    /**
+     * Creates a table for a board of the given size.
+     *
+     * @param boardWidth  the board width in hexes
+     * @param boardHeight the board height in hexes
+     * @param margin      the number of off-board hexes to include on each side
+     */
+    public CoordsTable(int boardWidth, int boardHeight, int margin) {
+        this.boardWidth = Math.max(boardWidth, 0);
+        this.boardHeight = Math.max(boardHeight, 0);
+        this.margin = Math.max(margin, 0);
+        width = this.boardWidth + (2 * this.margin);
+        height = this.boardHeight + (2 * this.margin);
+        coords = new Coords[width * height];
+        neighbours = new int[coords.length * 6];
+
+        for (int ty = 0; ty < height; ty++) {
+            for (int tx = 0; tx < width; tx++) {
+                coords[(ty * width) + tx] = new Coords(tx - this.margin, ty - this.margin);
+            }
+        }
+        for (int index = 0; index < coords.length; index++) {
+            final int x = coords[index].getX();
+            final int y = coords[index].getY();
+            for (int dir = 0; dir < 6; dir++) {
+                neighbours[(index * 6) + dir] = indexOf(Coords.xInDir(x, y, dir), Coords.yInDir(x, y, dir));
+            }
+        }
+    }
+
+    /**
+     * @return true if this table was built for a board of the given size
+     */
+    public boolean matches(int boardWidth, int boardHeight) {
+        return (this.boardWidth == boardWidth) && (this.boardHeight == boardHeight);
+    }
+
+    /**
+     * @return the number of hexes covered by the table, including the margin
+     */
+    public int size() {
+        return coords.length;
+    }
+
+    public int getMargin() {
+        return margin;
+    }
+
+    /**
+     * @return the index of the (x, y) hex, or {@link #NO_INDEX} if it is
+     *         outside the table
+     */
+    public int indexOf(int x, int y) {
+        final int tx = x + margin;
+        final int ty = y + margin;
+        if ((tx < 0) || (ty < 0) || (tx >= width) || (ty >= height)) {
+            return NO_INDEX;
+        }
+        return (ty * width) + tx;
+    }
+
+    /**
+     * @return the index of the given coords, or {@link #NO_INDEX} if they are
+     *         null or outside the table
+     */
+    public int indexOf(Coords c) {
+        if (c == null) {
+            return NO_INDEX;
+        }
+        return indexOf(c.getX(), c.getY());
+    }
+
+    /**
+     * @return the canonical <code>Coords</code> at the given index
+     */
+    public Coords get(int index) {
+        return coords[index];
+    }
+
+    /**
+     * Returns the canonical instance for (x, y). Coordinates outside the table
+     * result in a newly allocated instance.
+     */
+    public Coords get(int x, int y) {
+        final int index = indexOf(x, y);
+        if (index == NO_INDEX) {
+            return new Coords(x, y);
+        }
+        return coords[index];
+    }
+
+    /**
+     * Returns the canonical instance equal to the given coords, or the
+     * parameter itself if it lies outside the table.
+     */
+    public Coords intern(Coords c) {
+        final int index = indexOf(c);
+        return (index == NO_INDEX) ? c : coords[index];
+    }
+
+    public int getX(int index) {
+        return coords[index].getX();
+    }
+
+    public int getY(int index) {
+        return coords[index].getY();
+    }
+
+    /**
+     * @return the index of the hex adjacent to the given index in the given
+     *         direction, or {@link #NO_INDEX} if that hex is outside the table
+     */
+    public int neighbour(int index, int dir) {
+        return neighbours[(index * 6) + dir];
+    }
+
+    /**
+     * Equivalent to {@link Coords#translated(int)}, but returns the canonical
+     * instance whenever the result lies within the table.
+     */
+    public Coords translated(Coords c, int dir) {
+        final int index = indexOf(c);
+        if (index != NO_INDEX) {
+            final int next = neighbours[(index * 6) + dir];
+            if (next != NO_INDEX) {
+                return coords[next];
+            }
+        }
+        return intern(c.translated(dir));
+    }
+
+    /**
+     * Equivalent to {@link Coords#translated(int, int)}, but returns the
+     * canonical instance whenever the result lies within the table.
+     */
+    public Coords translated(Coords c, int dir, int distance) {
+        return get(Coords.xInDir(c.getX(), c.getY(), dir, distance),
+                Coords.yInDir(c.getX(), c.getY(), dir, distance));
+    }
+
+    /**
+     * @return true if the hex at the given index lies on the board proper
+     *         rather than in the margin
+     */
+    public boolean isOnBoard(int index) {
+        final int x = coords[index].getX();
+        final int y = coords[index].getY();
+        return (x >= 0) && (y >= 0) && (x < boardWidth) && (y < boardHeight);
+    }
+
+    /**
+     * @return the index into the board's own hex array (<code>y * width + x</code>)
+     *         for the given table index, or {@link #NO_INDEX} if the hex is
+     *         off the board
+     */
+    public int boardIndex(int index) {
+        if (!isOnBoard(index)) {
+            return NO_INDEX;
+        }
+        return (coords[index].getY() * boardWidth) + coords[index].getX();
+    }
+}
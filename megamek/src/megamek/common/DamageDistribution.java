@@ -0,0 +1,315 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+
+package megamek.common;
+
+import java.util.Arrays;
+
+/**
+ * An exact probability distribution over a non-negative whole number, such as
+ * the number of missiles hitting from a cluster roll or the damage dealt by
+ * an attack. Distributions are immutable.
+ * <p>
+ * The static methods build the distributions that follow from the dice rules:
+ * the to-hit roll on 2d6 (or 3d6 keeping the best two for gunnery aptitude),
+ * and the cluster hits table with its roll modifiers, hot-loading, streak
+ * launchers and advanced AMS, exactly as rolled by
+ * {@link Compute#missilesHit(int, int, boolean, boolean, boolean)}. The
+ * probabilities of every possible modified roll are computed once when the
+ * class is loaded, so a cluster distribution is a single pass over a row of
+ * the cluster hits table.
+ * <p>
+ * Distributions of independent attacks can be combined with
+ * {@link #plus(DamageDistribution)}, which allows asking e.g. for the chance
+ * that a whole volley deals at least a given amount of damage.
+ */
+public final class DamageDistribution {
+
+    /** Cluster roll modifiers beyond this are treated as this. */
+    public static final int MAX_CLUSTER_MODIFIER = 12;
+
+    /** The distribution of a value that is always 0. */
+    public static final DamageDistribution NONE = new DamageDistribution(new double[] { 1.0 });
+
+    /** The chance of each total of 2d6, indexed by the total. */
+    private static final double[] ROLL_2D6 = new double[13];
+
+    /** The chance of each total of the best two of 3d6. */
+    private static final double[] ROLL_3D6_HIGHEST = new double[13];
+
+    /** The chance of each total of the worst two of 3d6, as for hot-loading. */
+    private static final double[] ROLL_3D6_LOWEST = new double[13];
+
+    /**
+     * The chance of each cluster table roll after modifiers, indexed by
+     * [hot-loaded][advanced AMS][modifier + MAX_CLUSTER_MODIFIER][roll]; roll
+     * 0 stands for "no hits", which only happens with advanced AMS.
+     */
+    private static final double[][][][] CLUSTER_ROLLS = new double[2][2][(2 * MAX_CLUSTER_MODIFIER) + 1][13];
+
+    /** The expected hits of each cluster table row for an unmodified 2d6 roll. */
+    private static final double[] EXPECTED_HITS;
+
+    static {
+        for (int d1 = 1; d1 <= 6; d1++) {
+            for (int d2 = 1; d2 <= 6; d2++) {
+                ROLL_2D6[d1 + d2] += 1.0 / 36;
+                for (int d3 = 1; d3 <= 6; d3++) {
+                    int lowest = Math.min(d1, Math.min(d2, d3));
+                    int highest = Math.max(d1, Math.max(d2, d3));
+                    int total = d1 + d2 + d3;
+                    ROLL_3D6_HIGHEST[total - lowest] += 1.0 / 216;
+                    ROLL_3D6_LOWEST[total - highest] += 1.0 / 216;
+                }
+            }
+        }
+        for (int hot = 0; hot < 2; hot++) {
+            final double[] dice = (hot == 1) ? ROLL_3D6_LOWEST : ROLL_2D6;
+            for (int ams = 0; ams < 2; ams++) {
+                for (int mod = -MAX_CLUSTER_MODIFIER; mod <= MAX_CLUSTER_MODIFIER; mod++) {
+                    final double[] rolls = CLUSTER_ROLLS[hot][ams][mod + MAX_CLUSTER_MODIFIER];
+                    for (int roll = 2; roll <= 12; roll++) {
+                        rolls[clusterRoll(roll + mod, ams == 1)] += dice[roll];
+                    }
+                }
+            }
+        }
+        final int[][] table = Compute.getClusterHitsTable();
+        EXPECTED_HITS = new double[table.length];
+        for (int i = 0; i < table.length; i++) {
+            for (int roll = 2; roll <= 12; roll++) {
+                EXPECTED_HITS[i] += ROLL_2D6[roll] * table[i][roll - 1];
+            }
+        }
+    }
+
+    /**
+     * The modified roll as used on the cluster hits table; see
+     * {@link Compute#missilesHit(int, int, boolean, boolean, boolean)}.
+     */
+    private static int clusterRoll(int roll, boolean advancedAMS) {
+        roll = advancedAMS ? Math.min(roll, 12) : Math.min(Math.max(roll, 2), 12);
+        return (roll < 2) ? 0 : roll;
+    }
+
+    /** The probability of each value, indexed by the value. */
+    private final double[] probabilities;
+
+    private DamageDistribution(double[] probabilities) {
+        this.probabilities = probabilities;
+    }
+
+    /**
+     * @return a distribution that always has the given value
+     */
+    public static DamageDistribution certain(int value) {
+        double[] p = new double[value + 1];
+        p[value] = 1.0;
+        return new DamageDistribution(p);
+    }
+
+    /**
+     * Returns the chance to make a to-hit roll. Unlike
+     * {@link Compute#oddsAbove(int, boolean)} this is exact and a fraction
+     * rather than a percentage. Special target numbers like
+     * {@link TargetRoll#IMPOSSIBLE} have to be handled by the caller.
+     *
+     * @param target            the number to roll
+     * @param aptitudeGunnery   whether 3d6 are rolled, keeping the best two
+     * @return the chance of rolling the target number or more
+     */
+    public static double hitChance(int target, boolean aptitudeGunnery) {
+        if (target <= 2) {
+            return 1.0;
+        } else if (target > 12) {
+            return 0.0;
+        }
+        final double[] dice = aptitudeGunnery ? ROLL_3D6_HIGHEST : ROLL_2D6;
+        double chance = 0;
+        for (int roll = target; roll <= 12; roll++) {
+            chance += dice[roll];
+        }
+        return chance;
+    }
+
+    /**
+     * @return the distribution of hits for an unmodified cluster roll
+     */
+    public static DamageDistribution clusterHits(int missiles) {
+        return clusterHits(missiles, 0, false, false, false);
+    }
+
+    /**
+     * Returns the distribution of the number of hits rolled on the cluster
+     * hits table, for the same arguments as
+     * {@link Compute#missilesHit(int, int, boolean, boolean, boolean)}.
+     * Racks larger than the table are split up the same way, each part
+     * rolling separately.
+     *
+     * @param missiles    the number of missiles (or shots, or pellets)
+     * @param nMod        the modifier to the cluster roll, e.g. +2 for Artemis
+     *                    IV or -4 for AMS
+     * @param hotloaded   whether the worst two of 3d6 are used
+     * @param streak      whether the roll is fixed at 11
+     * @param advancedAMS whether the modified roll may go below 2 for no hits
+     * @return the distribution of the number of hits
+     */
+    public static DamageDistribution clusterHits(int missiles, int nMod, boolean hotloaded,
+            boolean streak, boolean advancedAMS) {
+        if (missiles <= 0) {
+            return NONE;
+        }
+        final int[][] table = Compute.getClusterHitsTable();
+        double[] rolls;
+        if (streak) {
+            rolls = new double[13];
+            rolls[clusterRoll(11 + nMod, advancedAMS)] = 1.0;
+        } else {
+            final int mod = Math.max(-MAX_CLUSTER_MODIFIER, Math.min(nMod, MAX_CLUSTER_MODIFIER));
+            rolls = CLUSTER_ROLLS[hotloaded ? 1 : 0][advancedAMS ? 1 : 0][mod + MAX_CLUSTER_MODIFIER];
+        }
+
+        // find the table row, or the largest one smaller than the rack
+        int row = table.length - 1;
+        while ((row >= 0) && (table[row][0] > missiles)) {
+            row--;
+        }
+        if (row < 0) {
+            return NONE;
+        }
+        final int rowSize = table[row][0];
+        final double[] hits = new double[rowSize + 1];
+        for (int roll = 0; roll <= 12; roll++) {
+            if (rolls[roll] > 0) {
+                hits[(roll == 0) ? 0 : table[row][roll - 1]] += rolls[roll];
+            }
+        }
+        DamageDistribution result = new DamageDistribution(hits);
+        if (rowSize < missiles) {
+            result = result.plus(clusterHits(missiles - rowSize, nMod, hotloaded, streak, advancedAMS));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the expected number of hits of an unmodified cluster roll. This
+     * is looked up from a table for racks on the cluster hits table.
+     */
+    public static double expectedClusterHits(int missiles) {
+        final int[][] table = Compute.getClusterHitsTable();
+        for (int i = 0; i < table.length; i++) {
+            if (table[i][0] == missiles) {
+                return EXPECTED_HITS[i];
+            }
+        }
+        return clusterHits(missiles).mean();
+    }
+
+    /**
+     * @return the expected number of hits of a cluster roll with the given
+     *         modifier
+     */
+    public static double expectedClusterHits(int missiles, int nMod) {
+        if (nMod == 0) {
+            return expectedClusterHits(missiles);
+        }
+        return clusterHits(missiles, nMod, false, false, false).mean();
+    }
+
+    /**
+     * Returns the damage distribution of an attack that hits with the given
+     * chance and then deals the given damage for each hit of the given hits
+     * distribution, e.g. each missile of a cluster roll.
+     *
+     * @param hitChance    the chance of the attack hitting, between 0 and 1
+     * @param hits         the distribution of hits when the attack hits
+     * @param damagePerHit the damage of each hit
+     * @return the distribution of the total damage
+     */
+    public static DamageDistribution ofAttack(double hitChance, DamageDistribution hits,
+            int damagePerHit) {
+        if ((hitChance <= 0) || (damagePerHit <= 0)) {
+            return NONE;
+        }
+        final double chance = Math.min(hitChance, 1.0);
+        final double[] damage = new double[(hits.getMaxValue() * damagePerHit) + 1];
+        damage[0] = 1.0 - chance;
+        for (int i = 0; i < hits.probabilities.length; i++) {
+            damage[i * damagePerHit] += chance * hits.probabilities[i];
+        }
+        return new DamageDistribution(damage);
+    }
+
+    /**
+     * Returns the distribution of the sum of this and another independent
+     * value, such as the total damage of two attacks.
+     */
+    public DamageDistribution plus(DamageDistribution other) {
+        final double[] sum = new double[probabilities.length + other.probabilities.length - 1];
+        for (int i = 0; i < probabilities.length; i++) {
+            if (probabilities[i] == 0) {
+                continue;
+            }
+            for (int j = 0; j < other.probabilities.length; j++) {
+                sum[i + j] += probabilities[i] * other.probabilities[j];
+            }
+        }
+        return new DamageDistribution(sum);
+    }
+
+    /**
+     * @return the chance of exactly the given value
+     */
+    public double probability(int value) {
+        return ((value < 0) || (value >= probabilities.length)) ? 0.0 : probabilities[value];
+    }
+
+    /**
+     * @return the chance of the given value or more
+     */
+    public double probabilityAtLeast(int value) {
+        double chance = 0;
+        for (int i = Math.max(value, 0); i < probabilities.length; i++) {
+            chance += probabilities[i];
+        }
+        return chance;
+    }
+
+    /**
+     * @return the expected value
+     */
+    public double mean() {
+        double mean = 0;
+        for (int i = 1; i < probabilities.length; i++) {
+            mean += i * probabilities[i];
+        }
+        return mean;
+    }
+
+    /**
+     * @return the largest value that can occur
+     */
+    public int getMaxValue() {
+        int max = probabilities.length - 1;
+        while ((max > 0) && (probabilities[max] == 0)) {
+            max--;
+        }
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return "DamageDistribution " + Arrays.toString(probabilities);
+    }
+}
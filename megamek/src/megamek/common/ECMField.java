@@ -0,0 +1,187 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+
+package megamek.common;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A per-hex index of the ECM and ECCM fields (including Angel ECM and chaff)
+ * on the board. For every board hex it records which of the
+ * <code>ECMInfo</code>s produced by
+ * {@link ComputeECM#computeAllEntitiesECMInfo(List)} cover it, so path
+ * queries only look at the fields that actually reach the hexes along the
+ * path instead of measuring the distance to every field for every hex.
+ * <p>
+ * The covering fields of a hex are kept in the order of the source list, so
+ * the combined effects are exactly those of checking the whole list. A field
+ * is immutable once built and describes the game at the time it was built.
+ */
+public class ECMField {
+
+    private final List<ECMInfo> allECMInfo;
+    private final IBoard board;
+    private final int boardVersion;
+    private final int width;
+    private final int height;
+
+    /** Start of each board hex's entries in {@link #entries}; one extra slot at the end. */
+    private final int[] start;
+
+    /** Indexes into {@link #allECMInfo}, grouped by board hex. */
+    private final int[] entries;
+
+    /**
+     * Builds the field index for the given ECM information.
+     *
+     * @param allECMInfo the ECMInfo of all units and chaff, as returned by
+     *                   {@link ComputeECM#computeAllEntitiesECMInfo(List)}
+     * @param board      the board the fields are on
+     */
+    public ECMField(List<ECMInfo> allECMInfo, IBoard board) {
+        this.allECMInfo = allECMInfo;
+        this.board = board;
+        boardVersion = board.getVersion();
+        width = board.getWidth();
+        height = board.getHeight();
+        start = new int[(width * height) + 1];
+
+        // Count the fields covering each hex, shifted by one slot so the
+        // running sum gives each hex's start offset, then fill in the entries
+        addCoverage(null, null);
+        for (int i = 1; i < start.length; i++) {
+            start[i] += start[i - 1];
+        }
+        entries = new int[start[start.length - 1]];
+        addCoverage(start.clone(), entries);
+    }
+
+    /**
+     * Visits every board hex covered by each field. Without a target array
+     * this counts the fields per hex into {@link #start}; otherwise it writes
+     * the field indexes into the target at the positions given by fill.
+     */
+    private void addCoverage(int[] fill, int[] target) {
+        for (int index = 0; index < allECMInfo.size(); index++) {
+            final ECMInfo ecmInfo = allECMInfo.get(index);
+            final Coords pos = ecmInfo.getPos();
+            if (pos == null) {
+                continue;
+            }
+            final int range = ecmInfo.getRange();
+            final int minX = Math.max(pos.getX() - range, 0);
+            final int maxX = Math.min(pos.getX() + range, width - 1);
+            final int minY = Math.max(pos.getY() - range, 0);
+            final int maxY = Math.min(pos.getY() + range, height - 1);
+            for (int y = minY; y <= maxY; y++) {
+                for (int x = minX; x <= maxX; x++) {
+                    if (distance(pos, x, y) > range) {
+                        continue;
+                    }
+                    final int hex = (y * width) + x;
+                    if (target == null) {
+                        start[hex + 1]++;
+                    } else {
+                        target[fill[hex]++] = index;
+                    }
+                }
+            }
+        }
+    }
+
+    private static int distance(Coords pos, int x, int y) {
+        // same as Coords.distance, without the allocation
+        final int xd = Math.abs(pos.getX() - x);
+        final int yo = (xd / 2) + (!pos.isXOdd() && ((x & 1) == 1) ? 1 : 0);
+        final int ymin = pos.getY() - yo;
+        final int ymax = ymin + xd;
+        int ym = 0;
+        if (y < ymin) {
+            ym = ymin - y;
+        }
+        if (y > ymax) {
+            ym = y - ymax;
+        }
+        return xd + ym;
+    }
+
+    /**
+     * @return the ECMInfo list this field was built from
+     */
+    public List<ECMInfo> getAllECMInfo() {
+        return allECMInfo;
+    }
+
+    /**
+     * @return true if this field was built for the current state of the given
+     *         board
+     */
+    public boolean isCurrent(IBoard board) {
+        return (this.board == board) && (boardVersion == board.getVersion())
+                && (width == board.getWidth()) && (height == board.getHeight());
+    }
+
+    /**
+     * Returns the worst ECM effects for the given unit along the line from a
+     * to b, as determined by the comparator. See
+     * {@link ComputeECM#getECMEffects(Entity, Coords, Coords, boolean, List)}.
+     *
+     * @return the worst effects, or null if no hex on the line is affected
+     */
+    public ECMInfo getECMEffects(Entity ae, Coords a, Coords b, Comparator<ECMInfo> ecmComparator) {
+        final Coords aePos = ae.getPosition();
+        final boolean iNarcECM = (aePos != null) && ae.isINarcedWith(INarcPod.ECM);
+        final int[] offsets = HexGeometry.interveningOffsets(a, b, false);
+        ECMInfo worstECMEffects = null;
+        // Loop through intervening coords, and find the worst effects
+        for (int i = 0; i < offsets.length; i += 2) {
+            final int x = a.getX() + offsets[i];
+            final int y = a.getY() + offsets[i + 1];
+            Coords c = null;
+            ECMInfo affectedInfo = null;
+            if (iNarcECM && (aePos.getX() == x) && (aePos.getY() == y)) {
+                c = aePos;
+                affectedInfo = new ECMInfo(0, 1, ae.getOwner(), c);
+            }
+            if ((x >= 0) && (y >= 0) && (x < width) && (y < height)) {
+                final int hex = (y * width) + x;
+                for (int e = start[hex]; e < start[hex + 1]; e++) {
+                    if (affectedInfo == null) {
+                        c = new Coords(x, y);
+                        affectedInfo = new ECMInfo(0, 0, ae.getOwner(), c);
+                    }
+                    affectedInfo.addOpposingECMEffects(allECMInfo.get(entries[e]));
+                }
+            } else {
+                // off the board, so not indexed
+                for (ECMInfo ecmInfo : allECMInfo) {
+                    if (distance(ecmInfo.getPos(), x, y) <= ecmInfo.getRange()) {
+                        if (affectedInfo == null) {
+                            c = new Coords(x, y);
+                            affectedInfo = new ECMInfo(0, 0, ae.getOwner(), c);
+                        }
+                        affectedInfo.addOpposingECMEffects(ecmInfo);
+                    }
+                }
+            }
+            if ((worstECMEffects == null && affectedInfo != null)
+                    || (affectedInfo != null && ecmComparator.compare(
+                            affectedInfo, worstECMEffects) > 0)) {
+                worstECMEffects = affectedInfo;
+            }
+        }
+        return worstECMEffects;
+    }
+}
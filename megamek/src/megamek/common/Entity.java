@@ -446,13 +446,13 @@ public abstract class Entity extends TurnOrdered implements Transporter,
     /**
      * A list of all mounted equipment. (Weapons, ammo, and misc)
      */
-    protected ArrayList<Mounted> equipmentList = new ArrayList<Mounted>();
+    protected ArrayList<Mounted> equipmentList = new EquipmentIndex.MountedList();
 
     /**
      * A list of all mounted weapons. This only includes regular weapons, not
      * bay mounts or grouped weapon mounts.
      */
-    protected ArrayList<Mounted> weaponList = new ArrayList<Mounted>();
+    protected ArrayList<Mounted> weaponList = new EquipmentIndex.MountedList();
 
     /**
      * A list of all mounted weapon bays
@@ -473,7 +473,7 @@ public abstract class Entity extends TurnOrdered implements Transporter,
     /**
      * A list of all mounted ammo.
      */
-    protected ArrayList<Mounted> ammoList = new ArrayList<Mounted>();
+    protected ArrayList<Mounted> ammoList = new EquipmentIndex.MountedList();
 
     /**
      * A list of all mounted bombs.
@@ -483,7 +483,19 @@ public abstract class Entity extends TurnOrdered implements Transporter,
     /**
      * A list of all remaining equipment.
      */
-    protected ArrayList<Mounted> miscList = new ArrayList<Mounted>();
+    protected ArrayList<Mounted> miscList = new EquipmentIndex.MountedList();
+
+    /**
+     * Lookup tables over the equipment lists, built on demand; see
+     * {@link #getEquipmentIndex()}.
+     */
+    private transient volatile EquipmentIndex equipmentIndex;
+
+    /**
+     * Bumped whenever a mount changes location or type, which the equipment
+     * lists themselves don't notice.
+     */
+    private transient volatile int equipmentVersion;
 
     protected ArrayList<INarcPod> pendingINarcPods = new ArrayList<INarcPod>();
     protected ArrayList<INarcPod> iNarcPods = new ArrayList<INarcPod>();
@@ -1558,6 +1570,7 @@ public abstract class Entity extends TurnOrdered implements Transporter,
     public void setShutDown(boolean shutDown) {
         this.shutDown = shutDown;
         setShutDownThisPhase(shutDown);
+        ecmStateChanged();
     }
 
     public void setShutDownThisPhase(boolean shutDown) {
@@ -2492,6 +2505,8 @@ public abstract class Entity extends TurnOrdered implements Transporter,
     public void setFacing(int facing) {
         this.facing = facing;
         if (game != null) {
+            // ECCM can be directional
+            game.resetECMField();
             game.processGameEvent(new GameEntityChangeEvent(this, this));
         }
     }
@@ -4021,6 +4036,92 @@ public abstract class Entity extends TurnOrdered implements Transporter,
         return miscList;
     }
 
+    /**
+     * @return the index over this unit's equipment, rebuilding it if the
+     *         equipment has changed since it was last used
+     */
+    private EquipmentIndex getEquipmentIndex() {
+        EquipmentIndex index = equipmentIndex;
+        final int version = equipmentVersion;
+        if ((index == null) || !index.isCurrent(this, version)) {
+            index = new EquipmentIndex(this, version);
+            equipmentIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Called by a mount of this unit when its location or type changes.
+     */
+    void equipmentChanged() {
+        equipmentVersion++;
+    }
+
+    /**
+     * @return a counter that changes whenever a mount changes location or
+     *         type
+     */
+    int getEquipmentVersion() {
+        return equipmentVersion;
+    }
+
+    /**
+     * Called when something this unit's ECM and ECCM fields depend on
+     * changes, such as a mode or a damaged mount, so the game's ECM field is
+     * built afresh.
+     */
+    void ecmStateChanged() {
+        if (game != null) {
+            game.resetECMField();
+        }
+    }
+
+    /**
+     * Returns the weapons from {@link #getWeaponList()} whose type has the
+     * given flag, in that order. The state of the mounts is not considered.
+     *
+     * @param flag A WeaponType.F_XXX
+     * @return an unmodifiable list of the mounts
+     */
+    public List<Mounted> getWeaponsWithFlag(BigInteger flag) {
+        return getEquipmentIndex().getWeaponsWithFlag(this, flag);
+    }
+
+    /**
+     * Returns the misc equipment whose type has the given flag, in the order
+     * of {@link #getMisc()}. The state of the mounts is not considered.
+     *
+     * @param flag A MiscType.F_XXX
+     * @return an unmodifiable list of the mounts
+     */
+    public List<Mounted> getMiscWithFlag(BigInteger flag) {
+        return getEquipmentIndex().getMiscWithFlag(this, flag);
+    }
+
+    /**
+     * Returns the ammo of the given munition type (e.g. AmmoType.M_INFERNO),
+     * in the order of {@link #getAmmo()}. The number of shots left is not
+     * considered.
+     *
+     * @param munitionType An AmmoType.M_XXX
+     * @return an unmodifiable list of the ammo mounts
+     */
+    public List<Mounted> getAmmoWithMunition(long munitionType) {
+        return getEquipmentIndex().getAmmoWithMunition(this, munitionType);
+    }
+
+    /**
+     * Returns all equipment mounted in the given location, in the order of
+     * {@link #getEquipment()}. Only the primary location of each mount is
+     * considered.
+     *
+     * @param location the location, e.g. Mech.LOC_LARM or Entity.LOC_NONE
+     * @return an unmodifiable list of the mounts
+     */
+    public List<Mounted> getEquipmentAt(int location) {
+        return getEquipmentIndex().getEquipmentAt(this, location);
+    }
+
     public List<Mounted> getBombs() {
         return bombList;
     }
@@ -4219,7 +4320,7 @@ public abstract class Entity extends TurnOrdered implements Transporter,
      * @return true if at least one ready item.
      */
     public boolean hasWorkingMisc(BigInteger flag, long secondary) {
-        for (Mounted m : miscList) {
+        for (Mounted m : getMiscWithFlag(flag)) {
             if ((m.getType() instanceof MiscType) && m.isReady()) {
                 MiscType type = (MiscType) m.getType();
                 if (type.hasFlag(flag)
@@ -4232,7 +4333,7 @@ public abstract class Entity extends TurnOrdered implements Transporter,
     }
 
     public boolean hasMisc(BigInteger flag) {
-        for (Mounted m : miscList) {
+        for (Mounted m : getMiscWithFlag(flag)) {
             if ((m.getType() instanceof MiscType)) {
                 MiscType type = (MiscType) m.getType();
                 if (type.hasFlag(flag)) {
@@ -4255,8 +4356,8 @@ public abstract class Entity extends TurnOrdered implements Transporter,
 
     public int countWorkingMisc(BigInteger flag, int location) {
         int count = 0;
-        OUTER: for (Mounted m : getMisc()) {
-            if (!m.isInoperable() && m.getType().hasFlag(flag)
+        OUTER: for (Mounted m : getMiscWithFlag(flag)) {
+            if (!m.isInoperable()
                     && ((location == -1) || (m.getLocation() == location))) {
                 if (m.getType().hasModes()) {
                     for (Enumeration<EquipmentMode> e = m.getType().getModes(); e.hasMoreElements();) {
@@ -4337,7 +4438,7 @@ public abstract class Entity extends TurnOrdered implements Transporter,
      * @return true if at least one ready item.
      */
     public boolean hasWorkingWeapon(BigInteger flag, long secondary) {
-        for (Mounted m : weaponList) {
+        for (Mounted m : getWeaponsWithFlag(flag)) {
             if ((m.getType() instanceof WeaponType) && m.isReady()) {
                 WeaponType type = (WeaponType) m.getType();
                 if (type.hasFlag(flag)
@@ -5003,7 +5104,7 @@ public abstract class Entity extends TurnOrdered implements Transporter,
             return false;
         }
         if (!isShutDown()) {
-            for (Mounted m : getMisc()) {
+            for (Mounted m : getMiscWithFlag(MiscType.F_ECM)) {
                 EquipmentType type = m.getType();
                 // EQ equipment does not count for stealth armor
                 if (stealth && type.hasFlag(MiscType.F_EW_EQUIPMENT)) {
@@ -5034,7 +5135,7 @@ public abstract class Entity extends TurnOrdered implements Transporter,
         }
         if (game.getOptions().booleanOption(OptionsConstants.ADVANCED_TACOPS_ANGEL_ECM)
             && !isShutDown()) {
-            for (Mounted m : getMisc()) {
+            for (Mounted m : getMiscWithFlag(MiscType.F_ANGEL_ECM)) {
                 EquipmentType type = m.getType();
                 if ((type instanceof MiscType)
                     && type.hasFlag(MiscType.F_ANGEL_ECM)
@@ -5058,7 +5159,7 @@ public abstract class Entity extends TurnOrdered implements Transporter,
             return false;
         }
         if (!isShutDown()) {
-            for (Mounted m : getMisc()) {
+            for (Mounted m : getMiscWithFlag(MiscType.F_NOVA)) {
                 EquipmentType type = m.getType();
                 if ((type instanceof MiscType) && type.hasFlag(MiscType.F_NOVA)
                     && m.curMode().equals("ECM")) {
@@ -5158,7 +5259,7 @@ public abstract class Entity extends TurnOrdered implements Transporter,
         if (game.getOptions().booleanOption(OptionsConstants.ADVANCED_TACOPS_ANGEL_ECM)
             && game.getOptions().booleanOption(OptionsConstants.ADVANCED_TACOPS_ECCM)
             && !isShutDown()) {
-            for (Mounted m : getMisc()) {
+            for (Mounted m : getMiscWithFlag(MiscType.F_ANGEL_ECM)) {
                 EquipmentType type = m.getType();
                 if ((type instanceof MiscType)
                     && type.hasFlag(MiscType.F_ANGEL_ECM)
@@ -5191,7 +5292,7 @@ public abstract class Entity extends TurnOrdered implements Transporter,
         }
 
         if (!isShutDown()) {
-            for (Mounted m : getMisc()) {
+            for (Mounted m : getMiscWithFlag(MiscType.F_ECM)) {
                 EquipmentType type = m.getType();
                 if ((type instanceof MiscType) && type.hasFlag(MiscType.F_ECM)
                     && !m.isInoperable()) {
@@ -5244,7 +5345,7 @@ public abstract class Entity extends TurnOrdered implements Transporter,
             || isShutDown()) {
             return false;
         }
-        for (Mounted m : getMisc()) {
+        for (Mounted m : getMiscWithFlag(MiscType.F_BAP)) {
             EquipmentType type = m.getType();
             if ((type instanceof MiscType) && type.hasFlag(MiscType.F_BAP)) {
 
@@ -5469,10 +5570,9 @@ public abstract class Entity extends TurnOrdered implements Transporter,
      * @return a <code>boolean</code> value indicating a present HarJel system
      */
     public boolean hasHarJelIn(int location) {
-        for (Mounted mounted : getMisc()) {
+        for (Mounted mounted : getMiscWithFlag(MiscType.F_HARJEL)) {
             if ((mounted.getLocation() == location)
-                && mounted.isReady()
-                && (mounted.getType().hasFlag(MiscType.F_HARJEL))) {
+                && mounted.isReady()) {
                 return true;
             }
         }
@@ -5584,7 +5684,7 @@ public abstract class Entity extends TurnOrdered implements Transporter,
         if (isShutDown() || isOffBoard()) {
             return false;
         }
-        for (Mounted m : getEquipment()) {
+        for (Mounted m : getMiscWithFlag(MiscType.F_NOVA)) {
             if ((m.getType() instanceof MiscType)
                 && m.getType().hasFlag(MiscType.F_NOVA)
                 && !m.isInoperable() && !m.curMode().equals("Off")) {
@@ -5595,7 +5695,7 @@ public abstract class Entity extends TurnOrdered implements Transporter,
     }
 
     public boolean hasNovaCEWS() {
-        for (Mounted m : getEquipment()) {
+        for (Mounted m : getMiscWithFlag(MiscType.F_NOVA)) {
             if ((m.getType() instanceof MiscType)
                 && m.getType().hasFlag(MiscType.F_NOVA)
                 && !m.isInoperable()) {
@@ -5609,7 +5709,7 @@ public abstract class Entity extends TurnOrdered implements Transporter,
         if (isShutDown() || isOffBoard()) {
             return false;
         }
-        for (Mounted m : getEquipment()) {
+        for (Mounted m : getMiscWithFlag(MiscType.F_NAVAL_C3)) {
             if ((m.getType() instanceof MiscType)
                 && m.getType().hasFlag(MiscType.F_NAVAL_C3) && !m.isInoperable()) {
                 return true;
@@ -5622,7 +5722,7 @@ public abstract class Entity extends TurnOrdered implements Transporter,
         if (isShutDown() || isOffBoard()) {
             return false;
         }
-        for (Mounted m : getEquipment()) {
+        for (Mounted m : getMiscWithFlag(MiscType.F_C3I)) {
             if ((m.getType() instanceof MiscType)
                 && m.getType().hasFlag(MiscType.F_C3I) && !m.isInoperable()) {
                 return true;
@@ -8836,6 +8936,7 @@ public abstract class Entity extends TurnOrdered implements Transporter,
      */
     public void setTransportId(int transportId) {
         conveyance = transportId;
+        ecmStateChanged();
         // If we were unloaded, set the appropriate flags.
         if (transportId == Entity.NONE) {
             unloadedThisTurn = true;
@@ -9082,22 +9183,23 @@ public abstract class Entity extends TurnOrdered implements Transporter,
      * they have all been fired.
      */
     public boolean hasInfernoAmmo() {
-        boolean found = false;
-
-        // Walk through the unit's ammo, stop when we find a match.
-        for (Mounted amounted : getAmmo()) {
+        // Walk through the unit's inferno ammo, stop when we find a match.
+        for (Mounted amounted : getAmmoWithMunition(AmmoType.M_INFERNO)) {
             AmmoType atype = (AmmoType) amounted.getType();
             if (((atype.getAmmoType() == AmmoType.T_SRM) || (atype.getAmmoType() == AmmoType.T_SRM_IMP)
-                    || (atype.getAmmoType() == AmmoType.T_MML)) && (atype.getMunitionType() == AmmoType.M_INFERNO)
+                    || (atype.getAmmoType() == AmmoType.T_MML))
                     && (amounted.getHittableShotsLeft() > 0)) {
-                found = true;
+                return true;
             }
-            if ((atype.getAmmoType() == AmmoType.T_IATM) && (atype.getMunitionType() == AmmoType.M_IATM_IIW)
+        }
+        for (Mounted amounted : getAmmoWithMunition(AmmoType.M_IATM_IIW)) {
+            AmmoType atype = (AmmoType) amounted.getType();
+            if ((atype.getAmmoType() == AmmoType.T_IATM)
                     && (amounted.getHittableShotsLeft() > 0)) {
-                found = true;
+                return true;
             }
         }
-        return found;
+        return false;
     }
 
     /**
@@ -10842,7 +10944,7 @@ public abstract class Entity extends TurnOrdered implements Transporter,
     }
 
     public boolean hasTAG() {
-        for (Mounted m : getWeaponList()) {
+        for (Mounted m : getWeaponsWithFlag(WeaponType.F_TAG)) {
             WeaponType equip = (WeaponType) (m.getType());
             if ((equip != null) && (equip.hasFlag(WeaponType.F_TAG))) {
                 return true;
@@ -13074,6 +13176,7 @@ public abstract class Entity extends TurnOrdered implements Transporter,
 
     public void setAltitude(int a) {
         altitude = a;
+        ecmStateChanged();
     }
 
     public boolean getUseManualBV() {
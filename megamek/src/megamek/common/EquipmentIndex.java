@@ -0,0 +1,166 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+
+package megamek.common;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lookup tables over the equipment lists of an {@link Entity}, so that
+ * questions like "which misc mounts have this flag" don't have to scan every
+ * mount of the unit each time they are asked. The tables are filled in
+ * lazily, one flag, munition or the location table at a time, and only
+ * depend on which mounts the unit has and where they are; the state of the
+ * mounts (destroyed, mode, ammo left) is still checked by the callers.
+ * <p>
+ * An index belongs to one version of the entity's equipment. The entity
+ * replaces it once its equipment lists have been modified or a mount has been
+ * moved or has had its type changed; see {@link #isCurrent(Entity, int)}.
+ * All lists handed out are unmodifiable and keep the order of the entity's
+ * own lists.
+ */
+final class EquipmentIndex {
+
+    private final int version;
+    private final int equipmentMods;
+    private final int weaponMods;
+    private final int ammoMods;
+    private final int miscMods;
+
+    private final Map<BigInteger, List<Mounted>> weaponsByFlag = new ConcurrentHashMap<>();
+    private final Map<BigInteger, List<Mounted>> miscByFlag = new ConcurrentHashMap<>();
+    private final Map<Long, List<Mounted>> ammoByMunition = new ConcurrentHashMap<>();
+    private volatile Map<Integer, List<Mounted>> equipmentByLocation;
+
+    EquipmentIndex(Entity entity, int version) {
+        this.version = version;
+        equipmentMods = modifications(entity.equipmentList);
+        weaponMods = modifications(entity.weaponList);
+        ammoMods = modifications(entity.ammoList);
+        miscMods = modifications(entity.miscList);
+    }
+
+    /**
+     * @return true if the given equipment version and the equipment lists of
+     *         the entity are still those this index was built for
+     */
+    boolean isCurrent(Entity entity, int version) {
+        return (this.version == version)
+                && (equipmentMods == modifications(entity.equipmentList))
+                && (weaponMods == modifications(entity.weaponList))
+                && (ammoMods == modifications(entity.ammoList))
+                && (miscMods == modifications(entity.miscList));
+    }
+
+    /**
+     * Lists that were not created as {@link MountedList}s (e.g. read from an
+     * old saved game) can only be checked by their size.
+     */
+    private static int modifications(List<Mounted> list) {
+        if (list instanceof MountedList) {
+            return ((MountedList) list).modifications();
+        }
+        return -list.size() - 1;
+    }
+
+    List<Mounted> getWeaponsWithFlag(Entity entity, BigInteger flag) {
+        return withFlag(weaponsByFlag, entity.weaponList, flag);
+    }
+
+    List<Mounted> getMiscWithFlag(Entity entity, BigInteger flag) {
+        return withFlag(miscByFlag, entity.miscList, flag);
+    }
+
+    private static List<Mounted> withFlag(Map<BigInteger, List<Mounted>> table,
+            List<Mounted> mounts, BigInteger flag) {
+        List<Mounted> result = table.get(flag);
+        if (result == null) {
+            List<Mounted> found = new ArrayList<>();
+            for (Mounted m : mounts) {
+                if ((m.getType() != null) && m.getType().hasFlag(flag)) {
+                    found.add(m);
+                }
+            }
+            result = unmodifiable(found);
+            table.put(flag, result);
+        }
+        return result;
+    }
+
+    List<Mounted> getAmmoWithMunition(Entity entity, long munitionType) {
+        List<Mounted> result = ammoByMunition.get(munitionType);
+        if (result == null) {
+            List<Mounted> found = new ArrayList<>();
+            for (Mounted m : entity.ammoList) {
+                if ((m.getType() instanceof AmmoType)
+                        && (((AmmoType) m.getType()).getMunitionType() == munitionType)) {
+                    found.add(m);
+                }
+            }
+            result = unmodifiable(found);
+            ammoByMunition.put(munitionType, result);
+        }
+        return result;
+    }
+
+    List<Mounted> getEquipmentAt(Entity entity, int location) {
+        Map<Integer, List<Mounted>> byLocation = equipmentByLocation;
+        if (byLocation == null) {
+            Map<Integer, List<Mounted>> found = new HashMap<>();
+            for (Mounted m : entity.equipmentList) {
+                found.computeIfAbsent(m.getLocation(), k -> new ArrayList<>()).add(m);
+            }
+            found.replaceAll((k, v) -> unmodifiable(v));
+            byLocation = found;
+            equipmentByLocation = byLocation;
+        }
+        List<Mounted> result = byLocation.get(location);
+        return (result == null) ? Collections.emptyList() : result;
+    }
+
+    private static List<Mounted> unmodifiable(List<Mounted> list) {
+        if (list.isEmpty()) {
+            return Collections.emptyList();
+        }
+        ((ArrayList<Mounted>) list).trimToSize();
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * The list type of the entity's equipment lists. It exposes the number of
+     * structural modifications made to it, so an index can tell whether a
+     * list has changed since it was built, even when the list was modified
+     * directly through {@link Entity#getEquipment()} or its siblings.
+     */
+    static final class MountedList extends ArrayList<Mounted> {
+        private static final long serialVersionUID = -1843720591526373118L;
+
+        @Override
+        public Mounted set(int index, Mounted mounted) {
+            // ArrayList doesn't count replacing an element as a modification
+            modCount++;
+            return super.set(index, mounted);
+        }
+
+        int modifications() {
+            return modCount;
+        }
+    }
+}
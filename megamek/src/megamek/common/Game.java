@@ -50,6 +50,8 @@ import megamek.common.event.GameSettingsChangeEvent;
 import megamek.common.event.GameTurnChangeEvent;
 import megamek.common.options.GameOptions;
 import megamek.common.options.OptionsConstants;
+import megamek.common.pathfinder.BoardClusterTracker;
+import megamek.common.pathfinder.HierarchicalPathFinder;
 import megamek.common.weapons.AttackHandler;
 import megamek.server.SmokeCloud;
 import megamek.server.victory.Victory;
@@ -168,6 +170,25 @@ public class Game implements Serializable, IGame {
     // smoke clouds
     private List<SmokeCloud> smokeCloudList = new CopyOnWriteArrayList<>();
 
+    /**
+     * The ECM fields on the board, built on demand and dropped whenever units
+     * move, enter or leave the game, smoke clouds change or the phase changes.
+     */
+    private transient volatile ECMField ecmField;
+
+    private transient HierarchicalPathFinder hierarchicalPathFinder;
+
+    private transient BoardClusterTracker boardClusterTracker;
+
+    /**
+     * Counts the changes to the positions of units, including units entering
+     * and leaving the game.
+     */
+    private transient int entityPositionVersion;
+
+    /** The last snapshot taken, shared with the next where unchanged. */
+    private transient GameSnapshot snapshot;
+
     transient private Vector<GameListener> gameListeners = new Vector<GameListener>();
 
     /**
@@ -193,6 +214,7 @@ public class Game implements Serializable, IGame {
     public void setBoard(IBoard board) {
         IBoard oldBoard = this.board;
         this.board = board;
+        resetECMField();
         processGameEvent(new GameBoardNewEvent(this, oldBoard, board));
     }
 
@@ -339,6 +361,7 @@ public class Game implements Serializable, IGame {
             System.err.println("Can't set the game options to null!");
         } else {
             this.options = options;
+            resetECMField();
             processGameEvent(new GameSettingsChangeEvent(this));
         }
     }
@@ -769,6 +792,7 @@ public class Game implements Serializable, IGame {
     public void setPhase(Phase phase) {
         final Phase oldPhase = this.phase;
         this.phase = phase;
+        resetECMField();
         // Handle phase-specific items.
         switch (phase) {
             case PHASE_LOUNGE:
@@ -1350,6 +1374,8 @@ public class Game implements Serializable, IGame {
             entity.setGame(this);
             entities.set(entities.indexOf(oldEntity), entity);
             entityIds.put(id, entity);
+            resetECMField();
+            entityPositionVersion++;
             // Get the collection of positions
             HashSet<Coords> oldPositions = oldEntity.getOccupiedCoords();
             // Update position lookup table
@@ -1443,6 +1469,7 @@ public class Game implements Serializable, IGame {
         entities.clear();
         entityIds.clear();
         entityPosLookup.clear();
+        resetECMField();
 
         vOutOfGame.removeAllElements();
 
@@ -1468,6 +1495,7 @@ public class Game implements Serializable, IGame {
         victoryTeam = Player.TEAM_NONE;
         lastEntityId = 0;
         planetaryConditions = new PlanetaryConditions();
+        BoardClusterTracker.clearSharedClusters();
     }
 
     private void removeArtyAutoHitHexes() {
@@ -2762,6 +2790,7 @@ public class Game implements Serializable, IGame {
     public void end(int winner, int winnerTeam) {
         setVictoryPlayerId(winner);
         setVictoryTeam(winnerTeam);
+        BoardClusterTracker.clearSharedClusters();
         processGameEvent(new GameEndEvent(this));
 
     }
@@ -3510,6 +3539,7 @@ public class Game implements Serializable, IGame {
 
     public void addSmokeCloud(SmokeCloud cloud) {
         smokeCloudList.add(cloud);
+        resetECMField();
     }
 
     public List<SmokeCloud> getSmokeCloudList() {
@@ -3520,6 +3550,43 @@ public class Game implements Serializable, IGame {
         for (SmokeCloud cloud : cloudsToRemove) {
             smokeCloudList.remove(cloud);
         }
+        resetECMField();
+    }
+
+    public ECMField getECMField() {
+        ECMField field = ecmField;
+        if ((field == null) || !field.isCurrent(board)) {
+            field = new ECMField(ComputeECM.computeAllEntitiesECMInfo(getEntitiesVector()), board);
+            ecmField = field;
+        }
+        return field;
+    }
+
+    public void resetECMField() {
+        ecmField = null;
+    }
+
+    public int getEntityPositionVersion() {
+        return entityPositionVersion;
+    }
+
+    public synchronized HierarchicalPathFinder getHierarchicalPathFinder() {
+        if (hierarchicalPathFinder == null) {
+            hierarchicalPathFinder = new HierarchicalPathFinder();
+        }
+        return hierarchicalPathFinder;
+    }
+
+    public synchronized BoardClusterTracker getBoardClusterTracker() {
+        if (boardClusterTracker == null) {
+            boardClusterTracker = new BoardClusterTracker();
+        }
+        return boardClusterTracker;
+    }
+
+    public GameSnapshot snapshot() {
+        snapshot = GameSnapshot.of(this, snapshot);
+        return snapshot;
     }
 
     /**
@@ -3535,6 +3602,8 @@ public class Game implements Serializable, IGame {
         if (newPositions.equals(oldPositions)) {
             return;
         }
+        resetECMField();
+        entityPositionVersion++;
 
         // Remove the old cached location(s)
         if (oldPositions != null) {
@@ -3560,6 +3629,8 @@ public class Game implements Serializable, IGame {
     }
 
     private void removeEntityPositionLookup(Entity e) {
+        resetECMField();
+        entityPositionVersion++;
         // Remove Entity from cache
         for (Coords pos : e.getOccupiedCoords()) {
             HashSet<Integer> posEntities = entityPosLookup.get(pos);
@@ -3570,6 +3641,7 @@ public class Game implements Serializable, IGame {
     }
 
     private void resetEntityPositionLookup() {
+        entityPositionVersion++;
         entityPosLookup.clear();
         for (Entity e : entities) {
             updateEntityPositionLookup(e, null);
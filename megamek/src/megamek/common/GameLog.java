@@ -23,14 +23,33 @@ package megamek.common;
 
 import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.GZIPOutputStream;
 
 import megamek.common.preference.PreferenceManager;
 import megamek.common.util.StringUtil;
 
 /**
+ * A log file of the game's reports. Entries are handed to a writer thread
+ * through a bounded queue and written in batches, so appending to the log
+ * doesn't wait for the disk. Only when the writer falls behind by
+ * {@link #QUEUE_CAPACITY} entries does appending wait for it to catch up.
+ * <p>
+ * How often the written entries are pushed to the disk is chosen with a
+ * {@link Durability}. A log may also be rotated once it reaches a maximum
+ * size, optionally compressing the rotated files with gzip.
+ *
  * @author Ben
  * @version
  */
@@ -39,9 +58,38 @@ public class GameLog {
     public static final String LOG_DIR = PreferenceManager
             .getClientPreferences().getLogDirectory();
 
+    /** The number of entries that may wait to be written. */
+    public static final int QUEUE_CAPACITY = 1024;
+
+    /**
+     * When the entries written by the writer thread reach the disk.
+     */
+    public enum Durability {
+        /** When the write buffer is full, the log is rotated or closed. */
+        BUFFERED,
+        /** After each batch of entries, handing them to the OS. */
+        FLUSH,
+        /** After each batch of entries, waiting for the OS to store them. */
+        SYNC
+    }
+
+    /** Tells the writer thread to write everything queued and stop. */
+    private static final Object CLOSE = new Object();
+
     private File logfile;
+    private final long maxSize;
+    private final boolean compressRotated;
+    private final Durability durability;
+
+    private final BlockingQueue<Object> queue;
+    private Thread writerThread;
+    private volatile boolean closed;
 
+    // only used by the writer thread once it has started
+    private FileOutputStream out;
     BufferedWriter writer;
+    private long written;
+    private int rotations;
 
     /**
      * Creates GameLog named
@@ -49,45 +97,229 @@ public class GameLog {
      * @filename
      */
     public GameLog(String filename) {
+        this(filename, 0, false, Durability.FLUSH);
+    }
+
+    /**
+     * Creates a game log in the log directory.
+     *
+     * @param filename        the name of the log file
+     * @param maxSize         the number of characters at which the log is
+     *                        rotated, or 0 to never rotate it
+     * @param compressRotated whether rotated logs are compressed with gzip
+     * @param durability      when written entries are pushed to the disk
+     */
+    public GameLog(String filename, long maxSize, boolean compressRotated,
+            Durability durability) {
+        this(new File(LOG_DIR), filename, maxSize, compressRotated, durability,
+                new LinkedBlockingQueue<>(QUEUE_CAPACITY));
+    }
+
+    /**
+     * Creates a game log in the given directory, handing the entries to the
+     * writer thread through the given queue.
+     */
+    GameLog(File logDir, String filename, long maxSize, boolean compressRotated,
+            Durability durability, BlockingQueue<Object> queue) {
+        this.maxSize = maxSize;
+        this.compressRotated = compressRotated;
+        this.durability = durability;
+        this.queue = queue;
         try {
-            File logDir = new File(LOG_DIR);
             if (!logDir.exists()) {
                 logDir.mkdir();
             }
-            // maxFilesize = maxSize;
             if (PreferenceManager.getClientPreferences().stampFilenames()) {
                 filename = StringUtil.addDateTimeStamp(filename);
             }
-            logfile = new File(LOG_DIR + File.separator + filename);
-            // writer = new BufferedWriter(new FileWriter(LOG_DIR +
-            // File.separator + filename, append));
-            writer = new BufferedWriter(new FileWriter(logfile));
-            append("Log file opened " + new Date().toString()); //$NON-NLS-1$
+            logfile = new File(logDir, filename);
+            open();
         } catch (IOException ex) {
             writer = null;
             System.err.println("GameLog:" + ex.getMessage());
+            return;
         }
+        writerThread = new Thread(this::writeEntries, "GameLog Writer (" + filename + ")");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        append("Log file opened " + new Date().toString()); //$NON-NLS-1$
+    }
+
+    private void open() throws IOException {
+        out = new FileOutputStream(logfile);
+        writer = new BufferedWriter(new OutputStreamWriter(out));
+        written = 0;
     }
 
+    /**
+     * Queues the given text to be written to the log.
+     */
     public void append(String toLog) {
-        // if (writer == null || logfile.length() > maxFilesize) {
+        if ((writerThread == null) || closed) {
+            return;
+        }
+        try {
+            queue.put("<pre>" + toLog + "</pre>");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits until everything appended so far has been written and flushed.
+     */
+    public void flush() throws InterruptedException {
+        if ((writerThread == null) || closed) {
+            return;
+        }
+        CountDownLatch flushed = new CountDownLatch(1);
+        queue.put(flushed);
+        if (closed) {
+            // the log was closed meanwhile, so the latch may have been queued
+            // after CLOSE; closing writes and flushes everything anyway
+            writerThread.join();
+            return;
+        }
+        flushed.await();
+    }
+
+    /**
+     * Writes everything appended so far and closes the log.
+     */
+    public void close() throws java.io.IOException {
+        if ((writerThread == null) || closed) {
+            return;
+        }
+        closed = true;
+        try {
+            queue.put(CLOSE);
+            writerThread.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The writer thread: takes whatever entries are queued, writes them and
+     * then pushes them to the disk as the durability asks for.
+     */
+    private void writeEntries() {
+        List<Object> batch = new ArrayList<>();
+        boolean done = false;
+        while (!done) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException ex) {
+                break;
+            }
+            queue.drainTo(batch);
+            List<CountDownLatch> flushed = new ArrayList<>();
+            for (Object entry : batch) {
+                if (entry == CLOSE) {
+                    done = true;
+                } else if (entry instanceof CountDownLatch) {
+                    flushed.add((CountDownLatch) entry);
+                } else {
+                    write((String) entry);
+                }
+            }
+            batch.clear();
+            if (!flushed.isEmpty()) {
+                sync(Durability.FLUSH);
+            } else if (!done) {
+                sync(durability);
+            }
+            flushed.forEach(CountDownLatch::countDown);
+        }
+        closeWriter();
+        // nothing is written after this, so nobody may wait for it
+        queue.drainTo(batch);
+        for (Object entry : batch) {
+            if (entry instanceof CountDownLatch) {
+                ((CountDownLatch) entry).countDown();
+            }
+        }
+    }
+
+    private void write(String entry) {
         if (writer == null) {
             return;
         }
-        
         try {
-            writer.write("<pre>"+toLog+"</pre>");
+            writer.write(entry);
             writer.newLine();
+            written += entry.length() + 1;
+            if ((maxSize > 0) && (written >= maxSize)) {
+                rotate();
+            }
+        } catch (IOException ex) {
+            System.err.println("GameLog:" + ex.getMessage());
+            writer = null;
+        }
+    }
+
+    private void sync(Durability level) {
+        if ((writer == null) || (level == Durability.BUFFERED)) {
+            return;
+        }
+        try {
             writer.flush();
+            if (level == Durability.SYNC) {
+                out.getFD().sync();
+            }
         } catch (IOException ex) {
-            // duhhhh...
+            System.err.println("GameLog:" + ex.getMessage());
             writer = null;
         }
     }
 
-    public void close() throws java.io.IOException {
+    private void closeWriter() {
         if (writer != null) {
-            writer.close();
+            try {
+                writer.flush();
+                if (durability == Durability.SYNC) {
+                    out.getFD().sync();
+                }
+                writer.close();
+            } catch (IOException ex) {
+                System.err.println("GameLog:" + ex.getMessage());
+            }
+            writer = null;
+        }
+    }
+
+    /**
+     * Moves the full log aside as <i>name.1</i>, <i>name.2</i> and so on,
+     * compressing it if asked to, and starts a new one.
+     */
+    private void rotate() throws IOException {
+        closeWriter();
+        rotations++;
+        File rotated = new File(logfile.getPath() + "." + rotations);
+        if (!logfile.renameTo(rotated)) {
+            throw new IOException("Could not rotate " + logfile);
+        }
+        if (compressRotated) {
+            File compressed = new File(rotated.getPath() + ".gz");
+            try (InputStream in = new FileInputStream(rotated);
+                    OutputStream gzip = new GZIPOutputStream(new FileOutputStream(compressed))) {
+                byte[] buffer = new byte[8192];
+                int count;
+                while ((count = in.read(buffer)) > 0) {
+                    gzip.write(buffer, 0, count);
+                }
+            }
+            if (!rotated.delete()) {
+                rotated.deleteOnExit();
+            }
         }
+        open();
+    }
+
+    /**
+     * @return the current log file, or null if it couldn't be created
+     */
+    public File getLogFile() {
+        return (writerThread == null) ? null : logfile;
     }
 }
@@ -16,13 +16,29 @@ package megamek.common;
 
 
 import megamek.common.logging.DefaultMmLogger;
+import megamek.common.logging.LogLevel;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
 import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Vector;
 
 /**
  * This class is a container for the various reports created by the server
  * during a game.
+ * <p>
+ * Only the reports of the last few rounds are kept in memory. Older rounds
+ * are written to a temporary file and read back when they are asked for,
+ * so that long games don't keep hundreds of thousands of reports around.
+ * If the file can't be written or read back, no further rounds are written
+ * to it and their reports stay in memory.
  */
 public class GameReports implements Serializable {
 
@@ -30,13 +46,24 @@ public class GameReports implements Serializable {
      * 
      */
     private static final long serialVersionUID = -2388197938278797669L;
+
+    /** The number of most recent rounds whose reports are kept in memory. */
+    private static final int ROUNDS_IN_MEMORY = 3;
+
+    /** The reports of each round; null for rounds written to the spill file. */
     private Vector<Vector<Report>> reports;
 
+    private transient RandomAccessFile spillFile;
+    private transient File spillPath;
+    /** The offset and length in the spill file of each spilled round. */
+    private transient Map<Integer, long[]> spilledRounds;
+    private transient boolean spillFailed;
+
     GameReports() {
         reports = new Vector<Vector<Report>>();
     }
 
-    public void add(int round, Vector<Report> v) {
+    public synchronized void add(int round, Vector<Report> v) {
         if (round == 0) {
             // Combine round 0 (deployment) with round one's reports.
             round = 1;
@@ -44,9 +71,15 @@ public class GameReports implements Serializable {
         if (round > reports.size()) {
             // First reports for the round.
             reports.addElement(new Vector<Report>(v));
+            spillOldRounds();
         } else {
             // Already have some reports for this round, so we'll append these
             // new ones.
+            if (reports.elementAt(round - 1) == null) {
+                Vector<Report> spilled = readRound(round - 1);
+                reports.setElementAt((spilled == null) ? new Vector<Report>() : spilled, round - 1);
+                spilledRounds.remove(round - 1);
+            }
             reports.elementAt(round - 1).addAll(new Vector<Report>(v));
         }
     }
@@ -54,13 +87,17 @@ public class GameReports implements Serializable {
     /**
      *  Get a single round's reports.
      */
-    public Vector<Report> get(int round) {
+    public synchronized Vector<Report> get(int round) {
         if (round == 0) {
             // Round 0 (deployment) reports are lumped in with round one.
             round = 1;
         }
         if (round <= reports.size()) {
-            return reports.elementAt(round - 1);
+            Vector<Report> roundReports = reports.elementAt(round - 1);
+            if (roundReports == null) {
+                roundReports = readRound(round - 1);
+            }
+            return (roundReports == null) ? new Vector<Report>() : roundReports;
         }
         Exception badRound = new RuntimeException(
                 "ERROR: GameReports.get() was asked for reports of a round [" + round + "] which it does not posses.");
@@ -69,22 +106,140 @@ public class GameReports implements Serializable {
     }
 
     /**
-     *  Get all the reports.
+     *  Get all the reports. Rounds that were written to the spill file are
+     *  read back for this, but not kept in memory.
      */
-    public Vector<Vector<Report>> get() {
-        return reports;
+    public synchronized Vector<Vector<Report>> get() {
+        Vector<Vector<Report>> all = new Vector<Vector<Report>>(reports.size());
+        for (int i = 0; i < reports.size(); i++) {
+            Vector<Report> roundReports = reports.elementAt(i);
+            if (roundReports == null) {
+                roundReports = readRound(i);
+            }
+            all.addElement((roundReports == null) ? new Vector<Report>() : roundReports);
+        }
+        return all;
     }
 
     /**
-     * Set the reports vector from outside all at once.
+     * Set the reports vector from outside all at once. The given vector is
+     * copied, so writing old rounds to the spill file doesn't change it.
      * @param v
      */
-    public void set(Vector<Vector<Report>> v) {
-        reports = v;
+    public synchronized void set(Vector<Vector<Report>> v) {
+        discardSpill();
+        reports = new Vector<Vector<Report>>(v);
+        spillOldRounds();
     }
 
-    public void clear() {
+    public synchronized void clear() {
+        discardSpill();
         reports = new Vector<Vector<Report>>();
     }
 
+    /**
+     * Writes the reports of all but the most recent rounds to the spill file.
+     */
+    private void spillOldRounds() {
+        for (int i = 0; i < reports.size() - ROUNDS_IN_MEMORY; i++) {
+            if (spillFailed) {
+                return;
+            }
+            if (reports.elementAt(i) != null) {
+                spillRound(i);
+            }
+        }
+    }
+
+    private void spillRound(int index) {
+        final String METHOD_NAME = "spillRound(int)";
+        try {
+            if (spillFile == null) {
+                spillPath = File.createTempFile("megamek-reports", ".tmp");
+                spillPath.deleteOnExit();
+                spillFile = new RandomAccessFile(spillPath, "rw");
+                spilledRounds = new HashMap<>();
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                Vector<Report> roundReports = reports.elementAt(index);
+                out.writeInt(roundReports.size());
+                for (Report r : roundReports) {
+                    out.writeObject(r);
+                    // the server still needs these for double-blind filtering
+                    out.writeInt(r.type);
+                    out.writeInt(r.subject);
+                    out.writeInt(r.player);
+                }
+            }
+            long offset = spillFile.length();
+            spillFile.seek(offset);
+            spillFile.write(bytes.toByteArray());
+            spilledRounds.put(index, new long[] { offset, bytes.size() });
+            reports.setElementAt(null, index);
+        } catch (IOException ex) {
+            DefaultMmLogger.getInstance().error(getClass(), METHOD_NAME, ex);
+            spillFailed = true;
+        }
+    }
+
+    /**
+     * Reads a round back from the spill file. If that fails, the error is
+     * logged and no further rounds are written out, so that the reports of
+     * all later rounds stay in memory.
+     *
+     * @return the reports of the round, or null if they couldn't be read
+     */
+    private Vector<Report> readRound(int index) {
+        final String METHOD_NAME = "readRound(int)";
+        Vector<Report> roundReports = new Vector<Report>();
+        long[] location = spilledRounds.get(index);
+        try {
+            byte[] bytes = new byte[(int) location[1]];
+            spillFile.seek(location[0]);
+            spillFile.readFully(bytes);
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    Report r = (Report) in.readObject();
+                    r.type = in.readInt();
+                    r.subject = in.readInt();
+                    r.player = in.readInt();
+                    roundReports.addElement(r);
+                }
+            }
+        } catch (IOException | ClassNotFoundException | RuntimeException ex) {
+            DefaultMmLogger.getInstance().log(getClass(), METHOD_NAME, LogLevel.ERROR,
+                    "Could not read the reports of round " + (index + 1) + " back from " + spillPath, ex);
+            spillFailed = true;
+            return null;
+        }
+        return roundReports;
+    }
+
+    private void discardSpill() {
+        if (spillFile != null) {
+            try {
+                spillFile.close();
+            } catch (IOException ignored) {
+                // the file is deleted on exit anyway
+            }
+            if (!spillPath.delete()) {
+                spillPath.deleteOnExit();
+            }
+        }
+        spillFile = null;
+        spillPath = null;
+        spilledRounds = null;
+        spillFailed = false;
+    }
+
+    /**
+     * Saved games contain all reports, including the spilled ones.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("reports", get());
+        out.writeFields();
+    }
 }
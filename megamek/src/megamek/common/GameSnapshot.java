@@ -0,0 +1,348 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+
+package megamek.common;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import megamek.common.annotations.Nullable;
+
+/**
+ * An immutable summary of the state of a game at one moment: the round and
+ * phase, the board version and for every unit its position, facing, heat,
+ * armor totals and status. Snapshots can be handed to other threads, such as
+ * bot or UI helpers working in the background, which can then read them
+ * without locking while the live game is being updated.
+ * <p>
+ * A snapshot must be taken on the thread that updates the game; see
+ * {@link IGame#snapshot()}. Taking snapshots is cheap: the records of units
+ * that haven't changed since the previous snapshot are shared with it, and
+ * when nothing has changed the previous snapshot itself is returned.
+ * <p>
+ * The board is not copied; snapshots remember the board version, so readers
+ * can tell with {@link #isBoardCurrent()} whether the board has changed since.
+ */
+public final class GameSnapshot {
+
+    private final int roundCount;
+    private final IGame.Phase phase;
+    private final IBoard board;
+    private final int boardVersion;
+    private final List<EntitySnapshot> entities;
+    private final Map<Integer, EntitySnapshot> entitiesById;
+
+    private GameSnapshot(int roundCount, IGame.Phase phase, IBoard board,
+            List<EntitySnapshot> entities) {
+        this.roundCount = roundCount;
+        this.phase = phase;
+        this.board = board;
+        this.boardVersion = (board == null) ? 0 : board.getVersion();
+        this.entities = Collections.unmodifiableList(entities);
+        Map<Integer, EntitySnapshot> byId = new HashMap<>();
+        for (EntitySnapshot entity : entities) {
+            byId.put(entity.getId(), entity);
+        }
+        this.entitiesById = byId;
+    }
+
+    /**
+     * Takes a snapshot of the given game, sharing what hasn't changed with the
+     * previous snapshot.
+     *
+     * @param game     the game
+     * @param previous the previous snapshot of the same game, or null
+     * @return the snapshot, which is the previous one if nothing has changed
+     */
+    static GameSnapshot of(IGame game, @Nullable GameSnapshot previous) {
+        final List<Entity> live = game.getEntitiesVector();
+        final List<EntitySnapshot> entities = new ArrayList<>(live.size());
+        boolean changed = (previous == null) || (previous.roundCount != game.getRoundCount())
+                || (previous.phase != game.getPhase()) || !previous.isBoard(game.getBoard())
+                || (previous.entities.size() != live.size());
+        for (int i = 0; i < live.size(); i++) {
+            final Entity entity = live.get(i);
+            EntitySnapshot old = (previous == null) ? null : previous.entitiesById.get(entity.getId());
+            if ((old != null) && old.matches(entity)) {
+                entities.add(old);
+                changed |= (previous.entities.get(i) != old);
+            } else {
+                entities.add(new EntitySnapshot(entity));
+                changed = true;
+            }
+        }
+        if (!changed) {
+            return previous;
+        }
+        return new GameSnapshot(game.getRoundCount(), game.getPhase(), game.getBoard(), entities);
+    }
+
+    private boolean isBoard(IBoard other) {
+        return (board == other) && ((other == null) || (boardVersion == other.getVersion()));
+    }
+
+    public int getRoundCount() {
+        return roundCount;
+    }
+
+    public IGame.Phase getPhase() {
+        return phase;
+    }
+
+    /**
+     * @return the live board of the game; see {@link #isBoardCurrent()}
+     */
+    public IBoard getBoard() {
+        return board;
+    }
+
+    public int getBoardVersion() {
+        return boardVersion;
+    }
+
+    /**
+     * @return true if the board hasn't changed since the snapshot was taken
+     */
+    public boolean isBoardCurrent() {
+        return (board != null) && (boardVersion == board.getVersion());
+    }
+
+    /**
+     * @return the units of the game, in the order of the game's entity list
+     */
+    public List<EntitySnapshot> getEntities() {
+        return entities;
+    }
+
+    /**
+     * @return the unit with the given id, or null if it wasn't in the game
+     */
+    public @Nullable EntitySnapshot getEntity(int id) {
+        return entitiesById.get(id);
+    }
+
+    /**
+     * @return the units of the given player
+     */
+    public List<EntitySnapshot> getEntitiesOwnedBy(int playerId) {
+        List<EntitySnapshot> result = new ArrayList<>();
+        for (EntitySnapshot entity : entities) {
+            if (entity.getOwnerId() == playerId) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the units at the given position
+     */
+    public List<EntitySnapshot> getEntitiesAt(Coords position) {
+        List<EntitySnapshot> result = new ArrayList<>();
+        for (EntitySnapshot entity : entities) {
+            if (position.equals(entity.getPosition())) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The state of one unit at the time of a snapshot.
+     */
+    public static final class EntitySnapshot {
+        private final int id;
+        private final int ownerId;
+        private final String displayName;
+        private final Coords position;
+        private final int facing;
+        private final int secondaryFacing;
+        private final int elevation;
+        private final int altitude;
+        private final int heat;
+        private final int armor;
+        private final int originalArmor;
+        private final int internal;
+        private final int originalInternal;
+        private final boolean deployed;
+        private final boolean offBoard;
+        private final boolean done;
+        private final boolean destroyed;
+        private final boolean prone;
+        private final boolean shutDown;
+        private final boolean immobile;
+        private final int transportId;
+
+        private EntitySnapshot(Entity entity) {
+            id = entity.getId();
+            ownerId = entity.getOwnerId();
+            displayName = entity.getDisplayName();
+            position = entity.getPosition();
+            facing = entity.getFacing();
+            secondaryFacing = entity.getSecondaryFacing();
+            elevation = entity.getElevation();
+            altitude = entity.getAltitude();
+            heat = entity.getHeat();
+            armor = entity.getTotalArmor();
+            originalArmor = entity.getTotalOArmor();
+            internal = entity.getTotalInternal();
+            originalInternal = entity.getTotalOInternal();
+            deployed = entity.isDeployed();
+            offBoard = entity.isOffBoard();
+            done = entity.isDone();
+            destroyed = entity.isDestroyed() || entity.isDoomed();
+            prone = entity.isProne();
+            shutDown = entity.isShutDown();
+            immobile = entity.isImmobile();
+            transportId = entity.getTransportId();
+        }
+
+        /**
+         * @return true if this still describes the given entity
+         */
+        boolean matches(Entity entity) {
+            return (id == entity.getId()) && (ownerId == entity.getOwnerId())
+                    && (facing == entity.getFacing())
+                    && (secondaryFacing == entity.getSecondaryFacing())
+                    && (elevation == entity.getElevation()) && (altitude == entity.getAltitude())
+                    && (heat == entity.getHeat()) && (armor == entity.getTotalArmor())
+                    && (originalArmor == entity.getTotalOArmor())
+                    && (internal == entity.getTotalInternal())
+                    && (originalInternal == entity.getTotalOInternal())
+                    && (deployed == entity.isDeployed()) && (offBoard == entity.isOffBoard())
+                    && (done == entity.isDone())
+                    && (destroyed == (entity.isDestroyed() || entity.isDoomed()))
+                    && (prone == entity.isProne()) && (shutDown == entity.isShutDown())
+                    && (immobile == entity.isImmobile())
+                    && (transportId == entity.getTransportId())
+                    && Objects.equals(position, entity.getPosition())
+                    && Objects.equals(displayName, entity.getDisplayName());
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public int getOwnerId() {
+            return ownerId;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        /**
+         * @return the position, or null if the unit isn't on the board
+         */
+        public @Nullable Coords getPosition() {
+            return position;
+        }
+
+        public int getFacing() {
+            return facing;
+        }
+
+        public int getSecondaryFacing() {
+            return secondaryFacing;
+        }
+
+        public int getElevation() {
+            return elevation;
+        }
+
+        public int getAltitude() {
+            return altitude;
+        }
+
+        public int getHeat() {
+            return heat;
+        }
+
+        public int getTotalArmor() {
+            return armor;
+        }
+
+        public int getTotalOArmor() {
+            return originalArmor;
+        }
+
+        public int getTotalInternal() {
+            return internal;
+        }
+
+        public int getTotalOInternal() {
+            return originalInternal;
+        }
+
+        /**
+         * @return the remaining armor and internal structure as a fraction of
+         *         the original, between 0 and 1
+         */
+        public double getRemainingFraction() {
+            final int original = Math.max(originalArmor, 0) + Math.max(originalInternal, 0);
+            if (original <= 0) {
+                return 0;
+            }
+            return (double) (Math.max(armor, 0) + Math.max(internal, 0)) / original;
+        }
+
+        public boolean isDeployed() {
+            return deployed;
+        }
+
+        public boolean isOffBoard() {
+            return offBoard;
+        }
+
+        public boolean isDone() {
+            return done;
+        }
+
+        /**
+         * @return true if the unit is destroyed or doomed
+         */
+        public boolean isDestroyed() {
+            return destroyed;
+        }
+
+        public boolean isProne() {
+            return prone;
+        }
+
+        public boolean isShutDown() {
+            return shutDown;
+        }
+
+        public boolean isImmobile() {
+            return immobile;
+        }
+
+        /**
+         * @return the id of the unit carrying this one, or
+         *         {@link Entity#NONE}
+         */
+        public int getTransportId() {
+            return transportId;
+        }
+
+        @Override
+        public String toString() {
+            return "EntitySnapshot " + displayName + " (" + id + ") at " + position;
+        }
+    }
+}
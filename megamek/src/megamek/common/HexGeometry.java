@@ -0,0 +1,236 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+
+package megamek.common;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Precomputed hex geometry. The angle between two hexes and the hexes a
+ * straight line between their centers crosses depend only on the offset
+ * between them and on whether the source column is odd, so they are computed
+ * once per relative offset and looked up afterwards.
+ * <p>
+ * Angles are held in tables covering offsets of up to {@link #TABLE_RANGE}
+ * hexes; intervening hex lists are memoized lazily for offsets of up to
+ * {@link #INTERVENING_RANGE} hexes. Anything further away is computed
+ * directly.
+ * <p>
+ * A line that runs exactly along a hex edge lies midway between two hex
+ * directions. Such a line gets the clockwise one of the two, which is what
+ * rounding the exact angle gives. Computing the angle from the absolute hex
+ * positions used to pick either side depending on floating point noise, so
+ * the same offset could get different directions in different parts of the
+ * board.
+ */
+public final class HexGeometry {
+
+    /** The largest x or y offset covered by the angle tables. */
+    public static final int TABLE_RANGE = 64;
+
+    /** The largest x or y offset for which intervening hexes are memoized. */
+    public static final int INTERVENING_RANGE = 40;
+
+    /** How close to midway between two directions counts as a tie, in hex sides. */
+    private static final double TIE_TOLERANCE = 1e-9;
+
+    private static final int TABLE_SIDE = (2 * TABLE_RANGE) + 1;
+    private static final int INTERVENING_SIDE = (2 * INTERVENING_RANGE) + 1;
+
+    private static final double[] RADIANS = new double[TABLE_SIDE * TABLE_SIDE * 2];
+    private static final int[] DEGREES = new int[RADIANS.length];
+    private static final byte[] DIRECTIONS = new byte[RADIANS.length];
+
+    private static final AtomicReferenceArray<int[]> INTERVENING =
+            new AtomicReferenceArray<>(INTERVENING_SIDE * INTERVENING_SIDE * 4);
+
+    static {
+        for (int parity = 0; parity < 2; parity++) {
+            final Coords src = new Coords(parity, 0);
+            for (int dy = -TABLE_RANGE; dy <= TABLE_RANGE; dy++) {
+                for (int dx = -TABLE_RANGE; dx <= TABLE_RANGE; dx++) {
+                    final int index = tableIndex(parity, dx, dy);
+                    final double r = computeRadian(src, new Coords(parity + dx, dy));
+                    RADIANS[index] = r;
+                    DEGREES[index] = (int) Math.round((180 / Math.PI) * r);
+                    DIRECTIONS[index] = (byte) directionOf(r);
+                }
+            }
+        }
+    }
+
+    private HexGeometry() {
+    }
+
+    private static int tableIndex(int parity, int dx, int dy) {
+        return (((((dy + TABLE_RANGE) * TABLE_SIDE) + dx + TABLE_RANGE)) << 1) | parity;
+    }
+
+    private static boolean inTable(int dx, int dy) {
+        return (Math.abs(dx) <= TABLE_RANGE) && (Math.abs(dy) <= TABLE_RANGE);
+    }
+
+    /**
+     * Returns the radian direction of <code>dest</code> as seen from
+     * <code>src</code>.
+     */
+    public static double radian(Coords src, Coords dest) {
+        final int dx = dest.getX() - src.getX();
+        final int dy = dest.getY() - src.getY();
+        if (inTable(dx, dy)) {
+            return RADIANS[tableIndex(src.getX() & 1, dx, dy)];
+        }
+        return computeRadian(src, dest);
+    }
+
+    /**
+     * Returns the direction of <code>dest</code> as seen from
+     * <code>src</code>, rounded to whole degrees.
+     */
+    public static int degree(Coords src, Coords dest) {
+        final int dx = dest.getX() - src.getX();
+        final int dy = dest.getY() - src.getY();
+        if (inTable(dx, dy)) {
+            return DEGREES[tableIndex(src.getX() & 1, dx, dy)];
+        }
+        return (int) Math.round((180 / Math.PI) * computeRadian(src, dest));
+    }
+
+    /**
+     * Returns the hex direction (0-5) in which <code>dest</code> lies as
+     * seen from <code>src</code>.
+     */
+    public static int direction(Coords src, Coords dest) {
+        final int dx = dest.getX() - src.getX();
+        final int dy = dest.getY() - src.getY();
+        if (inTable(dx, dy)) {
+            return DIRECTIONS[tableIndex(src.getX() & 1, dx, dy)];
+        }
+        return directionOf(computeRadian(src, dest));
+    }
+
+    /**
+     * Rounds a radian direction to a hex direction. An angle midway between
+     * two directions, give or take floating point noise, goes to the
+     * clockwise one.
+     */
+    static int directionOf(double radian) {
+        double sides = radian / Coords.HEXSIDE;
+        final double below = Math.floor(sides);
+        if (Math.abs(sides - below - 0.5) < TIE_TOLERANCE) {
+            sides = below + 0.5;
+        }
+        return (int) Math.round(sides) % 6;
+    }
+
+    /**
+     * Returns the hexes crossed by a straight line between the centers of
+     * <code>src</code> and <code>dest</code> (see
+     * {@link Coords#intervening(Coords, Coords, boolean)}) as offsets from
+     * <code>src</code>: x and y offsets alternate, so the array holds two
+     * entries per hex, starting with src itself (0, 0) and ending with dest.
+     * <p>
+     * The returned array is shared and must not be modified.
+     */
+    public static int[] interveningOffsets(Coords src, Coords dest, boolean split) {
+        final int dx = dest.getX() - src.getX();
+        final int dy = dest.getY() - src.getY();
+        final int parity = src.getX() & 1;
+        if ((Math.abs(dx) > INTERVENING_RANGE) || (Math.abs(dy) > INTERVENING_RANGE)) {
+            return computeIntervening(parity, dx, dy, split);
+        }
+        final int index = (((((dy + INTERVENING_RANGE) * INTERVENING_SIDE) + dx + INTERVENING_RANGE)) << 2)
+                | (parity << 1) | (split ? 1 : 0);
+        int[] offsets = INTERVENING.get(index);
+        if (offsets == null) {
+            offsets = computeIntervening(parity, dx, dy, split);
+            INTERVENING.set(index, offsets);
+        }
+        return offsets;
+    }
+
+    /**
+     * Computes the radian direction between the ideal hex centers of the two
+     * coords.
+     */
+    static double computeRadian(Coords s, Coords d) {
+        final IdealHex src = IdealHex.get(s);
+        final IdealHex dst = IdealHex.get(d);
+
+        // don't divide by 0
+        if (src.cy == dst.cy) {
+            return (src.cx < dst.cx) ? Math.PI / 2 : Math.PI * 1.5;
+        }
+
+        double r = Math.atan((dst.cx - src.cx) / (src.cy - dst.cy));
+        // flip if we're upside down
+        if (src.cy < dst.cy) {
+            r = (r + Math.PI) % (Math.PI * 2);
+        }
+        // account for negative angles
+        if (r < 0) {
+            r += Math.PI * 2;
+        }
+
+        return r;
+    }
+
+    /**
+     * Traces the line from (parity, 0) to (parity + dx, dy). Based on the
+     * angle of the line, the next hex is going to be one of three hexes. We
+     * check those three hexes, sides first, and continue from the first one
+     * that intersects.
+     */
+    private static int[] computeIntervening(int parity, int dx, int dy, boolean split) {
+        final Coords src = new Coords(parity, 0);
+        final Coords dest = new Coords(parity + dx, dy);
+        final IdealHex iSrc = new IdealHex(src);
+        final IdealHex iDest = new IdealHex(dest);
+
+        int[] directions = new int[3];
+        int centerDirection = direction(src, dest);
+        if (split) {
+            // HACK to make left appear before right in the sequence reliably
+            centerDirection = (int) Math.round(radian(src, dest) + 0.0001
+                    / Coords.HEXSIDE) % 6;
+        }
+        directions[2] = centerDirection; // center last
+        directions[1] = (centerDirection + 5) % 6;
+        directions[0] = (centerDirection + 1) % 6;
+
+        // a line crosses at most two hexes per hex of distance plus the ends
+        int[] offsets = new int[2 * ((2 * src.distance(dest)) + 2)];
+        int count = 0;
+        Coords current = src;
+        offsets[count++] = 0;
+        offsets[count++] = 0;
+        while (!dest.equals(current)) {
+            current = Coords.nextHex(current, iSrc, iDest, directions);
+            if (count == offsets.length) {
+                int[] grown = new int[offsets.length * 2];
+                System.arraycopy(offsets, 0, grown, 0, count);
+                offsets = grown;
+            }
+            offsets[count++] = current.getX() - parity;
+            offsets[count++] = current.getY();
+        }
+
+        if (count < offsets.length) {
+            int[] trimmed = new int[count];
+            System.arraycopy(offsets, 0, trimmed, 0, count);
+            offsets = trimmed;
+        }
+        return offsets;
+    }
+}
@@ -44,6 +44,22 @@ public interface IBoard {
 
     Coords getCenter();
 
+    /**
+     * Returns the table of canonical <code>Coords</code> for this board's
+     * dimensions, which also maps each hex to a stable integer index.
+     *
+     * @return the coords table for the current board size
+     */
+    CoordsTable getCoordsTable();
+
+    /**
+     * Returns a counter that changes whenever any hex or building on this
+     * board changes. Data derived from the board can be cached against it.
+     *
+     * @return the current board version
+     */
+    int getVersion();
+
     /**
      * Creates a new data set for the board, with the specified dimensions and
      * data; notifies listeners that a new data set has been created.
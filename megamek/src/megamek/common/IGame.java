@@ -33,6 +33,8 @@ import megamek.common.event.GameEvent;
 import megamek.common.event.GameListener;
 import megamek.common.options.GameOptions;
 import megamek.common.options.OptionsConstants;
+import megamek.common.pathfinder.BoardClusterTracker;
+import megamek.common.pathfinder.HierarchicalPathFinder;
 import megamek.common.weapons.AttackHandler;
 import megamek.server.SmokeCloud;
 import megamek.server.victory.Victory;
@@ -761,6 +763,48 @@ public interface IGame {
      */
     abstract void removeSmokeClouds(List<SmokeCloud> cloudsToRemove);
 
+    /**
+     * Returns the ECM fields of all units and chaff in the game, computed once
+     * and kept until units move, turn, enter or leave, a unit's equipment is
+     * damaged or switches modes, a unit shuts down, smoke clouds change, the
+     * options change or the phase changes.
+     */
+    abstract ECMField getECMField();
+
+    /**
+     * Discards the cached ECM fields, for changes to the game that don't do
+     * so themselves.
+     */
+    abstract void resetECMField();
+
+    /**
+     * Returns a counter that changes whenever a unit changes its position,
+     * enters or leaves the game, so callers can tell whether results that
+     * depend on unit positions are still current.
+     */
+    abstract int getEntityPositionVersion();
+
+    /**
+     * Returns the planner for routes across the board, which keeps what it
+     * works out about the board for as long as the board doesn't change.
+     */
+    abstract HierarchicalPathFinder getHierarchicalPathFinder();
+
+    /**
+     * Returns the areas of the board each kind of unit can move around in,
+     * shared by everything that looks them up for this game. They are brought
+     * up to date whenever the board has changed. Games with boards of the same
+     * terrain, such as the copies kept by several bots, start from the same areas.
+     */
+    abstract BoardClusterTracker getBoardClusterTracker();
+
+    /**
+     * Returns an immutable snapshot of the game's state, which can be read by
+     * other threads while this game is being updated. It must be called from
+     * the thread that updates the game.
+     */
+    abstract GameSnapshot snapshot();
+
     /**
      * Returns the first entity at the given coordinate, if any. Only returns
      * targetable (non-dead) entities.
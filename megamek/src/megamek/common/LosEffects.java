@@ -24,7 +24,7 @@ import java.util.ArrayList;
 import java.util.Vector;
 
 import megamek.client.ui.Messages;
-import megamek.common.options.OptionsConstants;
+import megamek.common.options.GameOptionHandles;
 import megamek.server.SmokeCloud;
 
 /**
@@ -533,7 +533,7 @@ public class LosEffects {
             return los;
         }
 
-        if(game.getOptions().booleanOption(OptionsConstants.ADVCOMBAT_TACOPS_DEAD_ZONES) && isDeadZone(game, ai)) {
+        if(game.getOptions().booleanOption(GameOptionHandles.ADVCOMBAT_TACOPS_DEAD_ZONES) && isDeadZone(game, ai)) {
             LosEffects los = new LosEffects();
             los.blocked = true;
             los.blockedByHill = true;
@@ -543,8 +543,8 @@ public class LosEffects {
             return los;
         }
         
-        boolean diagramLos = game.getOptions().booleanOption(OptionsConstants.ADVCOMBAT_TACOPS_LOS1);
-        boolean partialCover = game.getOptions().booleanOption(OptionsConstants.ADVCOMBAT_TACOPS_PARTIAL_COVER);
+        boolean diagramLos = game.getOptions().booleanOption(GameOptionHandles.ADVCOMBAT_TACOPS_LOS1);
+        boolean partialCover = game.getOptions().booleanOption(GameOptionHandles.ADVCOMBAT_TACOPS_PARTIAL_COVER);
         double degree = ai.attackPos.degree(ai.targetPos);
         LosEffects finalLoS;
         if (degree % 60 == 30) {
@@ -688,7 +688,7 @@ public class LosEffects {
         }
 
         if (targetCover != COVER_NONE) {
-            if (game.getOptions().booleanOption(OptionsConstants.ADVCOMBAT_TACOPS_PARTIAL_COVER)) {
+            if (game.getOptions().booleanOption(GameOptionHandles.ADVCOMBAT_TACOPS_PARTIAL_COVER)) {
                 if ((targetCover == COVER_75LEFT) || (targetCover == COVER_75RIGHT)) {
                     modifiers.addModifier(1, "target has 75% cover");
                 } else if (targetCover >= COVER_HORIZONTAL) {
@@ -706,6 +706,14 @@ public class LosEffects {
         return modifiers;
     }
 
+    /**
+     * Returns the n-th hex of an intervening offset list from
+     * {@link HexGeometry#interveningOffsets(Coords, Coords, boolean)}.
+     */
+    private static Coords interveningHex(CoordsTable table, Coords src, int[] offsets, int n) {
+        return table.get(src.getX() + offsets[2 * n], src.getY() + offsets[(2 * n) + 1]);
+    }
+
     /**
      * Returns LosEffects for a line that never passes exactly between two
      * hexes. Since intervening() returns all the coordinates, we just add the
@@ -713,7 +721,8 @@ public class LosEffects {
      */
     private static LosEffects losStraight(IGame game, AttackInfo ai, 
             boolean diagramLoS, boolean partialCover) {
-        ArrayList<Coords> in = Coords.intervening(ai.attackPos, ai.targetPos);
+        final int[] in = HexGeometry.interveningOffsets(ai.attackPos, ai.targetPos, false);
+        final CoordsTable table = game.getBoard().getCoordsTable();
         LosEffects los = new LosEffects();
         boolean targetInBuilding = false;
         if (ai.targetEntity) {
@@ -728,15 +737,15 @@ public class LosEffects {
                 && Compute.isInBuilding(game, ai.attackAbsHeight
                         - game.getBoard().getHex(ai.attackPos).surface(),
                         ai.attackPos)) {
-            los.setThruBldg(game.getBoard().getBuildingAt(in.get(0)));
+            los.setThruBldg(game.getBoard().getBuildingAt(ai.attackPos));
             //elevation differences count as building hexes passed through
             los.buildingLevelsOrHexes += (Math.abs((ai.attackAbsHeight-ai.attackHeight) - (ai.targetAbsHeight-ai.targetHeight)));
         }
 
-        for (Coords c : in) {
-            los.add(LosEffects.losForCoords(game, ai, c, los.getThruBldg(),
-                    diagramLoS, partialCover));
-        }      
+        for (int i = 0; i < in.length; i += 2) {
+            los.add(LosEffects.losForCoords(game, ai, interveningHex(table, ai.attackPos, in, i / 2),
+                    los.getThruBldg(), diagramLoS, partialCover));
+        }
 
         if ((ai.minimumWaterDepth < 1) && ai.underWaterCombat) {
             los.blocked = true;
@@ -778,8 +787,9 @@ public class LosEffects {
      */
     private static LosEffects losDivided(IGame game, AttackInfo ai,
             boolean diagramLoS, boolean partialCover) {
-        ArrayList<Coords> in = Coords.intervening(ai.attackPos, ai.targetPos,
-                true);
+        final int[] in = HexGeometry.interveningOffsets(ai.attackPos, ai.targetPos, true);
+        final int inSize = in.length / 2;
+        final CoordsTable table = game.getBoard().getCoordsTable();
         LosEffects los = new LosEffects();
         boolean targetInBuilding = false;
         if (ai.targetEntity) {
@@ -794,7 +804,7 @@ public class LosEffects {
                 && Compute.isInBuilding(game, ai.attackAbsHeight
                         - game.getBoard().getHex(ai.attackPos).surface(),
                         ai.attackPos)) {
-            los.setThruBldg(game.getBoard().getBuildingAt(in.get(0)));
+            los.setThruBldg(game.getBoard().getBuildingAt(ai.attackPos));
             //elevation differences count as building hexes passed through
             los.buildingLevelsOrHexes += (Math
                     .abs((ai.attackAbsHeight - ai.attackHeight)
@@ -802,9 +812,9 @@ public class LosEffects {
         }
 
         // add non-divided line segments
-        for (int i = 3; i < in.size() - 2; i += 3) {
-            los.add(losForCoords(game, ai, in.get(i), los.getThruBldg(),
-                    diagramLoS, partialCover));
+        for (int i = 3; i < inSize - 2; i += 3) {
+            los.add(losForCoords(game, ai, interveningHex(table, ai.attackPos, in, i),
+                    los.getThruBldg(), diagramLoS, partialCover));
         }
 
         if ((ai.minimumWaterDepth < 1) && ai.underWaterCombat) {
@@ -817,18 +827,18 @@ public class LosEffects {
         }
 
         // If there src & dst hexes are the same, nothing to do
-        if (in.size() < 2) {
+        if (inSize < 2) {
             return los;
         }
 
         // go through divided line segments
         LosEffects totalLeftLos = new LosEffects();
         LosEffects totalRightLos = new LosEffects();
-        for (int i = 1; i < in.size() - 2; i += 3) {
-            LosEffects leftLos = losForCoords(game, ai, in.get(i), los
-                    .getThruBldg(), diagramLoS, partialCover);
-            LosEffects rightLos = losForCoords(game, ai, in.get(i + 1), los
-                    .getThruBldg(), diagramLoS, partialCover);
+        for (int i = 1; i < inSize - 2; i += 3) {
+            LosEffects leftLos = losForCoords(game, ai, interveningHex(table, ai.attackPos, in, i),
+                    los.getThruBldg(), diagramLoS, partialCover);
+            LosEffects rightLos = losForCoords(game, ai, interveningHex(table, ai.attackPos, in, i + 1),
+                    los.getThruBldg(), diagramLoS, partialCover);
 
             // Infantry inside a building can only be
             // targeted by units in the same building.
@@ -841,7 +851,7 @@ public class LosEffects {
             }
        
             // Check for advanced cover, only 'mechs can get partial cover
-            if (game.getOptions().booleanOption(OptionsConstants.ADVCOMBAT_TACOPS_PARTIAL_COVER) && 
+            if (game.getOptions().booleanOption(GameOptionHandles.ADVCOMBAT_TACOPS_PARTIAL_COVER) && 
                     ai.targetIsMech) {
                 // 75% and vertical cover will have blocked LoS
                 boolean losBlockedByCover = false;
@@ -913,7 +923,7 @@ public class LosEffects {
                 }                
             }
             
-            if (game.getOptions().booleanOption(OptionsConstants.ADVCOMBAT_TACOPS_PARTIAL_COVER) && 
+            if (game.getOptions().booleanOption(GameOptionHandles.ADVCOMBAT_TACOPS_PARTIAL_COVER) && 
                     ai.attackerIsMech) {
                 // 75% and vertical cover will have blocked LoS
                 boolean losBlockedByCover = false;
@@ -1345,8 +1355,8 @@ public class LosEffects {
      */
     public static int dividedLeftBetter(ArrayList<Coords> in, IGame game,
             AttackInfo ai, boolean targetInBuilding, LosEffects los) {
-        boolean diagramLos = game.getOptions().booleanOption(OptionsConstants.ADVCOMBAT_TACOPS_LOS1);
-        boolean partialCover = game.getOptions().booleanOption(OptionsConstants.ADVCOMBAT_TACOPS_PARTIAL_COVER);
+        boolean diagramLos = game.getOptions().booleanOption(GameOptionHandles.ADVCOMBAT_TACOPS_LOS1);
+        boolean partialCover = game.getOptions().booleanOption(GameOptionHandles.ADVCOMBAT_TACOPS_PARTIAL_COVER);
         LosEffects leftTotal = new LosEffects();
         LosEffects rightTotal = new LosEffects();
         for (int i = 1; i < in.size() - 2; i += 3) {
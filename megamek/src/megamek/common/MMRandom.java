@@ -62,6 +62,30 @@ public abstract class MMRandom {
         }
     }
 
+    /**
+     * Gives you the type asked for, seeded so that it produces the same
+     * numbers for the same seed every time. Defaults to a seeded SunRandom if
+     * there are any errors. Seeded generators are created quietly, as there
+     * may be many of them; see {@link RandomStreams}.
+     */
+    static MMRandom generate(int type, long seed) {
+        try {
+            switch (type) {
+                case R_CRYPTO:
+                    return new MMRandom.CryptoRandom(seed);
+                case R_POOL36:
+                    return new MMRandom.Pool36Random(seed);
+                case R_SUN:
+                default:
+                    return new MMRandom.SunRandom(seed);
+            }
+        } catch (Exception ex) {
+            System.err.println("MMRandom: could not create seeded RNG #"
+                    + type + ", using SunRandom (#0) instead");
+            return new MMRandom.SunRandom(seed);
+        }
+    }
+
     /**
      * Simulates six-sided die rolls.
      * 
@@ -130,7 +154,15 @@ public abstract class MMRandom {
      * Uses com.sun.java.util.collections.Random
      */
     static class SunRandom extends MMRandom {
-        Random random = new Random();
+        Random random;
+
+        public SunRandom() {
+            random = new Random();
+        }
+
+        public SunRandom(long seed) {
+            random = new Random(seed);
+        }
 
         @Override
         public int randomInt(int maxValue) {
@@ -164,6 +196,16 @@ public abstract class MMRandom {
             initRNG.start();
         }
 
+        /**
+         * Construct a generator whose output depends only on the seed. The
+         * SHA1PRNG algorithm uses the seed as its only entropy when it is
+         * seeded before its first use.
+         */
+        public CryptoRandom(long seed) throws java.security.NoSuchAlgorithmException {
+            random = java.security.SecureRandom.getInstance("SHA1PRNG");
+            random.setSeed(seed);
+        }
+
         @Override
         public int randomInt(int maxValue) {
             return random.nextInt(maxValue);
@@ -190,6 +232,12 @@ public abstract class MMRandom {
             shufflePool();
         }
 
+        public Pool36Random(long seed) {
+            super(seed);
+            initPool();
+            shufflePool();
+        }
+
         /** Watches for 2 as nDice and then does its special thing. */
         @Override
         public Roll d6(int nDice) {
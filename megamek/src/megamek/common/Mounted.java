@@ -241,6 +241,9 @@ public class Mounted implements Serializable, RoundUpdated, PhaseUpdated {
         }
         type = at;
         typeName = at.getInternalName();
+        if (entity != null) {
+            entity.equipmentChanged();
+        }
         if (location == Entity.LOC_NONE) {
             // Oneshot launcher
             shotsLeft = 1;
@@ -282,6 +285,13 @@ public class Mounted implements Serializable, RoundUpdated, PhaseUpdated {
         return EquipmentMode.getMode("None");
     }
 
+    /**
+     * @return the number of the current mode, see {@link #setMode(int)}
+     */
+    int getModeNumber() {
+        return mode;
+    }
+
     /**
      * @return the pending mode of the equipment.
      */
@@ -385,6 +395,9 @@ public class Mounted implements Serializable, RoundUpdated, PhaseUpdated {
                 }
             }
         }
+        if (entity != null) {
+            entity.ecmStateChanged();
+        }
         return true;
     }
 
@@ -409,6 +422,9 @@ public class Mounted implements Serializable, RoundUpdated, PhaseUpdated {
         if ((type != null) && (type.hasModes() && (pendingMode != -1))) {
             mode = pendingMode;
             pendingMode = -1;
+            if (entity != null) {
+                entity.ecmStateChanged();
+            }
         }
         called.reset();
     }
@@ -629,6 +645,9 @@ public class Mounted implements Serializable, RoundUpdated, PhaseUpdated {
 
     public void setBreached(boolean breached) {
         useless = breached;
+        if (entity != null) {
+            entity.ecmStateChanged();
+        }
     }
 
     public boolean isDestroyed() {
@@ -645,6 +664,9 @@ public class Mounted implements Serializable, RoundUpdated, PhaseUpdated {
      */
     public void setDestroyed(boolean destroyed) {
         this.destroyed = destroyed;
+        if (entity != null) {
+            entity.ecmStateChanged();
+        }
         if ((destroyed == true)
                 && getType().hasFlag(MiscType.F_RADICAL_HEATSINK)){
             if (entity != null){
@@ -685,6 +707,9 @@ public class Mounted implements Serializable, RoundUpdated, PhaseUpdated {
 
     public void setMissing(boolean missing) {
         this.missing = missing;
+        if (entity != null) {
+            entity.ecmStateChanged();
+        }
     }
 
     public boolean isJammed() {
@@ -1036,6 +1061,9 @@ public class Mounted implements Serializable, RoundUpdated, PhaseUpdated {
     public void setLocation(int location, boolean rearMounted) {
         this.location = location;
         this.rearMounted = rearMounted;
+        if (entity != null) {
+            entity.equipmentChanged();
+        }
     }
 
     public void setSecondLocation(int location, boolean rearMounted) {
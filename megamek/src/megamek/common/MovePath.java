@@ -17,6 +17,7 @@ package megamek.common;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Enumeration;
@@ -24,19 +25,25 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.Vector;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import megamek.client.bot.princess.CardinalEdge;
 import megamek.client.bot.princess.Princess;
 import megamek.common.annotations.Nullable;
 import megamek.common.logging.LogLevel;
+import megamek.common.options.GameOptions;
 import megamek.common.options.OptionsConstants;
-import megamek.common.pathfinder.AbstractPathFinder;
 import megamek.common.pathfinder.CachedEntityState;
+import megamek.common.pathfinder.CompactAStarPathFinder;
 import megamek.common.pathfinder.DestructionAwareDestinationPathfinder;
+import megamek.common.pathfinder.SearchDeadline;
 import megamek.common.pathfinder.ShortestPathFinder;
 import megamek.common.preference.PreferenceManager;
 
@@ -99,14 +106,11 @@ public class MovePath implements Cloneable, Serializable {
         }
     }
 
-    private Vector<MoveStep> steps = new Vector<>();
+    private StepList steps = StepList.EMPTY;
 
     private transient IGame game;
     private transient Entity entity;
     
-    // holds the types of steps present in this movement 
-    private Set<MoveStepType> containedStepTypes = new HashSet<>();
-    
     // whether this movePath take us directly over an enemy unit
     // useful for aircraft
     private boolean fliesOverEnemy;
@@ -146,8 +150,8 @@ public class MovePath implements Cloneable, Serializable {
         sb.append("Final Coords: " + this.getFinalCoords());
         sb.append(System.lineSeparator());
         
-        for (final Enumeration<MoveStep> i = steps.elements(); i.hasMoreElements(); ) {
-            sb.append(i.nextElement().toString());
+        for (MoveStep step : steps) {
+            sb.append(step.toString());
             sb.append(' ');
         }
         
@@ -278,7 +282,7 @@ public class MovePath implements Cloneable, Serializable {
             }
 
             coordsSet = new HashSet<>();
-            for (MoveStep step : getStepVector()) {
+            for (MoveStep step : steps) {
                 if (step.getPosition() == null) {
                     continue;
                 }
@@ -300,8 +304,7 @@ public class MovePath implements Cloneable, Serializable {
             return this;
         }
 
-        steps.addElement(step);
-        containedStepTypes.add(step.getType());
+        steps = steps.append(step);
         
         final MoveStep prev = getStep(steps.size() - 2);
 
@@ -517,13 +520,38 @@ public class MovePath implements Cloneable, Serializable {
         compile(g, en, true);
     }
 
+    /**
+     * Recompiles all steps of this path for the given game and entity.
+     * <p>
+     * Steps that were compiled by an earlier call under the same conditions
+     * (see {@link CompileStamp}), after the same preceding steps and that
+     * haven't been changed since are kept: their path dependent flags are
+     * reset to what they were when that prefix of the path was compiled, and
+     * only the steps after them are compiled again.
+     */
     public void compile(final IGame g, final Entity en, boolean clip) {
         setGame(g);
         setEntity(en);
-        final Vector<MoveStep> temp = new Vector<MoveStep>(steps);
-        steps.removeAllElements();
-        for (int i = 0; i < temp.size(); i++) {
-            MoveStep step = temp.elementAt(i);
+        final CompileStamp stamp = new CompileStamp(g, en, careful);
+        final StepList temp = steps;
+        int reused = 0;
+        while ((reused < temp.size()) && isCompiled(temp, reused, stamp)) {
+            reused++;
+        }
+        steps = StepList.EMPTY;
+        final List<CompileRecord> records = new ArrayList<>(temp.size());
+        if (reused > 0) {
+            final CompileRecord last = temp.get(reused - 1).getCompileRecord();
+            for (int i = 0; i < reused; i++) {
+                final MoveStep step = temp.get(i);
+                restoreState(step, last.states[i]);
+                steps = steps.append(step);
+                fliesOverEnemy |= step.getCompileRecord().fliesOverEnemy;
+                records.add(step.getCompileRecord());
+            }
+        }
+        for (int i = reused; i < temp.size(); i++) {
+            MoveStep step = temp.get(i);
             if ((step.getTargetPosition() != null) && (step.getTarget(getGame()) != null)) {
                 step = new MoveStep(this, step.getType(), step.getTarget(getGame()), step.getTargetPosition());
             } else if (step.getTarget(getGame()) != null) {
@@ -545,7 +573,24 @@ public class MovePath implements Cloneable, Serializable {
             } else {
                 step = new MoveStep(this, step.getType());
             }
+            final boolean alreadyOverEnemy = fliesOverEnemy;
+            fliesOverEnemy = false;
             this.addStep(step);
+            final int[] states = new int[steps.size()];
+            for (int j = 0; j < states.length; j++) {
+                states[j] = packState(steps.get(j));
+            }
+            records.add(new CompileRecord(getStep(steps.size() - 2), step.getInputVersion(),
+                    states, fliesOverEnemy));
+            fliesOverEnemy |= alreadyOverEnemy;
+        }
+
+        // Compiling may have changed the entity (e.g. it's jumping now), so
+        // remember the conditions as they are after compiling
+        final CompileStamp compiledStamp = new CompileStamp(g, en, careful);
+        for (int i = 0; i < records.size(); i++) {
+            records.get(i).stamp = compiledStamp;
+            steps.get(i).setCompileRecord(records.get(i));
         }
 
         // Can't move out of a hex with an enemy unit unless we started
@@ -603,6 +648,37 @@ public class MovePath implements Cloneable, Serializable {
         }
     }
 
+    /**
+     * @return true if the step at the given index of the given steps was
+     *         compiled under the given conditions, after the same steps and
+     *         was not changed since
+     */
+    private static boolean isCompiled(StepList list, int index, CompileStamp stamp) {
+        final MoveStep step = list.get(index);
+        final CompileRecord record = step.getCompileRecord();
+        return (record != null) && (record.states.length == index + 1)
+                && (record.prev == ((index == 0) ? null : list.get(index - 1)))
+                && (record.inputVersion == step.getInputVersion())
+                && stamp.equals(record.stamp);
+    }
+
+    /**
+     * Packs the flags of a step that adding later steps to its path can
+     * change.
+     */
+    private static int packState(MoveStep step) {
+        final EntityMovementType movementType = step.getMovementType(false);
+        return (((movementType == null) ? 0 : movementType.ordinal() + 1) << 2)
+                | (step.isDanger() ? 1 : 0) | (step.isPastDanger() ? 2 : 0);
+    }
+
+    private static void restoreState(MoveStep step, int state) {
+        final int movementType = (state >> 2) - 1;
+        step.setMovementType((movementType < 0) ? null : EntityMovementType.values()[movementType]);
+        step.setDanger((state & 1) != 0);
+        step.setPastDanger((state & 2) != 0);
+    }
+
     public void removeLastStep() {
         if (steps.size() > 0) {
             final MoveStep step1 = getStep(steps.size() - 1);
@@ -611,7 +687,7 @@ public class MovePath implements Cloneable, Serializable {
                 getEntity().setIsJumpingNow(false);
             }
             
-            steps.removeElementAt(steps.size() - 1);
+            steps = steps.removeLast();
             
             if (getEntity().isConvertingNow() && !this.contains(MovePath.MoveStepType.CONVERT_MODE)) {
                 getEntity().setConvertingNow(false);
@@ -626,20 +702,17 @@ public class MovePath implements Cloneable, Serializable {
             if (step1.getType() == MovePath.MoveStepType.CONVERT_MODE)
                 while (steps.size() > 0
                     && steps.get(steps.size() - 1).getType() == MovePath.MoveStepType.CONVERT_MODE) {
-                steps.removeElementAt(steps.size() - 1);
+                steps = steps.removeLast();
             }
             
             // if this step is part of a manuever, undo the whole manuever, all the way to the beginning.
             if(step1.isManeuver()) {
-                int stepIndex = steps.size() - 1;
-                
-                while (steps.size() > 0 && steps.get(stepIndex).isManeuver()) {
-                    steps.removeElementAt(stepIndex);
-                    stepIndex--;
+                while (steps.size() > 0 && steps.get(steps.size() - 1).isManeuver()) {
+                    steps = steps.removeLast();
                 }
                 
                 // a maneuver begins with a "maneuver" step, so get rid of that as well
-                steps.removeElementAt(stepIndex);
+                steps = steps.removeLast();
             }
         }
 
@@ -649,13 +722,10 @@ public class MovePath implements Cloneable, Serializable {
                 && !getStep(index).isLegal(this)) {
             index--;
         }
-        
-        // we may have removed a lot of steps - recalculate the contained step types
-        regenerateStepTypes();
     }
 
     public void clear() {
-        steps.removeAllElements();
+        steps = StepList.EMPTY;
     }
 
     public Enumeration<MoveStep> getSteps() {
@@ -666,18 +736,7 @@ public class MovePath implements Cloneable, Serializable {
         if ((index < 0) || (index >= steps.size())) {
             return null;
         }
-        return steps.elementAt(index);
-    }
-
-    /**
-     * Helper function that rebuilds the "contained step types" from scratch.
-     * Loops over all the steps in the path, so should only be used when removing or replacing steps.
-     */
-    private void regenerateStepTypes() {
-        containedStepTypes.clear();
-        for(MoveStep step : steps) {
-            containedStepTypes.add(step.getType());
-        }
+        return steps.get(index);
     }
     
     /**
@@ -686,7 +745,7 @@ public class MovePath implements Cloneable, Serializable {
      * @return Whether or not this step type is contained within this path 
      */
     public boolean contains(final MoveStepType type) {
-        return containedStepTypes.contains(type);
+        return steps.contains(type);
     }
     
     /**
@@ -738,12 +797,7 @@ public class MovePath implements Cloneable, Serializable {
      * @return Whether or not there are any other step types 
      */
     public boolean containsAnyOther(final MoveStepType type) {
-    	for(Iterator<MoveStepType> iter = containedStepTypes.iterator(); iter.hasNext();) {
-    		if(iter.next() != type)
-				return true;
-    	}
-    	
-    	return false;
+    	return steps.containsAnyOther(type);
     }
 
     /**
@@ -948,13 +1002,22 @@ public class MovePath implements Cloneable, Serializable {
         return getLastStep().getMovementType(true);
     }
 
+    /**
+     * @return a new vector of the steps of this path; changing it doesn't
+     *         change the path
+     */
     public Vector<MoveStep> getStepVector() {
-        return steps;
+        return steps.toVector();
     }
 
     public MoveStep getLastStep() {
-        for (int i = getStepVector().size() - 1; i >= 0; i--) {
-            MoveStep last = getStepVector().get(i);
+        if (steps.size() > 0) {
+            // our own steps are never null
+            return steps.get(steps.size() - 1);
+        }
+        final Vector<MoveStep> stepVector = getStepVector();
+        for (int i = stepVector.size() - 1; i >= 0; i--) {
+            MoveStep last = stepVector.get(i);
             if (last != null) {
                 return last;
             }
@@ -986,13 +1049,10 @@ public class MovePath implements Cloneable, Serializable {
             return;
         }
         // Do final check for bad moves, and clip movement after first bad one
-        // also clear and re-constitute "contained steps" cache
-        containedStepTypes = new HashSet<>();
-        final Vector<MoveStep> goodSteps = new Vector<>();
+        StepList goodSteps = StepList.EMPTY;
         for (MoveStep step : steps) {
             if (step.getMovementType(isEndStep(step)) != EntityMovementType.MOVE_ILLEGAL) {
-                containedStepTypes.add(step.getType());
-                goodSteps.addElement(step);
+                goodSteps = goodSteps.append(step);
             } else {
                 break;
             }
@@ -1022,9 +1082,7 @@ public class MovePath implements Cloneable, Serializable {
             final MoveStepType stepType = step1.getType();
             final MoveStepType direction = step2.getType();
             // remove all old steps
-            steps.removeElementAt(index);
-            steps.removeElementAt(index);
-            steps.removeElementAt(index);
+            steps = steps.removeLast().removeLast().removeLast();
             // add new step
             final MoveStep shift = new MoveStep(this, lateralShiftForTurn(stepType, direction));
             addStep(shift);
@@ -1192,24 +1250,20 @@ public class MovePath implements Cloneable, Serializable {
     public void findPathTo(final Coords dest, final MoveStepType type) {
         final int timeLimit = PreferenceManager.getClientPreferences().getMaxPathfinderTime();
 
-        ShortestPathFinder pf = ShortestPathFinder.newInstanceOfAStar(dest, type, game);
-
-        AbstractPathFinder.StopConditionTimeout<MovePath> timeoutCondition = new AbstractPathFinder.StopConditionTimeout<>(timeLimit);
-        pf.addStopCondition(timeoutCondition);
-
-        pf.run(this.clone());
-        MovePath finPath = pf.getComputedPath(dest);
+        CompactAStarPathFinder aStar = new CompactAStarPathFinder(dest, type, game);
+        aStar.run(this.clone(), SearchDeadline.in(timeLimit));
+        MovePath finPath = aStar.getComputedPath(dest);
         // this can be used for debugging the "destruction aware pathfinder"
         //MovePath finPath = calculateDestructionAwarePath(dest);
 
-        if (timeoutCondition.timeoutEngaged || finPath == null) {
+        if (aStar.wasInterrupted() || finPath == null) {
             /*
              * Either we have forced searcher to end prematurely or no path was
              * found. Lets try to fix it by taking the path that ended closest
              * to the target and greedily extend it.
              */
-            MovePath bestMp = Collections.min(pf.getAllComputedPaths().values(), new ShortestPathFinder.MovePathGreedyComparator(dest));
-            pf = ShortestPathFinder.newInstanceOfGreedy(dest, type, game);
+            MovePath bestMp = Collections.min(aStar.getAllComputedPaths().values(), new ShortestPathFinder.MovePathGreedyComparator(dest));
+            ShortestPathFinder pf = ShortestPathFinder.newInstanceOfGreedy(dest, type, game);
             pf.run(bestMp);
             finPath = pf.getComputedPath(dest);
             // If no path could be found, use the best one returned by A*
@@ -1514,8 +1568,9 @@ public class MovePath implements Cloneable, Serializable {
     }
 
     /**
-     * Clones this path, will contain a new clone of the steps so that the clone
-     * is independent from the original.
+     * Clones this path. The clone shares the (immutable) list of steps with
+     * this path, so cloning is cheap, but adding or removing steps on either
+     * path doesn't affect the other.
      *
      * @return the cloned MovePath
      */
@@ -1527,9 +1582,8 @@ public class MovePath implements Cloneable, Serializable {
     }
     
     protected void copyFields(MovePath copy) {
-        copy.steps = new Vector<MoveStep>(steps);
+        copy.steps = steps;
         copy.careful = careful;
-        copy.containedStepTypes = new HashSet<>(containedStepTypes);
         copy.fliesOverEnemy = fliesOverEnemy;
         copy.cachedEntityState = cachedEntityState; // intentional pointer copy
     }
@@ -1738,7 +1792,7 @@ public class MovePath implements Cloneable, Serializable {
     }
 
     public void replaceSteps(Vector<MoveStep> path) {
-        steps.clear();
+        steps = StepList.EMPTY;
         addSteps(path, true);
     }
     
@@ -1857,4 +1911,338 @@ public class MovePath implements Cloneable, Serializable {
         
         return finPath;
     }
+
+    /**
+     * The conditions a path is compiled under: the game and board state, the
+     * game options, the planetary conditions and the state of the moving
+     * entity that its steps depend on, including the damage to its
+     * locations, critical slots and equipment and the modes of its equipment.
+     * The state of the other units that steps read, such as whether they are
+     * airborne or can be loaded, is part of it too, as the server changes
+     * that without moving them.
+     */
+    static final class CompileStamp {
+        /** The number of values {@link #othersOf(IGame, Entity)} keeps for each unit */
+        private static final int OTHER_STATE_SIZE = 8;
+
+        private final IGame game;
+        private final IBoard board;
+        private final int boardVersion;
+        private final GameOptions options;
+        private final int optionsVersion;
+        private final int[] conditions;
+        private final int round;
+        private final IGame.Phase phase;
+        private final int entityPositionVersion;
+        private final Entity entity;
+        private final Coords position;
+        private final int facing;
+        private final int elevation;
+        private final int altitude;
+        private final int flags;
+        private final int mpUsed;
+        private final int deltaDistance;
+        private final int walkMP;
+        private final int runMP;
+        private final int jumpMP;
+        private final int conversionMode;
+        private final EntityMovementMode movementMode;
+        private final int velocity;
+        private final int heat;
+        private final int[] damage;
+        private final int[] others;
+
+        CompileStamp(IGame game, Entity entity, boolean careful) {
+            this.game = game;
+            board = game.getBoard();
+            boardVersion = (board == null) ? 0 : board.getVersion();
+            options = game.getOptions();
+            optionsVersion = (options == null) ? 0 : options.getVersion();
+            conditions = conditionsOf(game.getPlanetaryConditions());
+            round = game.getRoundCount();
+            phase = game.getPhase();
+            entityPositionVersion = game.getEntityPositionVersion();
+            this.entity = entity;
+            position = entity.getPosition();
+            facing = entity.getFacing();
+            elevation = entity.getElevation();
+            altitude = entity.getAltitude();
+            flags = (careful ? 1 : 0) | (entity.isProne() ? 2 : 0) | (entity.isHullDown() ? 4 : 0)
+                    | (entity.getIsJumpingNow() ? 8 : 0) | (entity.isConvertingNow() ? 16 : 0)
+                    | (entity.isCarefulStand() ? 32 : 0) | (entity.isEvading() ? 64 : 0);
+            mpUsed = entity.mpUsed;
+            deltaDistance = entity.delta_distance;
+            walkMP = entity.getWalkMP();
+            runMP = entity.getRunMP();
+            jumpMP = entity.getJumpMP();
+            conversionMode = entity.getConversionMode();
+            movementMode = entity.getMovementMode();
+            velocity = entity.isAero() ? ((IAero) entity).getCurrentVelocity() : 0;
+            heat = entity.getHeat();
+            damage = damageOf(entity);
+            others = othersOf(game, entity);
+        }
+
+        private static int[] conditionsOf(PlanetaryConditions conditions) {
+            return (conditions == null) ? new int[0] : conditions.getConditionValues();
+        }
+
+        /**
+         * @return the state of the entity's locations, critical slots and
+         *         equipment
+         */
+        private static int[] damageOf(Entity entity) {
+            final List<Mounted> equipment = entity.getEquipment();
+            int size = 1 + (2 * equipment.size());
+            for (int loc = 0; loc < entity.locations(); loc++) {
+                size += 1 + entity.getNumberOfCriticals(loc);
+            }
+            final int[] damage = new int[size];
+            int i = 0;
+            damage[i++] = entity.getEquipmentVersion();
+            for (int loc = 0; loc < entity.locations(); loc++) {
+                damage[i++] = entity.getInternal(loc);
+                for (int slot = 0; slot < entity.getNumberOfCriticals(loc); slot++) {
+                    final CriticalSlot crit = entity.getCritical(loc, slot);
+                    damage[i++] = (crit == null) ? -1 : ((crit.isHit() ? 1 : 0)
+                            | (crit.isDestroyed() ? 2 : 0) | (crit.isMissing() ? 4 : 0)
+                            | (crit.isBreached() ? 8 : 0));
+                }
+            }
+            for (Mounted mounted : equipment) {
+                damage[i++] = mounted.getModeNumber();
+                damage[i++] = (mounted.isHit() ? 1 : 0) | (mounted.isDestroyed() ? 2 : 0)
+                        | (mounted.isMissing() ? 4 : 0) | (mounted.isBreached() ? 8 : 0)
+                        | (mounted.isUsedThisRound() ? 16 : 0);
+            }
+            return damage;
+        }
+
+        /**
+         * @return the state of the units other than the given entity that
+         *         compiling its steps reads
+         */
+        private static int[] othersOf(IGame game, Entity entity) {
+            final List<Entity> entities = game.getEntitiesVector();
+            final int[] others = new int[OTHER_STATE_SIZE * entities.size()];
+            int i = 0;
+            for (Entity other : entities) {
+                if (other == entity) {
+                    continue;
+                }
+                others[i++] = other.getId();
+                others[i++] = other.getOwnerId();
+                others[i++] = other.getElevation();
+                others[i++] = other.getAltitude();
+                others[i++] = other.getTransportId();
+                others[i++] = other.getTowedBy();
+                others[i++] = other.getAllTowedUnits().size();
+                others[i++] = (other.isAirborne() ? 1 : 0) | (other.isSpaceborne() ? 2 : 0)
+                        | (other.isLoadableThisTurn() ? 4 : 0) | (other.isDone() ? 8 : 0)
+                        | (other.isProne() ? 16 : 0) | (other.isHullDown() ? 32 : 0)
+                        | (other.isDeployed() ? 64 : 0) | (other.isDoomed() ? 128 : 0)
+                        | (other.isDestroyed() ? 256 : 0);
+            }
+            return (i == others.length) ? others : Arrays.copyOf(others, i);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            } else if ((o == null) || (getClass() != o.getClass())) {
+                return false;
+            }
+            final CompileStamp other = (CompileStamp) o;
+            return (game == other.game) && (board == other.board) && (entity == other.entity)
+                    && (boardVersion == other.boardVersion) && (round == other.round)
+                    && (phase == other.phase) && (entityPositionVersion == other.entityPositionVersion)
+                    && Objects.equals(position, other.position) && (facing == other.facing)
+                    && (elevation == other.elevation) && (altitude == other.altitude)
+                    && (flags == other.flags) && (mpUsed == other.mpUsed)
+                    && (deltaDistance == other.deltaDistance) && (walkMP == other.walkMP)
+                    && (runMP == other.runMP) && (jumpMP == other.jumpMP)
+                    && (conversionMode == other.conversionMode)
+                    && (movementMode == other.movementMode) && (velocity == other.velocity)
+                    && (options == other.options) && (optionsVersion == other.optionsVersion)
+                    && (heat == other.heat) && Arrays.equals(conditions, other.conditions)
+                    && Arrays.equals(damage, other.damage) && Arrays.equals(others, other.others);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(boardVersion, round, phase, entityPositionVersion, position, facing,
+                    elevation, altitude, flags, mpUsed);
+        }
+    }
+
+    /**
+     * What {@link MovePath#compile(IGame, Entity, boolean)} remembers about a
+     * step it compiled.
+     */
+    static final class CompileRecord {
+        /** The step before it when it was compiled */
+        final MoveStep prev;
+        /** The step's input version when it was compiled */
+        final int inputVersion;
+        /** The packed path dependent flags of it and all steps before it, right after it was added */
+        final int[] states;
+        /** Whether adding the step made the path fly over an enemy */
+        final boolean fliesOverEnemy;
+        /** The conditions it was compiled under */
+        CompileStamp stamp;
+
+        CompileRecord(MoveStep prev, int inputVersion, int[] states, boolean fliesOverEnemy) {
+            this.prev = prev;
+            this.inputVersion = inputVersion;
+            this.states = states;
+            this.fliesOverEnemy = fliesOverEnemy;
+        }
+    }
+
+    /**
+     * An immutable list of steps. Appending to a list shares all full chunks
+     * of steps with the original and copies at most one chunk, so the paths
+     * created while searching share their common prefixes instead of each
+     * holding a full copy of their steps. The list also keeps track of the
+     * step types it contains.
+     */
+    private static final class StepList implements Iterable<MoveStep>, Serializable {
+        private static final long serialVersionUID = 3527658126397219862L;
+        private static final int CHUNK_SIZE = 32;
+        private static final MoveStep[][] NO_CHUNKS = new MoveStep[0][];
+
+        static final StepList EMPTY = new StepList(NO_CHUNKS, new MoveStep[0], 0L, 0L);
+
+        /** Full chunks of CHUNK_SIZE steps; neither they nor this array are ever modified */
+        private final MoveStep[][] chunks;
+        /** The remaining steps, never modified either */
+        private final MoveStep[] tail;
+        private final int size;
+        /** The step types contained in the list, by ordinal */
+        private final long typesLow;
+        private final long typesHigh;
+
+        private StepList(MoveStep[][] chunks, MoveStep[] tail, long typesLow, long typesHigh) {
+            this.chunks = chunks;
+            this.tail = tail;
+            this.size = (chunks.length * CHUNK_SIZE) + tail.length;
+            this.typesLow = typesLow;
+            this.typesHigh = typesHigh;
+        }
+
+        private static StepList of(MoveStep[][] chunks, MoveStep[] tail) {
+            long low = 0;
+            long high = 0;
+            for (MoveStep[] chunk : chunks) {
+                for (MoveStep step : chunk) {
+                    low |= typeBit(step.getType(), 0);
+                    high |= typeBit(step.getType(), 64);
+                }
+            }
+            for (MoveStep step : tail) {
+                low |= typeBit(step.getType(), 0);
+                high |= typeBit(step.getType(), 64);
+            }
+            return new StepList(chunks, tail, low, high);
+        }
+
+        private static long typeBit(MoveStepType type, int offset) {
+            final int bit = type.ordinal() - offset;
+            return ((bit >= 0) && (bit < 64)) ? 1L << bit : 0L;
+        }
+
+        int size() {
+            return size;
+        }
+
+        MoveStep get(int index) {
+            final int chunked = chunks.length * CHUNK_SIZE;
+            if (index < chunked) {
+                return chunks[index / CHUNK_SIZE][index % CHUNK_SIZE];
+            }
+            return tail[index - chunked];
+        }
+
+        StepList append(MoveStep step) {
+            final long low = typesLow | typeBit(step.getType(), 0);
+            final long high = typesHigh | typeBit(step.getType(), 64);
+            if (tail.length < CHUNK_SIZE) {
+                final MoveStep[] newTail = Arrays.copyOf(tail, tail.length + 1);
+                newTail[tail.length] = step;
+                return new StepList(chunks, newTail, low, high);
+            }
+            final MoveStep[][] newChunks = Arrays.copyOf(chunks, chunks.length + 1);
+            newChunks[chunks.length] = tail;
+            return new StepList(newChunks, new MoveStep[] { step }, low, high);
+        }
+
+        StepList removeLast() {
+            if (tail.length > 1) {
+                return of(chunks, Arrays.copyOf(tail, tail.length - 1));
+            } else if (chunks.length > 0) {
+                return of(Arrays.copyOf(chunks, chunks.length - 1), chunks[chunks.length - 1]);
+            }
+            return EMPTY;
+        }
+
+        boolean contains(MoveStepType type) {
+            return ((typesLow & typeBit(type, 0)) != 0) || ((typesHigh & typeBit(type, 64)) != 0);
+        }
+
+        boolean containsAnyOther(MoveStepType type) {
+            return ((typesLow & ~typeBit(type, 0)) != 0) || ((typesHigh & ~typeBit(type, 64)) != 0);
+        }
+
+        Vector<MoveStep> toVector() {
+            final Vector<MoveStep> result = new Vector<>(size);
+            for (MoveStep step : this) {
+                result.add(step);
+            }
+            return result;
+        }
+
+        Enumeration<MoveStep> elements() {
+            final Iterator<MoveStep> iterator = iterator();
+            return new Enumeration<MoveStep>() {
+                @Override
+                public boolean hasMoreElements() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public MoveStep nextElement() {
+                    return iterator.next();
+                }
+            };
+        }
+
+        Stream<MoveStep> stream() {
+            return StreamSupport.stream(spliterator(), false);
+        }
+
+        @Override
+        public Iterator<MoveStep> iterator() {
+            return new Iterator<MoveStep>() {
+                private int index = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return index < size;
+                }
+
+                @Override
+                public MoveStep next() {
+                    if (index >= size) {
+                        throw new NoSuchElementException();
+                    }
+                    return get(index++);
+                }
+            };
+        }
+
+        private Object readResolve() {
+            return (size == 0) ? EMPTY : this;
+        }
+    }
 }
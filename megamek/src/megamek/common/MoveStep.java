@@ -31,6 +31,7 @@ import java.util.Vector;
 import megamek.common.MovePath.MoveStepType;
 import megamek.common.logging.DefaultMmLogger;
 import megamek.common.logging.MMLogger;
+import megamek.common.options.GameOptionHandles;
 import megamek.common.options.OptionsConstants;
 import megamek.common.pathfinder.CachedEntityState;
 
@@ -44,6 +45,7 @@ public class MoveStep implements Serializable {
      *
      */
     private static final long serialVersionUID = -6075640793056182285L;
+
     private MoveStepType type = MoveStepType.NONE;
     private int targetId = Entity.NONE;
     private int targetType = Targetable.TYPE_ENTITY;
@@ -179,6 +181,18 @@ public class MoveStep implements Serializable {
      */
     private MMLogger logger;
 
+    /**
+     * Bumped whenever one of this step's inputs (e.g. its target) is changed
+     * after the step was created, so recompiling its path won't reuse it.
+     */
+    private transient int inputVersion = 0;
+
+    /**
+     * Set when {@link MovePath#compile(IGame, Entity, boolean)} compiled
+     * this step; lets it reuse the step when compiling the path again.
+     */
+    private transient MovePath.CompileRecord compileRecord;
+
     /**
      * Create a step of the given type.
      *
@@ -423,6 +437,7 @@ public class MoveStep implements Serializable {
      *               pass a <code>null</code>
      */
     public void setTarget(Targetable target) {
+        inputVersion++;
         if (target == null) {
             targetId = Entity.NONE;
             targetType = Targetable.TYPE_ENTITY;
@@ -559,7 +574,7 @@ public class MoveStep implements Serializable {
             setElevation(getElevation() + 1);
         } else if (isJumping()) {
             IHex hex = game.getBoard().getHex(getPosition());
-            int maxElevation = (entity.getJumpMP() + entity.getElevation() + game
+            int maxElevation = (cachedEntityState.getJumpMP() + entity.getElevation() + game
                     .getBoard().getHex(entity.getPosition()).surface())
                     - hex.surface();
             int building = hex.terrainLevel(Terrains.BLDG_ELEV);
@@ -732,7 +747,7 @@ public class MoveStep implements Serializable {
         // WiGEs get bonus MP for each string of three consecutive hexes they descend.
         if (entity.getMovementMode() == EntityMovementMode.WIGE
                 && getClearance() > 0
-                && game.getOptions().booleanOption(OptionsConstants.ADVGRNDMOV_VEHICLE_ADVANCED_MANEUVERS)) {
+                && game.getOptions().booleanOption(GameOptionHandles.ADVGRNDMOV_VEHICLE_ADVANCED_MANEUVERS)) {
 
             if (game.getBoard().getHex(getPosition()).ceiling()
                     < game.getBoard().getHex(prev.getPosition()).ceiling()) {
@@ -1515,6 +1530,18 @@ public class MoveStep implements Serializable {
         return movementMode;
     }
 
+    int getInputVersion() {
+        return inputVersion;
+    }
+
+    MovePath.CompileRecord getCompileRecord() {
+        return compileRecord;
+    }
+
+    void setCompileRecord(MovePath.CompileRecord compileRecord) {
+        this.compileRecord = compileRecord;
+    }
+
     /**
      * Check to see if this step's position is a valid end of a path.
      *
@@ -1569,7 +1596,7 @@ public class MoveStep implements Serializable {
         // If this step isn't the end step anymore, we might not be in danger
         // after all
         IHex pos = getGame().getBoard().getHex(position);
-        if (getGame().getOptions().booleanOption(OptionsConstants.ADVGRNDMOV_PSR_JUMP_HEAVY_WOODS)) {
+        if (getGame().getOptions().booleanOption(GameOptionHandles.ADVGRNDMOV_PSR_JUMP_HEAVY_WOODS)) {
             if (!isEnd
                     && isJumping()
                     && (pos.containsTerrain(Terrains.WOODS, 2) 
@@ -1601,12 +1628,11 @@ public class MoveStep implements Serializable {
         }
         
         // A step is an end position if it is the last legal step.
-        Vector<MoveStep> steps = path.getStepVector();
         // Starting from the end, each step is considered the last step until
         // we find a legal last step
         boolean lastStep = true;
-        for (int i = steps.size() - 1; i >= 0; i--) {
-            MoveStep step = steps.get(i);
+        for (int i = path.length() - 1; i >= 0; i--) {
+            MoveStep step = path.getStep(i);
             boolean stepMatch = this.equals(step);
             if (lastStep) {
                 lastStep &= step.getMovementType(true) == EntityMovementType.MOVE_ILLEGAL;
@@ -1665,6 +1691,7 @@ public class MoveStep implements Serializable {
     }
 
     public void setDocking(boolean tf) {
+        inputVersion++;
         docking = tf;
     }
 
@@ -1965,7 +1992,7 @@ public class MoveStep implements Serializable {
             }
 
             // check the fuel requirements
-            if (game.getOptions().booleanOption(OptionsConstants.ADVAERORULES_FUEL_CONSUMPTION)) {
+            if (game.getOptions().booleanOption(GameOptionHandles.ADVAERORULES_FUEL_CONSUMPTION)) {
                 int fuelUsed = mpUsed + Math.max(mpUsed - cachedEntityState.getWalkMP(), 0);
                 if (fuelUsed > a.getFuel()) {
                     return;
@@ -2241,7 +2268,7 @@ public class MoveStep implements Serializable {
 
         // check for valid jump mp
         if (isJumping()
-                && (getMpUsed() <= entity.getJumpMPWithTerrain())
+                && (getMpUsed() <= cachedEntityState.getJumpMPWithTerrain())
                 && !isProne()
                 && !isHullDown()
                 && !((entity instanceof Protomech) && (entity
@@ -2359,7 +2386,7 @@ public class MoveStep implements Serializable {
         if ((getEntity().getMovementMode() == EntityMovementMode.VTOL)
                 && getClearance() > 0
                 && !(getEntity() instanceof VTOL)) {
-            tmpWalkMP = entity.getJumpMP();
+            tmpWalkMP = cachedEntityState.getJumpMP();
         }
         // check for valid walk/run mp
         if (!isJumping() && !entity.isStuck() && (tmpWalkMP > 0)
@@ -2450,7 +2477,7 @@ public class MoveStep implements Serializable {
                 }
             } else if ((getMpUsed() <= sprintMP)
                     && !isRunProhibited() && !isEvading()
-                    && game.getOptions().booleanOption(OptionsConstants.ADVGRNDMOV_TACOPS_SPRINT)) {
+                    && game.getOptions().booleanOption(GameOptionHandles.ADVGRNDMOV_TACOPS_SPRINT)) {
                 setUsingMASC(true);
                 setTargetNumberMASC(entity.getMASCTarget());
                 if (entity.getMovementMode() == EntityMovementMode.VTOL) {
@@ -2463,7 +2490,7 @@ public class MoveStep implements Serializable {
         
         // If using vehicle acceleration restrictions, it is impossible to go from a stop to overdrive.
         // Stop to flank or cruise to overdrive is permitted with a driving check ("gunning it").
-        if (game.getOptions().booleanOption(OptionsConstants.ADVGRNDMOV_VEHICLE_ACCELERATION)
+        if (game.getOptions().booleanOption(GameOptionHandles.ADVGRNDMOV_VEHICLE_ACCELERATION)
                 && movementType == EntityMovementType.MOVE_SPRINT
                 && (entity instanceof Tank
                         || (entity instanceof QuadVee && entity.getConversionMode() == QuadVee.CONV_MODE_VEHICLE))
@@ -2943,7 +2970,7 @@ public class MoveStep implements Serializable {
 
 
         boolean applyNightPen =
-                !game.getOptions().booleanOption(OptionsConstants.ADVGRNDMOV_NO_NIGHT_MOVE_PEN);
+                !game.getOptions().booleanOption(GameOptionHandles.ADVGRNDMOV_NO_NIGHT_MOVE_PEN);
         boolean carefulExempt =
                 (moveMode == EntityMovementMode.VTOL) || isJumping();
 
@@ -3036,7 +3063,7 @@ public class MoveStep implements Serializable {
         // non-WIGEs pay for elevation differences
         if ((nSrcEl != nDestEl) && (moveMode != EntityMovementMode.WIGE)) {
             int delta_e = Math.abs(nSrcEl - nDestEl);
-            if (game.getOptions().booleanOption(OptionsConstants.ADVGRNDMOV_TACOPS_LEAPING) && isMech
+            if (game.getOptions().booleanOption(GameOptionHandles.ADVGRNDMOV_TACOPS_LEAPING) && isMech
                     && (delta_e > 2) && (nDestEl < nSrcEl)) {
                 // leaping (moving down more than 2 hexes) always costs 4 mp
                 // regardless of anything else
@@ -3245,8 +3272,8 @@ public class MoveStep implements Serializable {
                 && isThisStepBackwards()
                 && !(isJumping() && (entity.getJumpType() == Mech.JUMP_BOOSTER))
                 && (((destAlt != srcAlt) && !game.getOptions().booleanOption(
-                OptionsConstants.ADVGRNDMOV_TACOPS_WALK_BACKWARDS)) || (game.getOptions()
-                .booleanOption(OptionsConstants.ADVGRNDMOV_TACOPS_WALK_BACKWARDS) && (Math
+                GameOptionHandles.ADVGRNDMOV_TACOPS_WALK_BACKWARDS)) || (game.getOptions()
+                .booleanOption(GameOptionHandles.ADVGRNDMOV_TACOPS_WALK_BACKWARDS) && (Math
                 .abs(destAlt - srcAlt) > 1)))) {
             // System.err.println("Can't back up across an elevation change.");
             return false;
@@ -3374,11 +3401,11 @@ public class MoveStep implements Serializable {
                 && (destAlt != srcAlt)
                 && !(entity instanceof VTOL)
                 && !(isJumping() && (entity.getJumpType() == Mech.JUMP_BOOSTER))) {
-            if (game.getOptions().booleanOption(OptionsConstants.ADVGRNDMOV_TACOPS_WALK_BACKWARDS)
+            if (game.getOptions().booleanOption(GameOptionHandles.ADVGRNDMOV_TACOPS_WALK_BACKWARDS)
                     && (Math.abs(destAlt - srcAlt) > 1)) {
                 return false;
             }
-            if (!game.getOptions().booleanOption(OptionsConstants.ADVGRNDMOV_TACOPS_WALK_BACKWARDS)
+            if (!game.getOptions().booleanOption(GameOptionHandles.ADVGRNDMOV_TACOPS_WALK_BACKWARDS)
                     && (destAlt != srcAlt)) {
                 return false;
             }
@@ -3472,7 +3499,7 @@ public class MoveStep implements Serializable {
         if ((movementType == EntityMovementType.MOVE_JUMP)
                 && (destAlt > (entity.getElevation()
                 + entity.game.getBoard().getHex(entity.getPosition())
-                .getLevel() + entity.getJumpMPWithTerrain() + (type == MoveStepType.DFA ? 1
+                .getLevel() + cachedEntityState.getJumpMPWithTerrain() + (type == MoveStepType.DFA ? 1
                 : 0)))) {
             // System.err.println("can't jump over too-high terrain");
             return false;
@@ -4004,12 +4031,12 @@ public class MoveStep implements Serializable {
      * Helper function to determine whether sprint is available as a game option to the entity
      */
     public boolean canUseSprint(IGame game) {
-        if (!game.getOptions().booleanOption(OptionsConstants.ADVGRNDMOV_TACOPS_SPRINT)) {
+        if (!game.getOptions().booleanOption(GameOptionHandles.ADVGRNDMOV_TACOPS_SPRINT)) {
             return false;
         }
         if (entity instanceof Tank
                 || (entity instanceof QuadVee && entity.getConversionMode() == QuadVee.CONV_MODE_VEHICLE)) {
-            return  game.getOptions().booleanOption(OptionsConstants.ADVGRNDMOV_VEHICLE_ADVANCED_MANEUVERS);
+            return  game.getOptions().booleanOption(GameOptionHandles.ADVGRNDMOV_VEHICLE_ADVANCED_MANEUVERS);
         }
         if (entity instanceof LandAirMech) {
             return entity.getConversionMode() == LandAirMech.CONV_MODE_MECH
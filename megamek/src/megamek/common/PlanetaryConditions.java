@@ -151,6 +151,19 @@ public class PlanetaryConditions implements Serializable {
         return new PlanetaryConditions(this);
     }
 
+    /**
+     * Returns the conditions as numbers, for code that remembers what it
+     * computed under them and has to tell whether they have changed since.
+     * Equal conditions give equal arrays.
+     */
+    public int[] getConditionValues() {
+        return new int[] { lightConditions, weatherConditions, windStrength, windDirection,
+                shiftWindDirection ? 1 : 0, shiftWindStrength ? 1 : 0, minWindStrength,
+                maxWindStrength, atmosphere, fog, temperature, Float.floatToIntBits(gravity),
+                emi ? 1 : 0, terrainAffected ? 1 : 0, blowingSand ? 1 : 0, sandStorm ? 1 : 0,
+                isSleeting ? 1 : 0 };
+    }
+
     public static String getLightDisplayableName(int type) {
         if ((type >= 0) && (type < L_SIZE)) {
             return Messages.getString("PlanetaryConditions." + lightNames[type]);
@@ -0,0 +1,134 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+
+package megamek.common;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A tree of named random number streams, all derived from one master seed.
+ * Each stream is an {@link MMRandom} of the configured type, so dice rolled
+ * from it behave exactly like those of {@link Compute#d6(int)}, including the
+ * shuffled pool of {@link MMRandom#R_POOL36}.
+ * <p>
+ * The numbers a stream produces depend only on the master seed and the path
+ * of names leading to it, not on how much other streams have been used or in
+ * which order they were created. This allows giving e.g. every phase or every
+ * entity its own stream:
+ *
+ * <pre>
+ * RandomStreams game = new RandomStreams(seed, MMRandom.R_POOL36);
+ * RandomStreams phaseStreams = game.split("round", round).split(phase.name());
+ * MMRandom rng = phaseStreams.split("entity", entity.getId()).stream("movement");
+ * </pre>
+ *
+ * Rolls made from different threads or in a different order then still come
+ * out the same when the game is replayed with the same seed. Use
+ * {@link Compute#setThreadRNG(MMRandom)} to have the dice methods of
+ * {@link Compute} roll from a stream.
+ * <p>
+ * Streams and child sets are created once per name and then kept, so asking
+ * for the same name again continues the same sequence. A single stream is
+ * not meant to be shared between threads.
+ */
+public class RandomStreams {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final long seed;
+    private final int type;
+    private final Map<String, MMRandom> streams = new ConcurrentHashMap<>();
+    private final Map<String, RandomStreams> children = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a set of streams of the default {@link MMRandom} type.
+     */
+    public RandomStreams(long seed) {
+        this(seed, MMRandom.R_DEFAULT);
+    }
+
+    /**
+     * @param seed the master seed all streams are derived from
+     * @param type the {@link MMRandom} type of the streams, e.g.
+     *             {@link MMRandom#R_POOL36}
+     */
+    public RandomStreams(long seed, int type) {
+        this.seed = seed;
+        this.type = type;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getType() {
+        return type;
+    }
+
+    /**
+     * @return the named stream of this set
+     */
+    public MMRandom stream(String name) {
+        MMRandom stream = streams.get(name);
+        if (stream == null) {
+            stream = streams.computeIfAbsent(name,
+                    n -> MMRandom.generate(type, deriveSeed('s', n, 0)));
+        }
+        return stream;
+    }
+
+    /**
+     * @return the named child set of streams, e.g. for one game phase
+     */
+    public RandomStreams split(String name) {
+        return split(name, 0);
+    }
+
+    /**
+     * Returns a numbered child set of streams, such as the one for an entity
+     * id or a round number. <code>split("entity", 5)</code> and
+     * <code>split("entity", 6)</code> are unrelated sets.
+     */
+    public RandomStreams split(String name, long index) {
+        final String key = name + '#' + index;
+        RandomStreams child = children.get(key);
+        if (child == null) {
+            child = children.computeIfAbsent(key,
+                    k -> new RandomStreams(deriveSeed('c', name, index), type));
+        }
+        return child;
+    }
+
+    /**
+     * Derives the seed of a stream or child set from the master seed, its kind
+     * and its name. The name is hashed with 64 bit FNV-1a and the result is
+     * scrambled with the finalizer of MurmurHash3, so that similar names and
+     * seeds give unrelated seeds.
+     */
+    private long deriveSeed(char kind, String name, long index) {
+        long hash = 0xcbf29ce484222325L;
+        hash = (hash ^ kind) * 0x100000001b3L;
+        for (int i = 0; i < name.length(); i++) {
+            hash = (hash ^ name.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(seed ^ mix(hash + (index * GOLDEN_GAMMA)));
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -157,9 +157,6 @@ public class Report implements Serializable {
      */
     private Vector<String> obscuredRecipients = new Vector<String>();
 
-    /** Keep track of what data we have already substituted for tags. */
-    private transient int tagCounter = 0;
-
     /**
      * Default constructor, note that using this means the
      * <code>messageId</code> field must be explicitly set.
@@ -208,7 +205,6 @@ public class Report implements Serializable {
         obscuredIndexes = (Hashtable<Integer, Boolean>) r.obscuredIndexes
                 .clone();
         obscuredRecipients = (Vector<String>) r.obscuredRecipients.clone();
-        tagCounter = r.tagCounter;
     }
 
     /**
@@ -374,10 +370,6 @@ public class Report implements Serializable {
         return tagData.size();
     }
 
-    private String getTag() {
-        return getTag(tagCounter);
-    }
-
     private String getTag(int index) {
         try {
             String value = tagData.elementAt(index);
@@ -408,72 +400,44 @@ public class Report implements Serializable {
      * @return a String with the final report
      */
     public String getText() {
-        // The raw text of the message, with tags.
-        String raw = ReportMessages.getString(String.valueOf(messageId));
+        // The message text, split into literal text and tags
+        ReportTemplate template = ReportTemplate.of(messageId);
 
         // This will be the finished product, with data substituted for tags.
-        StringBuffer text = new StringBuffer();
+        StringBuilder text = new StringBuilder();
 
-        if (raw == null) {
+        if (template == null) {
             // Should we handle this better? Check alternate language files?
             System.out.println("Error: No message found for ID "
                     + messageId);
             text.append("[Reporting Error for message ID ").append(
                     messageId).append("]");
         } else {
-            int i = 0;
-            int mark = 0;
-            while (i < raw.length()) {
-                if (raw.charAt(i) == '<') {
-                    // find end of tag
-                    int endTagIdx = raw.indexOf('>', i);
-                    if ((raw.indexOf('<', i + 1) != -1)
-                            && (raw.indexOf('<', i + 1) < endTagIdx)) {
-                        // hmm...this must be a literal '<' character
-                        i++;
-                        continue;
-                    }
-                    // copy the preceeding characters into the buffer
-                    text.append(raw.substring(mark, i));
-                    if (raw.substring(i + 1, endTagIdx).equals("data")) {
-                        text.append(getTag());
-                        // System.out.println("Report-->getText(): " +
-                        // this.tagData.elementAt(this.tagCounter));
+            int tagCounter = 0;
+            for (int i = 0; i < template.size(); i++) {
+                switch (template.getKind(i)) {
+                    case ReportTemplate.DATA:
+                        text.append(getTag(tagCounter));
                         tagCounter++;
-                    } else if (raw.substring(i + 1, endTagIdx).equals("list")) {
+                        break;
+                    case ReportTemplate.LIST:
                         for (int j = tagCounter; j < tagData.size(); j++) {
                             text.append(getTag(j)).append(", ");
                         }
                         text.setLength(text.length() - 2); // trim last comma
-                    } else if (raw.substring(i + 1, endTagIdx).startsWith(
-                            "msg:")) {
-                        boolean selector = Boolean.valueOf(getTag())
-                                .booleanValue();
-                        if (selector) {
-                            text.append(ReportMessages.getString(raw.substring(
-                                    i + 5, raw.indexOf(',', i))));
-                        } else {
-                            text.append(ReportMessages.getString(raw.substring(
-                                    raw.indexOf(',', i) + 1, endTagIdx)));
-                        }
+                        break;
+                    case ReportTemplate.MESSAGE:
+                        boolean selector = Boolean.valueOf(getTag(tagCounter));
+                        text.append(template.getText(i, selector));
                         tagCounter++;
-                    } else if (raw.substring(i + 1, endTagIdx)
-                            .equals("newline")) {
-                        text.append("\n");
-                    } else {
-                        // not a special tag, so treat as literal text
-                        text.append(raw.substring(i, endTagIdx + 1));
-                    }
-                    mark = endTagIdx + 1;
-                    i = endTagIdx;
+                        break;
+                    default:
+                        text.append(template.getText(i, true));
                 }
-                i++;
             }
-            text.append(raw.substring(mark));
             handleIndentation(text);
             text.append(getNewlines());
         }
-        tagCounter = 0;
         // debugReport
         if (type == Report.TESTING) {
             Report.mark(text);
@@ -481,7 +445,7 @@ public class Report implements Serializable {
         return text.toString();
     }
 
-    private void handleIndentation(StringBuffer sb) {
+    private void handleIndentation(StringBuilder sb) {
         if ((indentation == 0) || (sb.length() == 0)) {
             return;
         }
@@ -582,7 +546,7 @@ public class Report implements Serializable {
     }
 
     // debugReport method
-    private static StringBuffer mark(StringBuffer sb) {
+    private static StringBuilder mark(StringBuilder sb) {
         sb.insert(0, "<hidden>");
         int i = sb.length() - 1;
         while (sb.charAt(i) == '\n') {
@@ -0,0 +1,152 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+
+package megamek.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The text of a report message from <i>report-messages.properties</i>, split
+ * once into literal text and the &lt;data&gt;, &lt;list&gt; and
+ * &lt;msg:n,m&gt; tags that {@link Report#getText()} fills in. Templates are
+ * parsed the first time a message id is rendered and kept for the rest of the
+ * session, as the report messages don't change once loaded.
+ */
+final class ReportTemplate {
+
+    /** Literal text, including the expanded &lt;newline&gt; tags. */
+    static final int LITERAL = 0;
+    /** The next data value. */
+    static final int DATA = 1;
+    /** All remaining data values, separated by commas. */
+    static final int LIST = 2;
+    /** One of two messages, chosen by the next data value. */
+    static final int MESSAGE = 3;
+
+    private static final Map<Integer, ReportTemplate> TEMPLATES = new ConcurrentHashMap<>();
+
+    private final int[] kinds;
+    /** The literal text, or for messages the text chosen by <code>true</code>. */
+    private final String[] texts;
+    /** For messages, the text chosen by <code>false</code>. */
+    private final String[] alternatives;
+
+    private ReportTemplate(List<Integer> kinds, List<String> texts, List<String> alternatives) {
+        this.kinds = new int[kinds.size()];
+        for (int i = 0; i < this.kinds.length; i++) {
+            this.kinds[i] = kinds.get(i);
+        }
+        this.texts = texts.toArray(new String[0]);
+        this.alternatives = alternatives.toArray(new String[0]);
+    }
+
+    /**
+     * @return the template of the given message id, or null if there is no
+     *         such message
+     */
+    static ReportTemplate of(int messageId) {
+        ReportTemplate template = TEMPLATES.get(messageId);
+        if (template == null) {
+            String raw = ReportMessages.getString(String.valueOf(messageId));
+            if (raw == null) {
+                return null;
+            }
+            template = parse(raw);
+            TEMPLATES.put(messageId, template);
+        }
+        return template;
+    }
+
+    /**
+     * Splits the raw message text into tokens. A '&lt;' that is followed by
+     * another '&lt;' before the closing '&gt;' is literal text, as are tags
+     * that aren't known.
+     */
+    static ReportTemplate parse(String raw) {
+        List<Integer> kinds = new ArrayList<>();
+        List<String> texts = new ArrayList<>();
+        List<String> alternatives = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        int mark = 0;
+        while (i < raw.length()) {
+            if (raw.charAt(i) == '<') {
+                int endTagIdx = raw.indexOf('>', i);
+                if (endTagIdx == -1) {
+                    break;
+                }
+                int nextTagIdx = raw.indexOf('<', i + 1);
+                if ((nextTagIdx != -1) && (nextTagIdx < endTagIdx)) {
+                    // a literal '<' character
+                    i++;
+                    continue;
+                }
+                literal.append(raw, mark, i);
+                String tag = raw.substring(i + 1, endTagIdx);
+                int comma = raw.indexOf(',', i);
+                if (tag.equals("data") || tag.equals("list")) {
+                    addLiteral(literal, kinds, texts, alternatives);
+                    kinds.add(tag.equals("data") ? DATA : LIST);
+                    texts.add(null);
+                    alternatives.add(null);
+                } else if (tag.startsWith("msg:") && (comma > i)) {
+                    addLiteral(literal, kinds, texts, alternatives);
+                    kinds.add(MESSAGE);
+                    texts.add(ReportMessages.getString(raw.substring(i + 5, comma)));
+                    alternatives.add(ReportMessages.getString(raw.substring(comma + 1, endTagIdx)));
+                } else if (tag.equals("newline")) {
+                    literal.append('\n');
+                } else {
+                    // not a special tag, so treat as literal text
+                    literal.append(raw, i, endTagIdx + 1);
+                }
+                mark = endTagIdx + 1;
+                i = endTagIdx;
+            }
+            i++;
+        }
+        literal.append(raw, mark, raw.length());
+        addLiteral(literal, kinds, texts, alternatives);
+        return new ReportTemplate(kinds, texts, alternatives);
+    }
+
+    private static void addLiteral(StringBuilder literal, List<Integer> kinds, List<String> texts,
+            List<String> alternatives) {
+        if (literal.length() > 0) {
+            kinds.add(LITERAL);
+            texts.add(literal.toString());
+            alternatives.add(null);
+            literal.setLength(0);
+        }
+    }
+
+    int size() {
+        return kinds.length;
+    }
+
+    int getKind(int index) {
+        return kinds[index];
+    }
+
+    /**
+     * @return the literal text of a literal token, or the message chosen by
+     *         the given choice for a message token
+     */
+    String getText(int index, boolean choice) {
+        return choice ? texts[index] : alternatives[index];
+    }
+}
@@ -22,12 +22,22 @@ package megamek.common;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Keeps track of a target for a roll. Allows adding modifiers with
  * descriptions, including appending the modifiers in another TargetRoll.
  * Intended for rolls like a to-hit roll or a piloting skill check.
+ * <p>
+ * A roll created by {@link #valueOnly()} only keeps the numbers: modifiers
+ * are added up as they come in and their descriptions are dropped, so code
+ * that evaluates many rolls without showing them (e.g. the bots) doesn't pay
+ * for building the modifier lists. Such a roll can be given a
+ * {@link #setDescriber(Supplier) describer} that recomputes the full roll the
+ * first time a description is asked for.
  *
  * @author Ben
  */
@@ -47,21 +57,63 @@ public class TargetRoll implements Serializable {
      */
     public static final int CHECK_FALSE = Integer.MIN_VALUE + 1;
 
-    private ArrayList<TargetRollModifier> modifiers = new ArrayList<TargetRollModifier>();
+    /** The modifiers with their descriptions; null for value-only rolls. */
+    private ArrayList<TargetRollModifier> modifiers;
 
     private int total;
 
+    /** True if only the values of the modifiers are kept. */
+    private final boolean valueOnly;
+
+    /**
+     * For value-only rolls, the sum of all plain modifiers and of the
+     * cumulative ones among them.
+     */
+    private int sum;
+    private int cumulativeSum;
+
+    /**
+     * For value-only rolls, the automatic results (impossible, automatic
+     * failure or success, no roll needed) in the order they were added.
+     */
+    private int[] autoValues;
+    private boolean[] autoCumulative;
+    private int autoCount;
+
+    /** Recomputes a value-only roll with descriptions, when one is needed. */
+    private transient Supplier<? extends TargetRoll> describer;
+    private transient TargetRoll described;
+
     /**
      * Creates new TargetRoll
      */
     public TargetRoll() {
+        this(false);
+    }
 
+    /**
+     * Creates a new TargetRoll that keeps descriptions of its modifiers, or
+     * only their values.
+     */
+    protected TargetRoll(boolean valueOnly) {
+        this.valueOnly = valueOnly;
+        if (!valueOnly) {
+            modifiers = new ArrayList<TargetRollModifier>();
+        }
+    }
+
+    /**
+     * @return a new, empty roll that only keeps the values of its modifiers
+     */
+    public static TargetRoll valueOnly() {
+        return new TargetRoll(true);
     }
 
     /**
      * Creates a new TargetRoll with a base value & desc
      */
     public TargetRoll(int value, String desc) {
+        this();
         addModifier(value, desc);
     }
 
@@ -74,9 +126,47 @@ public class TargetRoll implements Serializable {
      * @param cumulative
      */
     public TargetRoll(int value, String desc, boolean cumulative) {
+        this();
         addModifier(value, desc, cumulative);
     }
 
+    /**
+     * @return true if this roll only keeps the values of its modifiers and
+     *         not their descriptions
+     */
+    public boolean isValueOnly() {
+        return valueOnly;
+    }
+
+    /**
+     * Sets how to recompute this roll with full descriptions. Only used for
+     * value-only rolls, which call it (once) the first time their modifiers
+     * or descriptions are asked for. The describer may return null when the
+     * roll can no longer be described, e.g. because what it was computed from
+     * has changed. A described roll with a different value doesn't describe
+     * this one and is dropped as well; the roll then only reports its value.
+     */
+    public void setDescriber(Supplier<? extends TargetRoll> describer) {
+        this.describer = describer;
+        described = null;
+    }
+
+    /**
+     * @return the described form of this value-only roll, or null if there is
+     *         no describer
+     */
+    private TargetRoll described() {
+        if ((described == null) && (describer != null)) {
+            final TargetRoll full = describer.get();
+            if ((full != null) && (full.getValue() == getValue())) {
+                described = full;
+            } else {
+                describer = null;
+            }
+        }
+        return described;
+    }
+
     /**
      * Returns the total value of all modifiers
      */
@@ -88,7 +178,11 @@ public class TargetRoll implements Serializable {
      * Returns the total value of all modifiers
      */
     public String getValueAsString() {
-        switch (total) {
+        return valueAsString(total);
+    }
+
+    private static String valueAsString(int value) {
+        switch (value) {
             case IMPOSSIBLE:
                 return "Impossible";
             case AUTOMATIC_FAIL:
@@ -98,11 +192,15 @@ public class TargetRoll implements Serializable {
             case CHECK_FALSE:
                 return "Did not need to roll";
             default:
-                return Integer.toString(total);
+                return Integer.toString(value);
         }
     }
 
     public List<TargetRollModifier> getModifiers() {
+        if (valueOnly) {
+            TargetRoll full = described();
+            return (full == null) ? Collections.emptyList() : full.getModifiers();
+        }
         return new ArrayList<TargetRollModifier>(modifiers);
     }
 
@@ -110,6 +208,10 @@ public class TargetRoll implements Serializable {
      * Returns a description of all applicable modifiers
      */
     public String getDesc() {
+        if (valueOnly) {
+            TargetRoll full = described();
+            return (full == null) ? getValueAsString() : full.getDesc();
+        }
         boolean first = true;
         StringBuffer allDesc = new StringBuffer();
 
@@ -146,6 +248,10 @@ public class TargetRoll implements Serializable {
      * Returns the first description found
      */
     public String getPlainDesc() {
+        if (valueOnly) {
+            TargetRoll full = described();
+            return (full == null) ? getValueAsString() : full.getPlainDesc();
+        }
         return modifiers.get(0).getDesc();
     }
 
@@ -155,6 +261,10 @@ public class TargetRoll implements Serializable {
      * @return
      */
     public String getCumulativePlainDesc() {
+        if (valueOnly) {
+            TargetRoll full = described();
+            return (full == null) ? "" : full.getCumulativePlainDesc();
+        }
         for (TargetRollModifier mod : modifiers) {
             if (mod.isCumulative()) {
                 return mod.getDesc();
@@ -167,24 +277,72 @@ public class TargetRoll implements Serializable {
      * Returns the last description found
      */
     public String getLastPlainDesc() {
+        if (valueOnly) {
+            TargetRoll full = described();
+            return (full == null) ? getValueAsString() : full.getLastPlainDesc();
+        }
         TargetRollModifier last = modifiers.get(modifiers.size() - 1);
         return last.getDesc();
     }
 
     public void addModifier(int value, String desc) {
-        addModifier(new TargetRollModifier(value, desc));
+        addModifier(value, desc, true);
     }
 
     public void addModifier(int value, String desc, boolean cumulative) {
-        addModifier(new TargetRollModifier(value, desc, cumulative));
+        if (valueOnly) {
+            addValue(value, cumulative);
+        } else {
+            addModifier(new TargetRollModifier(value, desc, cumulative));
+        }
     }
 
     public void addModifier(TargetRollModifier modifier) {
+        if (valueOnly) {
+            addValue(modifier.getValue(), modifier.isCumulative());
+            return;
+        }
         if (modifier.getValue() == CHECK_FALSE) {
             removeAutos(true);
         }
         modifiers.add(modifier);
-        recalculate();
+        // the first automatic result decides the total
+        if (!isAutomatic(total)) {
+            total = isAutomatic(modifier.getValue()) ? modifier.getValue()
+                    : total + modifier.getValue();
+        }
+    }
+
+    /**
+     * Adds a modifier to a value-only roll.
+     */
+    private void addValue(int value, boolean cumulative) {
+        if (value == CHECK_FALSE) {
+            removeAutos(true);
+        }
+        if (isAutomatic(value)) {
+            if (autoValues == null) {
+                autoValues = new int[2];
+                autoCumulative = new boolean[2];
+            } else if (autoCount == autoValues.length) {
+                autoValues = Arrays.copyOf(autoValues, autoCount * 2);
+                autoCumulative = Arrays.copyOf(autoCumulative, autoCount * 2);
+            }
+            autoValues[autoCount] = value;
+            autoCumulative[autoCount] = cumulative;
+            autoCount++;
+        } else {
+            sum += value;
+            if (cumulative) {
+                cumulativeSum += value;
+            }
+        }
+        total = (autoCount > 0) ? autoValues[0] : sum;
+    }
+
+    private static boolean isAutomatic(int value) {
+        return (value == IMPOSSIBLE) || (value == AUTOMATIC_FAIL)
+                || (value == AUTOMATIC_SUCCESS) || (value == CHECK_FALSE);
     }
 
     /**
@@ -206,6 +364,10 @@ public class TargetRoll implements Serializable {
         if (other == null) {
             return;
         }
+        if (other.valueOnly) {
+            appendValues(other, appendNonCumulative);
+            return;
+        }
         for (TargetRollModifier modifier : other.modifiers) {
             // possibly only add cumulative mods
             if (appendNonCumulative || modifier.isCumulative()) {
@@ -214,6 +376,35 @@ public class TargetRoll implements Serializable {
         }
     }
 
+    /**
+     * Appends a value-only roll. A roll that keeps descriptions gets the
+     * described modifiers if the other roll can provide them, and otherwise
+     * a single modifier for the sum of the other roll's plain modifiers.
+     */
+    private void appendValues(TargetRoll other, boolean appendNonCumulative) {
+        if (!valueOnly) {
+            TargetRoll full = other.described();
+            if (full != null) {
+                append(full, appendNonCumulative);
+                return;
+            }
+        }
+        for (int i = 0; i < other.autoCount; i++) {
+            if (appendNonCumulative || other.autoCumulative[i]) {
+                addModifier(other.autoValues[i], valueAsString(other.autoValues[i]),
+                        other.autoCumulative[i]);
+            }
+        }
+        final int otherSum = appendNonCumulative ? other.sum : other.cumulativeSum;
+        if (valueOnly) {
+            sum += otherSum;
+            cumulativeSum += other.cumulativeSum;
+            total = (autoCount > 0) ? autoValues[0] : sum;
+        } else if (otherSum != 0) {
+            addModifier(otherSum, Integer.toString(otherSum));
+        }
+    }
+
     /**
      * Remove all automatic failures or successes, but leave impossibles intact
      */
@@ -231,6 +422,21 @@ public class TargetRoll implements Serializable {
      */
 
     public void removeAutos(boolean removeImpossibles) {
+        if (valueOnly) {
+            int kept = 0;
+            for (int i = 0; i < autoCount; i++) {
+                final int value = autoValues[i];
+                if ((value != AUTOMATIC_FAIL) && (value != AUTOMATIC_SUCCESS)
+                        && (!removeImpossibles || (value != IMPOSSIBLE))) {
+                    autoValues[kept] = value;
+                    autoCumulative[kept] = autoCumulative[i];
+                    kept++;
+                }
+            }
+            autoCount = kept;
+            total = (autoCount > 0) ? autoValues[0] : sum;
+            return;
+        }
         ArrayList<TargetRollModifier> toKeep = new ArrayList<TargetRollModifier>();
         for (TargetRollModifier modifier : modifiers) {
             if (!removeImpossibles) {
@@ -258,10 +464,7 @@ public class TargetRoll implements Serializable {
 
         for (TargetRollModifier modifier : modifiers) {
             // check for break condition
-            if ((modifier.getValue() == IMPOSSIBLE)
-                    || (modifier.getValue() == AUTOMATIC_FAIL)
-                    || (modifier.getValue() == AUTOMATIC_SUCCESS)
-                    || (modifier.getValue() == CHECK_FALSE)) {
+            if (isAutomatic(modifier.getValue())) {
                 total = modifier.getValue();
                 break;
             }
@@ -116,6 +116,18 @@ public class ToHitData extends TargetRoll {
         super();
     }
 
+    private ToHitData(boolean valueOnly) {
+        super(valueOnly);
+    }
+
+    /**
+     * @return a new, empty to-hit roll that only keeps the values of its
+     *         modifiers; see {@link TargetRoll#valueOnly()}
+     */
+    public static ToHitData valueOnly() {
+        return new ToHitData(true);
+    }
+
     /**
      * Construct with a target roll modifier right off the bat.
      *
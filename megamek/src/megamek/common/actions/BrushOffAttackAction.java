@@ -17,7 +17,6 @@ package megamek.common.actions;
 import megamek.common.Compute;
 import megamek.common.CriticalSlot;
 import megamek.common.Entity;
-import megamek.common.EquipmentType;
 import megamek.common.IGame;
 import megamek.common.Infantry;
 import megamek.common.Mech;
@@ -245,14 +244,8 @@ public class BrushOffAttackAction extends AbstractAttackAction {
 
         // If the target has assault claws, give a 1 modifier.
         // We can stop looking when we find our first match.
-        if (te != null) {
-            for (Mounted mount : te.getMisc()) {
-                EquipmentType equip = mount.getType();
-                if (equip.hasFlag(MiscType.F_MAGNET_CLAW)) {
-                    toHit.addModifier(1, "defender has magnetic claws");
-                    break;
-                }
-            }
+        if ((te != null) && !te.getMiscWithFlag(MiscType.F_MAGNET_CLAW).isEmpty()) {
+            toHit.addModifier(1, "defender has magnetic claws");
         }
 
         // done!
@@ -87,9 +87,8 @@ public class JumpJetAttackAction extends PhysicalAttackAction {
         }
 
         int damage = 0;
-        for (Mounted m : entity.getMisc()) {
-            if (m.getType().hasFlag(MiscType.F_JUMP_JET) && m.isReady()
-                    && m.getLocation() == legLoc) {
+        for (Mounted m : entity.getMiscWithFlag(MiscType.F_JUMP_JET)) {
+            if (m.isReady() && m.getLocation() == legLoc) {
                 damage += 3;
             }
         }
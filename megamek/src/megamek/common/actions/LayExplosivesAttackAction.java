@@ -81,9 +81,8 @@ public class LayExplosivesAttackAction extends AbstractAttackAction {
             return new ToHitData(TargetRoll.AUTOMATIC_SUCCESS,
                     "STOP: Expected Damage: " + getDamageFor(ae));
         boolean ok = false;
-        for (Mounted m : ae.getMisc()) {
-            if (m.getType().hasFlag(MiscType.F_TOOLS)
-                    && m.getType().hasSubType(MiscType.S_DEMOLITION_CHARGE)) {
+        for (Mounted m : ae.getMiscWithFlag(MiscType.F_TOOLS)) {
+            if (m.getType().hasSubType(MiscType.S_DEMOLITION_CHARGE)) {
                 ok = true;
                 break;
             }
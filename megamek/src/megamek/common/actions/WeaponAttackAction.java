@@ -74,6 +74,7 @@ import megamek.common.ToHitData;
 import megamek.common.TripodMech;
 import megamek.common.VTOL;
 import megamek.common.WeaponType;
+import megamek.common.options.GameOptionHandles;
 import megamek.common.options.OptionsConstants;
 import megamek.common.weapons.DiveBombAttack;
 import megamek.common.weapons.InfantryAttack;
@@ -102,6 +103,7 @@ public class WeaponAttackAction extends AbstractAttackAction implements Serializ
      *
      */
     private static final long serialVersionUID = -9096603813317359351L;
+
     
     public static final int STRATOPS_SENSOR_SHADOW_WEIGHT_DIFF = 100000;
     
@@ -685,7 +687,7 @@ public class WeaponAttackAction extends AbstractAttackAction implements Serializ
         
         //Start with the attacker's weapon skill
         toHit = new ToHitData(ae.getCrew().getGunnery(), Messages.getString("WeaponAttackAction.GunSkill"));
-        if (game.getOptions().booleanOption(OptionsConstants.RPG_RPG_GUNNERY)) {
+        if (game.getOptions().booleanOption(GameOptionHandles.RPG_RPG_GUNNERY)) {
             if (wtype.hasFlag(WeaponType.F_ENERGY)) {
                 toHit = new ToHitData(ae.getCrew().getGunneryL(), Messages.getString("WeaponAttackAction.GunESkill"));
             }
@@ -696,7 +698,7 @@ public class WeaponAttackAction extends AbstractAttackAction implements Serializ
                 toHit = new ToHitData(ae.getCrew().getGunneryB(), Messages.getString("WeaponAttackAction.GunBSkill"));
             }
         }
-        if (wtype.hasFlag(WeaponType.F_ARTILLERY) && game.getOptions().booleanOption(OptionsConstants.RPG_ARTILLERY_SKILL)) {
+        if (wtype.hasFlag(WeaponType.F_ARTILLERY) && game.getOptions().booleanOption(GameOptionHandles.RPG_ARTILLERY_SKILL)) {
             toHit = new ToHitData(ae.getCrew().getArtillery(), Messages.getString("WeaponAttackAction.ArtySkill"));
         }
         
@@ -1075,7 +1077,7 @@ public class WeaponAttackAction extends AbstractAttackAction implements Serializ
             return Messages.getString("WeaponAttackAction.CrewStunned");
         }
         // Vehicles with a single crewman can't shoot and unjam a RAC in the same turn (like mechs...) 
-        if (game.getOptions().booleanOption(OptionsConstants.ADVANCED_TACOPS_TANK_CREWS) 
+        if (game.getOptions().booleanOption(GameOptionHandles.ADVANCED_TACOPS_TANK_CREWS) 
                 && (ae instanceof Tank) && ae.isUnjammingRAC()
                 && (ae.getCrew().getSize() == 1)) {
             return Messages.getString("WeaponAttackAction.VeeSingleCrew");
@@ -1126,7 +1128,7 @@ public class WeaponAttackAction extends AbstractAttackAction implements Serializ
         
         //a friendly unit can never be the target of a direct attack.
         // but we do allow vehicle flamers to cool. Also swarm missile secondary targets and strafing are exempt.
-        if (!game.getOptions().booleanOption(OptionsConstants.BASE_FRIENDLY_FIRE) && !isStrafing && !exchangeSwarmTarget) {
+        if (!game.getOptions().booleanOption(GameOptionHandles.BASE_FRIENDLY_FIRE) && !isStrafing && !exchangeSwarmTarget) {
             if (te != null && !te.getOwner().isEnemyOf(ae.getOwner())) {
                 if (!(usesAmmo && atype != null && (atype.getMunitionType() == AmmoType.M_COOLANT))) {
                     return Messages.getString("WeaponAttackAction.NoFriendlyTarget");
@@ -1151,9 +1153,9 @@ public class WeaponAttackAction extends AbstractAttackAction implements Serializ
         // Also, enforce options for keeping vehicles and protos safe
         // if those options are checked.
         if (isInferno && (((te instanceof Tank)
-                && game.getOptions().booleanOption(OptionsConstants.ADVCOMBAT_VEHICLES_SAFE_FROM_INFERNOS))
+                && game.getOptions().booleanOption(GameOptionHandles.ADVCOMBAT_VEHICLES_SAFE_FROM_INFERNOS))
                 || ((te instanceof Protomech)
-                        && game.getOptions().booleanOption(OptionsConstants.ADVCOMBAT_PROTOS_SAFE_FROM_INFERNOS)))) {
+                        && game.getOptions().booleanOption(GameOptionHandles.ADVCOMBAT_PROTOS_SAFE_FROM_INFERNOS)))) {
             return Messages.getString("WeaponAttackAction.CantShootWithInferno");
         }
         
@@ -1224,8 +1226,8 @@ public class WeaponAttackAction extends AbstractAttackAction implements Serializ
         }
 
         //If using SO advanced sensors, the firing unit or one on its NC3 network must have a valid firing solution
-        if (game.getOptions().booleanOption(OptionsConstants.ADVAERORULES_STRATOPS_ADVANCED_SENSORS)
-                && game.getOptions().booleanOption(OptionsConstants.ADVANCED_DOUBLE_BLIND)
+        if (game.getOptions().booleanOption(GameOptionHandles.ADVAERORULES_STRATOPS_ADVANCED_SENSORS)
+                && game.getOptions().booleanOption(GameOptionHandles.ADVANCED_DOUBLE_BLIND)
                 && ae.isSpaceborne()) {
             boolean networkFiringSolution = false;
             //Check to see if the attacker has a firing solution. Naval C3 networks share targeting data
@@ -1248,7 +1250,7 @@ public class WeaponAttackAction extends AbstractAttackAction implements Serializ
         // http://www.classicbattletech.com/forums/index.php/topic,47618.0.html
         // anything outside of visual range requires a "sensor lock" in order to
         // direct fire. Note that this is for ground combat with tacops sensors rules
-        if (game.getOptions().booleanOption(OptionsConstants.ADVANCED_DOUBLE_BLIND)
+        if (game.getOptions().booleanOption(GameOptionHandles.ADVANCED_DOUBLE_BLIND)
                 && !ae.isSpaceborne()
                 && !Compute.inVisualRange(game, ae, target)
                 && !(Compute.inSensorRange(game, ae, target, null) 
@@ -1346,7 +1348,7 @@ public class WeaponAttackAction extends AbstractAttackAction implements Serializ
         // LAMs in fighter mode are restricted to only the ammo types that Aeros can use
         if ((ae instanceof LandAirMech) && (ae.getConversionMode() == LandAirMech.CONV_MODE_FIGHTER)
                 && usesAmmo && ammo != null 
-                && !((AmmoType)ammo.getType()).canAeroUse(game.getOptions().booleanOption(OptionsConstants.ADVAERORULES_AERO_ARTILLERY_MUNITIONS))) {
+                && !((AmmoType)ammo.getType()).canAeroUse(game.getOptions().booleanOption(GameOptionHandles.ADVAERORULES_AERO_ARTILLERY_MUNITIONS))) {
             return Messages.getString("WeaponAttackAction.InvalidAmmoForFighter");
         }
         
@@ -1411,7 +1413,7 @@ public class WeaponAttackAction extends AbstractAttackAction implements Serializ
                     if (prevWeapon != null) {
                         int loc = prevWeapon.getLocation();
                         boolean rearMount = prevWeapon.isRearMounted();
-                        if (game.getOptions().booleanOption(OptionsConstants.ADVAERORULES_HEAT_BY_BAY)) {
+                        if (game.getOptions().booleanOption(GameOptionHandles.ADVAERORULES_HEAT_BY_BAY)) {
                             for (int bwId : prevWeapon.getBayWeapons()) {
                                 totalheat += ae.getEquipment(bwId).getCurrentHeat();
                             }
@@ -1436,7 +1438,7 @@ public class WeaponAttackAction extends AbstractAttackAction implements Serializ
             int loc = weapon.getLocation();
             boolean rearMount = weapon.isRearMounted();
             int currentHeat = ae.getHeatInArc(loc, rearMount);
-            if (game.getOptions().booleanOption(OptionsConstants.ADVAERORULES_HEAT_BY_BAY)) {
+            if (game.getOptions().booleanOption(GameOptionHandles.ADVAERORULES_HEAT_BY_BAY)) {
                 currentHeat = 0;
                 for (int bwId : weapon.getBayWeapons()) {
                     currentHeat += ae.getEquipment(bwId).getCurrentHeat();
@@ -1454,7 +1456,7 @@ public class WeaponAttackAction extends AbstractAttackAction implements Serializ
                 }
             }
 
-            if (game.getOptions().booleanOption(OptionsConstants.ADVAERORULES_HEAT_BY_BAY)) {
+            if (game.getOptions().booleanOption(GameOptionHandles.ADVAERORULES_HEAT_BY_BAY)) {
                 if ((totalheat + currentHeat) > heatcap) {
                     // FIXME: This is causing weird problems (try firing all the
                     // Suffen's nose weapons)
@@ -2077,7 +2079,7 @@ public class WeaponAttackAction extends AbstractAttackAction implements Serializ
             }
             
             // Called shots
-            if (game.getOptions().booleanOption(OptionsConstants.ADVCOMBAT_TACOPS_CALLED_SHOTS)) {
+            if (game.getOptions().booleanOption(GameOptionHandles.ADVCOMBAT_TACOPS_CALLED_SHOTS)) {
                 String reason = weapon.getCalledShot().isValid(target);
                 if (reason != null) {
                     return reason;
@@ -2128,7 +2130,7 @@ public class WeaponAttackAction extends AbstractAttackAction implements Serializ
             
             // only woods and buildings can be set intentionally on fire
             if ((target.getTargetType() == Targetable.TYPE_HEX_IGNITE)
-                    && game.getOptions().booleanOption(OptionsConstants.ADVANCED_NO_IGNITE_CLEAR)
+                    && game.getOptions().booleanOption(GameOptionHandles.ADVANCED_NO_IGNITE_CLEAR)
                     && !(game.getBoard().getHex(((HexTarget) target).getPosition()).containsTerrain(Terrains.WOODS)
                             || game.getBoard().getHex(((HexTarget) target).getPosition()).containsTerrain(Terrains.JUNGLE)
                             || game.getBoard().getHex(((HexTarget) target).getPosition())
@@ -2148,7 +2150,7 @@ public class WeaponAttackAction extends AbstractAttackAction implements Serializ
                     return Messages.getString("WeaponAttackAction.0MPInf");
                 }
                 // Can't shoot if platoon used fast movement
-                if (game.getOptions().booleanOption(OptionsConstants.ADVGRNDMOV_TACOPS_FAST_INFANTRY_MOVE)
+                if (game.getOptions().booleanOption(GameOptionHandles.ADVGRNDMOV_TACOPS_FAST_INFANTRY_MOVE)
                         && (ae.moved == EntityMovementType.MOVE_RUN)) {
                     return Messages.getString("WeaponAttackAction.CantShootAndFastMove");
                 }
@@ -2277,17 +2279,17 @@ public class WeaponAttackAction extends AbstractAttackAction implements Serializ
             // Indirect Fire (LRMs)
             
             // Can't fire Indirect LRM with direct LOS
-            if (isIndirect && game.getOptions().booleanOption(OptionsConstants.BASE_INDIRECT_FIRE)
-                    && !game.getOptions().booleanOption(OptionsConstants.ADVCOMBAT_INDIRECT_ALWAYS_POSSIBLE)
+            if (isIndirect && game.getOptions().booleanOption(GameOptionHandles.BASE_INDIRECT_FIRE)
+                    && !game.getOptions().booleanOption(GameOptionHandles.ADVCOMBAT_INDIRECT_ALWAYS_POSSIBLE)
                     && LosEffects.calculateLos(game, ae.getId(), target).canSee()
-                    && (!game.getOptions().booleanOption(OptionsConstants.ADVANCED_DOUBLE_BLIND)
+                    && (!game.getOptions().booleanOption(GameOptionHandles.ADVANCED_DOUBLE_BLIND)
                             || Compute.canSee(game, ae, target))
                     && !(wtype instanceof ArtilleryCannonWeapon) && !(wtype instanceof MekMortarWeapon)) {
                 return Messages.getString("WeaponAttackAction.NoIndirectWithLOS");
             }
             
             // Can't fire Indirect LRMs if the option is turned off
-            if (isIndirect && !game.getOptions().booleanOption(OptionsConstants.BASE_INDIRECT_FIRE)) {
+            if (isIndirect && !game.getOptions().booleanOption(GameOptionHandles.BASE_INDIRECT_FIRE)) {
                 return Messages.getString("WeaponAttackAction.IndirectFireOff");
             }
 
@@ -3046,7 +3048,7 @@ public class WeaponAttackAction extends AbstractAttackAction implements Serializ
         
         // +1 to hit if the Kinder Rapid-Fire ACs optional rule is turned on, but only Jams on a 2.
         // See TacOps Autocannons for the rest of the rules
-        if (game.getOptions().booleanOption(OptionsConstants.ADVCOMBAT_KIND_RAPID_AC) 
+        if (game.getOptions().booleanOption(GameOptionHandles.ADVCOMBAT_KIND_RAPID_AC) 
                 && weapon.curMode().equals(Weapon.MODE_AC_RAPID)) {
             toHit.addModifier(1, Messages.getString("WeaponAttackAction.AcRapid"));
         }
@@ -3270,7 +3272,7 @@ public class WeaponAttackAction extends AbstractAttackAction implements Serializ
         }
         
         // add penalty for called shots and change hit table, if necessary
-        if (game.getOptions().booleanOption(OptionsConstants.ADVCOMBAT_TACOPS_CALLED_SHOTS)
+        if (game.getOptions().booleanOption(GameOptionHandles.ADVCOMBAT_TACOPS_CALLED_SHOTS)
                 && weapon != null) {
             int call = weapon.getCalledShot().getCall();
             if ((call > CalledShot.CALLED_NONE) && (aimingMode != IAimingModes.AIM_MODE_NONE)) {
@@ -3589,7 +3591,7 @@ public class WeaponAttackAction extends AbstractAttackAction implements Serializ
             }
             
             // Space ECM
-            if (game.getBoard().inSpace() && game.getOptions().booleanOption(OptionsConstants.ADVAERORULES_STRATOPS_ECM)) {
+            if (game.getBoard().inSpace() && game.getOptions().booleanOption(GameOptionHandles.ADVAERORULES_STRATOPS_ECM)) {
                 int ecm = ComputeECM.getLargeCraftECM(ae, ae.getPosition(), target.getPosition());
                 if (!ae.isLargeCraft()) {
                     ecm += ComputeECM.getSmallCraftECM(ae, ae.getPosition(), target.getPosition());
@@ -3865,7 +3867,7 @@ public class WeaponAttackAction extends AbstractAttackAction implements Serializ
         }
         
         // Fatigue
-        if (game.getOptions().booleanOption(OptionsConstants.ADVANCED_TACOPS_FATIGUE)
+        if (game.getOptions().booleanOption(GameOptionHandles.ADVANCED_TACOPS_FATIGUE)
                 && ae.getCrew().isGunneryFatigued()) {
             toHit.addModifier(1, Messages.getString("WeaponAttackAction.Fatigue"));
         }
@@ -4138,7 +4140,7 @@ public class WeaponAttackAction extends AbstractAttackAction implements Serializ
         // Special Equipment and Quirks that the target possesses
         
         // ECM suite generating Ghost Targets
-        if (game.getOptions().booleanOption(OptionsConstants.ADVANCED_TACOPS_GHOST_TARGET) && !isIndirect
+        if (game.getOptions().booleanOption(GameOptionHandles.ADVANCED_TACOPS_GHOST_TARGET) && !isIndirect
                 && !isArtilleryIndirect && !isArtilleryDirect) {
             int ghostTargetMod = Compute.getGhostTargetNumber(ae, ae.getPosition(), target.getPosition());
             if ((ghostTargetMod > -1) && !((ae instanceof Infantry) && !(ae instanceof BattleArmor))) {
@@ -4163,8 +4165,8 @@ public class WeaponAttackAction extends AbstractAttackAction implements Serializ
                     // http://www.classicbattletech.com/forums/index.php?topic=66036.0
                     // unofficial rule to cap the ghost target to-hit penalty
                     int mod = ghostTargetMoF / 2;
-                    if (game.getOptions().intOption(OptionsConstants.ADVANCED_GHOST_TARGET_MAX) > 0) {
-                        mod = Math.min(mod, game.getOptions().intOption(OptionsConstants.ADVANCED_GHOST_TARGET_MAX));
+                    if (game.getOptions().intOption(GameOptionHandles.ADVANCED_GHOST_TARGET_MAX) > 0) {
+                        mod = Math.min(mod, game.getOptions().intOption(GameOptionHandles.ADVANCED_GHOST_TARGET_MAX));
                     }
                     toHit.addModifier(mod, Messages.getString("WeaponAttackAction.GhostTargets"));
                 }
@@ -4216,10 +4218,10 @@ public class WeaponAttackAction extends AbstractAttackAction implements Serializ
 
         // Ground-to-air attacks against a target flying at any other altitude (if StratOps Velocity mods are on)
         if (Compute.isGroundToAir(ae, target)
-                && game.getOptions().booleanOption(OptionsConstants.ADVAERORULES_STRATOPS_AA_FIRE) && (null != te)
+                && game.getOptions().booleanOption(GameOptionHandles.ADVAERORULES_STRATOPS_AA_FIRE) && (null != te)
                 && (te.isAero())) {
             int vMod = ((IAero) te).getCurrentVelocity();
-            if (game.getOptions().booleanOption(OptionsConstants.ADVAERORULES_AA_MOVE_MOD)) {
+            if (game.getOptions().booleanOption(GameOptionHandles.ADVAERORULES_AA_MOVE_MOD)) {
                 vMod = Math.min(vMod / 2, 4);
             }
             toHit.addModifier(vMod, Messages.getString("WeaponAttackAction.TeVelocity"));
@@ -4288,7 +4290,7 @@ public class WeaponAttackAction extends AbstractAttackAction implements Serializ
             }
 
             // Target hidden in the sensor shadow of a larger spacecraft
-            if (game.getOptions().booleanOption(OptionsConstants.ADVAERORULES_STRATOPS_SENSOR_SHADOW)
+            if (game.getOptions().booleanOption(GameOptionHandles.ADVAERORULES_STRATOPS_SENSOR_SHADOW)
                     && game.getBoard().inSpace()) {
                 for (Entity en : Compute.getAdjacentEntitiesAlongAttack(ae.getPosition(), target.getPosition(), game)) {
                     if (!en.isEnemyOf(te) && en.isLargeCraft() 
@@ -4425,7 +4427,7 @@ public class WeaponAttackAction extends AbstractAttackAction implements Serializ
                 toHit.setHitTable(ToHitData.HIT_PARTIAL_COVER);
                 toHit.setCover(LosEffects.COVER_UPPER);
             } else {
-                if (game.getOptions().booleanOption(OptionsConstants.ADVCOMBAT_TACOPS_PARTIAL_COVER)) {
+                if (game.getOptions().booleanOption(GameOptionHandles.ADVCOMBAT_TACOPS_PARTIAL_COVER)) {
                     toHit.setHitTable(ToHitData.HIT_PARTIAL_COVER);
                     toHit.setCover(los.getTargetCover());
                 } else {
@@ -4449,7 +4451,7 @@ public class WeaponAttackAction extends AbstractAttackAction implements Serializ
         // if we have BAP and there are woods in the
         // way, and we are within BAP range, we reduce the BTH by 1
         // Per TacOps errata, this bonus also applies to all units on the same C3 network
-        if (game.getOptions().booleanOption(OptionsConstants.ADVANCED_TACOPS_BAP) && !isIndirect && (te != null)
+        if (game.getOptions().booleanOption(GameOptionHandles.ADVANCED_TACOPS_BAP) && !isIndirect && (te != null)
                 && ae.hasBAP() && (ae.getBAPRange() >= Compute.effectiveDistance(game, ae, te))
                 && !ComputeECM.isAffectedByECM(ae, ae.getPosition(), te.getPosition())
                 && (game.getBoard().getHex(te.getPosition()).containsTerrain(Terrains.WOODS)
@@ -4777,7 +4779,7 @@ public class WeaponAttackAction extends AbstractAttackAction implements Serializ
 
         // reset cover
         if (swarmlos.getTargetCover() != LosEffects.COVER_NONE) {
-            if (game.getOptions().booleanOption(OptionsConstants.ADVCOMBAT_TACOPS_PARTIAL_COVER)) {
+            if (game.getOptions().booleanOption(GameOptionHandles.ADVCOMBAT_TACOPS_PARTIAL_COVER)) {
                 toHit.setHitTable(ToHitData.HIT_PARTIAL_COVER);
                 toHit.setCover(swarmlos.getTargetCover());
             } else {
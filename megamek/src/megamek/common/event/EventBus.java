@@ -12,25 +12,32 @@ package megamek.common.event;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public final class EventBus {
     private static final Object INSTANCE_LOCK = new Object[0];
+    private static final EventListener[] NO_LISTENERS = new EventListener[0];
     
     private static EventBus instance;
-    private static final EventSorter EVENT_SORTER = new EventSorter();
     
     private final Object REGISTER_LOCK = new Object[0];
     
     private ConcurrentHashMap<Object, List<EventListener>> handlerMap = new ConcurrentHashMap<>();
+    // Listeners by the event type they subscribe to, highest priority first
     private ConcurrentHashMap<Class<? extends MMEvent>, List<EventListener>> eventMap = new ConcurrentHashMap<>();
+    // All listeners receiving a concrete event class, in delivery order;
+    // rebuilt on demand after every (un)registration
+    private ConcurrentHashMap<Class<?>, EventListener[]> dispatchTables = new ConcurrentHashMap<>();
     // There is no Java-supplied IdentityHashSet ...
     private Map<Object, Object> unregisterQueue = new IdentityHashMap<>();
+    private volatile boolean unregisterPending = false;
+    // Delivers events to asynchronous listeners, created when first needed
+    private volatile ExecutorService asyncExecutor;
     
     public static EventBus getInstance() {
         synchronized(INSTANCE_LOCK) {
@@ -110,17 +117,27 @@ public final class EventBus {
                 eventListeners = new ArrayList<>();
                 eventMap.put(eventType, eventListeners);
             }
-            eventListeners.add(listener);
+            // Highest to lowest priority, in registration order for equal priorities
+            int index = eventListeners.size();
+            while((index > 0) && (eventListeners.get(index - 1).getPriority() < listener.getPriority())) {
+                -- index;
+            }
+            eventListeners.add(index, listener);
+            dispatchTables.clear();
         }
     }
     
     public void unregister(Object handler) {
         synchronized(REGISTER_LOCK) {
             unregisterQueue.put(handler, handler);
+            unregisterPending = true;
         }
     }
     
     private void internalUnregister() {
+        if(!unregisterPending) {
+            return;
+        }
         synchronized(REGISTER_LOCK) {
             for(Object handler : unregisterQueue.keySet()) {
                 List<EventListener> listenerList = handlerMap.remove(handler);
@@ -134,37 +151,64 @@ public final class EventBus {
                 }
             }
             unregisterQueue.clear();
+            unregisterPending = false;
+            dispatchTables.clear();
         }
     }
     
     /** @return true if the event was cancelled along the way */
-    @SuppressWarnings("unchecked")
     public boolean trigger(MMEvent event) {
         internalUnregister(); // Clean up unregister queue
-        for(Class<?> cls : getClasses(event.getClass())) {
-            if(MMEvent.class.isAssignableFrom(cls)) {
-                // Run through the triggers for each superclass up to MMEvent itself
-                internalTrigger((Class<? extends MMEvent>) cls, event);
+        EventListener[] listeners = dispatchTables.get(event.getClass());
+        if(null == listeners) {
+            listeners = buildDispatchTable(event.getClass());
+        }
+        for(EventListener listener : listeners) {
+            if(listener.isAsync()) {
+                triggerAsync(listener, event);
+            } else {
+                listener.trigger(event);
             }
         }
         return event.isCancellable() ? event.isCancelled() : false;
     }
     
-    private void internalTrigger(Class<? extends MMEvent> eventClass, MMEvent event) {
-        List<EventListener> eventListeners = eventMap.get(eventClass);
-        if(null != eventListeners) {
-            Collections.sort(eventListeners, EVENT_SORTER);
-            for(EventListener listener : eventListeners) {
-                listener.trigger(event);
+    /**
+     * Collects the listeners for the given event class and each of its
+     * superclasses up to MMEvent itself, in that order and each sorted by
+     * priority.
+     */
+    private EventListener[] buildDispatchTable(Class<?> eventClass) {
+        synchronized(REGISTER_LOCK) {
+            List<EventListener> result = new ArrayList<>();
+            for(Class<?> cls : getClasses(eventClass)) {
+                if(MMEvent.class.isAssignableFrom(cls)) {
+                    List<EventListener> eventListeners = eventMap.get(cls);
+                    if(null != eventListeners) {
+                        result.addAll(eventListeners);
+                    }
+                }
             }
+            EventListener[] listeners = result.isEmpty() ? NO_LISTENERS : result.toArray(NO_LISTENERS);
+            dispatchTables.put(eventClass, listeners);
+            return listeners;
         }
     }
     
-    private static class EventSorter implements Comparator<EventListener> {
-        @Override
-        public int compare(EventListener el1, EventListener el2) {
-            // Highest to lowest, by priority
-            return Integer.compare(el2.getPriority(), el1.getPriority());
+    private void triggerAsync(EventListener listener, MMEvent event) {
+        ExecutorService executor = asyncExecutor;
+        if(null == executor) {
+            synchronized(REGISTER_LOCK) {
+                if(null == asyncExecutor) {
+                    asyncExecutor = Executors.newSingleThreadExecutor(r -> {
+                        Thread thread = new Thread(r, "MegaMek EventBus async delivery"); //$NON-NLS-1$
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+                executor = asyncExecutor;
+            }
         }
+        executor.execute(() -> listener.trigger(event));
     }
 }
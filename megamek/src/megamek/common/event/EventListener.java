@@ -10,33 +10,50 @@
 
 package megamek.common.event;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.Objects;
 
+import megamek.common.logging.DefaultMmLogger;
+
 class EventListener {
+    private static final MethodType HANDLER_TYPE = MethodType.methodType(void.class, MMEvent.class);
+
     private final Object handler;
-    private final Method method;
+    private final MethodHandle method;
     private final Class<? extends MMEvent> eventType;
     private final Subscribe info;
 
     public EventListener(Object handler, Method method, Class<? extends MMEvent> eventType) {
         this.handler = Objects.requireNonNull(handler);
-        this.method = Objects.requireNonNull(method);
         this.eventType = Objects.requireNonNull(eventType);
         this.info = method.getAnnotation(Subscribe.class);
+        this.method = bind(handler, Objects.requireNonNull(method));
+    }
+
+    /**
+     * Resolves the handler method once, bound to its handler and adapted to
+     * take any MMEvent and return nothing, so triggering it is a direct call.
+     */
+    private static MethodHandle bind(Object handler, Method method) {
+        try {
+            // Public methods of non-public handler classes
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method).bindTo(handler).asType(HANDLER_TYPE);
+        } catch(IllegalAccessException | SecurityException e) {
+            throw new IllegalArgumentException(
+                String.format("Cannot access event handler method %s", method), e); //$NON-NLS-1$
+        }
     }
     
     public void trigger(MMEvent event) {
         if(!event.isCancellable() || !event.isCancelled()) {
             try {
-                method.invoke(handler, event);
-            } catch(IllegalAccessException e) {
-                e.printStackTrace();
-            } catch(IllegalArgumentException e) {
-                e.printStackTrace();
-            } catch(InvocationTargetException e) {
-                e.printStackTrace();
+                method.invokeExact(event);
+            } catch(Throwable e) {
+                DefaultMmLogger.getInstance().error(getClass(), "trigger(MMEvent)", e); //$NON-NLS-1$
             }
         }
     }
@@ -45,6 +62,11 @@ class EventListener {
         return info.priority();
     }
 
+    /** @return true if this listener wants its events delivered asynchronously */
+    public boolean isAsync() {
+        return info.async();
+    }
+
     public Class<? extends MMEvent> getEventType() {
         return eventType;
     }
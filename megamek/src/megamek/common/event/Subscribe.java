@@ -31,10 +31,19 @@ import java.lang.annotation.Target;
  * <p>
  * To avoid resource leaks, event handlers need be explicitly unregistered.
  * They can do this safely in their event handler methods.
+ * <p>
+ * Handlers marked as {@link #async()} are called on the event bus' own
+ * delivery thread instead of the thread triggering the event. They receive
+ * events in the order they were triggered, but after the trigger returned,
+ * so they can neither cancel events nor rely on the game state being
+ * unchanged since.
  */
 @Retention(value=RetentionPolicy.RUNTIME)
 @Target(value=ElementType.METHOD)
 public @interface Subscribe {
     /** Priority of the event handler, default 0 */
     public int priority() default 0;
+
+    /** Whether the event handler is called asynchronously, default false */
+    public boolean async() default false;
 }
@@ -32,6 +32,15 @@ public abstract class AbstractOptions implements IOptions, Serializable {
     private static final long serialVersionUID = 6406883135074654379L;
     private Hashtable<String, IOption> optionsHash = new Hashtable<>();
 
+    /**
+     * The values of all options, laid out for {@link OptionHandle}s. Built
+     * on first use and kept current by {@link #optionChanged(IOption)}.
+     */
+    private transient volatile OptionValues values;
+
+    /** Bumped whenever the value of one of the options changes. */
+    private transient volatile int version;
+
     protected AbstractOptions() {
         initialize();
         getOptionsInfoImp().finish();
@@ -161,6 +170,77 @@ public abstract class AbstractOptions implements IOptions, Serializable {
         return getOption(name).intValue();
     }
 
+    /**
+     * Returns the value of the option of the given handle as a
+     * <code>boolean</code>, like {@link #booleanOption(String)}.
+     *
+     * @param handle the option handle
+     * @return the value of the option as a <code>boolean</code>
+     */
+    public final boolean booleanOption(OptionHandle handle) {
+        final OptionValues current = getOptionValues();
+        if (current == null) {
+            return booleanOption(handle.getName());
+        }
+        final int index = handle.indexIn(current.layout);
+        return (index >= 0) && current.booleans[index];
+    }
+
+    /**
+     * Returns the value of the integer option of the given handle, like
+     * {@link #intOption(String)}.
+     *
+     * @param handle the option handle
+     * @return the value of the option as an <code>int</code>
+     */
+    public final int intOption(OptionHandle handle) {
+        final OptionValues current = getOptionValues();
+        final int index = (current == null) ? -1 : handle.indexIn(current.layout);
+        if ((index < 0) || (current.types[index] != IOption.INTEGER)) {
+            return intOption(handle.getName());
+        }
+        return current.ints[index];
+    }
+
+    /**
+     * @return the option values for handles, or null if this container
+     *         hasn't been initialized
+     */
+    private OptionValues getOptionValues() {
+        OptionValues current = values;
+        if ((current == null) && (optionsHash != null)) {
+            current = new OptionValues(OptionLayout.of(this));
+            for (int i = 0; i < current.layout.size(); i++) {
+                current.update(i, getOption(current.layout.getName(i)));
+            }
+            values = current;
+        }
+        return current;
+    }
+
+    /**
+     * Called by the options of this container when their value changes, to
+     * keep the values read through {@link OptionHandle}s current.
+     */
+    void optionChanged(IOption option) {
+        version++;
+        final OptionValues current = values;
+        if (current != null) {
+            final int index = current.layout.indexOf(option.getName());
+            if (index >= 0) {
+                current.update(index, option);
+            }
+        }
+    }
+
+    /**
+     * @return a counter that changes whenever the value of one of the options
+     *         changes
+     */
+    public int getVersion() {
+        return version;
+    }
+
     public float floatOption(String name) {
         return getOption(name).floatValue();
     }
@@ -211,6 +291,36 @@ public abstract class AbstractOptions implements IOptions, Serializable {
             Object defaultValue) {
         optionsHash.put(name, new Option(this, name, type, defaultValue));
         getOptionsInfoImp().addOptionInfo(group, name);
+        values = null;
+    }
+
+    /**
+     * The flat, per-index option values read through handles.
+     */
+    private static class OptionValues {
+        final OptionLayout layout;
+        final int[] types;
+        final boolean[] booleans;
+        final int[] ints;
+
+        OptionValues(OptionLayout layout) {
+            this.layout = layout;
+            types = new int[layout.size()];
+            booleans = new boolean[layout.size()];
+            ints = new int[layout.size()];
+        }
+
+        void update(int index, IOption option) {
+            if (option == null) {
+                types[index] = -1;
+                booleans[index] = false;
+                ints[index] = 0;
+                return;
+            }
+            types[index] = option.getType();
+            booleans[index] = option.booleanValue();
+            ints[index] = (option.getType() == IOption.INTEGER) ? option.intValue() : 0;
+        }
     }
 
     protected class GroupsEnumeration implements Enumeration<IOptionGroup> {
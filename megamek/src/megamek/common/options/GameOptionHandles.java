@@ -0,0 +1,132 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+
+package megamek.common.options;
+
+/**
+ * Handles for the game options that are read in hot code such as line of
+ * sight, movement and to-hit calculations. Each handle has the name of its
+ * {@link OptionsConstants} entry. Add a handle here rather than declaring one
+ * in the class that reads it, so every option has a single handle.
+ *
+ * @see OptionHandle
+ */
+public final class GameOptionHandles {
+
+    public static final OptionHandle ADVAERORULES_AA_MOVE_MOD =
+            new OptionHandle(OptionsConstants.ADVAERORULES_AA_MOVE_MOD);
+    public static final OptionHandle ADVAERORULES_AERO_ARTILLERY_MUNITIONS =
+            new OptionHandle(OptionsConstants.ADVAERORULES_AERO_ARTILLERY_MUNITIONS);
+    public static final OptionHandle ADVAERORULES_FUEL_CONSUMPTION =
+            new OptionHandle(OptionsConstants.ADVAERORULES_FUEL_CONSUMPTION);
+    public static final OptionHandle ADVAERORULES_HEAT_BY_BAY =
+            new OptionHandle(OptionsConstants.ADVAERORULES_HEAT_BY_BAY);
+    public static final OptionHandle ADVAERORULES_RETURN_FLYOVER =
+            new OptionHandle(OptionsConstants.ADVAERORULES_RETURN_FLYOVER);
+    public static final OptionHandle ADVAERORULES_STRATOPS_AA_FIRE =
+            new OptionHandle(OptionsConstants.ADVAERORULES_STRATOPS_AA_FIRE);
+    public static final OptionHandle ADVAERORULES_STRATOPS_ADVANCED_SENSORS =
+            new OptionHandle(OptionsConstants.ADVAERORULES_STRATOPS_ADVANCED_SENSORS);
+    public static final OptionHandle ADVAERORULES_STRATOPS_ECM =
+            new OptionHandle(OptionsConstants.ADVAERORULES_STRATOPS_ECM);
+    public static final OptionHandle ADVAERORULES_STRATOPS_SENSOR_SHADOW =
+            new OptionHandle(OptionsConstants.ADVAERORULES_STRATOPS_SENSOR_SHADOW);
+    public static final OptionHandle ADVANCED_DOUBLE_BLIND =
+            new OptionHandle(OptionsConstants.ADVANCED_DOUBLE_BLIND);
+    public static final OptionHandle ADVANCED_GHOST_TARGET_MAX =
+            new OptionHandle(OptionsConstants.ADVANCED_GHOST_TARGET_MAX);
+    public static final OptionHandle ADVANCED_INCLUSIVE_SENSOR_RANGE =
+            new OptionHandle(OptionsConstants.ADVANCED_INCLUSIVE_SENSOR_RANGE);
+    public static final OptionHandle ADVANCED_MAXTECH_MOVEMENT_MODS =
+            new OptionHandle(OptionsConstants.ADVANCED_MAXTECH_MOVEMENT_MODS);
+    public static final OptionHandle ADVANCED_METAL_CONTENT =
+            new OptionHandle(OptionsConstants.ADVANCED_METAL_CONTENT);
+    public static final OptionHandle ADVANCED_NO_IGNITE_CLEAR =
+            new OptionHandle(OptionsConstants.ADVANCED_NO_IGNITE_CLEAR);
+    public static final OptionHandle ADVANCED_TACOPS_BAP =
+            new OptionHandle(OptionsConstants.ADVANCED_TACOPS_BAP);
+    public static final OptionHandle ADVANCED_TACOPS_FATIGUE =
+            new OptionHandle(OptionsConstants.ADVANCED_TACOPS_FATIGUE);
+    public static final OptionHandle ADVANCED_TACOPS_GHOST_TARGET =
+            new OptionHandle(OptionsConstants.ADVANCED_TACOPS_GHOST_TARGET);
+    public static final OptionHandle ADVANCED_TACOPS_SENSORS =
+            new OptionHandle(OptionsConstants.ADVANCED_TACOPS_SENSORS);
+    public static final OptionHandle ADVANCED_TACOPS_TANK_CREWS =
+            new OptionHandle(OptionsConstants.ADVANCED_TACOPS_TANK_CREWS);
+    public static final OptionHandle ADVCOMBAT_INDIRECT_ALWAYS_POSSIBLE =
+            new OptionHandle(OptionsConstants.ADVCOMBAT_INDIRECT_ALWAYS_POSSIBLE);
+    public static final OptionHandle ADVCOMBAT_KIND_RAPID_AC =
+            new OptionHandle(OptionsConstants.ADVCOMBAT_KIND_RAPID_AC);
+    public static final OptionHandle ADVCOMBAT_NO_FORCED_PRIMARY_TARGETS =
+            new OptionHandle(OptionsConstants.ADVCOMBAT_NO_FORCED_PRIMARY_TARGETS);
+    public static final OptionHandle ADVCOMBAT_PROTOS_SAFE_FROM_INFERNOS =
+            new OptionHandle(OptionsConstants.ADVCOMBAT_PROTOS_SAFE_FROM_INFERNOS);
+    public static final OptionHandle ADVCOMBAT_TACOPS_CALLED_SHOTS =
+            new OptionHandle(OptionsConstants.ADVCOMBAT_TACOPS_CALLED_SHOTS);
+    public static final OptionHandle ADVCOMBAT_TACOPS_DEAD_ZONES =
+            new OptionHandle(OptionsConstants.ADVCOMBAT_TACOPS_DEAD_ZONES);
+    public static final OptionHandle ADVCOMBAT_TACOPS_HOTLOAD =
+            new OptionHandle(OptionsConstants.ADVCOMBAT_TACOPS_HOTLOAD);
+    public static final OptionHandle ADVCOMBAT_TACOPS_LOS1 =
+            new OptionHandle(OptionsConstants.ADVCOMBAT_TACOPS_LOS1);
+    public static final OptionHandle ADVCOMBAT_TACOPS_LOS_RANGE =
+            new OptionHandle(OptionsConstants.ADVCOMBAT_TACOPS_LOS_RANGE);
+    public static final OptionHandle ADVCOMBAT_TACOPS_PARTIAL_COVER =
+            new OptionHandle(OptionsConstants.ADVCOMBAT_TACOPS_PARTIAL_COVER);
+    public static final OptionHandle ADVCOMBAT_TACOPS_PPC_INHIBITORS =
+            new OptionHandle(OptionsConstants.ADVCOMBAT_TACOPS_PPC_INHIBITORS);
+    public static final OptionHandle ADVCOMBAT_TACOPS_PRONE_FIRE =
+            new OptionHandle(OptionsConstants.ADVCOMBAT_TACOPS_PRONE_FIRE);
+    public static final OptionHandle ADVCOMBAT_TACOPS_RANGE =
+            new OptionHandle(OptionsConstants.ADVCOMBAT_TACOPS_RANGE);
+    public static final OptionHandle ADVCOMBAT_TACOPS_RAPID_AC =
+            new OptionHandle(OptionsConstants.ADVCOMBAT_TACOPS_RAPID_AC);
+    public static final OptionHandle ADVCOMBAT_TACOPS_WOODS_COVER =
+            new OptionHandle(OptionsConstants.ADVCOMBAT_TACOPS_WOODS_COVER);
+    public static final OptionHandle ADVCOMBAT_VEHICLES_SAFE_FROM_INFERNOS =
+            new OptionHandle(OptionsConstants.ADVCOMBAT_VEHICLES_SAFE_FROM_INFERNOS);
+    public static final OptionHandle ADVGRNDMOV_NO_NIGHT_MOVE_PEN =
+            new OptionHandle(OptionsConstants.ADVGRNDMOV_NO_NIGHT_MOVE_PEN);
+    public static final OptionHandle ADVGRNDMOV_PSR_JUMP_HEAVY_WOODS =
+            new OptionHandle(OptionsConstants.ADVGRNDMOV_PSR_JUMP_HEAVY_WOODS);
+    public static final OptionHandle ADVGRNDMOV_TACOPS_FAST_INFANTRY_MOVE =
+            new OptionHandle(OptionsConstants.ADVGRNDMOV_TACOPS_FAST_INFANTRY_MOVE);
+    public static final OptionHandle ADVGRNDMOV_TACOPS_LEAPING =
+            new OptionHandle(OptionsConstants.ADVGRNDMOV_TACOPS_LEAPING);
+    public static final OptionHandle ADVGRNDMOV_TACOPS_SPRINT =
+            new OptionHandle(OptionsConstants.ADVGRNDMOV_TACOPS_SPRINT);
+    public static final OptionHandle ADVGRNDMOV_TACOPS_STANDING_STILL =
+            new OptionHandle(OptionsConstants.ADVGRNDMOV_TACOPS_STANDING_STILL);
+    public static final OptionHandle ADVGRNDMOV_TACOPS_WALK_BACKWARDS =
+            new OptionHandle(OptionsConstants.ADVGRNDMOV_TACOPS_WALK_BACKWARDS);
+    public static final OptionHandle ADVGRNDMOV_VEHICLE_ACCELERATION =
+            new OptionHandle(OptionsConstants.ADVGRNDMOV_VEHICLE_ACCELERATION);
+    public static final OptionHandle ADVGRNDMOV_VEHICLE_ADVANCED_MANEUVERS =
+            new OptionHandle(OptionsConstants.ADVGRNDMOV_VEHICLE_ADVANCED_MANEUVERS);
+    public static final OptionHandle BASE_FRIENDLY_FIRE =
+            new OptionHandle(OptionsConstants.BASE_FRIENDLY_FIRE);
+    public static final OptionHandle BASE_INDIRECT_FIRE =
+            new OptionHandle(OptionsConstants.BASE_INDIRECT_FIRE);
+    public static final OptionHandle BASE_PUSH_OFF_BOARD =
+            new OptionHandle(OptionsConstants.BASE_PUSH_OFF_BOARD);
+    public static final OptionHandle BASE_RNG_LOG =
+            new OptionHandle(OptionsConstants.BASE_RNG_LOG);
+    public static final OptionHandle RPG_ARTILLERY_SKILL =
+            new OptionHandle(OptionsConstants.RPG_ARTILLERY_SKILL);
+    public static final OptionHandle RPG_RPG_GUNNERY =
+            new OptionHandle(OptionsConstants.RPG_RPG_GUNNERY);
+
+    private GameOptionHandles() {
+    }
+}
@@ -163,6 +163,7 @@ public class Option implements IOption, Serializable {
     public void setValue(Object value) {
         if (isValidValue(value)) {
             this.value = value;
+            notifyOwner();
         } else {
             throw new IllegalArgumentException(
                     "Tried to give wrong type of value for option type."); //$NON-NLS-1$
@@ -173,6 +174,7 @@ public class Option implements IOption, Serializable {
     public void setValue(String value) {
         if (type == STRING || type == CHOICE) {
             this.value = value;
+            notifyOwner();
         } else {
             throw new IllegalArgumentException(
                     "Tried to give String value to non-String option."); //$NON-NLS-1$
@@ -183,6 +185,7 @@ public class Option implements IOption, Serializable {
     public void setValue(boolean value) {
         if (type == BOOLEAN) {
             this.value = value;
+            notifyOwner();
         } else {
             throw new IllegalArgumentException(
                     "Tried to give boolean value to non-boolean option."); //$NON-NLS-1$
@@ -193,6 +196,7 @@ public class Option implements IOption, Serializable {
     public void setValue(int value) {
         if (type == INTEGER) {
             this.value = value;
+            notifyOwner();
         } else {
             throw new IllegalArgumentException(
                     "Tried to give integer value to non-integer option."); //$NON-NLS-1$
@@ -203,6 +207,7 @@ public class Option implements IOption, Serializable {
     public void setValue(float value) {
         if (type == FLOAT) {
             this.value = value;
+            notifyOwner();
         } else {
             throw new IllegalArgumentException(
                     "Tried to give float value to non-float option."); //$NON-NLS-1$
@@ -228,6 +233,16 @@ public class Option implements IOption, Serializable {
         }
     }
 
+    /**
+     * Lets the owner know the value changed, so it can keep the values it
+     * hands out through {@link OptionHandle}s current.
+     */
+    private void notifyOwner() {
+        if (owner instanceof AbstractOptions) {
+            ((AbstractOptions) owner).optionChanged(this);
+        }
+    }
+
     private boolean isValidValue(Object object) {
         switch (type) {
             case STRING:
@@ -0,0 +1,71 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+
+package megamek.common.options;
+
+/**
+ * A pre-resolved reference to an option, for code that reads the same option
+ * many times. The handle resolves the option name to an index into the flat
+ * value arrays of its options container once, so reading the option through
+ * {@link AbstractOptions#booleanOption(OptionHandle)} or
+ * {@link AbstractOptions#intOption(OptionHandle)} is an array load instead of
+ * a synchronized hash lookup.
+ * <p>
+ * Handles are meant to be held in static fields; the handles for game options
+ * are kept in {@link GameOptionHandles}, for example:
+ *
+ * <pre>
+ * if (game.getOptions().booleanOption(GameOptionHandles.ADVCOMBAT_TACOPS_PARTIAL_COVER)) {
+ * </pre>
+ *
+ * Indexes are shared by all containers of the same class, so a handle should
+ * only be used with one kind of options (e.g. {@link GameOptions}); it still
+ * works with others, just without the fast path.
+ */
+public final class OptionHandle {
+
+    private final String name;
+
+    /** The resolved index, or -1 if not resolved yet. */
+    private int index = -1;
+
+    public OptionHandle(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the index of this option in the given layout, or -1 if the
+     *         layout doesn't contain it
+     */
+    int indexIn(OptionLayout layout) {
+        int i = index;
+        if ((i >= 0) && layout.isAt(name, i)) {
+            return i;
+        }
+        i = layout.indexOf(name);
+        if (i >= 0) {
+            index = i;
+        }
+        return i;
+    }
+
+    @Override
+    public String toString() {
+        return "OptionHandle - " + name;
+    }
+}
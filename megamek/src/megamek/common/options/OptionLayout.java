@@ -0,0 +1,78 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+
+package megamek.common.options;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns every option of an options class a fixed index into the flat value
+ * arrays used by {@link OptionHandle}s. There is one layout per options
+ * class, taken from the options of the first instance that needs it; all
+ * instances of a class register the same options, so the indexes hold for
+ * all of them.
+ */
+final class OptionLayout {
+
+    private static final Map<Class<?>, OptionLayout> LAYOUTS = new ConcurrentHashMap<>();
+
+    private final String[] names;
+    private final Map<String, Integer> indexes;
+
+    private OptionLayout(String[] names) {
+        this.names = names;
+        Map<String, Integer> map = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            map.put(names[i], i);
+        }
+        indexes = map;
+    }
+
+    /**
+     * @return the layout for the class of the given options, creating it from
+     *         their option names if needed
+     */
+    static OptionLayout of(AbstractOptions options) {
+        OptionLayout layout = LAYOUTS.get(options.getClass());
+        if (layout == null) {
+            String[] names = Collections.list(options.getOptions()).stream()
+                    .map(IOption::getName).sorted().toArray(String[]::new);
+            layout = LAYOUTS.computeIfAbsent(options.getClass(), k -> new OptionLayout(names));
+        }
+        return layout;
+    }
+
+    int size() {
+        return names.length;
+    }
+
+    String getName(int index) {
+        return names[index];
+    }
+
+    boolean isAt(String name, int index) {
+        return (index < names.length) && names[index].equals(name);
+    }
+
+    /**
+     * @return the index of the named option, or -1 if it isn't in the layout
+     */
+    int indexOf(String name) {
+        Integer index = indexes.get(name);
+        return (index == null) ? -1 : index;
+    }
+}
@@ -31,6 +31,10 @@ import megamek.common.logging.MMLogger;
  * traverse whole graph.
  * </ul>
  * 
+ * A search can also be given a {@link SearchDeadline}. When the deadline
+ * passes, the search stops with the best paths found so far and can be
+ * resumed later with {@link #resume(SearchDeadline)}.
+ * 
  * 
  * 
  * @author Saginatio
@@ -159,9 +163,13 @@ public class AbstractPathFinder<N, C, E> {
     /**
      * A timeout stop condition. The shouldStop() returns answer based on time
      * elapsed since initialisation or last restart() call.
+     * 
+     * @deprecated pass a {@link SearchDeadline} to
+     *             {@link AbstractPathFinder#run(Collection, SearchDeadline)}
+     *             instead, which also allows resuming the search.
      */
+    @Deprecated
     public static class StopConditionTimeout<E> implements AbstractPathFinder.StopCondition<E> {
-        //this class should be redesigned to use an executor.
         private E lastEdge;
         private long start;
         private long stop;
@@ -219,6 +227,9 @@ public class AbstractPathFinder<N, C, E> {
 
     private StopConditionsAlternation<E> stopCondition = new StopConditionsAlternation<>();
 
+    private boolean interrupted;
+    private long nodesExpanded;
+
     private MMLogger logger;
     private MMLogger getLogger() {
         return logger == null ? logger = DefaultMmLogger.getInstance() : logger;
@@ -282,15 +293,43 @@ public class AbstractPathFinder<N, C, E> {
      * @param startingEdges a collection of possible starting edges.
      */
     public void run(Collection<E> startingEdges) {
-        final String METHOD_NAME = "run";
+        run(startingEdges, SearchDeadline.none());
+    }
+
+    /**
+     * Computes shortest paths to nodes in the graph until the search is done
+     * or the deadline passes.
+     * 
+     * @param startingEdges a collection of possible starting edges.
+     * @param deadline when to stop searching
+     * @see #wasInterrupted()
+     */
+    public void run(Collection<E> startingEdges, SearchDeadline deadline) {
+        if (candidates.size() > 0) {
+            candidates.clear();
+            pathsCosts.clear();
+        }
+        nodesExpanded = 0;
+        candidates.addAll(startingEdges);
+        resume(deadline);
+    }
+
+    /**
+     * Continues a search that was interrupted by its deadline or stopped by a
+     * stop condition, keeping the paths found so far.
+     * 
+     * @param deadline when to stop searching
+     */
+    public void resume(SearchDeadline deadline) {
+        final String METHOD_NAME = "resume";
         
+        interrupted = false;
         try {
-            if (candidates.size() > 0) {
-                candidates.clear();
-                pathsCosts.clear();
-            }
-            candidates.addAll(startingEdges);
             while (!candidates.isEmpty()) {
+                if (deadline.hasPassed()) {
+                    interrupted = true;
+                    break;
+                }
                 // remove the best candidate from the queue
                 E e = candidates.remove();
                 // get the destination node
@@ -301,6 +340,7 @@ public class AbstractPathFinder<N, C, E> {
                 if (newCost != null) {
                     // we have a better path to this node, so we can update it
                     pathsCosts.put(node, newCost);
+                    nodesExpanded++;
                     Collection<E> neighbours = adjacencyMap.getAdjacent(e);
                     Collection<E> filteredNeighbours = neighbours;
                     for (Filter<E> f : filters) {
@@ -331,6 +371,47 @@ public class AbstractPathFinder<N, C, E> {
         run(Collections.singleton(start));
     }
 
+    /**
+     * Computes shortest paths to nodes in the graph until the search is done
+     * or the deadline passes.
+     * 
+     * @param start a starting edge.
+     * @param deadline when to stop searching
+     */
+    public void run(E start, SearchDeadline deadline) {
+        run(Collections.singleton(start), deadline);
+    }
+
+    /**
+     * @return true if the last search was stopped by its deadline before it
+     *         was done. The paths found so far can still be read.
+     */
+    public boolean wasInterrupted() {
+        return interrupted;
+    }
+
+    /**
+     * @return true if there is nothing left to search
+     */
+    public boolean isFinished() {
+        return candidates.isEmpty();
+    }
+
+    /**
+     * @return the number of times a better path to a node was found and its
+     *         neighbours queued, since the search was started
+     */
+    public long getNodesExpanded() {
+        return nodesExpanded;
+    }
+
+    /**
+     * @return the number of edges waiting to be looked at
+     */
+    public int getFrontierSize() {
+        return candidates.size();
+    }
+
     /**
      * @return edge comparator used by this AbstractPathFinder
      */
@@ -0,0 +1,71 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+
+package megamek.common.pathfinder;
+
+import java.util.Arrays;
+
+import megamek.common.MovePath;
+import megamek.common.MoveStep;
+
+/**
+ * The state an aerospace unit is in at the end of a move path: everything that
+ * decides which steps it may take next and what they cost. Two paths that end
+ * in the same state can be extended in exactly the same ways, so an aerospace
+ * path finder only has to expand one of them.
+ * <p>
+ * Besides the hex, facing, velocity, movement vectors, thrust used and
+ * altitude, the state holds the straight hexes and turns counted by the last
+ * step and the types of the last two steps, which the path finders use to
+ * stop a unit from turning back and forth.
+ */
+public final class AerospaceState {
+
+    private final int[] values;
+    private final int hash;
+
+    /**
+     * @param path a path with at least one step
+     */
+    public AerospaceState(MovePath path) {
+        final MoveStep last = path.getLastStep();
+        final MoveStep secondLast = path.getSecondLastStep();
+        final int[] vectors = last.getVectors();
+        values = new int[] {
+                last.getPosition().getX(), last.getPosition().getY(), last.getFacing(),
+                last.getMpUsed(), last.getVelocity(), last.getVelocityLeft(),
+                last.getAltitude(), last.getNDown(), last.getNStraight(), last.getNTurns(),
+                last.getNMoved(), last.hasFreeTurn() ? 1 : 0, last.isOffBoard() ? 1 : 0,
+                last.getType().ordinal(), (secondLast == null) ? -1 : secondLast.getType().ordinal(),
+                vectors[0], vectors[1], vectors[2], vectors[3], vectors[4], vectors[5] };
+        hash = Arrays.hashCode(values);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof AerospaceState)) {
+            return false;
+        }
+        final AerospaceState other = (AerospaceState) obj;
+        return (hash == other.hash) && Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -16,26 +16,45 @@
 package megamek.common.pathfinder;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 import megamek.client.bot.princess.CardinalEdge;
+import megamek.common.Building;
 import megamek.common.BulldozerMovePath;
 import megamek.common.Coords;
 import megamek.common.Entity;
+import megamek.common.EntityMovementMode;
 import megamek.common.IBoard;
 import megamek.common.IHex;
+import megamek.common.ITerrain;
 import megamek.common.MiscType;
+import megamek.common.PlanetaryConditions;
 import megamek.common.Terrains;
+import megamek.common.annotations.Nullable;
 import megamek.common.util.BoardUtilities;
 
 /**
  * This class handles the tracking of "clusters" of movable areas for various movement types, 
  * either with or without destruction awareness.
+ * 
+ * One tracker is kept by each game (see {@link megamek.common.IGame#getBoardClusterTracker()}),
+ * so that bot deployment, retreat logic and long-range path finding all share the clusters
+ * and the board edge hexes reachable from them.
+ * 
+ * Bots in one process each keep their own copy of the game and so their own board. The clusters
+ * worked out for a board are therefore also kept for the whole process, by the terrain of every
+ * hex and the planetary conditions. A tracker that needs clusters for a board with the same
+ * terrain and conditions as one already worked through copies them instead of building them
+ * again. Later changes to its board are then applied to its own copy. The clusters kept for
+ * the process are dropped when a game ends (see {@link #clearSharedClusters()}).
  */
 public class BoardClusterTracker {
     /**
@@ -101,51 +120,62 @@ public class BoardClusterTracker {
         }
     }
     
-    private Map<MovementType, Map<Coords, BoardCluster>> movableAreas = new HashMap<>();
-    private Map<MovementType, Map<Coords, BoardCluster>> movableAreasWithTerrainReduction = new HashMap<>();
-    private Map<MovementType, Map<Coords, BoardCluster>> movableAreasBridges = new HashMap<>();
-    private Map<MovementType, Map<Coords, BoardCluster>> movableAreasBridgesWithTerrainReduction = new HashMap<>();
+    /** Indices of the four kinds of clusters kept for each kind of unit. */
+    private static final int PLAIN = 0;
+    private static final int TERRAIN_REDUCTION = 1;
+    private static final int BRIDGES = 2;
+    private static final int BRIDGES_WITH_TERRAIN_REDUCTION = 3;
+    
+    /**
+     * The number of cluster maps kept for the whole process, for all boards and kinds of 
+     * units together. Each kind of unit on a board takes up to four of them.
+     */
+    private static final int SHARED_CLUSTERS_LIMIT = 64;
+    
+    private static final Map<SharedKey, ClusterSnapshot> sharedClusters = 
+            new LinkedHashMap<SharedKey, ClusterSnapshot>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+        
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<SharedKey, ClusterSnapshot> eldest) {
+            return size() > SHARED_CLUSTERS_LIMIT;
+        }
+    };
+    
+    private final Map<ClusterKey, ClusterMap[]> movableAreas = new HashMap<>();
     
     /**
      * Returns the size of the biggest terrain-reduced or non-terrain-reduced
      * board cluster in which the given coordinates currently reside.
      */
-    public int getBoardClusterSize(Entity entity, Coords actualCoords, boolean terrainReduction) {
-        MovementType movementType = MovementType.getMovementType(entity);
-        
-        updateMovableAreas(entity);
+    public synchronized int getBoardClusterSize(Entity entity, Coords actualCoords, boolean terrainReduction) {
+        ClusterMap[] areas = getMovableAreas(entity);
+        if (areas == null) {
+            return 0;
+        }
         
         if (terrainReduction) {
-            BoardCluster noBridgeCluster = movableAreasWithTerrainReduction.get(movementType).get(actualCoords);
-            int noBridgeClusterSize = noBridgeCluster == null ? 0 : noBridgeCluster.contents.size();
-            
-            BoardCluster bridgeCluster = movableAreasBridgesWithTerrainReduction.get(movementType).get(actualCoords);
-            int bridgeClusterSize = bridgeCluster == null ? 0 : bridgeCluster.contents.size();
-            
-            return Math.max(noBridgeClusterSize, bridgeClusterSize);
+            return Math.max(areas[TERRAIN_REDUCTION].getClusterSize(actualCoords),
+                    areas[BRIDGES_WITH_TERRAIN_REDUCTION].getClusterSize(actualCoords));
         } else {
-            BoardCluster noBridgeCluster = movableAreas.get(movementType).get(actualCoords);
-            int noBridgeClusterSize = noBridgeCluster == null ? 0 : noBridgeCluster.contents.size();
-            
-            BoardCluster bridgeCluster = movableAreasBridges.get(movementType).get(actualCoords);
-            int bridgeClusterSize = bridgeCluster == null ? 0 : bridgeCluster.contents.size();
-            
-            return Math.max(noBridgeClusterSize, bridgeClusterSize);
+            return Math.max(areas[PLAIN].getClusterSize(actualCoords),
+                    areas[BRIDGES].getClusterSize(actualCoords));
         }
     }
     
     /**
      * Determines whether, for the given entity, the two sets of coordinates share any cluster.
      */
-    public boolean coordinatesShareCluster(Entity mover, Coords first, Coords second, int firstElevation, int secondElevation) {
-        updateMovableAreas(mover);
-        
-        MovementType movementType = MovementType.getMovementType(mover);
+    public synchronized boolean coordinatesShareCluster(Entity mover, Coords first, Coords second, int firstElevation, int secondElevation) {
+        ClusterMap[] areas = getMovableAreas(mover);
+        if (areas == null) {
+            return false;
+        }
         
-        return coordinatesShareCluster(first, second, firstElevation, secondElevation, movableAreasBridges.get(movementType).get(first)) ||
-            coordinatesShareCluster(first, second, firstElevation, secondElevation, movableAreasBridgesWithTerrainReduction.get(movementType).get(first)) ||
-            coordinatesShareCluster(first, second, firstElevation, secondElevation, movableAreas.get(movementType).get(first)) ||
-            coordinatesShareCluster(first, second, firstElevation, secondElevation, movableAreasWithTerrainReduction.get(movementType).get(first));
+        return areas[BRIDGES].shareCluster(first, second, firstElevation, secondElevation) ||
+            areas[BRIDGES_WITH_TERRAIN_REDUCTION].shareCluster(first, second, firstElevation, secondElevation) ||
+            areas[PLAIN].shareCluster(first, second, firstElevation, secondElevation) ||
+            areas[TERRAIN_REDUCTION].shareCluster(first, second, firstElevation, secondElevation);
     }
     
     /**
@@ -159,201 +189,87 @@ public class BoardClusterTracker {
     
     /**
      * Returns a set of coordinates on a given board edge that intersects with the cluster
-     * in which the given entity resides. May return an empty set.
+     * in which the given entity resides. May return an empty set. The set can't be changed.
      */
-    public Set<Coords> getDestinationCoords(Entity entity, CardinalEdge edge, boolean terrainReduction) {
+    public synchronized Set<Coords> getDestinationCoords(Entity entity, CardinalEdge edge, boolean terrainReduction) {
         CardinalEdge actualEdge = edge;
         if(edge == CardinalEdge.NEAREST_OR_NONE) {
             actualEdge = BoardUtilities.getClosestEdge(entity);
         }
         
-        updateMovableAreas(entity);
-        
-        MovementType movementType = MovementType.getMovementType(entity);
-        BoardCluster entityCluster = null;
-        
-        if(terrainReduction) {
-            entityCluster = movableAreasWithTerrainReduction.get(movementType).get(entity.getPosition());
-        } else {
-            entityCluster = movableAreas.get(movementType).get(entity.getPosition());
+        ClusterMap[] areas = getMovableAreas(entity);
+        if (areas == null) {
+            return Collections.emptySet();
         }
         
-        Set<Coords> retVal = Collections.emptySet();
-        
-        if(entityCluster != null) {
-            retVal = entityCluster.getIntersectingHexes(actualEdge, entity.getGame().getBoard());
-        }
+        Set<Coords> retVal = areas[terrainReduction ? TERRAIN_REDUCTION : PLAIN]
+                .getIntersectingHexes(entity.getPosition(), actualEdge);
         
         // try with bridges
         if (retVal.size() == 0) {
-            if (terrainReduction) {
-                entityCluster = movableAreasBridgesWithTerrainReduction.get(movementType).get(entity.getPosition());
-            } else {
-                entityCluster = movableAreasBridges.get(movementType).get(entity.getPosition());
-            }
-            
-            if (entityCluster != null) {
-                retVal = entityCluster.getIntersectingHexes(actualEdge, entity.getGame().getBoard());
-            }
+            retVal = areas[terrainReduction ? BRIDGES_WITH_TERRAIN_REDUCTION : BRIDGES]
+                    .getIntersectingHexes(entity.getPosition(), actualEdge);
         }
         
         return retVal;
     }
     
     /**
-     * Resets board clusters
+     * Resets board clusters. This is not needed when the board changes, as the 
+     * clusters are brought up to date with it whenever they are used.
      */
-    public void clearMovableAreas() {
+    public synchronized void clearMovableAreas() {
         movableAreas.clear();
-        movableAreasWithTerrainReduction.clear();
-        movableAreasBridges.clear();
-        movableAreasBridgesWithTerrainReduction.clear();
     }
     
     /**
      * Updates and stores accessible clusters for the given entity,
      * both for destruction and non-destruction-aware path finding.
      */
-    public void updateMovableAreas(Entity entity) {
-        MovementType movementType = MovementType.getMovementType(entity);
-        
-        if (!movableAreas.containsKey(movementType)) {
-            movableAreas.put(movementType, generateClusters(entity, false, false));
+    public synchronized void updateMovableAreas(Entity entity) {
+        getMovableAreas(entity);
+    }
+    
+    /**
+     * Brings the clusters for units like the given one up to date with the board, building them
+     * the first time they're asked for.
+     * 
+     * @return The clusters, indexed by {@link #PLAIN}, {@link #TERRAIN_REDUCTION}, {@link #BRIDGES}
+     *         and {@link #BRIDGES_WITH_TERRAIN_REDUCTION}, or null if the entity isn't in a game.
+     */
+    private ClusterMap[] getMovableAreas(Entity entity) {
+        if ((entity == null) || (entity.getGame() == null)) {
+            return null;
         }
         
-        if (!movableAreasWithTerrainReduction.containsKey(movementType)) {
-            movableAreasWithTerrainReduction.putIfAbsent(movementType, generateClusters(entity, true, false));
-        }
+        ClusterMap[] areas = movableAreas.computeIfAbsent(new ClusterKey(entity), key -> new ClusterMap[] {
+                new ClusterMap(key, false, false), new ClusterMap(key, true, false),
+                new ClusterMap(key, false, true), new ClusterMap(key, true, true) });
         
-        if (!movableAreasBridges.containsKey(movementType)) {
-            movableAreasBridges.put(movementType, generateClusters(entity, false, true));
+        for (ClusterMap area : areas) {
+            area.update(entity);
         }
         
-        if (!movableAreasBridgesWithTerrainReduction.containsKey(movementType)) {
-            movableAreasBridgesWithTerrainReduction.putIfAbsent(movementType, generateClusters(entity, true, true));
-        }
+        return areas;
     }
 
     /**
      * Returns accessible clusters for the given entity.
      */
     public Map<Coords, BoardCluster> generateClusters(Entity entity, boolean destructionAware, boolean useBridgeTop) { 
-        Map<Coords, BoardCluster> clusters = new HashMap<>();
-        
-        // start with (0, 0)
-        // for each hex:
-        // if hex is not accessible to this entity, move on
-        // if hex is accessible, check if its neighbors are in a cluster
-        // for each neighbor in a cluster, check if we can move from this hex to the neighbor and back 
-        //      if yes, flag for joining neighbor's cluster
-        //      note that if any other neighbor is in a different cluster, and we can move back and forth, we merge the two clusters
-        // if no neighbors or cannot move back and forth between hex and neighbors, start new cluster
-        
         if (entity == null || entity.getGame() == null) {
-            return clusters;
+            return new HashMap<>();
         }
         
-        IBoard board = entity.getGame().getBoard();
-        int clusterID = 0;
-        
-        MovementType movementType = MovementType.getMovementType(entity);
-        boolean isHovercraft = movementType == MovementType.Hover;
-        boolean isAmphibious = movementType == MovementType.WheeledAmphi ||
-                                movementType == MovementType.TrackedAmphi;
-        
-        boolean canUseBridge = MovementType.canUseBridge(movementType);
-        
-        for(int x = 0; x < board.getWidth(); x++) {
-            for(int y = 0; y < board.getHeight(); y++) {
-                Coords c = new Coords(x, y);
-                
-                // hex is either inaccessible
-                // or it is inaccessible AND we can't level it, then we move on
-                if ((entity.isLocationProhibited(c) || buildingPlowThroughRequired(entity, movementType, c)) &&
-                        (!destructionAware || (destructionAware && !canLevel(entity, c)))) {
-                    continue;
-                }
-                
-                int myElevation = 0; 
-                        
-                if (useBridgeTop && board.getHex(c).containsTerrain(Terrains.BRIDGE) &&
-                        canUseBridge && (entity.getWeight() <= board.getBuildingAt(c).getCurrentCF(c))) {
-                    myElevation = board.getHex(c).ceiling();
-                } else {
-                    myElevation = BoardEdgePathFinder.calculateUnitElevationInHex(board.getHex(c), entity, isHovercraft, isAmphibious);
-                }
-                
-                List<Coords> neighborsToJoin = new ArrayList<>();
-                BoardCluster biggestNeighbor = null; 
-                
-                // hex is accessible one way or another
-                for(int direction = 0; direction < 6; direction++) {
-                    Coords neighbor = c.translated(direction);
-                    
-                    if(clusters.containsKey(neighbor)) {
-                        int neighborElevation = 0;
-                        
-                        if (useBridgeTop && board.getHex(neighbor).containsTerrain(Terrains.BRIDGE) &&
-                                canUseBridge && (entity.getWeight() <= board.getBuildingAt(neighbor).getCurrentCF(neighbor))) {
-                            neighborElevation = board.getHex(neighbor).ceiling();
-                        } else {
-                            neighborElevation = BoardEdgePathFinder.calculateUnitElevationInHex(board.getHex(neighbor), entity, isHovercraft, isAmphibious);
-                        }
-                        
-                        // if we can't reach from here to the neighbor due to elevation differences, move on
-                        // buildings require special handling - while a tank technically CAN plow through a building
-                        // it is highly inadvisable and we will avoid it for now.
-                        int elevationDiff = Math.abs(neighborElevation - myElevation);
-                        if ((elevationDiff > entity.getMaxElevationChange())
-                                || buildingPlowThroughRequired(entity, movementType, neighbor)) {
-                            continue;
-                        }
-                        
-                        // we can "freely" go back and forth between ourselves and the neighbor, so let's join that cluster 
-                        neighborsToJoin.add(neighbor);
-                        
-                        if((biggestNeighbor == null) || 
-                                (clusters.get(neighbor).contents.size() > biggestNeighbor.contents.size())) {
-                            biggestNeighbor = clusters.get(neighbor);
-                        }
-                    }
-                }
-                
-                // start up a new cluster if we have no mutually accessible neighbors
-                if(neighborsToJoin.isEmpty() || biggestNeighbor == null) {
-                    BoardCluster newCluster = new BoardCluster(clusterID++);
-                    newCluster.contents.put(c, myElevation);
-                    clusters.put(c, newCluster);
-                // otherwise, join an existing cluster, bringing any other mutually accessible neighbors and their clusters with me
-                // join the biggest neighbor to reduce shuffling.
-                } else {
-                    biggestNeighbor.contents.put(c, myElevation);
-                    clusters.put(c, biggestNeighbor);
-                    
-                    // merge any other clusters belonging to joined neighbors to this cluster
-                    for(int neighborIndex = 0; neighborIndex < neighborsToJoin.size(); neighborIndex++) {
-                        BoardCluster oldCluster = clusters.get(neighborsToJoin.get(neighborIndex));
-                        if(oldCluster == biggestNeighbor) {
-                            continue;
-                        }
-                        
-                        for(Coords member : oldCluster.contents.keySet()) {
-                            biggestNeighbor.contents.put(member, oldCluster.contents.get(member));
-                            clusters.put(member, biggestNeighbor);
-                        }
-                    }
-                    
-                }
-            }
-        }
-        
-        return clusters;
+        ClusterMap clusterMap = new ClusterMap(new ClusterKey(entity), destructionAware, useBridgeTop);
+        clusterMap.update(entity);
+        return clusterMap.toBoardClusters();
     }
     
     /**
      * Whether or not we are required to plow through a building if we enter this hex.
      */
-    private boolean buildingPlowThroughRequired(Entity entity, MovementType relevantMovementType, Coords coords) {
+    static boolean buildingPlowThroughRequired(Entity entity, MovementType relevantMovementType, Coords coords) {
         // basic premise:
         // ground tanks cannot climb over buildings and must plow through
         // mechs can climb over buildings that won't collapse under them
@@ -382,10 +298,526 @@ public class BoardClusterTracker {
      * Indicates whether an entity would be able to pass through a given set of coordinates
      * if it were to degrade the terrain there sufficiently.
      */
-    private boolean canLevel(Entity entity, Coords c) {
+    private static boolean canLevel(Entity entity, Coords c) {
         return BulldozerMovePath.calculateLevelingCost(c, entity) > BulldozerMovePath.CANNOT_LEVEL;
     }
     
+    /**
+     * Returns the bounds of the given board edge as {xStart, xEnd, yStart, yEnd}, 
+     * the ends being exclusive, or null if it isn't an edge.
+     */
+    private static int[] getEdgeBounds(CardinalEdge edge, IBoard board) {
+        switch(edge) {
+        case NORTH:
+            return new int[] { 0, board.getWidth(), 0, 1 };
+        case SOUTH:
+            return new int[] { 0, board.getWidth(), board.getHeight() - 1, board.getHeight() };
+        case EAST:
+            return new int[] { board.getWidth() - 1, board.getWidth(), 0, board.getHeight() };
+        case WEST:
+            return new int[] { 0, 1, 0, board.getHeight() };
+        default:
+            return null;
+        }
+    }
+    
+    /**
+     * Everything about a unit that goes into working out its clusters. Units that
+     * share all of it share their clusters.
+     */
+    static final class ClusterKey {
+        private final MovementType movementType;
+        private final Class<?> entityClass;
+        private final EntityMovementMode movementMode;
+        private final double weight;
+        private final int maxElevationChange;
+        private final boolean superHeavy;
+        private final boolean hidden;
+        private final boolean flotationHull;
+        
+        ClusterKey(Entity entity) {
+            movementType = MovementType.getMovementType(entity);
+            entityClass = entity.getClass();
+            movementMode = entity.getMovementMode();
+            weight = entity.getWeight();
+            maxElevationChange = entity.getMaxElevationChange();
+            superHeavy = entity.isSuperHeavy();
+            hidden = entity.isHidden();
+            flotationHull = entity.hasWorkingMisc(MiscType.F_FLOTATION_HULL);
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ClusterKey)) {
+                return false;
+            }
+            ClusterKey other = (ClusterKey) o;
+            return (movementType == other.movementType) && (entityClass == other.entityClass)
+                    && (movementMode == other.movementMode) && (weight == other.weight)
+                    && (maxElevationChange == other.maxElevationChange) && (superHeavy == other.superHeavy)
+                    && (hidden == other.hidden) && (flotationHull == other.flotationHull);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(movementType, entityClass, movementMode, weight, maxElevationChange, superHeavy,
+                    hidden, flotationHull);
+        }
+    }
+    
+    /**
+     * Which clusters a {@link ClusterSnapshot} holds: those of a kind of unit on boards of the
+     * given type and size, whose hexes' signatures have the given hash code, under the given
+     * planetary conditions.
+     */
+    private static final class SharedKey {
+        private final ClusterKey clusterKey;
+        private final boolean destructionAware;
+        private final boolean useBridgeTop;
+        private final int boardType;
+        private final int width;
+        private final int height;
+        private final int signatureHash;
+        private final int[] conditions;
+        
+        SharedKey(ClusterKey clusterKey, boolean destructionAware, boolean useBridgeTop, IBoard board,
+                long[] signatures, @Nullable PlanetaryConditions conditions) {
+            this.clusterKey = clusterKey;
+            this.destructionAware = destructionAware;
+            this.useBridgeTop = useBridgeTop;
+            boardType = board.getType();
+            width = board.getWidth();
+            height = board.getHeight();
+            signatureHash = Arrays.hashCode(signatures);
+            this.conditions = (conditions == null) ? new int[0] : conditions.getConditionValues();
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SharedKey)) {
+                return false;
+            }
+            SharedKey other = (SharedKey) o;
+            return clusterKey.equals(other.clusterKey) && (destructionAware == other.destructionAware)
+                    && (useBridgeTop == other.useBridgeTop) && (boardType == other.boardType)
+                    && (width == other.width) && (height == other.height) 
+                    && (signatureHash == other.signatureHash) && Arrays.equals(conditions, other.conditions);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(clusterKey, destructionAware, useBridgeTop, boardType, width, height, 
+                    signatureHash, Arrays.hashCode(conditions));
+        }
+    }
+    
+    /**
+     * A copy of the clusters of one kind of unit on a board, which isn't changed once made.
+     */
+    private static final class ClusterSnapshot {
+        private final long[] signatures;
+        private final byte[] states;
+        private final int[] elevations;
+        private final int[] parents;
+        private final int[] sizes;
+        
+        ClusterSnapshot(long[] signatures, byte[] states, int[] elevations, int[] parents, int[] sizes) {
+            this.signatures = signatures.clone();
+            this.states = states.clone();
+            this.elevations = elevations.clone();
+            this.parents = parents.clone();
+            this.sizes = sizes.clone();
+        }
+    }
+    
+    /**
+     * @return The clusters kept for boards whose hexes have exactly the given signatures, or null.
+     */
+    private static ClusterSnapshot getSharedClusters(SharedKey key, long[] signatures) {
+        synchronized (sharedClusters) {
+            ClusterSnapshot snapshot = sharedClusters.get(key);
+            return ((snapshot != null) && Arrays.equals(snapshot.signatures, signatures)) ? snapshot : null;
+        }
+    }
+    
+    private static void putSharedClusters(SharedKey key, ClusterSnapshot snapshot) {
+        synchronized (sharedClusters) {
+            sharedClusters.put(key, snapshot);
+        }
+    }
+    
+    /**
+     * Drops the clusters kept for the whole process. The trackers keep the clusters they 
+     * already have.
+     */
+    public static void clearSharedClusters() {
+        synchronized (sharedClusters) {
+            sharedClusters.clear();
+        }
+    }
+    
+    /**
+     * The clusters of one kind of unit on the board, kept as a union-find forest over 
+     * the board's hexes. Hex (x, y) has the index x * height + y, the order in which
+     * the board is scanned column by column.
+     * <p>
+     * Whether each hex can be entered and the unit's elevation in it are kept along with
+     * a signature of the hex's terrain. When the board changes, only the hexes whose
+     * signature changed are looked at again. If that only opens up hexes, they are joined 
+     * to their neighbours' clusters; if it closes off or changes hexes that were part of 
+     * a cluster, just the clusters they were in are split up and joined again.
+     */
+    private static final class ClusterMap {
+        private static final int NONE = -1;
+        private static final byte ACCESSIBLE = 1;
+        private static final byte PLOW_THROUGH = 2;
+        
+        private final ClusterKey key;
+        private final boolean destructionAware;
+        private final boolean useBridgeTop;
+        
+        private IBoard board;
+        private int boardVersion;
+        private int width;
+        private int height;
+        private int maxElevationChange;
+        
+        private long[] signatures;
+        private byte[] states;
+        private int[] elevations;
+        private int[] parents;
+        private int[] sizes;
+        
+        // the hexes on each board edge that are in a cluster, by edge and cluster root,
+        // kept until the clusters change
+        private final Map<Long, Set<Coords>> edgeHexes = new HashMap<>();
+        
+        ClusterMap(ClusterKey key, boolean destructionAware, boolean useBridgeTop) {
+            this.key = key;
+            this.destructionAware = destructionAware;
+            this.useBridgeTop = useBridgeTop;
+        }
+        
+        /**
+         * Brings the clusters up to date with the entity's board.
+         */
+        void update(Entity entity) {
+            IBoard currentBoard = entity.getGame().getBoard();
+            if ((currentBoard != board) || (currentBoard.getWidth() != width) 
+                    || (currentBoard.getHeight() != height)) {
+                rebuild(entity, currentBoard);
+            } else if (currentBoard.getVersion() != boardVersion) {
+                updateChangedHexes(entity);
+            }
+        }
+        
+        private void rebuild(Entity entity, IBoard currentBoard) {
+            board = currentBoard;
+            boardVersion = board.getVersion();
+            edgeHexes.clear();
+            width = board.getWidth();
+            height = board.getHeight();
+            maxElevationChange = entity.getMaxElevationChange();
+            
+            int hexCount = width * height;
+            signatures = new long[hexCount];
+            for (int index = 0; index < hexCount; index++) {
+                signatures[index] = signature(index);
+            }
+            
+            // another game in this process may have had the same board
+            SharedKey sharedKey = new SharedKey(key, destructionAware, useBridgeTop, board, signatures,
+                    entity.getGame().getPlanetaryConditions());
+            ClusterSnapshot shared = getSharedClusters(sharedKey, signatures);
+            if (shared != null) {
+                states = shared.states.clone();
+                elevations = shared.elevations.clone();
+                parents = shared.parents.clone();
+                sizes = shared.sizes.clone();
+                return;
+            }
+            
+            states = new byte[hexCount];
+            elevations = new int[hexCount];
+            parents = new int[hexCount];
+            sizes = new int[hexCount];
+            
+            MovementType movementType = MovementType.getMovementType(entity);
+            for (int index = 0; index < hexCount; index++) {
+                evaluateHex(entity, movementType, index);
+                parents[index] = (states[index] == 0) ? NONE : index;
+                sizes[index] = 1;
+            }
+            
+            for (int index = 0; index < hexCount; index++) {
+                joinNeighbors(index);
+            }
+            
+            putSharedClusters(sharedKey, new ClusterSnapshot(signatures, states, elevations, parents, sizes));
+        }
+        
+        private void updateChangedHexes(Entity entity) {
+            boardVersion = board.getVersion();
+            MovementType movementType = MovementType.getMovementType(entity);
+            
+            List<Integer> opened = new ArrayList<>();
+            List<Integer> closed = new ArrayList<>();
+            for (int index = 0; index < signatures.length; index++) {
+                long signature = signature(index);
+                if (signatures[index] == signature) {
+                    continue;
+                }
+                
+                signatures[index] = signature;
+                byte oldState = states[index];
+                int oldElevation = elevations[index];
+                evaluateHex(entity, movementType, index);
+                if (oldState == 0) {
+                    if (states[index] != 0) {
+                        opened.add(index);
+                    }
+                } else if ((states[index] != oldState) || (elevations[index] != oldElevation)) {
+                    closed.add(index);
+                }
+            }
+            
+            List<Integer> rejoin = new ArrayList<>(opened);
+            if (!closed.isEmpty()) {
+                // split up every cluster that one of the changed hexes was part of
+                boolean[] splitRoots = new boolean[parents.length];
+                for (int index : closed) {
+                    splitRoots[find(index)] = true;
+                }
+                
+                for (int index = 0; index < parents.length; index++) {
+                    if ((parents[index] != NONE) && splitRoots[find(index)]) {
+                        rejoin.add(index);
+                    }
+                }
+            }
+            
+            for (int index : rejoin) {
+                parents[index] = (states[index] == 0) ? NONE : index;
+                sizes[index] = 1;
+            }
+            
+            for (int index : rejoin) {
+                joinNeighbors(index);
+            }
+            
+            if (!rejoin.isEmpty()) {
+                edgeHexes.clear();
+            }
+        }
+        
+        /**
+         * Works out whether the unit can get into the hex and at what elevation.
+         */
+        private void evaluateHex(Entity entity, MovementType movementType, int index) {
+            Coords c = new Coords(index / height, index % height);
+            IHex hex = board.getHex(c);
+            
+            boolean plowThroughRequired = buildingPlowThroughRequired(entity, movementType, c);
+            
+            // hex is either inaccessible
+            // or it is inaccessible AND we can't level it, then we move on
+            if ((entity.isLocationProhibited(c) || plowThroughRequired) &&
+                    (!destructionAware || !canLevel(entity, c))) {
+                states[index] = 0;
+                return;
+            }
+            
+            if (useBridgeTop && hex.containsTerrain(Terrains.BRIDGE) && MovementType.canUseBridge(movementType) 
+                    && (entity.getWeight() <= board.getBuildingAt(c).getCurrentCF(c))) {
+                elevations[index] = hex.ceiling();
+            } else {
+                boolean isHovercraft = movementType == MovementType.Hover;
+                boolean isAmphibious = movementType == MovementType.WheeledAmphi ||
+                        movementType == MovementType.TrackedAmphi;
+                elevations[index] = BoardEdgePathFinder.calculateUnitElevationInHex(hex, entity, isHovercraft, isAmphibious);
+            }
+            
+            states[index] = plowThroughRequired ? (byte) (ACCESSIBLE | PLOW_THROUGH) : ACCESSIBLE;
+        }
+        
+        /**
+         * Sums up what decides whether and how a unit can get into the hex.
+         */
+        private long signature(int index) {
+            int x = index / height;
+            int y = index % height;
+            IHex hex = board.getHex(x, y);
+            if (hex == null) {
+                return 0;
+            }
+            
+            long signature = hex.getLevel();
+            for (int type : hex.getTerrainTypes()) {
+                ITerrain terrain = hex.getTerrain(type);
+                signature = (signature * 31 + type) * 31 + terrain.getLevel();
+                signature = signature * 31 + terrain.getExits();
+            }
+            
+            if (hex.containsTerrain(Terrains.BLDG_CF) || hex.containsTerrain(Terrains.BRIDGE_CF)
+                    || hex.containsTerrain(Terrains.FUEL_TANK_CF)) {
+                Coords coords = new Coords(x, y);
+                Building building = board.getBuildingAt(coords);
+                if (building != null) {
+                    signature = signature * 31 + building.getCurrentCF(coords);
+                }
+            }
+            return signature;
+        }
+        
+        /**
+         * Joins the hex to the clusters of the neighbours it can go back and forth to.
+         */
+        private void joinNeighbors(int index) {
+            if (states[index] == 0) {
+                return;
+            }
+            
+            Coords c = new Coords(index / height, index % height);
+            for (int direction = 0; direction < 6; direction++) {
+                Coords neighbor = c.translated(direction);
+                if ((neighbor.getX() < 0) || (neighbor.getX() >= width) 
+                        || (neighbor.getY() < 0) || (neighbor.getY() >= height)) {
+                    continue;
+                }
+                
+                int neighborIndex = neighbor.getX() * height + neighbor.getY();
+                if (isLinked(index, neighborIndex)) {
+                    union(index, neighborIndex);
+                }
+            }
+        }
+        
+        /**
+         * Whether the unit can "freely" go back and forth between the two hexes. If we can't 
+         * reach from one to the other due to elevation differences, they aren't linked.
+         * Buildings require special handling - while a tank technically CAN plow through a building
+         * it is highly inadvisable and we will avoid it for now. Of the two hexes, the one
+         * scanned first is the one checked for that.
+         */
+        private boolean isLinked(int first, int second) {
+            if ((states[first] == 0) || (states[second] == 0)) {
+                return false;
+            }
+            
+            int earlier = Math.min(first, second);
+            return (Math.abs(elevations[first] - elevations[second]) <= maxElevationChange)
+                    && ((states[earlier] & PLOW_THROUGH) == 0);
+        }
+        
+        private int find(int index) {
+            while (parents[index] != index) {
+                parents[index] = parents[parents[index]];
+                index = parents[index];
+            }
+            return index;
+        }
+        
+        private void union(int first, int second) {
+            int firstRoot = find(first);
+            int secondRoot = find(second);
+            if (firstRoot == secondRoot) {
+                return;
+            }
+            
+            if (sizes[firstRoot] < sizes[secondRoot]) {
+                int swap = firstRoot;
+                firstRoot = secondRoot;
+                secondRoot = swap;
+            }
+            parents[secondRoot] = firstRoot;
+            sizes[firstRoot] += sizes[secondRoot];
+        }
+        
+        /**
+         * @return The index of the hex, or {@link #NONE} if it's off the board or can't be entered.
+         */
+        private int indexOf(Coords coords) {
+            if ((coords == null) || (coords.getX() < 0) || (coords.getX() >= width) 
+                    || (coords.getY() < 0) || (coords.getY() >= height)) {
+                return NONE;
+            }
+            
+            int index = coords.getX() * height + coords.getY();
+            return (parents[index] == NONE) ? NONE : index;
+        }
+        
+        int getClusterSize(Coords coords) {
+            int index = indexOf(coords);
+            return (index == NONE) ? 0 : sizes[find(index)];
+        }
+        
+        boolean shareCluster(Coords first, Coords second, int firstElevation, int secondElevation) {
+            // two coordinates are considered to share a cluster if they are both in it at the precise elevations we're considering
+            int firstIndex = indexOf(first);
+            int secondIndex = indexOf(second);
+            return (firstIndex != NONE) && (secondIndex != NONE) 
+                    && (elevations[firstIndex] == firstElevation) && (elevations[secondIndex] == secondElevation)
+                    && (find(firstIndex) == find(secondIndex));
+        }
+        
+        /**
+         * Returns the coordinates on the given board edge that are in the same cluster as the given coordinates.
+         * The returned set can't be changed, as it is handed out again until the clusters change.
+         */
+        Set<Coords> getIntersectingHexes(Coords coords, CardinalEdge edge) {
+            int index = indexOf(coords);
+            if (index == NONE) {
+                return Collections.emptySet();
+            }
+            
+            int root = find(index);
+            return edgeHexes.computeIfAbsent(((long) root << 8) | edge.ordinal(), 
+                    key -> Collections.unmodifiableSet(findIntersectingHexes(root, edge)));
+        }
+        
+        private Set<Coords> findIntersectingHexes(int root, CardinalEdge edge) {
+            int[] bounds = getEdgeBounds(edge, board);
+            if (bounds == null) {
+                return Collections.emptySet();
+            }
+            
+            Set<Coords> retVal = new HashSet<>();
+            for(int x = bounds[0]; x < bounds[1]; x++) {
+                for(int y = bounds[2]; y < bounds[3]; y++) {
+                    int edgeIndex = x * height + y;
+                    if ((parents[edgeIndex] != NONE) && (find(edgeIndex) == root)) {
+                        retVal.add(new Coords(x, y));
+                    }
+                }
+            }
+            
+            return retVal;
+        }
+        
+        Map<Coords, BoardCluster> toBoardClusters() {
+            Map<Coords, BoardCluster> clusters = new HashMap<>();
+            Map<Integer, BoardCluster> clustersByRoot = new HashMap<>();
+            for (int index = 0; index < parents.length; index++) {
+                if (parents[index] == NONE) {
+                    continue;
+                }
+                
+                BoardCluster cluster = clustersByRoot.computeIfAbsent(find(index), 
+                        root -> new BoardCluster(clustersByRoot.size()));
+                Coords coords = new Coords(index / height, index % height);
+                cluster.contents.put(coords, elevations[index]);
+                clusters.put(coords, cluster);
+            }
+            return clusters;
+        }
+    }
+    
     /**
      * A data structure representing a set of coordinates to which an entity can move.
      */
@@ -401,37 +833,12 @@ public class BoardClusterTracker {
          * Returns a set of coords in the current cluster that intersect the given board edge.
          */
         public Set<Coords> getIntersectingHexes(CardinalEdge edge, IBoard board) {
-            int xStart, xEnd, yStart, yEnd;
-            switch(edge) {
-            case NORTH:
-                xStart = 0;
-                xEnd = board.getWidth();
-                yStart = 0;
-                yEnd = 1;
-                break;
-            case SOUTH:
-                xStart = 0;
-                xEnd = board.getWidth();
-                yStart = board.getHeight() - 1;
-                yEnd = board.getHeight();
-                break;
-            case EAST:
-                xStart = board.getWidth() - 1;
-                xEnd = board.getWidth();
-                yStart = 0;
-                yEnd = board.getHeight();
-                break;
-            case WEST:
-                xStart = 0;
-                xEnd = 1;
-                yStart = 0;
-                yEnd = board.getHeight();
-                break;
-            default:
+            int[] bounds = getEdgeBounds(edge, board);
+            if (bounds == null) {
                 return null;
             }
             
-            return getIntersectingHexes(xStart, xEnd, yStart, yEnd);
+            return getIntersectingHexes(bounds[0], bounds[1], bounds[2], bounds[3]);
         }
         
         /**
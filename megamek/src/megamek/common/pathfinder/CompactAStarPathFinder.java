@@ -0,0 +1,272 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+
+package megamek.common.pathfinder;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import megamek.common.Coords;
+import megamek.common.IAero;
+import megamek.common.IGame;
+import megamek.common.MovePath;
+import megamek.common.MovePath.MoveStepType;
+import megamek.common.util.IndexedMinHeap;
+import megamek.common.util.LongIntHashMap;
+
+/**
+ * An A* search for the shortest path to a destination hex that finds the
+ * same paths as {@link ShortestPathFinder#newInstanceOfAStar(Coords,
+ * MoveStepType, IGame)}, with less overhead on large boards.
+ * <p>
+ * Each search node is the state a path ends in: its hex, facing, elevation
+ * and whether the unit is prone, hull-down or jumping, packed into a
+ * <code>long</code>. Nodes are looked up in a primitive hash table and
+ * queued in an indexed heap, so a node is in the queue at most once and an
+ * improved path replaces the queued one instead of adding another entry.
+ * Only the current best path of each node is kept; successors are generated
+ * from it by {@link MovePathFinder.NextStepsAdjacencyMap} and checked with
+ * {@link MovePathFinder.MovePathLegalityFilter}, as the movement rules live
+ * in the move steps.
+ * <p>
+ * Nodes are ordered like {@link ShortestPathFinder.MovePathAStarComparator}
+ * orders paths, with each path's rank computed once when it is reached.
+ */
+public class CompactAStarPathFinder {
+
+    private static final int NO_NODE = -1;
+
+    /** Rank components are clamped to this many bits. */
+    private static final int RANK_BITS = 21;
+    private static final long RANK_MASK = (1L << RANK_BITS) - 1;
+
+    private final Coords destination;
+    private final ShortestPathFinder.MovePathAStarComparator comparator;
+    private final MovePathFinder.NextStepsAdjacencyMap adjacencyMap;
+    private final MovePathFinder.MovePathLegalityFilter legalityFilter;
+    private boolean interrupted;
+    private long nodesExpanded;
+
+    private final LongIntHashMap nodes = new LongIntHashMap(1024, NO_NODE);
+    private final IndexedMinHeap open = new IndexedMinHeap(1024);
+    private MovePath[] paths = new MovePath[1024];
+    private long[] ranks = new long[1024];
+    private boolean[] settled = new boolean[1024];
+    private int nodeCount;
+
+    /**
+     * @param destination the hex to find a path to
+     * @param stepType    the kind of step to move with, e.g. backwards
+     * @param game        the game
+     */
+    public CompactAStarPathFinder(Coords destination, MoveStepType stepType, IGame game) {
+        if (destination == null) {
+            throw new NullPointerException();
+        }
+        this.destination = destination;
+        comparator = new ShortestPathFinder.MovePathAStarComparator(destination, stepType,
+                game.getBoard());
+        adjacencyMap = new MovePathFinder.NextStepsAdjacencyMap(stepType);
+        legalityFilter = new MovePathFinder.MovePathLegalityFilter(game);
+    }
+
+    /**
+     * @return true if the last search was stopped by its deadline before it
+     *         reached the destination. The paths found so far can still be
+     *         read, and the search can be resumed.
+     */
+    public boolean wasInterrupted() {
+        return interrupted;
+    }
+
+    /**
+     * Searches for the shortest path from the end of the given path to the
+     * destination. The search stops once the destination has been reached
+     * or no more paths can be extended.
+     *
+     * @param start the path to extend
+     */
+    public void run(MovePath start) {
+        run(start, SearchDeadline.none());
+    }
+
+    /**
+     * Searches for the shortest path from the end of the given path to the
+     * destination. The search stops once the destination has been reached,
+     * no more paths can be extended or the deadline has passed.
+     *
+     * @param start    the path to extend
+     * @param deadline when to stop searching
+     */
+    public void run(MovePath start, SearchDeadline deadline) {
+        reset();
+        offer(start);
+        resume(deadline);
+    }
+
+    /**
+     * Continues the last search from where it stopped, keeping the paths
+     * found so far.
+     *
+     * @param deadline when to stop searching
+     */
+    public void resume(SearchDeadline deadline) {
+        interrupted = false;
+        while (!open.isEmpty()) {
+            if (deadline.hasPassed()) {
+                interrupted = true;
+                break;
+            }
+            int node = open.poll();
+            settled[node] = true;
+            nodesExpanded++;
+            MovePath path = paths[node];
+            if (destination.equals(path.getFinalCoords())) {
+                break;
+            }
+            for (MovePath next : adjacencyMap.getAdjacent(path)) {
+                if (legalityFilter.shouldStay(next)) {
+                    offer(next);
+                }
+            }
+        }
+    }
+
+    private void reset() {
+        nodes.clear();
+        open.clear();
+        Arrays.fill(paths, 0, nodeCount, null);
+        Arrays.fill(settled, 0, nodeCount, false);
+        nodeCount = 0;
+        nodesExpanded = 0;
+        interrupted = false;
+    }
+
+    /**
+     * Makes the path the best one of the node it ends in, if it is better
+     * than that node's current path.
+     */
+    private void offer(MovePath path) {
+        final long state = stateOf(path);
+        final long rank = rankOf(path);
+        int node = nodes.get(state);
+        if (node == NO_NODE) {
+            node = nodeCount++;
+            if (node == paths.length) {
+                paths = Arrays.copyOf(paths, node * 2);
+                ranks = Arrays.copyOf(ranks, node * 2);
+                settled = Arrays.copyOf(settled, node * 2);
+            }
+            nodes.put(state, node);
+        } else if (rank >= ranks[node]) {
+            return;
+        }
+        paths[node] = path;
+        ranks[node] = rank;
+        open.put(node, rank);
+    }
+
+    /**
+     * Packs the state the path ends in: 16 bits each of x and y, 3 of facing,
+     * 12 of elevation and a bit each for prone, hull-down and jumping.
+     */
+    static long stateOf(MovePath path) {
+        final Coords c = path.getFinalCoords();
+        long state = (c.getX() & 0xFFFFL) | ((c.getY() & 0xFFFFL) << 16);
+        state |= (long) (path.getFinalFacing() & 0x7) << 32;
+        state |= (path.getFinalElevation() & 0xFFFL) << 35;
+        if (path.getFinalProne()) {
+            state |= 1L << 47;
+        }
+        if (path.getFinalHullDown()) {
+            state |= 1L << 48;
+        }
+        if (path.isJumping()) {
+            state |= 1L << 49;
+        }
+        return state;
+    }
+
+    /**
+     * Ranks a path the way {@link ShortestPathFinder.MovePathAStarComparator}
+     * orders them: by MP used plus the estimate, then by hexes moved, and for
+     * aerodynes by MP used, hexes moved and then the number of steps.
+     */
+    private long rankOf(MovePath path) {
+        long first;
+        long third = 0;
+        if (path.getEntity().isAero() && !((IAero) path.getEntity()).isSpheroid()) {
+            first = path.getMpUsed();
+            third = path.length();
+        } else {
+            first = path.getMpUsed() + comparator.getEstimate(path);
+        }
+        return (Math.min(Math.max(first, 0), RANK_MASK) << (2 * RANK_BITS))
+                | (Math.min(Math.max(path.getHexesMoved(), 0), RANK_MASK) << RANK_BITS)
+                | Math.min(third, RANK_MASK);
+    }
+
+    /**
+     * Returns the shortest path found to the given hex, choosing the best one
+     * if it was reached with several facings, or null if it wasn't reached.
+     */
+    public MovePath getComputedPath(Coords coords) {
+        MovePath best = null;
+        for (int node = 0; node < nodeCount; node++) {
+            MovePath path = paths[node];
+            if (settled[node] && coords.equals(path.getFinalCoords())
+                    && ((best == null) || (comparator.compare(path, best) < 0))) {
+                best = path;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return the shortest paths found to each hex that was reached
+     */
+    public Map<Coords, MovePath> getAllComputedPaths() {
+        Map<Coords, MovePath> result = new HashMap<>();
+        for (int node = 0; node < nodeCount; node++) {
+            if (settled[node]) {
+                MovePath path = paths[node];
+                result.merge(path.getFinalCoords(), path,
+                        (a, b) -> (comparator.compare(b, a) < 0) ? b : a);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the number of distinct states reached by the last search
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * @return the number of states whose successors have been generated
+     */
+    public long getNodesExpanded() {
+        return nodesExpanded;
+    }
+
+    /**
+     * @return the number of states waiting to be expanded
+     */
+    public int getFrontierSize() {
+        return open.size();
+    }
+}
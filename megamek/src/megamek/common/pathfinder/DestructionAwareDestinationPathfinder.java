@@ -16,6 +16,7 @@
 package megamek.common.pathfinder;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
@@ -24,6 +25,7 @@ import java.util.Set;
 import java.util.TreeSet;
 
 import megamek.client.bot.princess.AeroPathUtil;
+import megamek.common.Board;
 import megamek.common.BulldozerMovePath;
 import megamek.common.Coords;
 import megamek.common.Entity;
@@ -91,6 +93,53 @@ public class DestructionAwareDestinationPathfinder extends BoardEdgePathFinder {
             }
         }
 
+        // on big boards, plan the way through the board's sectors first
+        // and only search hex by hex as far as the first stretch of it
+        if (!jump) {
+            Set<Coords> firstLeg = getFirstLeg(entity, destinationCoords);
+            if (firstLeg != null) {
+                BulldozerMovePath legPath = findPathToCoords(startPath, firstLeg, clusterTracker);
+                if (legPath != null) {
+                    return legPath;
+                }
+            }
+        }
+        
+        return findPathToCoords(startPath, destinationCoords, clusterTracker);
+    }
+    
+    /**
+     * Plans a route to the destination coordinates across the board's sectors, and returns the first
+     * hex along it that is further away than the entity can move in two turns.
+     * @return The hex, or null if the route is shorter than that or can't be planned.
+     */
+    private Set<Coords> getFirstLeg(Entity entity, Set<Coords> destinationCoords) {
+        HierarchicalPathFinder planner = entity.getGame().getHierarchicalPathFinder();
+        if ((planner == null) || (entity.getPosition() == null)) {
+            return null;
+        }
+        
+        List<Coords> route = planner.findRoute(entity, destinationCoords);
+        if (route == null) {
+            return null;
+        }
+        
+        int legLength = Math.max(2 * entity.getRunMP(), Board.DEFAULT_BOARD_WIDTH);
+        for (int waypoint = 0; waypoint < route.size() - 1; waypoint++) {
+            if (route.get(waypoint).distance(entity.getPosition()) > legLength) {
+                return Collections.singleton(route.get(waypoint));
+            }
+        }
+        
+        return null;
+    }
+    
+    /**
+     * Searches for the "optimal" continuation of the start path to the destination coordinates.
+     */
+    private BulldozerMovePath findPathToCoords(BulldozerMovePath startPath, Set<Coords> destinationCoords, 
+            BoardClusterTracker clusterTracker) {
+        Entity entity = startPath.getEntity();
         Coords closest = getClosestCoords(destinationCoords, entity);
         // if we can't at all get to the coordinates with this entity, don't bother with the rest 
         if (closest == null) {
@@ -0,0 +1,454 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+
+package megamek.common.pathfinder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import megamek.common.Board;
+import megamek.common.BulldozerMovePath;
+import megamek.common.Coords;
+import megamek.common.Entity;
+import megamek.common.IBoard;
+import megamek.common.IHex;
+import megamek.common.annotations.Nullable;
+import megamek.common.pathfinder.BoardClusterTracker.MovementType;
+import megamek.common.util.IndexedMinHeap;
+
+/**
+ * Plans routes across large boards in two levels, like HPA*. The board is cut
+ * into sectors the size of a mapsheet, and the places where a unit can cross
+ * from one sector into the next become the nodes of a graph, linked by what it
+ * costs to get from one to another within their sector. A route is planned by
+ * searching that graph, so only the hexes of the sectors it starts and ends in
+ * are looked at one by one.
+ * <p>
+ * The costs are estimates: the MP to enter each hex, elevation changes and what
+ * it takes to level terrain that is in the way. Facing and the finer points of
+ * the movement rules are left to a regular path finder, which only has to work
+ * out the first stretch of the route as a {@link MovePath}.
+ * <p>
+ * A graph is kept for each kind of unit, and built again when the board changes.
+ */
+public class HierarchicalPathFinder {
+
+    private final Map<BoardClusterTracker.ClusterKey, SectorGraph> graphs = new HashMap<>();
+
+    /**
+     * Plans a route for the entity to the cheapest of the given destinations to
+     * get to.
+     *
+     * @return the hexes where the route crosses from one sector into the next,
+     *         followed by the destination it leads to, or null if there is no
+     *         way to any of them
+     */
+    public synchronized @Nullable List<Coords> findRoute(Entity entity, Set<Coords> destinations) {
+        if ((entity.getGame() == null) || (entity.getPosition() == null)) {
+            return null;
+        }
+
+        IBoard board = entity.getGame().getBoard();
+        if (!board.contains(entity.getPosition())) {
+            return null;
+        }
+
+        BoardClusterTracker.ClusterKey key = new BoardClusterTracker.ClusterKey(entity);
+        SectorGraph graph = graphs.get(key);
+        if ((graph == null) || !graph.isCurrent(board)) {
+            graph = new SectorGraph(entity, board);
+            graphs.put(key, graph);
+        }
+        return graph.findRoute(entity.getPosition(), destinations);
+    }
+
+    /**
+     * Drops all graphs.
+     */
+    public synchronized void clear() {
+        graphs.clear();
+    }
+
+    /**
+     * The sector graph of one kind of unit. Hex (x, y) has the index
+     * x * height + y.
+     */
+    private static final class SectorGraph {
+        private static final int NONE = -1;
+        private static final int UNREACHED = Integer.MAX_VALUE;
+
+        private final IBoard board;
+        private final int boardVersion;
+        private final int width;
+        private final int height;
+        private final int sectorRows;
+        private final int maxElevationChange;
+
+        /** The cost of entering each hex, or NONE if the unit can't. */
+        private final int[] costs;
+        private final int[] elevations;
+
+        /** The node at each hex, or NONE. */
+        private final int[] nodeAt;
+        private int[] nodeHexes = new int[64];
+        private int[][] edgeTargets = new int[64][];
+        private int[][] edgeCosts = new int[64][];
+        private int[] edgeCounts = new int[64];
+        private int nodeCount;
+        private final Map<Integer, List<Integer>> sectorNodes = new HashMap<>();
+
+        // scratch space for searches within a sector
+        private final int[] distances;
+        private final int[] origins;
+        private final List<Integer> reached = new ArrayList<>();
+        private final IndexedMinHeap hexQueue = new IndexedMinHeap(256);
+
+        SectorGraph(Entity entity, IBoard board) {
+            this.board = board;
+            boardVersion = board.getVersion();
+            width = board.getWidth();
+            height = board.getHeight();
+            sectorRows = (height + Board.DEFAULT_BOARD_HEIGHT - 1) / Board.DEFAULT_BOARD_HEIGHT;
+            maxElevationChange = entity.getMaxElevationChange();
+
+            int hexCount = width * height;
+            costs = new int[hexCount];
+            elevations = new int[hexCount];
+            nodeAt = new int[hexCount];
+            distances = new int[hexCount];
+            origins = new int[hexCount];
+            Arrays.fill(nodeAt, NONE);
+            Arrays.fill(distances, UNREACHED);
+
+            MovementType movementType = MovementType.getMovementType(entity);
+            for (int index = 0; index < hexCount; index++) {
+                evaluateHex(entity, movementType, index);
+            }
+
+            addEntrances();
+            for (Map.Entry<Integer, List<Integer>> sector : sectorNodes.entrySet()) {
+                linkNodesWithin(sector.getKey(), sector.getValue());
+            }
+        }
+
+        boolean isCurrent(IBoard currentBoard) {
+            return (currentBoard == board) && (currentBoard.getVersion() == boardVersion)
+                    && (currentBoard.getWidth() == width) && (currentBoard.getHeight() == height);
+        }
+
+        /**
+         * Works out what it costs the unit to enter the hex, counting what it
+         * takes to level it if it's in the way, and the unit's elevation there.
+         */
+        private void evaluateHex(Entity entity, MovementType movementType, int index) {
+            Coords coords = new Coords(index / height, index % height);
+            IHex hex = board.getHex(coords);
+
+            int levelingCost = 0;
+            if (entity.isLocationProhibited(coords)
+                    || BoardClusterTracker.buildingPlowThroughRequired(entity, movementType, coords)) {
+                levelingCost = BulldozerMovePath.calculateLevelingCost(coords, entity);
+                if (levelingCost <= BulldozerMovePath.CANNOT_LEVEL) {
+                    costs[index] = NONE;
+                    return;
+                }
+            }
+
+            boolean isHovercraft = movementType == MovementType.Hover;
+            boolean isAmphibious = movementType == MovementType.WheeledAmphi
+                    || movementType == MovementType.TrackedAmphi;
+            elevations[index] = BoardEdgePathFinder.calculateUnitElevationInHex(hex, entity, isHovercraft, isAmphibious);
+            costs[index] = 1 + Math.max(0, hex.movementCost(entity)) + levelingCost;
+        }
+
+        private int sectorOf(int index) {
+            return ((index / height) / Board.DEFAULT_BOARD_WIDTH) * sectorRows
+                    + ((index % height) / Board.DEFAULT_BOARD_HEIGHT);
+        }
+
+        private int neighbor(int index, int direction) {
+            int x = index / height;
+            int y = index % height;
+            int neighborX = Coords.xInDir(x, y, direction);
+            int neighborY = Coords.yInDir(x, y, direction);
+            if ((neighborX < 0) || (neighborX >= width) || (neighborY < 0) || (neighborY >= height)) {
+                return NONE;
+            }
+            return neighborX * height + neighborY;
+        }
+
+        private Coords coordsOf(int index) {
+            return new Coords(index / height, index % height);
+        }
+
+        /**
+         * @return the cost of stepping from one hex into the other, or NONE if
+         *         the unit can't
+         */
+        private int stepCost(int from, int to) {
+            if (costs[to] == NONE) {
+                return NONE;
+            }
+            int elevationChange = Math.abs(elevations[to] - elevations[from]);
+            return (elevationChange > maxElevationChange) ? NONE : costs[to] + elevationChange;
+        }
+
+        /**
+         * Finds the places where the unit can go back and forth between two
+         * sectors. Along a stretch of border where it can cross anywhere, only
+         * the crossing in the middle becomes an entrance.
+         */
+        private void addEntrances() {
+            Map<Long, List<int[]>> crossings = new TreeMap<>();
+            for (int index = 0; index < costs.length; index++) {
+                if (costs[index] == NONE) {
+                    continue;
+                }
+                int sector = sectorOf(index);
+                for (int direction = 0; direction < 6; direction++) {
+                    int neighbor = neighbor(index, direction);
+                    if ((neighbor != NONE) && (sectorOf(neighbor) > sector)
+                            && (stepCost(index, neighbor) != NONE) && (stepCost(neighbor, index) != NONE)) {
+                        long border = ((long) sector << 32) | sectorOf(neighbor);
+                        crossings.computeIfAbsent(border, b -> new ArrayList<>()).add(new int[] { index, neighbor });
+                    }
+                }
+            }
+
+            for (List<int[]> border : crossings.values()) {
+                int runStart = 0;
+                for (int crossing = 1; crossing <= border.size(); crossing++) {
+                    if ((crossing == border.size())
+                            || !isAlongside(border.get(crossing - 1), border.get(crossing))) {
+                        int[] entrance = border.get((runStart + crossing - 1) / 2);
+                        int inside = nodeFor(entrance[0]);
+                        int outside = nodeFor(entrance[1]);
+                        addEdge(inside, outside, stepCost(entrance[0], entrance[1]));
+                        addEdge(outside, inside, stepCost(entrance[1], entrance[0]));
+                        runStart = crossing;
+                    }
+                }
+            }
+        }
+
+        private boolean isAlongside(int[] first, int[] second) {
+            return (coordsOf(first[0]).distance(coordsOf(second[0])) <= 1)
+                    && (coordsOf(first[1]).distance(coordsOf(second[1])) <= 1);
+        }
+
+        private int nodeFor(int index) {
+            if (nodeAt[index] != NONE) {
+                return nodeAt[index];
+            }
+
+            int node = nodeCount++;
+            if (node == nodeHexes.length) {
+                nodeHexes = Arrays.copyOf(nodeHexes, node * 2);
+                edgeTargets = Arrays.copyOf(edgeTargets, node * 2);
+                edgeCosts = Arrays.copyOf(edgeCosts, node * 2);
+                edgeCounts = Arrays.copyOf(edgeCounts, node * 2);
+            }
+            nodeHexes[node] = index;
+            edgeTargets[node] = new int[4];
+            edgeCosts[node] = new int[4];
+            nodeAt[index] = node;
+            sectorNodes.computeIfAbsent(sectorOf(index), s -> new ArrayList<>()).add(node);
+            return node;
+        }
+
+        private void addEdge(int from, int to, int cost) {
+            for (int edge = 0; edge < edgeCounts[from]; edge++) {
+                if (edgeTargets[from][edge] == to) {
+                    edgeCosts[from][edge] = Math.min(edgeCosts[from][edge], cost);
+                    return;
+                }
+            }
+
+            int edge = edgeCounts[from]++;
+            if (edge == edgeTargets[from].length) {
+                edgeTargets[from] = Arrays.copyOf(edgeTargets[from], edge * 2);
+                edgeCosts[from] = Arrays.copyOf(edgeCosts[from], edge * 2);
+            }
+            edgeTargets[from][edge] = to;
+            edgeCosts[from][edge] = cost;
+        }
+
+        /**
+         * Links each entrance of the sector to the others it can be reached
+         * from without leaving the sector.
+         */
+        private void linkNodesWithin(int sector, List<Integer> nodes) {
+            for (int node : nodes) {
+                searchSector(sector, Collections.singletonList(nodeHexes[node]), false);
+                for (int other : nodes) {
+                    int distance = distances[nodeHexes[other]];
+                    if ((other != node) && (distance != UNREACHED)) {
+                        addEdge(node, other, distance);
+                    }
+                }
+                resetSearch();
+            }
+        }
+
+        /**
+         * Finds the cheapest ways from the given hexes to every hex of the
+         * sector that can be reached without leaving it, or when searching in
+         * reverse, the cheapest ways from every such hex to the given ones.
+         * Leaves the costs in {@link #distances} and the hex each way starts or
+         * ends at in {@link #origins}, until {@link #resetSearch()}.
+         */
+        private void searchSector(int sector, List<Integer> sources, boolean reverse) {
+            for (int source : sources) {
+                distances[source] = 0;
+                origins[source] = source;
+                reached.add(source);
+                hexQueue.put(source, 0);
+            }
+
+            while (!hexQueue.isEmpty()) {
+                int hex = hexQueue.poll();
+                int distance = distances[hex];
+                for (int direction = 0; direction < 6; direction++) {
+                    int next = neighbor(hex, direction);
+                    if ((next == NONE) || (sectorOf(next) != sector)) {
+                        continue;
+                    }
+
+                    int step;
+                    if (reverse) {
+                        step = (costs[next] == NONE) ? NONE : stepCost(next, hex);
+                    } else {
+                        step = stepCost(hex, next);
+                    }
+
+                    if ((step != NONE) && (distance + step < distances[next])) {
+                        if (distances[next] == UNREACHED) {
+                            reached.add(next);
+                        }
+                        distances[next] = distance + step;
+                        origins[next] = origins[hex];
+                        hexQueue.put(next, distance + step);
+                    }
+                }
+            }
+        }
+
+        private void resetSearch() {
+            for (int hex : reached) {
+                distances[hex] = UNREACHED;
+            }
+            reached.clear();
+        }
+
+        List<Coords> findRoute(Coords start, Set<Coords> destinations) {
+            int startHex = start.getX() * height + start.getY();
+            int startSector = sectorOf(startHex);
+
+            Map<Integer, List<Integer>> destinationsBySector = new TreeMap<>();
+            for (Coords destination : destinations) {
+                if (!board.contains(destination)) {
+                    continue;
+                }
+                int hex = destination.getX() * height + destination.getY();
+                if (hex == startHex) {
+                    return new ArrayList<>(Collections.singletonList(start));
+                }
+                if (costs[hex] != NONE) {
+                    destinationsBySector.computeIfAbsent(sectorOf(hex), s -> new ArrayList<>()).add(hex);
+                }
+            }
+
+            // what it costs to get from each entrance to the closest destination in its sector
+            int[] goalCosts = new int[nodeCount];
+            int[] goalHexes = new int[nodeCount];
+            Arrays.fill(goalCosts, UNREACHED);
+            for (Map.Entry<Integer, List<Integer>> sector : destinationsBySector.entrySet()) {
+                searchSector(sector.getKey(), sector.getValue(), true);
+                for (int node : sectorNodes.getOrDefault(sector.getKey(), Collections.emptyList())) {
+                    goalCosts[node] = distances[nodeHexes[node]];
+                    goalHexes[node] = origins[nodeHexes[node]];
+                }
+                resetSearch();
+            }
+
+            // what it costs to get from the start to the entrances of its sector, or to a destination in it
+            int[] nodeCosts = new int[nodeCount];
+            int[] parents = new int[nodeCount];
+            Arrays.fill(nodeCosts, UNREACHED);
+            IndexedMinHeap open = new IndexedMinHeap(nodeCount);
+            int bestCost = UNREACHED;
+            int bestDestination = NONE;
+            searchSector(startSector, Collections.singletonList(startHex), false);
+            for (int hex : destinationsBySector.getOrDefault(startSector, Collections.emptyList())) {
+                if (distances[hex] < bestCost) {
+                    bestCost = distances[hex];
+                    bestDestination = hex;
+                }
+            }
+            for (int node : sectorNodes.getOrDefault(startSector, Collections.emptyList())) {
+                if (distances[nodeHexes[node]] != UNREACHED) {
+                    nodeCosts[node] = distances[nodeHexes[node]];
+                    parents[node] = NONE;
+                    open.put(node, nodeCosts[node]);
+                }
+            }
+            resetSearch();
+
+            int bestNode = NONE;
+            while (!open.isEmpty()) {
+                int node = open.poll();
+                int cost = nodeCosts[node];
+                if (cost >= bestCost) {
+                    break;
+                }
+
+                if ((goalCosts[node] != UNREACHED) && (cost + goalCosts[node] < bestCost)) {
+                    bestCost = cost + goalCosts[node];
+                    bestNode = node;
+                    bestDestination = goalHexes[node];
+                }
+
+                for (int edge = 0; edge < edgeCounts[node]; edge++) {
+                    int target = edgeTargets[node][edge];
+                    int targetCost = cost + edgeCosts[node][edge];
+                    if (targetCost < nodeCosts[target]) {
+                        nodeCosts[target] = targetCost;
+                        parents[target] = node;
+                        open.put(target, targetCost);
+                    }
+                }
+            }
+
+            if (bestDestination == NONE) {
+                return null;
+            }
+
+            List<Coords> route = new ArrayList<>();
+            route.add(coordsOf(bestDestination));
+            for (int node = bestNode; node != NONE; node = parents[node]) {
+                if ((nodeHexes[node] != startHex) && (nodeHexes[node] != bestDestination)) {
+                    route.add(coordsOf(nodeHexes[node]));
+                }
+            }
+            Collections.reverse(route);
+            return route;
+        }
+    }
+}
@@ -0,0 +1,294 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+
+package megamek.common.pathfinder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import megamek.common.Coords;
+import megamek.common.IGame;
+import megamek.common.MovePath;
+import megamek.common.MovePath.MoveStepType;
+import megamek.common.MoveStep;
+import megamek.common.Tank;
+import megamek.common.util.IndexedMinHeap;
+import megamek.common.util.LongIntHashMap;
+
+/**
+ * Works out the fewest movement points a unit needs to reach each hex it can
+ * get to, for the movement envelope shown when a unit is selected. It finds
+ * the same costs as {@link ShortestPathFinder#newInstanceOfOneToAll(int,
+ * MoveStepType, IGame)}, but only keeps the costs of each hex and facing.
+ * <p>
+ * The steps are still compiled by {@link MoveStep}, so a node's path is kept
+ * while it waits to be expanded. After that only the step types that led to
+ * it are kept, and the path to a hex is rebuilt from them when it is asked
+ * for with {@link #getComputedPath(Coords)}.
+ * <p>
+ * Nodes are a hex and a facing, reversed after a backwards step, like
+ * {@link MovePathFinder.MovePathDestinationMap}. Like
+ * {@link ShortestPathFinder.MovePathRelaxer}, a node prefers any path that
+ * ends standing to one that ends prone or hull-down, and otherwise the path
+ * that uses the fewest movement points. The facings of a hex are ranked the
+ * same way when the best one is asked for.
+ */
+public class MovementEnvelopeFinder {
+
+    /** The cost of hexes and facings that can't be reached. */
+    public static final int UNREACHABLE = -1;
+
+    private static final int NO_NODE = -1;
+
+    private final IGame game;
+    private final int maxMP;
+    private final MovePathFinder.NextStepsAdjacencyMap adjacencyMap;
+    private final MovePathFinder.MovePathLegalityFilter legalityFilter;
+
+    private final LongIntHashMap nodes = new LongIntHashMap(256, NO_NODE);
+    private final IndexedMinHeap open = new IndexedMinHeap(256);
+    private MovePath[] paths = new MovePath[256];
+    private Trail[] trails = new Trail[256];
+    private Coords[] nodeCoords = new Coords[256];
+    private long[] ranks = new long[256];
+    private int[] mpUsed = new int[256];
+    private int[] jumpMP = new int[256];
+    private int nodeCount;
+
+    private MovePath start;
+    private int boardVersion;
+    private int entityPositionVersion;
+
+    /**
+     * The step types that lead to a node from the node it was reached from.
+     */
+    private static final class Trail {
+        private final Trail parent;
+        private final MoveStepType[] steps;
+
+        Trail(Trail parent, MoveStepType[] steps) {
+            this.parent = parent;
+            this.steps = steps;
+        }
+    }
+
+    /**
+     * @param maxMP    the most movement points a path may use
+     * @param stepType the kind of step to move with, e.g. backwards
+     * @param game     the game
+     */
+    public MovementEnvelopeFinder(int maxMP, MoveStepType stepType, IGame game) {
+        this.game = game;
+        this.maxMP = maxMP;
+        adjacencyMap = new MovePathFinder.NextStepsAdjacencyMap(stepType);
+        legalityFilter = new MovePathFinder.MovePathLegalityFilter(game);
+    }
+
+    /**
+     * Finds the cheapest way to reach every hex and facing from the end of
+     * the given path.
+     *
+     * @param startPath the path to extend
+     */
+    public void run(MovePath startPath) {
+        reset();
+        start = startPath.clone();
+        boardVersion = game.getBoard().getVersion();
+        entityPositionVersion = game.getEntityPositionVersion();
+        offer(start, new Trail(null, new MoveStepType[0]));
+        while (!open.isEmpty()) {
+            final int node = open.poll();
+            final MovePath path = paths[node];
+            final Trail trail = trails[node];
+            paths[node] = null;
+            for (MovePath next : adjacencyMap.getAdjacent(path)) {
+                if ((next.getMpUsed() <= maxMP) && legalityFilter.shouldStay(next)) {
+                    offer(next, new Trail(trail, stepsAfter(next, path.length())));
+                }
+            }
+        }
+    }
+
+    private void reset() {
+        nodes.clear();
+        open.clear();
+        Arrays.fill(paths, 0, nodeCount, null);
+        Arrays.fill(trails, 0, nodeCount, null);
+        Arrays.fill(nodeCoords, 0, nodeCount, null);
+        nodeCount = 0;
+    }
+
+    private static MoveStepType[] stepsAfter(MovePath path, int from) {
+        final MoveStepType[] steps = new MoveStepType[path.length() - from];
+        for (int i = 0; i < steps.length; i++) {
+            steps[i] = path.getStep(from + i).getType();
+        }
+        return steps;
+    }
+
+    /**
+     * Makes the path the one kept for the node it ends in, if it is better
+     * than the node's current one, and queues the node to be expanded.
+     */
+    private void offer(MovePath path, Trail trail) {
+        final long key = keyOf(path);
+        final long rank = rankOf(path);
+        int node = nodes.get(key);
+        if (node == NO_NODE) {
+            node = nodeCount++;
+            if (node == ranks.length) {
+                paths = Arrays.copyOf(paths, node * 2);
+                trails = Arrays.copyOf(trails, node * 2);
+                nodeCoords = Arrays.copyOf(nodeCoords, node * 2);
+                ranks = Arrays.copyOf(ranks, node * 2);
+                mpUsed = Arrays.copyOf(mpUsed, node * 2);
+                jumpMP = Arrays.copyOf(jumpMP, node * 2);
+            }
+            nodes.put(key, node);
+            nodeCoords[node] = path.getFinalCoords();
+        } else if (rank >= ranks[node]) {
+            return;
+        }
+        paths[node] = path;
+        trails[node] = trail;
+        ranks[node] = rank;
+        mpUsed[node] = path.countMp(false);
+        jumpMP[node] = path.countMp(true);
+        open.put(node, path.getMpUsed());
+    }
+
+    private static long keyOf(Coords coords, int facing) {
+        return (coords.getX() & 0xFFFFL) | ((coords.getY() & 0xFFFFL) << 16) | ((long) facing << 32);
+    }
+
+    private static long keyOf(MovePath path) {
+        final MoveStep last = path.getLastStep();
+        int facing = path.getFinalFacing();
+        if ((last != null) && last.isThisStepBackwards()) {
+            facing = (facing + 3) % 6;
+        }
+        return keyOf(path.getFinalCoords(), facing);
+    }
+
+    /**
+     * Orders paths by whether they end prone, then hull-down, then by the
+     * movement points used.
+     */
+    private static long rankOf(MovePath path) {
+        long rank = Math.max(path.getMpUsed(), 0);
+        if (path.getFinalProne()) {
+            rank |= 1L << 41;
+        }
+        if (path.getFinalHullDown() && !(path.getEntity() instanceof Tank)) {
+            rank |= 1L << 40;
+        }
+        return rank;
+    }
+
+    /**
+     * @return the node of the best facing at the given hex, ranked like the
+     *         paths of a node, or {@link #NO_NODE}
+     */
+    private int bestNodeAt(Coords coords) {
+        int best = NO_NODE;
+        for (int facing = 0; facing < 6; facing++) {
+            final int node = nodes.get(keyOf(coords, facing));
+            if ((node != NO_NODE) && ((best == NO_NODE) || (ranks[node] < ranks[best]))) {
+                best = node;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return the movement points needed to reach the hex with the given
+     *         facing, or {@link #UNREACHABLE}
+     */
+    public int getMovementPoints(Coords coords, int facing) {
+        final int node = nodes.get(keyOf(coords, facing));
+        return (node == NO_NODE) ? UNREACHABLE : mpUsed[node];
+    }
+
+    /**
+     * Returns the movement points needed to reach each hex that can be
+     * reached, with its best facing: one the unit ends standing in if there
+     * is one, and otherwise the cheapest.
+     *
+     * @param jumping true to leave out turns, which are free while jumping
+     */
+    public Map<Coords, Integer> getMovementPoints(boolean jumping) {
+        final Map<Coords, Integer> result = new HashMap<>();
+        for (int node = 0; node < nodeCount; node++) {
+            if (bestNodeAt(nodeCoords[node]) == node) {
+                result.put(nodeCoords[node], jumping ? jumpMP[node] : mpUsed[node]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Rebuilds the cheapest path found to the given hex.
+     *
+     * @return the path, or null if the hex can't be reached
+     */
+    public MovePath getComputedPath(Coords coords) {
+        final int node = bestNodeAt(coords);
+        if (node == NO_NODE) {
+            return null;
+        }
+        final List<Trail> chain = new ArrayList<>();
+        for (Trail trail = trails[node]; trail != null; trail = trail.parent) {
+            chain.add(trail);
+        }
+        final MovePath path = start.clone();
+        for (int i = chain.size() - 1; i >= 0; i--) {
+            for (MoveStepType type : chain.get(i).steps) {
+                path.addStep(type);
+            }
+        }
+        return path;
+    }
+
+    /**
+     * @return true if the last search started from a path like the given one
+     *         and neither the board nor any unit's position has changed since
+     */
+    public boolean isComputedFrom(MovePath path) {
+        if ((start == null) || (path.getEntity() != start.getEntity())
+                || (path.length() != start.length())
+                || (game.getBoard().getVersion() != boardVersion)
+                || (game.getEntityPositionVersion() != entityPositionVersion)
+                || !path.getFinalCoords().equals(start.getFinalCoords())
+                || (path.getFinalFacing() != start.getFinalFacing())
+                || (path.getFinalElevation() != start.getFinalElevation())) {
+            return false;
+        }
+        for (int i = 0; i < path.length(); i++) {
+            if (path.getStep(i).getType() != start.getStep(i).getType()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of hexes and facings reached by the last search
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+}
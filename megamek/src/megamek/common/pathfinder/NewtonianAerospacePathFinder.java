@@ -3,8 +3,10 @@ package megamek.common.pathfinder;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import megamek.common.IAero;
 import megamek.common.IGame;
@@ -30,6 +32,8 @@ public class NewtonianAerospacePathFinder {
     
     // This is a map containing coordinates-with-facing, and the length of the path it took to get there
     protected Map<CoordsWithFacing, Integer> visitedCoords = new HashMap<>();
+    // This is a set of the states whose children have already been generated, however the path got there
+    protected Set<AerospaceState> expandedStates = new HashSet<>();
     // This is a list of all possible moves
     protected List<MoveStepType> moves;
     
@@ -87,6 +91,7 @@ public class NewtonianAerospacePathFinder {
             }
             
             visitedCoords.clear();
+            expandedStates.clear();
         } catch (OutOfMemoryError e) {
             /*
              * Some implementations can run out of memory if they consider and
@@ -134,7 +139,7 @@ public class NewtonianAerospacePathFinder {
     
     /**
      * Recursive method that generates the possible child paths from the given path.
-     * Eliminates paths to hexes we've already visited.
+     * Eliminates paths to hexes we've already visited, and paths that end in a state we've already expanded.
      * Generates *shortest* paths to destination hexes, because, look, infantry isn't going to get beyond a move 1 mod anyway.
      * @param startingPath
      * @return
@@ -165,6 +170,12 @@ public class NewtonianAerospacePathFinder {
                 continue;
             }
             
+            // the same state reached through a different order of steps has the same children,
+            // which were generated the first time around
+            if(!expandedStates.add(new AerospaceState(childPath))) {
+                continue;
+            }
+            
             // keep track of a single path that takes us off board, if there is such a thing
             // this should always be the shortest one.
             if(game.getBoard().getHex(pathDestination.getCoords()) == null &&
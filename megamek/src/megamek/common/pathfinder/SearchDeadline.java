@@ -0,0 +1,96 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+
+package megamek.common.pathfinder;
+
+/**
+ * Tells a search when to stop: when a point in time has passed, or when it is
+ * cancelled from another thread. Searches check it between expanding nodes and
+ * keep everything they have found so far when they stop, so that they can be
+ * read and resumed later with another deadline.
+ * <p>
+ * The clock is only read every few checks, which keeps checking cheap enough to
+ * do for every node.
+ */
+public class SearchDeadline {
+
+    /** How many checks go by between reading the clock. */
+    private static final int CLOCK_INTERVAL = 16;
+
+    private final long deadline;
+    private volatile boolean cancelled;
+    private boolean passed;
+    private int checks;
+
+    private SearchDeadline(long deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * @return a deadline that only passes when it is cancelled
+     */
+    public static SearchDeadline none() {
+        return new SearchDeadline(Long.MAX_VALUE);
+    }
+
+    /**
+     * @param millis the time the search may take in milliseconds, or 0 for
+     *               no limit
+     * @return a deadline that passes after the given time, or when it is
+     *         cancelled
+     */
+    public static SearchDeadline in(long millis) {
+        return (millis <= 0) ? none() : new SearchDeadline(System.nanoTime() + (millis * 1000000L));
+    }
+
+    /**
+     * Stops any search using this deadline at its next check. May be called
+     * from any thread.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return true if the search should stop, checked by the thread running
+     *         the search
+     */
+    public boolean hasPassed() {
+        if (cancelled || passed) {
+            return true;
+        }
+        if ((deadline != Long.MAX_VALUE) && ((++checks % CLOCK_INTERVAL) == 0)) {
+            passed = System.nanoTime() - deadline > 0;
+        }
+        return passed;
+    }
+
+    /**
+     * @return the milliseconds left until the deadline, 0 once it has passed
+     *         or {@link Long#MAX_VALUE} if there is no time limit
+     */
+    public long getRemainingMillis() {
+        if (cancelled) {
+            return 0;
+        }
+        if (deadline == Long.MAX_VALUE) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, (deadline - System.nanoTime()) / 1000000L);
+    }
+}
@@ -202,21 +202,9 @@ public class ShortestPathFinder extends MovePathFinder<MovePath> {
                     // If both are the same length, pick one with fewer steps
                     return (first.length() - second.length());
                 }
-            }else if(first.getEntity().getWalkMP()==0) {
-                // current implementation of movement cost allows a 0mp moves
-                // for units with 0 mp.
             }else{
-                boolean backwards = stepType == MoveStepType.BACKWARDS;
-                h1 = first.getFinalCoords().distance(destination)
-                        + getFacingDiff(first, destination, backwards)
-                        + getLevelDiff(first, destination, board, first.isJumping())
-                        + getElevationDiff(first, destination, board,
-                                first.getEntity());
-                h2 = second.getFinalCoords().distance(destination)
-                        + getFacingDiff(second, destination, backwards)
-                        + getLevelDiff(second, destination, board, second.isJumping())
-                        + getElevationDiff(second, destination, board,
-                                second.getEntity());
+                h1 = getEstimate(first);
+                h2 = getEstimate(second);
             }
 
             int dd = (first.getMpUsed() + h1) - (second.getMpUsed() + h2);
@@ -227,6 +215,24 @@ public class ShortestPathFinder extends MovePathFinder<MovePath> {
                 return first.getHexesMoved() - second.getHexesMoved();
             }
         }
+
+        /**
+         * Estimates the MP still needed to reach the destination from the end
+         * of the given path. Aerodynes aren't estimated, and neither are
+         * units with 0 MP, as the current implementation of movement cost
+         * allows 0 MP moves for them.
+         */
+        public int getEstimate(MovePath mp) {
+            if ((mp.getEntity().isAero() && !((IAero) mp.getEntity()).isSpheroid())
+                    || (mp.getEntity().getWalkMP() == 0)) {
+                return 0;
+            }
+            boolean backwards = stepType == MoveStepType.BACKWARDS;
+            return mp.getFinalCoords().distance(destination)
+                    + getFacingDiff(mp, destination, backwards)
+                    + getLevelDiff(mp, destination, board, mp.isJumping())
+                    + getElevationDiff(mp, destination, board, mp.getEntity());
+        }
     }
 
     private ShortestPathFinder(EdgeRelaxer<MovePath, MovePath> costRelaxer,
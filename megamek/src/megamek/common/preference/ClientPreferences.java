@@ -41,7 +41,7 @@ class ClientPreferences extends PreferenceStoreProxy implements
         store.setDefault(METASERVER_NAME, "https://api.megamek.org/servers/announce");
         store.setDefault(GAMELOG_KEEP, true);
         store.setDefault(GAMELOG_FILENAME, "gamelog.html");
-        // store.setDefault(GAMELOG_MAX_SIZE, 1);
+        store.setDefault(GAMELOG_MAX_SIZE, 0);
         store.setDefault(STAMP_FORMAT, "_yyyy-MM-dd_HH-mm-ss");
         store.setDefault(UNIT_START_CHAR, 'A');
         store.setDefault(GUI_NAME, "swing");
@@ -144,9 +144,13 @@ class ClientPreferences extends PreferenceStoreProxy implements
         return store.getString(GAMELOG_FILENAME);
     }
 
-    // public int getGameLogMaxSize() {
-    // return store.getInt(GAMELOG_MAX_SIZE);
-    // }
+    /**
+     * @return the size in megabytes at which the game log is rotated, or 0
+     *         to never rotate it
+     */
+    public int getGameLogMaxSize() {
+        return store.getInt(GAMELOG_MAX_SIZE);
+    }
 
     public boolean stampFilenames() {
         return store.getBoolean(STAMP_FILENAMES);
@@ -242,9 +246,9 @@ class ClientPreferences extends PreferenceStoreProxy implements
         store.setValue(PRINT_ENTITY_CHANGE, print);
     }
 
-    // public void setGameLogMaxSize(int i) {
-    // store.setValue(GAMELOG_MAX_SIZE, i);
-    // }
+    public void setGameLogMaxSize(int i) {
+        store.setValue(GAMELOG_MAX_SIZE, i);
+    }
 
     public void setStampFilenames(boolean state) {
         store.setValue(STAMP_FILENAMES, state);
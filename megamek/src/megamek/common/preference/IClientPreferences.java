@@ -41,7 +41,7 @@ public interface IClientPreferences extends IPreferenceStore {
     public static final String DEBUG_OUTPUT_ON = "DebugOutputOn";
     public static final String GAMELOG_KEEP = "KeepGameLog";
     public static final String GAMELOG_FILENAME = "GameLogFilename";
-    // public static final String GAMELOG_MAX_SIZE = "GameLogMaxSize";
+    public static final String GAMELOG_MAX_SIZE = "GameLogMaxSize";
     public static final String STAMP_FILENAMES = "StampFilenames";
     public static final String STAMP_FORMAT = "StampFormat";
     public static final String SHOW_UNIT_ID = "ShowUnitId";
@@ -102,7 +102,7 @@ public interface IClientPreferences extends IPreferenceStore {
 
     String getGameLogFilename();
 
-    // int getGameLogMaxSize();
+    int getGameLogMaxSize();
 
     boolean stampFilenames();
 
@@ -150,7 +150,7 @@ public interface IClientPreferences extends IPreferenceStore {
 
     void setGameLogFilename(String text);
 
-    // void setGameLogMaxSize(int i);
+    void setGameLogMaxSize(int i);
 
     void setStampFilenames(boolean state);
 
@@ -0,0 +1,157 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+
+package megamek.common.util;
+
+import java.util.Arrays;
+
+/**
+ * A binary min-heap of non-negative <code>int</code> ids ordered by
+ * <code>long</code> priorities. Each id is in the heap at most once; adding
+ * an id again changes its priority in place. This is the "decrease key"
+ * priority queue of Dijkstra and A* searches, which otherwise have to queue
+ * a new entry every time a node's cost improves.
+ */
+public class IndexedMinHeap {
+
+    private int[] heap;
+    private long[] priorities;
+    /** The position of each id in the heap, or -1. */
+    private int[] positions;
+    private int size;
+
+    public IndexedMinHeap(int capacity) {
+        capacity = Math.max(capacity, 4);
+        heap = new int[capacity];
+        priorities = new long[capacity];
+        positions = new int[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int id) {
+        return (id < positions.length) && (positions[id] >= 0);
+    }
+
+    /**
+     * Adds the id with the given priority, or changes its priority if it is
+     * already in the heap.
+     */
+    public void put(int id, long priority) {
+        ensureId(id);
+        int pos = positions[id];
+        if (pos < 0) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            pos = size++;
+            heap[pos] = id;
+            positions[id] = pos;
+            priorities[id] = priority;
+            siftUp(pos);
+        } else {
+            long old = priorities[id];
+            priorities[id] = priority;
+            if (priority < old) {
+                siftUp(pos);
+            } else {
+                siftDown(pos);
+            }
+        }
+    }
+
+    /**
+     * @return the id with the lowest priority, without removing it
+     */
+    public int peek() {
+        return heap[0];
+    }
+
+    /**
+     * Removes and returns the id with the lowest priority.
+     */
+    public int poll() {
+        int id = heap[0];
+        positions[id] = -1;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            positions[heap[0]] = 0;
+            siftDown(0);
+        }
+        return id;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void ensureId(int id) {
+        if (id >= positions.length) {
+            int capacity = Math.max(id + 1, positions.length * 2);
+            int old = positions.length;
+            positions = Arrays.copyOf(positions, capacity);
+            Arrays.fill(positions, old, capacity, -1);
+            priorities = Arrays.copyOf(priorities, capacity);
+        }
+    }
+
+    private void siftUp(int pos) {
+        int id = heap[pos];
+        long priority = priorities[id];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            int parentId = heap[parent];
+            if (priorities[parentId] <= priority) {
+                break;
+            }
+            heap[pos] = parentId;
+            positions[parentId] = pos;
+            pos = parent;
+        }
+        heap[pos] = id;
+        positions[id] = pos;
+    }
+
+    private void siftDown(int pos) {
+        int id = heap[pos];
+        long priority = priorities[id];
+        int half = size >>> 1;
+        while (pos < half) {
+            int child = (2 * pos) + 1;
+            int right = child + 1;
+            if ((right < size) && (priorities[heap[right]] < priorities[heap[child]])) {
+                child = right;
+            }
+            if (priority <= priorities[heap[child]]) {
+                break;
+            }
+            heap[pos] = heap[child];
+            positions[heap[pos]] = pos;
+            pos = child;
+        }
+        heap[pos] = id;
+        positions[id] = pos;
+    }
+}
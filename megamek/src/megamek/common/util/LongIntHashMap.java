@@ -0,0 +1,116 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+
+package megamek.common.util;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from <code>long</code> keys to <code>int</code> values that
+ * doesn't box either, for search algorithms that track millions of states.
+ * It uses open addressing with linear probing; entries can't be removed
+ * individually.
+ */
+public class LongIntHashMap {
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private final int missingValue;
+    private long[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int size;
+    private int mask;
+
+    /**
+     * @param expectedSize the number of entries expected, to size the table
+     * @param missingValue the value returned by {@link #get(long)} for keys
+     *                     that aren't in the map
+     */
+    public LongIntHashMap(int expectedSize, int missingValue) {
+        this.missingValue = missingValue;
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9e3779b97f4a7c15L;
+        int i = (int) (hash ^ (hash >>> 32)) & mask;
+        while (used[i] && (keys[i] != key)) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    /**
+     * @return the value of the key, or the missing value given to the
+     *         constructor
+     */
+    public int get(long key) {
+        int i = slot(key);
+        return used[i] ? values[i] : missingValue;
+    }
+
+    public boolean containsKey(long key) {
+        return used[slot(key)];
+    }
+
+    /**
+     * Sets the value of the key.
+     */
+    public void put(long key, int value) {
+        int i = slot(key);
+        if (!used[i]) {
+            if (size + 1 > keys.length * LOAD_FACTOR) {
+                grow();
+                i = slot(key);
+            }
+            used[i] = true;
+            keys[i] = key;
+            size++;
+        }
+        values[i] = value;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(keys.length * 2);
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldUsed[j]) {
+                int i = slot(oldKeys[j]);
+                used[i] = true;
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+}
@@ -4093,7 +4093,7 @@ public class Server implements Runnable {
         // ok now I need to look at the damage rings - start at 2 and go to 7
         for (int i = 2; i < 8; i++) {
             int damageDice = (8 - i) * 2;
-            List<Coords> ring = Compute.coordsAtRange(centralPos, i);
+            List<Coords> ring = Compute.coordsAtRange(game.getBoard(), centralPos, i);
             for (Coords pos : ring) {
                 if (rearArc && !Compute.isInArc(centralPos, facing, pos, Compute.ARC_AFT)) {
                     continue;
@@ -14012,7 +14012,7 @@ public class Server implements Runnable {
                     }
                 }
                 for (int dist = 1; dist <= maxDist; dist++) {
-                    List<Coords> coords = Compute.coordsAtRange(e.getPosition(), dist);
+                    List<Coords> coords = Compute.coordsAtRange(game.getBoard(), e.getPosition(), dist);
                     for (Coords pos : coords) {
                         // Check that we're in the right arc
                         if (Compute.isInArc(game, e.getId(), e.getEquipmentNum(ams),
@@ -24326,7 +24326,7 @@ public class Server implements Runnable {
 
         // Handle surrounding coords
         for (int dist = 1; dist < maxDist; dist++) {
-            List<Coords> coords = Compute.coordsAtRange(position, dist);
+            List<Coords> coords = Compute.coordsAtRange(game.getBoard(), position, dist);
             for (Coords c : coords) {
                 hex = game.getBoard().getHex(c);
                 if ((hex != null) && hex.hasTerrainfactor()) {
@@ -0,0 +1,290 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+
+package megamek.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.ToIntBiFunction;
+
+import megamek.client.bot.princess.PathEnumerator;
+import megamek.client.bot.princess.Princess;
+import megamek.common.Board;
+import megamek.common.Configuration;
+import megamek.common.Coords;
+import megamek.common.Entity;
+import megamek.common.Game;
+import megamek.common.IBoard;
+import megamek.common.IGame;
+import megamek.common.MapSettings;
+import megamek.common.MechFileParser;
+import megamek.common.MovePath;
+import megamek.common.MovePath.MoveStepType;
+import megamek.common.Player;
+import megamek.common.Terrains;
+import megamek.common.loaders.EntityLoadingException;
+import megamek.common.logging.LogLevel;
+import megamek.common.pathfinder.BoardEdgePathFinder;
+import megamek.common.pathfinder.InfantryPathFinder;
+import megamek.common.pathfinder.LongestPathFinder;
+import megamek.common.pathfinder.ShortestPathFinder;
+import megamek.common.util.BoardUtilities;
+import megamek.common.util.MegaMekFile;
+
+/**
+ * This class times the path finders on some of the boards in data/boards with
+ * a unit of each movement mode from data/mechfiles, and writes the timings out
+ * in CSV format so they can be compared between versions.
+ * <p>
+ * Each unit starts near the middle of each board. Every path finder is run a
+ * few times to warm up and then timed over several more runs, of which the
+ * fastest, median and slowest times are written along with the number of
+ * paths found, which shows whether a change in time comes with a change in
+ * results.
+ * <p>
+ * Usage: PathfindingBenchmark [-w warmupRuns] [-r timedRuns] [outputFile]
+ */
+public class PathfindingBenchmark {
+
+    private static final String CSV_HEADER = "Finder,Board,Unit,Movement Mode,Runs,Min ms,Median ms,Max ms,Paths";
+
+    private static final BoardSpec[] BOARDS = {
+            new BoardSpec("Urban", 1, 1, "MapSet4/16x17 City Street Grid-Park 1.board"),
+            new BoardSpec("Woods", 1, 1, "MapSet4/16x17 Heavy Forest 1.board"),
+            new BoardSpec("Water", 1, 1, "MapSet4/16x17 Large Lakes 1.board"),
+            new BoardSpec("Multi-sheet", 2, 2, "GrassLands/16x17 Grasslands 1.board",
+                    "GrassLands/16x17 Grasslands 2.board", "GrassLands/16x17 Grasslands 3.board",
+                    "GrassLands/16x17 Grasslands 4.board") };
+
+    private static final String[] UNITS = {
+            "mechs/3039u/Shadow Hawk SHD-2H.mtf",
+            "mechs/3039u/Goliath GOL-1H.mtf",
+            "vehicles/3039u/Manticore Heavy Tank.blk",
+            "vehicles/3039u/Savannah Master Hovercraft.blk",
+            "infantry/TW/IS Platoons/Foot Platoon (Rifle).blk",
+            "infantry/TW/IS Platoons/Jump Platoon (Rifle).blk" };
+
+    private final List<Finder> finders = new ArrayList<>();
+    private int warmupRuns = 2;
+    private int timedRuns = 5;
+    private Princess princess;
+
+    /**
+     * The boards one or more sheets are loaded from, and how they are laid out.
+     */
+    private static class BoardSpec {
+        private final String name;
+        private final int sheetWidth;
+        private final int sheetHeight;
+        private final String[] files;
+
+        BoardSpec(String name, int sheetWidth, int sheetHeight, String... files) {
+            this.name = name;
+            this.sheetWidth = sheetWidth;
+            this.sheetHeight = sheetHeight;
+            this.files = files;
+        }
+    }
+
+    /**
+     * A path finder to time, run once for a unit and returning the number of
+     * paths it found, or -1 if it doesn't tell.
+     */
+    private static class Finder {
+        private final String name;
+        private final boolean infantryOnly;
+        private final ToIntBiFunction<Entity, IGame> run;
+
+        Finder(String name, boolean infantryOnly, ToIntBiFunction<Entity, IGame> run) {
+            this.name = name;
+            this.infantryOnly = infantryOnly;
+            this.run = run;
+        }
+    }
+
+    public static void main(String[] args) {
+        PathfindingBenchmark benchmark = new PathfindingBenchmark();
+        String outputFile = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("-w")) {
+                    benchmark.warmupRuns = Integer.parseInt(args[++i]);
+                } else if (args[i].equals("-r")) {
+                    benchmark.timedRuns = Integer.parseInt(args[++i]);
+                } else {
+                    outputFile = args[i];
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            System.out.println("Usage: PathfindingBenchmark [-w warmupRuns] [-r timedRuns] [outputFile]");
+            return;
+        }
+        benchmark.timedRuns = Math.max(1, benchmark.timedRuns);
+
+        try (PrintWriter out = (outputFile == null) ? new PrintWriter(System.out)
+                : new PrintWriter(outputFile, "UTF-8")) {
+            benchmark.run(out);
+        } catch (IOException e) {
+            System.out.println("Could not open file for output!");
+        }
+    }
+
+    private PathfindingBenchmark() {
+        finders.add(new Finder("ShortestPathFinder", false, (entity, game) -> {
+            ShortestPathFinder spf = ShortestPathFinder.newInstanceOfOneToAll(entity.getRunMP(),
+                    MoveStepType.FORWARDS, game);
+            spf.run(new MovePath(game, entity));
+            return spf.getAllComputedPathsUncategorized().size();
+        }));
+        finders.add(new Finder("LongestPathFinder", false, (entity, game) -> {
+            LongestPathFinder lpf = LongestPathFinder.newInstanceOfLongestPath(entity.getRunMPwithoutMASC(),
+                    MoveStepType.FORWARDS, game);
+            lpf.run(new MovePath(game, entity));
+            return lpf.getLongestComputedPaths().size();
+        }));
+        finders.add(new Finder("BoardEdgePathFinder", false, (entity, game) -> {
+            MovePath path = new BoardEdgePathFinder().findPathToEdge(entity);
+            return (path == null) ? 0 : 1;
+        }));
+        finders.add(new Finder("InfantryPathFinder", true, (entity, game) -> {
+            InfantryPathFinder ipf = InfantryPathFinder.getInstance(game);
+            ipf.run(new MovePath(game, entity));
+            return ipf.getAllComputedPathsUncategorized().size();
+        }));
+        finders.add(new Finder("PathEnumerator", false, (entity, game) -> {
+            new PathEnumerator(princess, game).recalculateMovesFor(entity);
+            return -1;
+        }));
+    }
+
+    private void run(PrintWriter out) {
+        // the path enumerator only uses the bot for its settings and logging; it never connects.
+        // The units belong to another player, as long-range paths for the bot's own units
+        // depend on its unit behavior, which needs a game in progress.
+        princess = new Princess("Benchmark", "localhost", 0, LogLevel.ERROR);
+        princess.getGame().addPlayer(1, new Player(1, "Benchmark Bot"));
+        princess.setLocalPlayerNumber(1);
+        try {
+            out.println(CSV_HEADER);
+            for (BoardSpec spec : BOARDS) {
+                IBoard board = loadBoard(spec);
+                if (board == null) {
+                    continue;
+                }
+                for (String unit : UNITS) {
+                    runUnit(out, spec.name, board, unit);
+                }
+            }
+        } finally {
+            princess.die();
+        }
+    }
+
+    private static IBoard loadBoard(BoardSpec spec) {
+        IBoard[] sheets = new IBoard[spec.files.length];
+        for (int i = 0; i < sheets.length; i++) {
+            File file = new MegaMekFile(Configuration.boardsDir(), spec.files[i]).getFile();
+            if (!file.exists()) {
+                System.out.println("Could not find board " + file);
+                return null;
+            }
+            sheets[i] = new Board();
+            sheets[i].load(file);
+        }
+        if (sheets.length == 1) {
+            return sheets[0];
+        }
+        return BoardUtilities.combine(sheets[0].getWidth(), sheets[0].getHeight(), spec.sheetWidth,
+                spec.sheetHeight, sheets, Collections.nCopies(sheets.length, false), MapSettings.MEDIUM_GROUND);
+    }
+
+    private void runUnit(PrintWriter out, String boardName, IBoard board, String unitFile) {
+        Game game = new Game();
+        game.setBoard(board);
+        Player player = new Player(0, "Benchmark");
+        game.addPlayer(0, player);
+
+        Entity entity;
+        try {
+            entity = new MechFileParser(new File(Configuration.unitsDir(), unitFile)).getEntity();
+        } catch (EntityLoadingException e) {
+            System.out.println("Could not load unit " + unitFile + ": " + e.getMessage());
+            return;
+        }
+        entity.setOwner(player);
+        entity.setGame(game);
+        game.addEntity(entity);
+        entity.setDeployed(true);
+        entity.setFacing(0);
+        entity.setPosition(findStartingHex(entity, board));
+        if (entity.getPosition() == null) {
+            System.out.println("No place for " + entity.getShortName() + " on " + boardName);
+            return;
+        }
+
+        for (Finder finder : finders) {
+            if (finder.infantryOnly && !entity.hasETypeFlag(Entity.ETYPE_INFANTRY)) {
+                continue;
+            }
+            for (int i = 0; i < warmupRuns; i++) {
+                finder.run.applyAsInt(entity, game);
+            }
+            double[] times = new double[timedRuns];
+            int paths = -1;
+            for (int i = 0; i < timedRuns; i++) {
+                long start = System.nanoTime();
+                paths = finder.run.applyAsInt(entity, game);
+                times[i] = (System.nanoTime() - start) / 1000000.0;
+            }
+            Arrays.sort(times);
+            out.println(String.join(",", finder.name, csv(boardName), csv(entity.getShortName()),
+                    entity.getMovementModeAsString(), String.valueOf(timedRuns),
+                    String.format(Locale.ROOT, "%.3f", times[0]),
+                    String.format(Locale.ROOT, "%.3f", times[timedRuns / 2]),
+                    String.format(Locale.ROOT, "%.3f", times[timedRuns - 1]),
+                    (paths < 0) ? "" : String.valueOf(paths)));
+            out.flush();
+        }
+    }
+
+    /**
+     * @return the dry hex closest to the middle of the board that the unit
+     *         may stand in, or null if there isn't one
+     */
+    private static Coords findStartingHex(Entity entity, IBoard board) {
+        Coords middle = new Coords(board.getWidth() / 2, board.getHeight() / 2);
+        Coords best = null;
+        for (int x = 0; x < board.getWidth(); x++) {
+            for (int y = 0; y < board.getHeight(); y++) {
+                Coords coords = new Coords(x, y);
+                if (((best == null) || (middle.distance(coords) < middle.distance(best)))
+                        && !entity.isLocationProhibited(coords)
+                        && !board.getHex(coords).containsTerrain(Terrains.WATER)) {
+                    best = coords;
+                }
+            }
+        }
+        return best;
+    }
+
+    private static String csv(String value) {
+        return value.contains(",") ? "\"" + value.replace("\"", "\"\"") + "\"" : value;
+    }
+}
@@ -22,6 +22,7 @@ import megamek.common.Board;
 import megamek.common.Building;
 import megamek.common.ConvFighter;
 import megamek.common.Coords;
+import megamek.common.CoordsTable;
 import megamek.common.Crew;
 import megamek.common.Entity;
 import megamek.common.EntityMovementType;
@@ -1249,6 +1250,8 @@ public class BasicPathRankerTest {
         Mockito.when(mockBoard.getHex(Mockito.any(Coords.class))).thenReturn(mockHex);
         Mockito.when(mockBoard.contains(Mockito.any(Coords.class))).thenReturn(true);
         Mockito.when(mockBoard.inSpace()).thenReturn(false);
+        Mockito.when(mockBoard.getCoordsTable())
+               .thenReturn(new CoordsTable(Board.DEFAULT_BOARD_WIDTH, Board.DEFAULT_BOARD_HEIGHT));
         
         return mockBoard;
     }
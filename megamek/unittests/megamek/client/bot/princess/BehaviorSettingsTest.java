@@ -216,6 +216,8 @@ public class BehaviorSettingsTest {
         Assert.assertEquals(BehaviorSettingsTestConstants.GOOD_HERD_MENTALITY_INDEX,
                 behaviorSettings.getHerdMentalityIndex());
         Assert.assertEquals(BehaviorSettingsTestConstants.GOOD_BRAVERY_INDEX, behaviorSettings.getBraveryIndex());
+        Assert.assertEquals(BehaviorSettingsTestConstants.GOOD_PATH_ENUMERATION_THREADS,
+                behaviorSettings.getPathEnumerationThreads());
         Assert.assertEquals(expectedTargets, behaviorSettings.getStrategicBuildingTargets());
         Assert.assertEquals(expectedUnits, behaviorSettings.getPriorityUnitTargets());
 
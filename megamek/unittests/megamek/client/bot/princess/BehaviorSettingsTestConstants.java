@@ -31,6 +31,7 @@ public class BehaviorSettingsTestConstants {
     public static final int GOOD_SELF_PRESERVATION_INDEX = 5;
     public static final int GOOD_HERD_MENTALITY_INDEX = 5;
     public static final int GOOD_BRAVERY_INDEX = 5;
+    public static final int GOOD_PATH_ENUMERATION_THREADS = 2;
     public static final String STRATEGIC_TARGET_1 = "1234";
     public static final String STRATEGIC_TARGET_2 = "9876";
     public static final int PRORITY_TARGET = 100;
@@ -48,6 +49,7 @@ public class BehaviorSettingsTestConstants {
             "    <selfPreservationIndex>" + GOOD_SELF_PRESERVATION_INDEX + "</selfPreservationIndex>\n" +
             "    <herdMentalityIndex>" + GOOD_HERD_MENTALITY_INDEX + "</herdMentalityIndex>\n" +
             "    <braveryIndex>" + GOOD_BRAVERY_INDEX + "</braveryIndex>\n" +
+            "    <pathEnumerationThreads>" + GOOD_PATH_ENUMERATION_THREADS + "</pathEnumerationThreads>\n" +
             "    <strategicTargets>\n" +
             "        <target>" + STRATEGIC_TARGET_1 + "</target>\n" +
             "        <target>" + STRATEGIC_TARGET_2 + "</target>\n" +
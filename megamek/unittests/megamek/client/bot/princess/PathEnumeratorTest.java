@@ -0,0 +1,158 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+package megamek.client.bot.princess;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import megamek.common.Board;
+import megamek.common.Coords;
+import megamek.common.Entity;
+import megamek.common.Game;
+import megamek.common.Hex;
+import megamek.common.MechFileParser;
+import megamek.common.MovePath;
+import megamek.common.Player;
+import megamek.common.logging.LogLevel;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class PathEnumeratorTest {
+
+    private static final String[] UNITS = {
+            "data/mechfiles/mechs/3039u/Shadow Hawk SHD-2H.mtf",
+            "data/mechfiles/mechs/3039u/Goliath GOL-1H.mtf",
+            "data/mechfiles/vehicles/3039u/Manticore Heavy Tank.blk",
+            "data/mechfiles/vehicles/3039u/Savannah Master Hovercraft.blk" };
+
+    private static final String[] TERRAINS = { "", "", "", "woods:1", "woods:2", "rough:1", "water:1" };
+
+    private static Game createGame(List<Entity> units) throws Exception {
+        Board board = new Board(16, 17);
+        Random random = new Random(5);
+        for (int x = 0; x < board.getWidth(); x++) {
+            for (int y = 0; y < board.getHeight(); y++) {
+                String terrain = TERRAINS[random.nextInt(TERRAINS.length)];
+                int level = terrain.startsWith("water") ? 0 : random.nextInt(3);
+                board.setHex(x, y, new Hex(level, terrain, "", new Coords(x, y)));
+            }
+        }
+        Game game = new Game();
+        game.setBoard(board);
+        Player player = new Player(0, "Test");
+        game.addPlayer(0, player);
+        for (int i = 0; i < UNITS.length; i++) {
+            Entity entity = new MechFileParser(new File(UNITS[i])).getEntity();
+            entity.setOwner(player);
+            game.addEntity(entity);
+            entity.setDeployed(true);
+            entity.setFacing(i);
+            Coords position = new Coords(3 + (3 * i), 4 + (2 * i));
+            board.setHex(position.getX(), position.getY(), new Hex(0, "", "", position));
+            entity.setPosition(position);
+            units.add(entity);
+        }
+        return game;
+    }
+
+    private static List<String> describePaths(List<MovePath> paths) {
+        return paths.stream().map(MovePath::toString).sorted().collect(Collectors.toList());
+    }
+
+    private static void assertSameMoves(List<Entity> units, PathEnumerator expected, PathEnumerator actual) {
+        for (Entity unit : units) {
+            List<MovePath> expectedPaths = expected.getUnitPaths().get(unit.getId());
+            List<MovePath> actualPaths = actual.getUnitPaths().get(unit.getId());
+            if (expectedPaths == null) {
+                Assert.assertNull(actualPaths);
+            } else {
+                Assert.assertEquals(unit.getShortName(), describePaths(expectedPaths), describePaths(actualPaths));
+            }
+            Assert.assertFalse(expected.getUnitPotentialLocations().get(unit.getId()).isEmpty());
+            Assert.assertEquals(unit.getShortName(), expected.getUnitPotentialLocations().get(unit.getId()),
+                    actual.getUnitPotentialLocations().get(unit.getId()));
+            Assert.assertEquals(unit.getShortName(), expected.getUnitMovableAreas().get(unit.getId()),
+                    actual.getUnitMovableAreas().get(unit.getId()));
+        }
+        Assert.assertEquals(expected.getUnitPaths().keySet(), actual.getUnitPaths().keySet());
+        Assert.assertEquals(expected.getUnitMovableAreas().keySet(), actual.getUnitMovableAreas().keySet());
+    }
+
+    private static Princess createPrincess(int localPlayer) {
+        Princess princess = new Princess("Test", "localhost", 0, LogLevel.OFF);
+        princess.getGame().addPlayer(localPlayer, new Player(localPlayer, "Test Bot"));
+        princess.setLocalPlayerNumber(localPlayer);
+        return princess;
+    }
+
+    @Test
+    public void testParallelEnumerationMatchesSequential() throws Exception {
+        List<Entity> units = new ArrayList<>();
+        Game game = createGame(units);
+        // the bot's own units keep their paths; as they have moved, they need no long-range paths
+        for (Entity unit : units) {
+            unit.setDone(true);
+        }
+        PathEnumerator enumerator = assertParallelMatchesSequential(units, game, createPrincess(0));
+        for (Entity unit : units) {
+            Assert.assertFalse(enumerator.getUnitPaths().get(unit.getId()).isEmpty());
+        }
+    }
+
+    @Test
+    public void testOtherPlayersUnitsKeepOnlyTheirLocations() throws Exception {
+        List<Entity> units = new ArrayList<>();
+        Game game = createGame(units);
+        PathEnumerator enumerator = assertParallelMatchesSequential(units, game, createPrincess(1));
+        // their paths would keep entity objects the client has since replaced
+        for (Entity unit : units) {
+            Assert.assertNull(enumerator.getUnitPaths().get(unit.getId()));
+        }
+        Assert.assertEquals(units.size(), enumerator.getReachabilityCache().size());
+    }
+
+    /**
+     * @return the enumerator that enumerated the units one at a time
+     */
+    private static PathEnumerator assertParallelMatchesSequential(List<Entity> units, Game game,
+            Princess princess) throws Exception {
+        try {
+            BehaviorSettings behavior = princess.getBehaviorSettings().getCopy();
+            behavior.setPathEnumerationThreads(1);
+            princess.setBehaviorSettings(behavior);
+            PathEnumerator sequential = new PathEnumerator(princess, game);
+            sequential.recalculateMovesFor(units);
+
+            behavior.setPathEnumerationThreads(4);
+            princess.setBehaviorSettings(behavior);
+            PathEnumerator parallel = new PathEnumerator(princess, game);
+            parallel.recalculateMovesFor(units);
+            assertSameMoves(units, sequential, parallel);
+
+            // once shut down, the moves are still recalculated, one unit at a time
+            parallel.shutdown();
+            parallel.recalculateMovesFor(units);
+            assertSameMoves(units, sequential, parallel);
+            return sequential;
+        } finally {
+            princess.die();
+        }
+    }
+}
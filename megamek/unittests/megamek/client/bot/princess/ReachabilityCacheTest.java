@@ -0,0 +1,92 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+package megamek.client.bot.princess;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import megamek.common.Board;
+import megamek.common.Coords;
+import megamek.common.Entity;
+import megamek.common.Hex;
+import megamek.common.IGame;
+import megamek.common.MovePath;
+import megamek.common.Terrain;
+import megamek.common.Terrains;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.Mockito;
+
+@RunWith(JUnit4.class)
+public class ReachabilityCacheTest {
+
+    private static Entity mockEntity(int id, Coords position) {
+        Entity entity = Mockito.mock(Entity.class);
+        Mockito.when(entity.getId()).thenReturn(id);
+        Mockito.when(entity.getPosition()).thenReturn(position);
+        Mockito.when(entity.getWalkMP()).thenReturn(4);
+        Mockito.when(entity.getRunMP()).thenReturn(6);
+        return entity;
+    }
+
+    @Test
+    public void testEntriesAreInvalidatedByChangesInTheEnvelope() {
+        Board board = new Board(20, 20);
+        for (int x = 0; x < 20; x++) {
+            for (int y = 0; y < 20; y++) {
+                board.setHex(x, y, new Hex());
+            }
+        }
+        List<Entity> entities = new ArrayList<>();
+        IGame game = Mockito.mock(IGame.class);
+        Mockito.when(game.getBoard()).thenReturn(board);
+        Mockito.when(game.getEntitiesVector()).thenReturn(entities);
+
+        Entity mover = mockEntity(1, new Coords(5, 5));
+        entities.add(mover);
+        MovePath path = Mockito.mock(MovePath.class);
+        Mockito.when(path.getCoordsSet()).thenReturn(new HashSet<>(
+                Arrays.asList(new Coords(5, 5), new Coords(5, 6), new Coords(5, 7))));
+
+        ReachabilityCache<String> cache = new ReachabilityCache<>();
+        cache.put(mover, game, "moves", Collections.singletonList(path));
+        Assert.assertEquals("moves", cache.get(mover, game));
+
+        // a unit far away and a terrain change outside the envelope don't matter
+        Entity distant = mockEntity(2, new Coords(15, 15));
+        entities.add(distant);
+        board.setHex(15, 14, new Hex(0, new Terrain[] { new Terrain(Terrains.WOODS, 1) }, null));
+        Assert.assertEquals("moves", cache.get(mover, game));
+
+        // a unit stepping next to the path does
+        Mockito.when(distant.getPosition()).thenReturn(new Coords(6, 7));
+        Assert.assertNull(cache.get(mover, game));
+        Mockito.when(distant.getPosition()).thenReturn(new Coords(15, 15));
+        Assert.assertEquals("moves", cache.get(mover, game));
+
+        // so does terrain on the path
+        board.setHex(5, 8, new Hex(0, new Terrain[] { new Terrain(Terrains.WOODS, 1) }, null));
+        Assert.assertNull(cache.get(mover, game));
+
+        // and the mover's own state
+        cache.put(mover, game, "moves", Collections.singletonList(path));
+        Mockito.when(mover.getWalkMP()).thenReturn(3);
+        Assert.assertNull(cache.get(mover, game));
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+package megamek.common;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class CoordsTableTest {
+
+    @Test
+    public void testCanonicalInstances() {
+        CoordsTable table = new CoordsTable(16, 17);
+
+        Coords c = table.get(3, 4);
+        Assert.assertSame(c, table.get(3, 4));
+        Assert.assertSame(c, table.intern(new Coords(3, 4)));
+        Assert.assertEquals(new Coords(3, 4), c);
+
+        // margin hexes are interned as well
+        Assert.assertSame(table.get(-1, -2), table.get(-1, -2));
+        Assert.assertEquals(CoordsTable.NO_INDEX, table.indexOf(-3, 0));
+        Assert.assertEquals(new Coords(-3, 0), table.get(-3, 0));
+    }
+
+    @Test
+    public void testNeighboursMatchTranslated() {
+        CoordsTable table = new CoordsTable(5, 6);
+        for (int index = 0; index < table.size(); index++) {
+            Coords c = table.get(index);
+            Assert.assertEquals(index, table.indexOf(c));
+            for (int dir = 0; dir < 6; dir++) {
+                Coords expected = c.translated(dir);
+                Assert.assertEquals(expected, table.translated(c, dir));
+                int next = table.neighbour(index, dir);
+                if (next == CoordsTable.NO_INDEX) {
+                    Assert.assertEquals(CoordsTable.NO_INDEX, table.indexOf(expected));
+                } else {
+                    Assert.assertEquals(expected, table.get(next));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testOnBoard() {
+        CoordsTable table = new CoordsTable(5, 6);
+        Assert.assertTrue(table.isOnBoard(table.indexOf(0, 0)));
+        Assert.assertTrue(table.isOnBoard(table.indexOf(4, 5)));
+        Assert.assertFalse(table.isOnBoard(table.indexOf(5, 5)));
+        Assert.assertFalse(table.isOnBoard(table.indexOf(-1, 0)));
+        Assert.assertEquals((5 * 2) + 3, table.boardIndex(table.indexOf(3, 2)));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+package megamek.common;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class DamageDistributionTest {
+
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void testHitChance() {
+        Assert.assertEquals(1.0, DamageDistribution.hitChance(2, false), DELTA);
+        Assert.assertEquals(15.0 / 36, DamageDistribution.hitChance(8, false), DELTA);
+        Assert.assertEquals(1.0 / 36, DamageDistribution.hitChance(12, false), DELTA);
+        Assert.assertEquals(0.0, DamageDistribution.hitChance(13, false), DELTA);
+        // best two of 3d6 makes 12 on three sixes or two sixes and anything else
+        Assert.assertEquals(16.0 / 216, DamageDistribution.hitChance(12, true), DELTA);
+    }
+
+    @Test
+    public void testClusterHits() {
+        // 2 missiles: one hit on 2-7, two on 8-12
+        DamageDistribution hits = DamageDistribution.clusterHits(2);
+        Assert.assertEquals(21.0 / 36, hits.probability(1), DELTA);
+        Assert.assertEquals(15.0 / 36, hits.probability(2), DELTA);
+        Assert.assertEquals(hits.mean(), DamageDistribution.expectedClusterHits(2), DELTA);
+
+        // a streak roll of 11 hits with every missile
+        Assert.assertEquals(1.0, DamageDistribution.clusterHits(6, 0, false, true, false)
+                .probability(6), DELTA);
+
+        // advanced AMS can push the roll below 2 for no hits at all
+        DamageDistribution ams = DamageDistribution.clusterHits(10, -4, false, false, true);
+        Assert.assertEquals(DamageDistribution.hitChance(6, false), 1.0 - ams.probability(0), DELTA);
+        Assert.assertEquals(0.0, DamageDistribution.clusterHits(10, -4, false, false, false)
+                .probability(0), DELTA);
+
+        // racks larger than the table roll separately for each part
+        Assert.assertEquals(DamageDistribution.expectedClusterHits(30)
+                + DamageDistribution.expectedClusterHits(5),
+                DamageDistribution.expectedClusterHits(35), DELTA);
+        Assert.assertEquals(1.0, DamageDistribution.clusterHits(45, 2, true, false, false)
+                .probabilityAtLeast(0), DELTA);
+    }
+
+    @Test
+    public void testAttacks() {
+        // an SRM 2 hitting on 8 for 2 damage per missile
+        double chance = DamageDistribution.hitChance(8, false);
+        DamageDistribution srm = DamageDistribution.ofAttack(chance,
+                DamageDistribution.clusterHits(2), 2);
+        Assert.assertEquals(1.0 - chance, srm.probability(0), DELTA);
+        Assert.assertEquals(chance * (15.0 / 36), srm.probability(4), DELTA);
+        Assert.assertEquals(0.0, srm.probability(3), DELTA);
+
+        // a medium laser alongside it
+        DamageDistribution laser = DamageDistribution.ofAttack(chance,
+                DamageDistribution.certain(1), 5);
+        DamageDistribution volley = srm.plus(laser);
+        Assert.assertEquals(9, volley.getMaxValue());
+        Assert.assertEquals(srm.mean() + laser.mean(), volley.mean(), DELTA);
+        Assert.assertEquals(chance * chance * (15.0 / 36), volley.probabilityAtLeast(9), DELTA);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+package megamek.common;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.Mockito;
+
+@RunWith(JUnit4.class)
+public class ECMFieldTest {
+
+    /**
+     * The per-unit loop ComputeECM.getECMEffects used before the fields were
+     * indexed per hex.
+     */
+    private static ECMInfo loopECMEffects(Entity ae, Coords a, Coords b, Comparator<ECMInfo> ecmComparator,
+            List<ECMInfo> allEcmInfo) {
+        ECMInfo worstECMEffects = null;
+        for (Coords c : Coords.intervening(a, b)) {
+            ECMInfo affectedInfo = null;
+            if (c.equals(ae.getPosition()) && ae.isINarcedWith(INarcPod.ECM)) {
+                affectedInfo = new ECMInfo(0, 1, ae.getOwner(), c);
+            }
+            for (ECMInfo ecmInfo : allEcmInfo) {
+                int dist = c.distance(ecmInfo.getPos());
+                if (dist <= ecmInfo.getRange()) {
+                    if (affectedInfo == null) {
+                        affectedInfo = new ECMInfo(0, 0, ae.getOwner(), c);
+                    }
+                    affectedInfo.addOpposingECMEffects(ecmInfo);
+                }
+            }
+            if ((worstECMEffects == null && affectedInfo != null)
+                    || (affectedInfo != null && ecmComparator.compare(affectedInfo, worstECMEffects) > 0)) {
+                worstECMEffects = affectedInfo;
+            }
+        }
+        return worstECMEffects;
+    }
+
+    @Test
+    public void testMatchesPerUnitLoop() {
+        Board board = new Board(20, 20);
+        IPlayer friend = Mockito.mock(IPlayer.class);
+        IPlayer enemy = Mockito.mock(IPlayer.class);
+        Mockito.when(friend.isEnemyOf(enemy)).thenReturn(true);
+        Mockito.when(enemy.isEnemyOf(friend)).thenReturn(true);
+
+        Random random = new Random(7);
+        List<ECMInfo> allEcmInfo = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            Coords pos = new Coords(random.nextInt(24) - 2, random.nextInt(24) - 2);
+            IPlayer owner = random.nextBoolean() ? friend : enemy;
+            ECMInfo info;
+            switch (random.nextInt(4)) {
+                case 0:
+                    info = new ECMInfo(6, 1, owner, pos);
+                    break;
+                case 1:
+                    info = new ECMInfo(6, pos, owner, 0, 1);
+                    break;
+                case 2:
+                    info = new ECMInfo(6, 0, owner, pos);
+                    info.setECCMStrength(1);
+                    break;
+                default:
+                    // chaff
+                    info = new ECMInfo(1, pos, null, 1, 0);
+                    break;
+            }
+            allEcmInfo.add(info);
+        }
+        ECMField field = new ECMField(allEcmInfo, board);
+
+        Entity ae = Mockito.mock(Entity.class);
+        Mockito.when(ae.getOwner()).thenReturn(friend);
+        Mockito.when(ae.getPosition()).thenReturn(new Coords(5, 5));
+        Mockito.when(ae.isINarcedWith(INarcPod.ECM)).thenReturn(true);
+
+        int affected = 0;
+        for (Comparator<ECMInfo> comparator : new Comparator[] { new ECMInfo.ECMComparator(),
+                new ECMInfo.ECCMComparator() }) {
+            for (int i = 0; i < 500; i++) {
+                Coords a = (i % 10 == 0) ? new Coords(5, 5) : new Coords(random.nextInt(20), random.nextInt(20));
+                Coords b = new Coords(random.nextInt(20), random.nextInt(20));
+                ECMInfo expected = loopECMEffects(ae, a, b, comparator, allEcmInfo);
+                Assert.assertEquals(expected, field.getECMEffects(ae, a, b, comparator));
+                if (expected != null) {
+                    affected++;
+                }
+            }
+        }
+        Assert.assertTrue(affected > 0);
+    }
+
+    @Test
+    public void testGameFieldIsResetOnEquipmentChanges() throws Exception {
+        Game game = new Game();
+        game.setBoard(new Board(16, 17));
+        Player player = new Player(0, "Test");
+        game.addPlayer(0, player);
+        Entity caesar = new MechFileParser(new File("data/mechfiles/mechs/3050U/Caesar CES-3S.mtf"))
+                .getEntity();
+        caesar.setOwner(player);
+        game.addEntity(caesar);
+        caesar.setDeployed(true);
+        caesar.setPosition(new Coords(8, 8));
+
+        ECMField field = game.getECMField();
+        Assert.assertEquals(1, field.getAllECMInfo().size());
+        Assert.assertSame(field, game.getECMField());
+
+        caesar.setShutDown(true);
+        field = game.getECMField();
+        Assert.assertTrue(field.getAllECMInfo().isEmpty());
+
+        caesar.setShutDown(false);
+        field = game.getECMField();
+        Assert.assertEquals(1, field.getAllECMInfo().size());
+
+        caesar.setFacing(3);
+        Assert.assertNotSame(field, game.getECMField());
+
+        for (Mounted m : caesar.getMisc()) {
+            if (m.getType().hasFlag(MiscType.F_ECM)) {
+                m.setDestroyed(true);
+            }
+        }
+        Assert.assertTrue(game.getECMField().getAllECMInfo().isEmpty());
+    }
+}
@@ -24,6 +24,7 @@ import org.junit.runners.JUnit4;
 import org.mockito.Mockito;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.io.File;
 
 /**
@@ -97,5 +98,34 @@ public class EntityTest {
             TestCase.fail(exc.getMessage());
         }
     }
-    
+
+    @Test
+    public void testEquipmentIndex() throws Exception {
+        File f = new File("data/mechfiles/mechs/3050U/Exterminator EXT-4A.mtf");
+        Entity e = new MechFileParser(f).getEntity();
+
+        List<Mounted> sinks = new ArrayList<>();
+        for (Mounted m : e.getMisc()) {
+            if (m.getType().hasFlag(MiscType.F_HEAT_SINK)) {
+                sinks.add(m);
+            }
+        }
+        TestCase.assertFalse(sinks.isEmpty());
+        TestCase.assertEquals(sinks, e.getMiscWithFlag(MiscType.F_HEAT_SINK));
+
+        // changes made directly to the lists are picked up
+        Mounted sink = sinks.remove(0);
+        e.getMisc().remove(sink);
+        TestCase.assertEquals(sinks, e.getMiscWithFlag(MiscType.F_HEAT_SINK));
+        e.getMisc().add(sink);
+        TestCase.assertTrue(e.getMiscWithFlag(MiscType.F_HEAT_SINK).contains(sink));
+
+        // as are mounts moving to another location
+        int location = sink.getLocation();
+        TestCase.assertTrue(e.getEquipmentAt(location).contains(sink));
+        int newLocation = (location == Mech.LOC_HEAD) ? Mech.LOC_CT : Mech.LOC_HEAD;
+        sink.setLocation(newLocation);
+        TestCase.assertFalse(e.getEquipmentAt(location).contains(sink));
+        TestCase.assertTrue(e.getEquipmentAt(newLocation).contains(sink));
+    }
 }
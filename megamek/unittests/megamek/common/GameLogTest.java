@@ -0,0 +1,118 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+package megamek.common;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class GameLogTest {
+
+    @Rule
+    public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+    private static List<String> readLines(InputStream in) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    @Test
+    public void testRotatedLogsKeepAllEntries() throws Exception {
+        GameLog log = new GameLog(tmpFolder.getRoot(), "gamelog-test.html", 200, true,
+                GameLog.Durability.SYNC, new LinkedBlockingQueue<>(GameLog.QUEUE_CAPACITY));
+        File file = log.getLogFile();
+        Assert.assertNotNull(file);
+        for (int i = 0; i < 40; i++) {
+            log.append("entry " + i);
+        }
+        log.flush();
+        log.close();
+
+        List<String> lines = new ArrayList<>();
+        int rotations = 1;
+        File rotated;
+        while ((rotated = new File(file.getPath() + "." + rotations + ".gz")).exists()) {
+            lines.addAll(readLines(new GZIPInputStream(new FileInputStream(rotated))));
+            rotations++;
+        }
+        lines.addAll(readLines(new FileInputStream(file)));
+        Assert.assertTrue(rotations > 2);
+        Assert.assertEquals(41, lines.size());
+        Assert.assertTrue(lines.get(0).startsWith("<pre>Log file opened"));
+        for (int i = 0; i < 40; i++) {
+            Assert.assertEquals("<pre>entry " + i + "</pre>", lines.get(i + 1));
+        }
+    }
+
+    @Test
+    public void testFlushReturnsWhenClosedMeanwhile() throws Exception {
+        // the log is closed after flush() found it open, but before its
+        // request is queued, so the request ends up behind the close
+        AtomicReference<GameLog> log = new AtomicReference<>();
+        BlockingQueue<Object> queue = new LinkedBlockingQueue<Object>(GameLog.QUEUE_CAPACITY) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public void put(Object entry) throws InterruptedException {
+                if (entry instanceof CountDownLatch) {
+                    try {
+                        log.get().close();
+                    } catch (IOException ex) {
+                        throw new AssertionError(ex);
+                    }
+                }
+                super.put(entry);
+            }
+        };
+        log.set(new GameLog(tmpFolder.getRoot(), "gamelog-flush-test.html", 0, false,
+                GameLog.Durability.FLUSH, queue));
+        Assert.assertNotNull(log.get().getLogFile());
+
+        Thread flusher = new Thread(() -> {
+            try {
+                log.get().flush();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        flusher.setDaemon(true);
+        flusher.start();
+        flusher.join(10000);
+        Assert.assertFalse("flush() still waits after close()", flusher.isAlive());
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+package megamek.common;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Vector;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class GameReportsTest {
+
+    private static final int[] MESSAGE_IDS = { 1000, 1010, 1025 };
+
+    private static Vector<Report> roundReports(int round) {
+        Vector<Report> reports = new Vector<>();
+        for (int i = 0; i < 3; i++) {
+            Report r = new Report(MESSAGE_IDS[i], Report.PUBLIC);
+            r.subject = round;
+            r.add(round * 10 + i);
+            reports.addElement(r);
+        }
+        return reports;
+    }
+
+    private static void assertRound(int round, Vector<Report> reports) {
+        Assert.assertEquals(3, reports.size());
+        for (int i = 0; i < 3; i++) {
+            Report r = reports.elementAt(i);
+            Assert.assertEquals(MESSAGE_IDS[i], r.messageId);
+            Assert.assertEquals(Report.PUBLIC, r.type);
+            Assert.assertEquals(round, r.subject);
+            Assert.assertTrue(r.getText().contains(String.valueOf((round * 10) + i)));
+        }
+    }
+
+    @Test
+    public void testOldRoundsAreReadBack() throws Exception {
+        GameReports gameReports = new GameReports();
+        for (int round = 1; round <= 8; round++) {
+            gameReports.add(round, roundReports(round));
+        }
+        // late reports for a round that was already written out
+        gameReports.add(2, roundReports(2));
+        Assert.assertEquals(6, gameReports.get(2).size());
+
+        for (int round = 1; round <= 8; round++) {
+            if (round != 2) {
+                assertRound(round, gameReports.get(round));
+            }
+        }
+        Assert.assertEquals(8, gameReports.get().size());
+        assertRound(1, gameReports.get().elementAt(0));
+
+        // saved games contain every round
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(gameReports);
+        }
+        GameReports loaded;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            loaded = (GameReports) in.readObject();
+        }
+        Assert.assertEquals(8, loaded.get().size());
+        Assert.assertEquals(3, loaded.get(1).size());
+        gameReports.clear();
+        Assert.assertTrue(gameReports.get().isEmpty());
+    }
+
+    @Test
+    public void testSetKeepsTheCallersVector() {
+        Vector<Vector<Report>> all = new Vector<>();
+        for (int round = 1; round <= 8; round++) {
+            all.addElement(roundReports(round));
+        }
+        GameReports gameReports = new GameReports();
+        gameReports.set(all);
+
+        // writing the old rounds out must not touch the vector the client keeps reading
+        Assert.assertEquals(8, all.size());
+        for (int round = 1; round <= 8; round++) {
+            assertRound(round, all.elementAt(round - 1));
+            assertRound(round, gameReports.get(round));
+        }
+        gameReports.add(9, roundReports(9));
+        Assert.assertEquals(8, all.size());
+        assertRound(1, all.elementAt(0));
+        Assert.assertEquals(9, gameReports.get().size());
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+package megamek.common;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class GameSnapshotTest {
+
+    @Test
+    public void testSnapshotSharesUnchangedUnits() {
+        Game game = new Game();
+        BipedMech first = new BipedMech();
+        BipedMech second = new BipedMech();
+        game.addEntity(first);
+        game.addEntity(second);
+        first.setPosition(new Coords(1, 1));
+
+        GameSnapshot snapshot = game.snapshot();
+        Assert.assertEquals(2, snapshot.getEntities().size());
+        Assert.assertEquals(new Coords(1, 1), snapshot.getEntity(first.getId()).getPosition());
+        Assert.assertSame(snapshot, game.snapshot());
+
+        second.heat = 7;
+        GameSnapshot next = game.snapshot();
+        Assert.assertNotSame(snapshot, next);
+        Assert.assertSame(snapshot.getEntity(first.getId()), next.getEntity(first.getId()));
+        Assert.assertEquals(0, snapshot.getEntity(second.getId()).getHeat());
+        Assert.assertEquals(7, next.getEntity(second.getId()).getHeat());
+
+        game.removeEntity(first.getId(), IEntityRemovalConditions.REMOVE_SALVAGEABLE);
+        Assert.assertNull(game.snapshot().getEntity(first.getId()));
+        Assert.assertNotNull(next.getEntity(first.getId()));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+package megamek.common;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class HexGeometryTest {
+
+    /** The old direction: the angle from the absolute hex positions, rounded. */
+    private static double oldSides(Coords src, Coords dest) {
+        return HexGeometry.computeRadian(src, dest) / Coords.HEXSIDE;
+    }
+
+    private static boolean isTie(double sides) {
+        return Math.abs(sides - Math.floor(sides) - 0.5) < 1e-6;
+    }
+
+    /** The old Coords.intervening, which traced the line from the absolute positions. */
+    private static List<Coords> oldIntervening(Coords src, Coords dest, boolean split) {
+        IdealHex iSrc = new IdealHex(src);
+        IdealHex iDest = new IdealHex(dest);
+
+        int[] directions = new int[3];
+        int centerDirection = (int) Math.round(oldSides(src, dest)) % 6;
+        if (split) {
+            centerDirection = (int) Math.round(HexGeometry.computeRadian(src, dest) + 0.0001
+                    / Coords.HEXSIDE) % 6;
+        }
+        directions[2] = centerDirection;
+        directions[1] = (centerDirection + 5) % 6;
+        directions[0] = (centerDirection + 1) % 6;
+
+        List<Coords> hexes = new ArrayList<>();
+        Coords current = src;
+        hexes.add(current);
+        while (!dest.equals(current)) {
+            current = Coords.nextHex(current, iSrc, iDest, directions);
+            hexes.add(current);
+        }
+        return hexes;
+    }
+
+    @Test
+    public void testTablesMatchDirectComputation() {
+        int ties = 0;
+        for (int x = 0; x < 8; x++) {
+            for (int y = 0; y < 8; y++) {
+                Coords src = new Coords(x, y);
+                for (int dx = -12; dx <= 12; dx++) {
+                    for (int dy = -12; dy <= 12; dy++) {
+                        Coords dest = new Coords(x + dx, y + dy);
+                        if (src.equals(dest)) {
+                            continue;
+                        }
+                        double r = HexGeometry.computeRadian(src, dest);
+                        Assert.assertEquals(r, src.radian(dest), 1e-9);
+                        Assert.assertEquals((int) Math.round((180 / Math.PI) * r), src.degree(dest), 1);
+
+                        double sides = oldSides(src, dest);
+                        if (isTie(sides)) {
+                            // exactly along a hex edge: always the clockwise direction
+                            ties++;
+                            Assert.assertEquals(((int) Math.floor(sides) + 1) % 6, src.direction(dest));
+                            for (boolean split : new boolean[] { false, true }) {
+                                Assert.assertEquals(new HashSet<>(oldIntervening(src, dest, split)),
+                                        new HashSet<>(Coords.intervening(src, dest, split)));
+                            }
+                        } else {
+                            Assert.assertEquals((int) Math.round(sides) % 6, src.direction(dest));
+                            Assert.assertEquals(oldIntervening(src, dest, false),
+                                    Coords.intervening(src, dest, false));
+                            Assert.assertEquals(oldIntervening(src, dest, true),
+                                    Coords.intervening(src, dest, true));
+                        }
+                    }
+                }
+            }
+        }
+        Assert.assertTrue(ties > 0);
+    }
+
+    @Test
+    public void testFarOffsetsAreComputedDirectly() {
+        Coords src = new Coords(3, 4);
+        Coords dest = new Coords(3 + HexGeometry.TABLE_RANGE + 10, 4 - HexGeometry.TABLE_RANGE - 5);
+        Assert.assertEquals(HexGeometry.computeRadian(src, dest), src.radian(dest), 1e-12);
+        Assert.assertEquals(oldIntervening(src, dest, false), Coords.intervening(src, dest, false));
+    }
+}
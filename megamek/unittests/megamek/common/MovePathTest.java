@@ -14,7 +14,12 @@
  */
 package megamek.common;
 
+import java.io.File;
 import java.util.Vector;
+import java.util.function.Consumer;
+
+import megamek.common.MovePath.MoveStepType;
+import megamek.common.options.OptionsConstants;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -57,4 +62,203 @@ public class MovePathTest {
         stepVector.add(null);
         Assert.assertEquals(mockStep4, testPath.getLastStep());
     }
+
+    private static MovePath createPath() throws Exception {
+        Game game = new Game();
+        Board board = new Board(16, 17);
+        for (int x = 0; x < 16; x++) {
+            for (int y = 0; y < 17; y++) {
+                board.setHex(x, y, new Hex(0));
+            }
+        }
+        game.setBoard(board);
+        Player player = new Player(0, "Test");
+        game.addPlayer(0, player);
+        Entity mech = new MechFileParser(new File("data/mechfiles/mechs/3039u/Shadow Hawk SHD-2H.mtf"))
+                .getEntity();
+        mech.setOwner(player);
+        game.addEntity(mech);
+        mech.setDeployed(true);
+        mech.setFacing(0);
+        mech.setPosition(new Coords(8, 8));
+
+        // another unit away from the path
+        Player enemy = new Player(1, "Enemy");
+        game.addPlayer(1, enemy);
+        Entity other = new MechFileParser(new File("data/mechfiles/mechs/3039u/Shadow Hawk SHD-2H.mtf"))
+                .getEntity();
+        other.setOwner(enemy);
+        game.addEntity(other);
+        other.setDeployed(true);
+        other.setPosition(new Coords(2, 14));
+        return new MovePath(game, mech);
+    }
+
+    private static void assertSteps(Vector<MoveStep> expected, MovePath path) {
+        Assert.assertEquals(expected.size(), path.length());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertSame(expected.get(i), path.getStep(i));
+        }
+        Assert.assertEquals(expected, path.getStepVector());
+    }
+
+    @Test
+    public void testStepVectorIsACopy() throws Exception {
+        MovePath path = createPath();
+        path.addStep(MoveStepType.FORWARDS).addStep(MoveStepType.TURN_LEFT);
+        Vector<MoveStep> steps = path.getStepVector();
+        Vector<MoveStep> expected = new Vector<>(steps);
+
+        steps.clear();
+        assertSteps(expected, path);
+        Assert.assertNotSame(path.getStepVector(), path.getStepVector());
+    }
+
+    @Test
+    public void testClonesShareNoChanges() throws Exception {
+        // more steps than fit in one chunk of the step list
+        MovePath path = createPath();
+        for (int i = 0; i < 40; i++) {
+            path.addStep((i % 2 == 0) ? MoveStepType.TURN_LEFT : MoveStepType.TURN_RIGHT);
+        }
+        Vector<MoveStep> original = path.getStepVector();
+
+        MovePath longer = path.clone();
+        longer.addStep(MoveStepType.FORWARDS);
+        assertSteps(original, path);
+        Assert.assertEquals(41, longer.length());
+        Assert.assertSame(MoveStepType.FORWARDS, longer.getLastStep().getType());
+
+        // removing steps back past a chunk boundary leaves the other paths alone
+        MovePath shorter = path.clone();
+        for (int i = 0; i < 10; i++) {
+            shorter.removeLastStep();
+        }
+        assertSteps(new Vector<>(original.subList(0, 30)), shorter);
+        assertSteps(original, path);
+        Assert.assertEquals(41, longer.length());
+
+        path.removeLastStep();
+        assertSteps(new Vector<>(original.subList(0, 39)), path);
+        Assert.assertEquals(41, longer.length());
+        Assert.assertEquals(30, shorter.length());
+
+        // growing a shortened clone again doesn't touch the path it came from
+        shorter.addStep(MoveStepType.FORWARDS);
+        Assert.assertSame(original.get(30), longer.getStep(30));
+        Assert.assertSame(MoveStepType.FORWARDS, shorter.getStep(30).getType());
+    }
+
+    @Test
+    public void testReplaceStepsOnAClone() throws Exception {
+        MovePath path = createPath();
+        path.addStep(MoveStepType.FORWARDS).addStep(MoveStepType.TURN_RIGHT).addStep(MoveStepType.FORWARDS);
+        Vector<MoveStep> original = path.getStepVector();
+
+        MovePath copy = path.clone();
+        Vector<MoveStep> replacement = path.getStepVector();
+        replacement.remove(0);
+        copy.replaceSteps(replacement);
+
+        assertSteps(replacement, copy);
+        assertSteps(original, path);
+
+        copy.replaceSteps(new Vector<>());
+        Assert.assertEquals(0, copy.length());
+        Assert.assertNull(copy.getLastStep());
+        assertSteps(original, path);
+    }
+
+    private static final MoveStepType[] COMPILE_STEPS = { MoveStepType.FORWARDS, MoveStepType.FORWARDS,
+            MoveStepType.TURN_LEFT, MoveStepType.FORWARDS, MoveStepType.FORWARDS, MoveStepType.FORWARDS,
+            MoveStepType.FORWARDS };
+
+    /**
+     * Compiles a path, changes something it depends on and checks that
+     * compiling it again gives the same steps as a fresh path compiled after
+     * the change.
+     */
+    private static void assertRecompiledAfter(Consumer<MovePath> change) throws Exception {
+        MovePath path = createPath();
+        for (MoveStepType type : COMPILE_STEPS) {
+            path.addStep(type);
+        }
+        path.compile(path.getGame(), path.getEntity());
+        Vector<MoveStep> compiled = path.getStepVector();
+
+        // nothing changed, so the steps are kept
+        path.compile(path.getGame(), path.getEntity());
+        Assert.assertSame(compiled.get(0), path.getStep(0));
+
+        change.accept(path);
+        path.compile(path.getGame(), path.getEntity());
+        Assert.assertNotSame(compiled.get(0), path.getStep(0));
+
+        MovePath fresh = new MovePath(path.getGame(), path.getEntity());
+        for (MoveStepType type : COMPILE_STEPS) {
+            fresh.addStep(type);
+        }
+        fresh.compile(fresh.getGame(), fresh.getEntity());
+        Assert.assertEquals(fresh.length(), path.length());
+        for (int i = 0; i < fresh.length(); i++) {
+            MoveStep expected = fresh.getStep(i);
+            MoveStep actual = path.getStep(i);
+            Assert.assertEquals(expected.getPosition(), actual.getPosition());
+            Assert.assertEquals(expected.getFacing(), actual.getFacing());
+            Assert.assertEquals(expected.getMpUsed(), actual.getMpUsed());
+            Assert.assertEquals(expected.getMovementType(i == fresh.length() - 1),
+                    actual.getMovementType(i == path.length() - 1));
+            Assert.assertEquals(expected.isDanger(), actual.isDanger());
+            Assert.assertEquals(expected.isPastDanger(), actual.isPastDanger());
+        }
+        Assert.assertEquals(fresh.getMpUsed(), path.getMpUsed());
+    }
+
+    @Test
+    public void testRecompileAfterOptionChange() throws Exception {
+        assertRecompiledAfter(path -> path.getGame().getOptions()
+                .getOption(OptionsConstants.ADVGRNDMOV_NO_NIGHT_MOVE_PEN).setValue(true));
+    }
+
+    @Test
+    public void testRecompileAfterPlanetaryConditionsChange() throws Exception {
+        assertRecompiledAfter(path -> path.getGame().getPlanetaryConditions()
+                .setLight(PlanetaryConditions.L_PITCH_BLACK));
+        assertRecompiledAfter(path -> path.getGame().getPlanetaryConditions()
+                .setWindStrength(PlanetaryConditions.WI_STRONG_GALE));
+    }
+
+    @Test
+    public void testRecompileAfterDamage() throws Exception {
+        // a gyro hit doesn't change the unit's MP
+        assertRecompiledAfter(path -> {
+            Entity mech = path.getEntity();
+            for (int slot = 0; slot < mech.getNumberOfCriticals(Mech.LOC_CT); slot++) {
+                CriticalSlot crit = mech.getCritical(Mech.LOC_CT, slot);
+                if ((crit != null) && (crit.getType() == CriticalSlot.TYPE_SYSTEM)
+                        && (crit.getIndex() == Mech.SYSTEM_GYRO)) {
+                    crit.setHit(true);
+                    break;
+                }
+            }
+        });
+        assertRecompiledAfter(path -> path.getEntity().getWeaponList().get(0).setDestroyed(true));
+    }
+
+    @Test
+    public void testRecompileAfterOtherUnitChange() throws Exception {
+        // changes the server makes to other units without moving them
+        assertRecompiledAfter(path -> otherUnit(path).setDone(true));
+        assertRecompiledAfter(path -> otherUnit(path).setElevation(1));
+        assertRecompiledAfter(path -> otherUnit(path).setProne(true));
+    }
+
+    private static Entity otherUnit(MovePath path) {
+        for (Entity entity : path.getGame().getEntitiesVector()) {
+            if (entity != path.getEntity()) {
+                return entity;
+            }
+        }
+        throw new IllegalStateException("no other unit");
+    }
 }
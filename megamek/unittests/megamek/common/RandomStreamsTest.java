@@ -0,0 +1,74 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+package megamek.common;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class RandomStreamsTest {
+
+    private static int[] roll(MMRandom rng, int count) {
+        int[] rolls = new int[count];
+        for (int i = 0; i < count; i++) {
+            rolls[i] = rng.d6(2).getIntValue();
+        }
+        return rolls;
+    }
+
+    @Test
+    public void testStreamsAreReproducible() {
+        for (int type : new int[] { MMRandom.R_SUN, MMRandom.R_CRYPTO, MMRandom.R_POOL36 }) {
+            RandomStreams first = new RandomStreams(42, type);
+            RandomStreams second = new RandomStreams(42, type);
+
+            // using other streams first doesn't change the numbers of a stream
+            roll(first.split("entity", 1).stream("movement"), 10);
+            int[] expected = roll(first.split("entity", 2).stream("movement"), 50);
+            int[] actual = roll(second.split("entity", 2).stream("movement"), 50);
+            Assert.assertArrayEquals(expected, actual);
+
+            // a stream continues where it left off
+            Assert.assertSame(first.split("entity", 2).stream("movement"),
+                    first.split("entity", 2).stream("movement"));
+        }
+    }
+
+    @Test
+    public void testStreamsAreIndependent() {
+        RandomStreams streams = new RandomStreams(42, MMRandom.R_SUN);
+        int[] one = roll(streams.split("entity", 1).stream("movement"), 50);
+        int[] two = roll(streams.split("entity", 2).stream("movement"), 50);
+        int[] other = roll(new RandomStreams(43, MMRandom.R_SUN)
+                .split("entity", 1).stream("movement"), 50);
+        Assert.assertFalse(java.util.Arrays.equals(one, two));
+        Assert.assertFalse(java.util.Arrays.equals(one, other));
+    }
+
+    @Test
+    public void testThreadRNG() {
+        try {
+            Compute.setThreadRNG(new RandomStreams(7).stream("test"));
+            int[] rolls = new int[20];
+            for (int i = 0; i < rolls.length; i++) {
+                rolls[i] = Compute.d6(2);
+            }
+            Assert.assertArrayEquals(roll(new RandomStreams(7).stream("test"), 20), rolls);
+        } finally {
+            Compute.setThreadRNG(null);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+package megamek.common;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class TargetRollTest {
+
+    private static final int[] VALUES = { -2, -1, 0, 1, 2, 3, TargetRoll.IMPOSSIBLE,
+            TargetRoll.AUTOMATIC_FAIL, TargetRoll.AUTOMATIC_SUCCESS, TargetRoll.CHECK_FALSE };
+
+    @Test
+    public void testValueOnlyMatchesFullRoll() {
+        Random random = new Random(42);
+        for (int run = 0; run < 500; run++) {
+            TargetRoll full = new TargetRoll();
+            TargetRoll values = TargetRoll.valueOnly();
+            for (int step = 0; step < 12; step++) {
+                int action = random.nextInt(10);
+                if (action < 6) {
+                    int value = VALUES[random.nextInt(VALUES.length)];
+                    boolean cumulative = random.nextBoolean();
+                    full.addModifier(value, "mod", cumulative);
+                    values.addModifier(value, "mod", cumulative);
+                } else if (action < 8) {
+                    // append another roll, kept in both forms
+                    TargetRoll otherFull = new TargetRoll();
+                    TargetRoll otherValues = TargetRoll.valueOnly();
+                    for (int i = random.nextInt(4); i > 0; i--) {
+                        int value = VALUES[random.nextInt(VALUES.length)];
+                        boolean cumulative = random.nextBoolean();
+                        otherFull.addModifier(value, "other", cumulative);
+                        otherValues.addModifier(value, "other", cumulative);
+                    }
+                    boolean nonCumulative = random.nextBoolean();
+                    full.append(otherFull, nonCumulative);
+                    values.append(random.nextBoolean() ? otherFull : otherValues, nonCumulative);
+                } else {
+                    boolean impossibles = random.nextBoolean();
+                    full.removeAutos(impossibles);
+                    values.removeAutos(impossibles);
+                }
+                Assert.assertEquals(full.getValue(), values.getValue());
+            }
+        }
+    }
+
+    @Test
+    public void testDescriber() {
+        ToHitData values = ToHitData.valueOnly();
+        values.addModifier(4, "gunnery skill");
+        values.addModifier(2, "medium range");
+        Assert.assertEquals(6, values.getValue());
+        Assert.assertEquals("6", values.getDesc());
+        Assert.assertTrue(values.getModifiers().isEmpty());
+
+        values.setDescriber(() -> {
+            ToHitData full = new ToHitData(4, "gunnery skill");
+            full.addModifier(2, "medium range");
+            return full;
+        });
+        Assert.assertEquals("4 (gunnery skill) + 2 (medium range)", values.getDesc());
+        Assert.assertEquals(2, values.getModifiers().size());
+
+        // a full roll appending it gets the described modifiers
+        ToHitData full = new ToHitData();
+        full.append(values);
+        Assert.assertEquals(6, full.getValue());
+        Assert.assertEquals(values.getDesc(), full.getDesc());
+    }
+
+    @Test
+    public void testDescriberOfAnotherRoll() {
+        ToHitData values = ToHitData.valueOnly();
+        values.addModifier(4, "gunnery skill");
+        values.addModifier(2, "medium range");
+
+        // whatever the guess was made from has changed since
+        values.setDescriber(() -> new ToHitData(5, "gunnery skill"));
+        Assert.assertEquals("6", values.getDesc());
+        Assert.assertTrue(values.getModifiers().isEmpty());
+
+        values.setDescriber(() -> null);
+        Assert.assertEquals("6", values.getDesc());
+        Assert.assertEquals(6, values.getValue());
+    }
+}
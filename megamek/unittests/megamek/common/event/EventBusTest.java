@@ -0,0 +1,98 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+package megamek.common.event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class EventBusTest {
+
+    public static class TestEvent extends MMEvent {
+        @Override
+        public boolean isCancellable() {
+            return true;
+        }
+    }
+
+    public static class Handler {
+        final List<String> calls = new ArrayList<>();
+        final CountDownLatch asyncCalled = new CountDownLatch(1);
+        volatile Thread asyncThread;
+
+        @Subscribe
+        public void low(TestEvent event) {
+            calls.add("low");
+        }
+
+        @Subscribe(priority = 10)
+        public void high(TestEvent event) {
+            calls.add("high");
+        }
+
+        @Subscribe
+        public void any(MMEvent event) {
+            calls.add("any");
+        }
+
+        @Subscribe(async = true)
+        public void async(TestEvent event) {
+            asyncThread = Thread.currentThread();
+            asyncCalled.countDown();
+        }
+    }
+
+    @Test
+    public void testDeliveryOrder() throws InterruptedException {
+        EventBus bus = new EventBus();
+        Handler handler = new Handler();
+        bus.register(handler);
+
+        Assert.assertFalse(bus.trigger(new TestEvent()));
+        // by priority for the event class, then its superclasses
+        Assert.assertEquals(Arrays.asList("high", "low", "any"), handler.calls);
+        Assert.assertTrue(handler.asyncCalled.await(5, TimeUnit.SECONDS));
+        Assert.assertNotSame(Thread.currentThread(), handler.asyncThread);
+
+        handler.calls.clear();
+        bus.unregister(handler);
+        bus.trigger(new TestEvent());
+        Assert.assertTrue(handler.calls.isEmpty());
+    }
+
+    @Test
+    public void testCancelledEventsStopDelivery() {
+        EventBus bus = new EventBus();
+        Handler handler = new Handler();
+        Object canceller = new Object() {
+            @Subscribe(priority = 5)
+            public void cancel(TestEvent event) {
+                event.cancel();
+            }
+        };
+        bus.register(handler);
+        bus.register(canceller);
+
+        Assert.assertTrue(bus.trigger(new TestEvent()));
+        Assert.assertEquals(Arrays.asList("high"), handler.calls);
+    }
+}
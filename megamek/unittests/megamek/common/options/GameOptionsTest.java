@@ -111,4 +111,31 @@ public class GameOptionsTest {
         }
     }
     
+    @Test
+    public void testOptionHandlesFollowChanges() {
+        OptionHandle partialCover = new OptionHandle(OptionsConstants.ADVCOMBAT_TACOPS_PARTIAL_COVER);
+        OptionHandle ghostTargetMax = new OptionHandle(OptionsConstants.ADVANCED_GHOST_TARGET_MAX);
+        
+        assertEquals(testMe.booleanOption(OptionsConstants.ADVCOMBAT_TACOPS_PARTIAL_COVER),
+                testMe.booleanOption(partialCover));
+        assertEquals(testMe.intOption(OptionsConstants.ADVANCED_GHOST_TARGET_MAX),
+                testMe.intOption(ghostTargetMax));
+        
+        testMe.getOption(OptionsConstants.ADVCOMBAT_TACOPS_PARTIAL_COVER).setValue(true);
+        testMe.getOption(OptionsConstants.ADVANCED_GHOST_TARGET_MAX).setValue(3);
+        assertTrue(testMe.booleanOption(partialCover));
+        assertEquals(3, testMe.intOption(ghostTargetMax));
+        
+        testMe.getOption(OptionsConstants.ADVCOMBAT_TACOPS_PARTIAL_COVER).clearValue();
+        assertFalse(testMe.booleanOption(partialCover));
+        
+        // the same handle works with other instances
+        GameOptions other = new GameOptions();
+        other.getOption(OptionsConstants.ADVCOMBAT_TACOPS_PARTIAL_COVER).setValue(true);
+        assertTrue(other.booleanOption(partialCover));
+        assertFalse(testMe.booleanOption(partialCover));
+        
+        assertFalse(testMe.booleanOption(new OptionHandle("no_such_option")));
+    }
+    
 }
@@ -0,0 +1,56 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+package megamek.common.pathfinder;
+
+import java.util.Collections;
+import java.util.Comparator;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class AbstractPathFinderTest {
+
+    @Test
+    public void testInterruptedSearchCanBeResumed() {
+        // a chain of 100 nodes; each edge is {destination, cost}
+        SearchDeadline deadline = SearchDeadline.none();
+        AbstractPathFinder<Integer, Integer, int[]> finder = new AbstractPathFinder<>(
+                e -> e[0],
+                (v, e, comparator) -> ((v == null) || (e[1] < v)) ? e[1] : null,
+                e -> {
+                    if (e[0] == 9) {
+                        deadline.cancel();
+                    }
+                    return (e[0] < 99) ? Collections.singletonList(new int[] { e[0] + 1, e[1] + 1 })
+                            : Collections.emptyList();
+                },
+                Comparator.comparingInt(e -> e[1]));
+
+        finder.run(new int[] { 0, 0 }, deadline);
+        Assert.assertTrue(finder.wasInterrupted());
+        Assert.assertFalse(finder.isFinished());
+        Assert.assertEquals(10, finder.getNodesExpanded());
+        Assert.assertEquals(1, finder.getFrontierSize());
+        Assert.assertEquals(10, finder.getPathCostMap().size());
+
+        finder.resume(SearchDeadline.none());
+        Assert.assertFalse(finder.wasInterrupted());
+        Assert.assertTrue(finder.isFinished());
+        Assert.assertEquals(100, finder.getNodesExpanded());
+        Assert.assertEquals(Integer.valueOf(99), finder.getCostOf(99));
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+package megamek.common.pathfinder;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.Mockito;
+
+import megamek.common.Coords;
+import megamek.common.MovePath;
+import megamek.common.MovePath.MoveStepType;
+import megamek.common.MoveStep;
+
+@RunWith(JUnit4.class)
+public class AerospaceStateTest {
+
+    private static MoveStep mockStep(MoveStepType type, int[] vectors) {
+        MoveStep step = Mockito.mock(MoveStep.class);
+        Mockito.when(step.getType()).thenReturn(type);
+        Mockito.when(step.getPosition()).thenReturn(new Coords(4, 7));
+        Mockito.when(step.getFacing()).thenReturn(2);
+        Mockito.when(step.getMpUsed()).thenReturn(3);
+        Mockito.when(step.getVectors()).thenReturn(vectors);
+        return step;
+    }
+
+    private static MovePath mockPath(MoveStepType secondLast, MoveStepType last, int[] vectors) {
+        MovePath path = Mockito.mock(MovePath.class);
+        MoveStep secondLastStep = mockStep(secondLast, vectors);
+        MoveStep lastStep = mockStep(last, vectors);
+        Mockito.when(path.getSecondLastStep()).thenReturn(secondLastStep);
+        Mockito.when(path.getLastStep()).thenReturn(lastStep);
+        return path;
+    }
+
+    @Test
+    public void testStepOrderOnlyMattersForTheLastTwoSteps() {
+        int[] vectors = new int[] { 1, 0, 2, 0, 0, 0 };
+        AerospaceState thrustThenTurn = new AerospaceState(
+                mockPath(MoveStepType.THRUST, MoveStepType.TURN_LEFT, vectors));
+        AerospaceState sameState = new AerospaceState(
+                mockPath(MoveStepType.THRUST, MoveStepType.TURN_LEFT, vectors.clone()));
+        Assert.assertEquals(thrustThenTurn, sameState);
+        Assert.assertEquals(thrustThenTurn.hashCode(), sameState.hashCode());
+
+        // a unit that has just turned twice may not turn the same way again
+        Assert.assertNotEquals(thrustThenTurn, new AerospaceState(
+                mockPath(MoveStepType.TURN_LEFT, MoveStepType.TURN_LEFT, vectors)));
+        Assert.assertNotEquals(thrustThenTurn, new AerospaceState(
+                mockPath(MoveStepType.THRUST, MoveStepType.TURN_LEFT, new int[] { 0, 0, 2, 0, 0, 0 })));
+    }
+}
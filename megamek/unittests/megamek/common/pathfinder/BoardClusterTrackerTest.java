@@ -0,0 +1,172 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+package megamek.common.pathfinder;
+
+import megamek.client.bot.princess.CardinalEdge;
+import megamek.common.Board;
+import megamek.common.Coords;
+import megamek.common.Entity;
+import megamek.common.EntityMovementMode;
+import megamek.common.Hex;
+import megamek.common.IBoard;
+import megamek.common.IGame;
+import megamek.common.PlanetaryConditions;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.Mockito;
+
+@RunWith(JUnit4.class)
+public class BoardClusterTrackerTest {
+
+    private static Board createRidgeBoard() {
+        // a ridge across the board with a pass at its end
+        Board board = new Board(12, 12);
+        for (int x = 0; x < 12; x++) {
+            for (int y = 0; y < 12; y++) {
+                board.setHex(x, y, new Hex(((y == 7) && (x > 0)) ? 4 : 0));
+            }
+        }
+        return board;
+    }
+
+    private static Entity createMover(IBoard board) {
+        IGame game = Mockito.mock(IGame.class);
+        Mockito.when(game.getBoard()).thenReturn(board);
+
+        Entity mover = Mockito.mock(Entity.class);
+        Mockito.when(mover.getGame()).thenReturn(game);
+        Mockito.when(mover.getMovementMode()).thenReturn(EntityMovementMode.BIPED);
+        Mockito.when(mover.getMaxElevationChange()).thenReturn(2);
+        Mockito.when(mover.getPosition()).thenReturn(new Coords(1, 1));
+        return mover;
+    }
+
+    @Test
+    public void testClustersFollowBoardChanges() {
+        // a ridge down the middle of the board splits it in two
+        Board board = new Board(10, 10);
+        for (int x = 0; x < 10; x++) {
+            for (int y = 0; y < 10; y++) {
+                board.setHex(x, y, new Hex((x == 5) ? 3 : 0));
+            }
+        }
+        IGame game = Mockito.mock(IGame.class);
+        Mockito.when(game.getBoard()).thenReturn(board);
+
+        Entity mover = Mockito.mock(Entity.class);
+        Mockito.when(mover.getGame()).thenReturn(game);
+        Mockito.when(mover.getMovementMode()).thenReturn(EntityMovementMode.BIPED);
+        Mockito.when(mover.getMaxElevationChange()).thenReturn(2);
+        Mockito.when(mover.getPosition()).thenReturn(new Coords(1, 1));
+
+        BoardClusterTracker tracker = new BoardClusterTracker();
+        Assert.assertEquals(50, tracker.getBoardClusterSize(mover, new Coords(1, 1), false));
+        Assert.assertTrue(tracker.getDestinationCoords(mover, CardinalEdge.EAST, false).isEmpty());
+        Assert.assertFalse(tracker.coordinatesShareCluster(mover, new Coords(1, 1), new Coords(8, 8), 0, 0));
+
+        // a pass through the ridge joins both halves
+        board.setHex(5, 4, new Hex(0));
+        Assert.assertEquals(91, tracker.getBoardClusterSize(mover, new Coords(1, 1), false));
+        Assert.assertEquals(10, tracker.getDestinationCoords(mover, CardinalEdge.EAST, false).size());
+        Assert.assertSame(tracker.getDestinationCoords(mover, CardinalEdge.EAST, false),
+                tracker.getDestinationCoords(mover, CardinalEdge.EAST, false));
+        Assert.assertTrue(tracker.coordinatesShareCluster(mover, new Coords(1, 1), new Coords(8, 8), 0, 0));
+        Assert.assertFalse(tracker.coordinatesShareCluster(mover, new Coords(1, 1), new Coords(8, 8), 0, 1));
+
+        // and closing it splits them again
+        board.setHex(5, 4, new Hex(3));
+        Assert.assertEquals(50, tracker.getBoardClusterSize(mover, new Coords(1, 1), false));
+        Assert.assertEquals(10, tracker.getBoardClusterSize(mover, new Coords(5, 4), false));
+        Assert.assertTrue(tracker.getDestinationCoords(mover, CardinalEdge.EAST, false).isEmpty());
+        Assert.assertFalse(tracker.coordinatesShareCluster(mover, new Coords(1, 1), new Coords(8, 8), 0, 0));
+        Assert.assertEquals(tracker.generateClusters(mover, false, false).get(new Coords(8, 8)).contents.size(),
+                tracker.getBoardClusterSize(mover, new Coords(8, 8), false));
+    }
+
+    @Test
+    public void testGamesWithTheSameBoardShareClusters() {
+        // each bot keeps its own copy of the game, and so of the board
+        Board firstBoard = createRidgeBoard();
+        Entity firstMover = createMover(firstBoard);
+        BoardClusterTracker firstTracker = new BoardClusterTracker();
+        Assert.assertEquals(144 - 11, firstTracker.getBoardClusterSize(firstMover, new Coords(1, 1), false));
+
+        Board secondBoard = createRidgeBoard();
+        Entity secondMover = createMover(secondBoard);
+        BoardClusterTracker secondTracker = new BoardClusterTracker();
+        Assert.assertEquals(144 - 11, secondTracker.getBoardClusterSize(secondMover, new Coords(1, 1), false));
+        Assert.assertEquals(firstTracker.getDestinationCoords(firstMover, CardinalEdge.SOUTH, false),
+                secondTracker.getDestinationCoords(secondMover, CardinalEdge.SOUTH, false));
+        Assert.assertTrue(secondTracker.coordinatesShareCluster(secondMover, new Coords(1, 1),
+                new Coords(10, 10), 0, 0));
+        // the second tracker took the clusters the first one worked out
+        Mockito.verify(secondMover, Mockito.never()).isLocationProhibited(Mockito.any(Coords.class));
+
+        // closing the pass on one board leaves the other's clusters alone
+        secondBoard.setHex(0, 7, new Hex(4));
+        Assert.assertFalse(secondTracker.coordinatesShareCluster(secondMover, new Coords(1, 1),
+                new Coords(10, 10), 0, 0));
+        Assert.assertEquals(12 * 7, secondTracker.getBoardClusterSize(secondMover, new Coords(1, 1), false));
+        Assert.assertTrue(firstTracker.coordinatesShareCluster(firstMover, new Coords(1, 1),
+                new Coords(10, 10), 0, 0));
+
+        // and a board with other terrain gets its own clusters
+        Board thirdBoard = createRidgeBoard();
+        thirdBoard.setHex(0, 7, new Hex(4));
+        thirdBoard.setHex(11, 7, new Hex(0));
+        Entity thirdMover = createMover(thirdBoard);
+        BoardClusterTracker thirdTracker = new BoardClusterTracker();
+        Assert.assertEquals(144 - 11, thirdTracker.getBoardClusterSize(thirdMover, new Coords(1, 1), false));
+        Assert.assertTrue(thirdTracker.coordinatesShareCluster(thirdMover, new Coords(1, 1),
+                new Coords(10, 10), 0, 0));
+        Mockito.verify(thirdMover, Mockito.atLeastOnce()).isLocationProhibited(Mockito.any(Coords.class));
+    }
+
+    @Test
+    public void testSharedClustersFollowConditionsAndGameEnd() {
+        BoardClusterTracker.clearSharedClusters();
+        Board board = createRidgeBoard();
+        Entity firstMover = createMover(board);
+        PlanetaryConditions conditions = new PlanetaryConditions();
+        Mockito.when(firstMover.getGame().getPlanetaryConditions()).thenReturn(conditions);
+        Assert.assertEquals(144 - 11, new BoardClusterTracker().getBoardClusterSize(firstMover,
+                new Coords(1, 1), false));
+
+        // the same board in a snow storm has its clusters worked out again
+        Entity secondMover = createMover(board);
+        PlanetaryConditions snow = new PlanetaryConditions();
+        snow.setWeather(PlanetaryConditions.WE_SNOW_FLURRIES);
+        Mockito.when(secondMover.getGame().getPlanetaryConditions()).thenReturn(snow);
+        Assert.assertEquals(144 - 11, new BoardClusterTracker().getBoardClusterSize(secondMover,
+                new Coords(1, 1), false));
+        Mockito.verify(secondMover, Mockito.atLeastOnce()).isLocationProhibited(Mockito.any(Coords.class));
+
+        // while equal conditions share them
+        Entity thirdMover = createMover(board);
+        Mockito.when(thirdMover.getGame().getPlanetaryConditions()).thenReturn(new PlanetaryConditions(conditions));
+        Assert.assertEquals(144 - 11, new BoardClusterTracker().getBoardClusterSize(thirdMover,
+                new Coords(1, 1), false));
+        Mockito.verify(thirdMover, Mockito.never()).isLocationProhibited(Mockito.any(Coords.class));
+
+        // until the game ends
+        BoardClusterTracker.clearSharedClusters();
+        Entity fourthMover = createMover(board);
+        Mockito.when(fourthMover.getGame().getPlanetaryConditions()).thenReturn(conditions);
+        Assert.assertEquals(144 - 11, new BoardClusterTracker().getBoardClusterSize(fourthMover,
+                new Coords(1, 1), false));
+        Mockito.verify(fourthMover, Mockito.atLeastOnce()).isLocationProhibited(Mockito.any(Coords.class));
+    }
+}
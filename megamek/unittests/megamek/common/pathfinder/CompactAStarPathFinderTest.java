@@ -0,0 +1,99 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+package megamek.common.pathfinder;
+
+import java.io.File;
+import java.util.Random;
+
+import megamek.common.Board;
+import megamek.common.Coords;
+import megamek.common.Entity;
+import megamek.common.Game;
+import megamek.common.Hex;
+import megamek.common.MechFileParser;
+import megamek.common.MovePath;
+import megamek.common.MovePath.MoveStepType;
+import megamek.common.Player;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class CompactAStarPathFinderTest {
+
+    private static final String[] TERRAINS = { "", "", "", "woods:1", "woods:2", "rough:1" };
+
+    private static Entity createUnit() throws Exception {
+        Board board = new Board(16, 17);
+        Random random = new Random(3);
+        for (int x = 0; x < board.getWidth(); x++) {
+            for (int y = 0; y < board.getHeight(); y++) {
+                // mostly flat, as moving backwards can't climb much
+                int level = (random.nextInt(3) == 0) ? random.nextInt(3) : 0;
+                board.setHex(x, y, new Hex(level, TERRAINS[random.nextInt(TERRAINS.length)], "",
+                        new Coords(x, y)));
+            }
+        }
+        // a cliff the unit has to walk around
+        for (int y = 3; y < 14; y++) {
+            board.setHex(8, y, new Hex(8));
+        }
+        Game game = new Game();
+        game.setBoard(board);
+        Player player = new Player(0, "Test");
+        game.addPlayer(0, player);
+
+        Entity entity = new MechFileParser(new File("data/mechfiles/mechs/3039u/Shadow Hawk SHD-2H.mtf"))
+                .getEntity();
+        entity.setOwner(player);
+        game.addEntity(entity);
+        entity.setDeployed(true);
+        entity.setPosition(new Coords(3, 8));
+        // facing away from most destinations, so the paths have to turn
+        entity.setFacing(4);
+        return entity;
+    }
+
+    @Test
+    public void testFindsPathsOfTheSameCost() throws Exception {
+        Entity entity = createUnit();
+        int compared = 0;
+        for (MoveStepType stepType : new MoveStepType[] { MoveStepType.FORWARDS, MoveStepType.BACKWARDS }) {
+            for (Coords destination : new Coords[] { new Coords(12, 8), new Coords(3, 1), new Coords(0, 16),
+                    new Coords(14, 15), new Coords(4, 9), new Coords(9, 2) }) {
+                ShortestPathFinder expected = ShortestPathFinder.newInstanceOfAStar(destination, stepType,
+                        entity.getGame());
+                expected.run(new MovePath(entity.getGame(), entity));
+                CompactAStarPathFinder actual = new CompactAStarPathFinder(destination, stepType,
+                        entity.getGame());
+                actual.run(new MovePath(entity.getGame(), entity));
+
+                MovePath expectedPath = expected.getComputedPath(destination);
+                MovePath actualPath = actual.getComputedPath(destination);
+                String description = stepType + " to " + destination;
+                Assert.assertFalse(actual.wasInterrupted());
+                // some hexes can't be reached backwards over the hills
+                Assert.assertEquals(description, expectedPath == null, actualPath == null);
+                if (expectedPath == null) {
+                    continue;
+                }
+                Assert.assertEquals(description, destination, actualPath.getFinalCoords());
+                Assert.assertEquals(description, expectedPath.getMpUsed(), actualPath.getMpUsed());
+                compared++;
+            }
+        }
+        Assert.assertTrue(compared >= 10);
+    }
+}
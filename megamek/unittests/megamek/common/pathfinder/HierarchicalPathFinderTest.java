@@ -0,0 +1,67 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+package megamek.common.pathfinder;
+
+import java.util.Collections;
+import java.util.List;
+
+import megamek.common.Board;
+import megamek.common.Coords;
+import megamek.common.Entity;
+import megamek.common.EntityMovementMode;
+import megamek.common.Hex;
+import megamek.common.IGame;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.Mockito;
+
+@RunWith(JUnit4.class)
+public class HierarchicalPathFinderTest {
+
+    @Test
+    public void testRoutesGoThroughTheOnlyGap() {
+        // two mapsheets side by side, with a ridge along the border that has a single gap in it
+        Board board = new Board(32, 17);
+        for (int x = 0; x < 32; x++) {
+            for (int y = 0; y < 17; y++) {
+                board.setHex(x, y, new Hex(((x == 16) && (y != 12)) ? 5 : 0));
+            }
+        }
+        IGame game = Mockito.mock(IGame.class);
+        Mockito.when(game.getBoard()).thenReturn(board);
+
+        Entity mover = Mockito.mock(Entity.class);
+        Mockito.when(mover.getGame()).thenReturn(game);
+        Mockito.when(mover.getMovementMode()).thenReturn(EntityMovementMode.BIPED);
+        Mockito.when(mover.getMaxElevationChange()).thenReturn(2);
+        Mockito.when(mover.getPosition()).thenReturn(new Coords(2, 2));
+
+        HierarchicalPathFinder finder = new HierarchicalPathFinder();
+        Coords destination = new Coords(30, 2);
+        List<Coords> route = finder.findRoute(mover, Collections.singleton(destination));
+        Assert.assertNotNull(route);
+        Assert.assertEquals(destination, route.get(route.size() - 1));
+        Assert.assertTrue(route.stream().anyMatch(c -> c.distance(new Coords(16, 12)) <= 1));
+
+        // a destination on the same side needs no crossing
+        Assert.assertEquals(Collections.singletonList(new Coords(10, 2)),
+                finder.findRoute(mover, Collections.singleton(new Coords(10, 2))));
+
+        // closing the gap cuts the board in two
+        board.setHex(16, 12, new Hex(5));
+        Assert.assertNull(finder.findRoute(mover, Collections.singleton(destination)));
+    }
+}
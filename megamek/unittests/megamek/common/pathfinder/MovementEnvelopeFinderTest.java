@@ -0,0 +1,143 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+package megamek.common.pathfinder;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import megamek.common.Board;
+import megamek.common.Coords;
+import megamek.common.Entity;
+import megamek.common.Game;
+import megamek.common.Hex;
+import megamek.common.MechFileParser;
+import megamek.common.MovePath;
+import megamek.common.MovePath.MoveStepType;
+import megamek.common.Player;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class MovementEnvelopeFinderTest {
+
+    private static final String[] TERRAINS = { "", "", "", "woods:1", "woods:2", "rough:1", "water:1" };
+
+    private static Entity createUnit() throws Exception {
+        Board board = new Board(16, 17);
+        Random random = new Random(9);
+        for (int x = 0; x < board.getWidth(); x++) {
+            for (int y = 0; y < board.getHeight(); y++) {
+                String terrain = TERRAINS[random.nextInt(TERRAINS.length)];
+                // mostly flat, as moving backwards can't climb much
+                int level = (terrain.startsWith("water") || (random.nextInt(3) != 0)) ? 0 : random.nextInt(3);
+                board.setHex(x, y, new Hex(level, terrain, "", new Coords(x, y)));
+            }
+        }
+        board.setHex(8, 8, new Hex(0, "", "", new Coords(8, 8)));
+        Game game = new Game();
+        game.setBoard(board);
+        Player player = new Player(0, "Test");
+        game.addPlayer(0, player);
+
+        Entity entity = new MechFileParser(new File("data/mechfiles/mechs/3039u/Shadow Hawk SHD-2H.mtf"))
+                .getEntity();
+        entity.setOwner(player);
+        game.addEntity(entity);
+        entity.setDeployed(true);
+        entity.setPosition(new Coords(8, 8));
+        entity.setFacing(2);
+        return entity;
+    }
+
+    private static MovePath startPath(Entity entity, boolean jumping) {
+        MovePath path = new MovePath(entity.getGame(), entity);
+        return jumping ? path.addStep(MoveStepType.START_JUMP) : path;
+    }
+
+    /**
+     * @return the movement points of each hex, as the movement envelope was
+     *         worked out before
+     */
+    private static Map<Coords, Integer> shortestPathFinderMP(Entity entity, int maxMP, MoveStepType stepType,
+            boolean jumping) {
+        ShortestPathFinder finder = ShortestPathFinder.newInstanceOfOneToAll(maxMP, stepType, entity.getGame());
+        finder.run(startPath(entity, jumping));
+        Map<Coords, Integer> result = new HashMap<>();
+        for (Map.Entry<Coords, MovePath> entry : finder.getAllComputedPaths().entrySet()) {
+            result.put(entry.getKey(), entry.getValue().countMp(jumping));
+        }
+        return result;
+    }
+
+    @Test
+    public void testMatchesShortestPathFinder() throws Exception {
+        Entity entity = createUnit();
+        Object[][] modes = { { entity.getRunMP(), MoveStepType.FORWARDS, false },
+                { entity.getWalkMP(), MoveStepType.BACKWARDS, false },
+                { entity.getJumpMP(), MoveStepType.FORWARDS, true } };
+        for (Object[] mode : modes) {
+            int maxMP = (Integer) mode[0];
+            MoveStepType stepType = (MoveStepType) mode[1];
+            boolean jumping = (Boolean) mode[2];
+            MovementEnvelopeFinder envelope = new MovementEnvelopeFinder(maxMP, stepType, entity.getGame());
+            envelope.run(startPath(entity, jumping));
+
+            Map<Coords, Integer> expected = shortestPathFinderMP(entity, maxMP, stepType, jumping);
+            Assert.assertTrue(expected.size() > 10);
+            Assert.assertEquals(stepType + (jumping ? " jumping" : ""), expected,
+                    envelope.getMovementPoints(jumping));
+        }
+    }
+
+    @Test
+    public void testComputedPathsCostTheEnvelopeMP() throws Exception {
+        Entity entity = createUnit();
+        MovementEnvelopeFinder envelope = new MovementEnvelopeFinder(entity.getRunMP(), MoveStepType.FORWARDS,
+                entity.getGame());
+        MovePath start = startPath(entity, false);
+        envelope.run(start);
+        Assert.assertTrue(envelope.isComputedFrom(start));
+
+        Map<Coords, Integer> movementPoints = envelope.getMovementPoints(false);
+        for (Map.Entry<Coords, Integer> entry : movementPoints.entrySet()) {
+            MovePath path = envelope.getComputedPath(entry.getKey());
+            Assert.assertNotNull(path);
+            Assert.assertEquals(entry.getKey(), path.getFinalCoords());
+            Assert.assertEquals(entry.getKey().toString(), entry.getValue().intValue(), path.getMpUsed());
+        }
+        Assert.assertNull(envelope.getComputedPath(new Coords(0, 0)));
+    }
+
+    @Test
+    public void testStandingFacingsAreBest() throws Exception {
+        Entity entity = createUnit();
+        entity.setProne(true);
+        // turning while prone is cheaper than getting up, which takes 2 MP
+        MovementEnvelopeFinder envelope = new MovementEnvelopeFinder(2, MoveStepType.FORWARDS,
+                entity.getGame());
+        envelope.run(startPath(entity, false));
+
+        for (int facing = 0; facing < 6; facing++) {
+            Assert.assertEquals(2, envelope.getMovementPoints(entity.getPosition(), facing));
+        }
+        MovePath path = envelope.getComputedPath(entity.getPosition());
+        Assert.assertFalse(path.getFinalProne());
+        Assert.assertEquals(2, path.getMpUsed());
+        Assert.assertEquals(Integer.valueOf(2), envelope.getMovementPoints(false).get(entity.getPosition()));
+    }
+}
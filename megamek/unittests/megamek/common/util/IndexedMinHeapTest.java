@@ -0,0 +1,50 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+package megamek.common.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class IndexedMinHeapTest {
+
+    @Test
+    public void testChangedPrioritiesAreKeptInOrder() {
+        IndexedMinHeap heap = new IndexedMinHeap(2);
+        for (int id = 0; id < 100; id++) {
+            heap.put(id, 1000 - id);
+        }
+        // lower some and raise others; each id stays in the heap once
+        for (int id = 0; id < 100; id += 3) {
+            heap.put(id, id);
+        }
+        heap.put(99, 5000);
+        Assert.assertEquals(100, heap.size());
+
+        long last = Long.MIN_VALUE;
+        int count = 0;
+        while (!heap.isEmpty()) {
+            int id = heap.peek();
+            long priority = (id == 99) ? 5000 : ((id % 3 == 0) ? id : (1000 - id));
+            Assert.assertEquals(id, heap.poll());
+            Assert.assertFalse(heap.contains(id));
+            Assert.assertTrue(priority >= last);
+            last = priority;
+            count++;
+        }
+        Assert.assertEquals(100, count);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * MegaMek - Copyright (C) 2020 - The MegaMek Team
+ *
+ *  This program is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU General Public License as published by the Free
+ *  Software Foundation; either version 2 of the License, or (at your option)
+ *  any later version.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ *  or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ *  for more details.
+ */
+package megamek.common.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class LongIntHashMapTest {
+
+    private static void assertSameEntries(Map<Long, Integer> expected, LongIntHashMap map) {
+        Assert.assertEquals(expected.size(), map.size());
+        for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            Assert.assertTrue(map.containsKey(entry.getKey()));
+            Assert.assertEquals(entry.getValue().intValue(), map.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    public void testGrows() {
+        LongIntHashMap map = new LongIntHashMap(2, -1);
+        for (int i = 0; i < 10000; i++) {
+            map.put(((long) i) << 35, i);
+        }
+        Assert.assertEquals(10000, map.size());
+        for (int i = 0; i < 10000; i++) {
+            Assert.assertEquals(i, map.get(((long) i) << 35));
+        }
+        Assert.assertEquals(-1, map.get(7));
+    }
+
+    @Test
+    public void testMatchesHashMap() {
+        // a small key range in a small table makes many keys share slots, and
+        // keys that differ only in their high bits or sign are looked up apart
+        Random random = new Random(11);
+        LongIntHashMap map = new LongIntHashMap(4, Integer.MIN_VALUE);
+        Map<Long, Integer> expected = new HashMap<>();
+        long[] special = { 0, -1, Long.MIN_VALUE, Long.MAX_VALUE, 1L << 63 | 5, 5 };
+        for (int i = 0; i < 20000; i++) {
+            long key;
+            switch (random.nextInt(3)) {
+                case 0:
+                    key = random.nextInt(300);
+                    break;
+                case 1:
+                    key = ((long) random.nextInt(300)) << (32 + random.nextInt(31));
+                    break;
+                default:
+                    key = special[random.nextInt(special.length)];
+                    break;
+            }
+            int value = random.nextInt();
+            if (value == Integer.MIN_VALUE) {
+                value = 0;
+            }
+            map.put(key, value);
+            expected.put(key, value);
+            if (i % 1000 == 0) {
+                assertSameEntries(expected, map);
+            }
+        }
+        assertSameEntries(expected, map);
+        for (long key = 300; key < 1000; key++) {
+            Assert.assertFalse(map.containsKey(key));
+            Assert.assertEquals(Integer.MIN_VALUE, map.get(key));
+        }
+    }
+
+    @Test
+    public void testClear() {
+        LongIntHashMap map = new LongIntHashMap(4, -1);
+        for (int i = 0; i < 100; i++) {
+            map.put(i * 31L, i);
+        }
+        map.clear();
+        Assert.assertEquals(0, map.size());
+        for (int i = 0; i < 100; i++) {
+            Assert.assertFalse(map.containsKey(i * 31L));
+            Assert.assertEquals(-1, map.get(i * 31L));
+        }
+
+        // the cleared table is reused, including the slots it grew to
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(i * 17L, -i);
+            expected.put(i * 17L, -i);
+        }
+        assertSameEntries(expected, map);
+    }
+}